@@ -2,23 +2,32 @@ package com.example.authentication.iam.application.internal.commandservices;
 
 import com.example.authentication.iam.domain.model.commands.SeedRolesCommand;
 import com.example.authentication.iam.domain.model.entities.Role;
+import com.example.authentication.iam.domain.model.events.RolesChangedEvent;
 import com.example.authentication.iam.domain.model.valueobjects.Roles;
 import com.example.authentication.iam.domain.services.RoleCommandService;
 import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.RoleRepository;
 import java.util.Arrays;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 /**
  * Command service implementation responsible for role-related commands.
  * Handles role seeding and persistence logic.
+ *
+ * <p>Seeding raises a {@link RolesChangedEvent} so in-memory copies of the roles
+ * are loaded once the stored roles are complete.</p>
  */
 @Service
 public class RoleCommandServiceImpl implements RoleCommandService {
 
   private final RoleRepository roleRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
-  public RoleCommandServiceImpl(RoleRepository roleRepository) {
+  public RoleCommandServiceImpl(
+      RoleRepository roleRepository,
+      ApplicationEventPublisher eventPublisher) {
     this.roleRepository = roleRepository;
+    this.eventPublisher = eventPublisher;
   }
 
   @Override
@@ -29,5 +38,6 @@ public class RoleCommandServiceImpl implements RoleCommandService {
             roleRepository.save(new Role(Roles.valueOf(role.name())));
           }
         });
+    eventPublisher.publishEvent(new RolesChangedEvent());
   }
 }
\ No newline at end of file
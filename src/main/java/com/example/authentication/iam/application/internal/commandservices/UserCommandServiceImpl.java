@@ -4,12 +4,14 @@ import com.example.authentication.iam.application.internal.outboundservices.acl.
 import com.example.authentication.iam.application.internal.outboundservices.email.EmailService;
 import com.example.authentication.iam.application.internal.outboundservices.hashing.HashingService;
 import com.example.authentication.iam.application.internal.outboundservices.hashing.PasswordValidator;
+import com.example.authentication.iam.application.internal.outboundservices.tokens.RefreshTokenService;
 import com.example.authentication.iam.application.internal.outboundservices.tokens.TokenService;
 import com.example.authentication.iam.domain.exceptions.DifferentPasswordException;
 import com.example.authentication.iam.domain.exceptions.EmailAlreadyExistsException;
 import com.example.authentication.iam.domain.exceptions.FileEmptyOrNullException;
 import com.example.authentication.iam.domain.exceptions.ImageUploadException;
 import com.example.authentication.iam.domain.exceptions.InvalidPasswordException;
+import com.example.authentication.iam.domain.exceptions.InvalidRefreshTokenException;
 import com.example.authentication.iam.domain.exceptions.InvalidTokenException;
 import com.example.authentication.iam.domain.exceptions.RoleNotFoundException;
 import com.example.authentication.iam.domain.exceptions.UserNotActiveException;
@@ -17,18 +19,25 @@ import com.example.authentication.iam.domain.exceptions.UserNotFoundException;
 import com.example.authentication.iam.domain.exceptions.UserNotVerifiedException;
 import com.example.authentication.iam.domain.exceptions.UsernameAlreadyExistsException;
 import com.example.authentication.iam.domain.model.aggregates.User;
+import com.example.authentication.iam.domain.model.commands.RefreshTokenCommand;
 import com.example.authentication.iam.domain.model.commands.SignInCommand;
+import com.example.authentication.iam.domain.model.commands.SignOutCommand;
 import com.example.authentication.iam.domain.model.commands.SignUpCommand;
 import com.example.authentication.iam.domain.model.commands.UpdatePasswordCommand;
 import com.example.authentication.iam.domain.model.commands.UpdateUserProfileImageCommand;
 import com.example.authentication.iam.domain.model.commands.UpdateUserStatusCommand;
 import com.example.authentication.iam.domain.model.commands.VerifyUserCommand;
 import com.example.authentication.iam.domain.services.UserCommandService;
-import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.RoleRepository;
+import com.example.authentication.iam.infrastructure.persistence.filters.UserIdentityFilter;
 import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.UserRepository;
+import com.example.authentication.iam.infrastructure.persistence.registries.RoleRegistry;
+import java.util.Locale;
 import java.util.Optional;
-import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.ImmutableTriple;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Command service implementation responsible for user-related operations
@@ -40,9 +49,11 @@ public class UserCommandServiceImpl implements UserCommandService {
   private final UserRepository userRepository;
   private final HashingService hashingService;
   private final TokenService tokenService;
-  private final RoleRepository roleRepository;
+  private final RoleRegistry roleRegistry;
   private final EmailService emailService;
   private final ExternalCloudinaryService externalCloudinaryService;
+  private final UserIdentityFilter identityFilter;
+  private final RefreshTokenService refreshTokenService;
 
   /**
    * Creates a new {@code UserCommandServiceImpl}.
@@ -50,33 +61,53 @@ public class UserCommandServiceImpl implements UserCommandService {
    * @param userRepository repository for user persistence
    * @param hashingService service for password hashing
    * @param tokenService service for token generation and validation
-   * @param roleRepository repository for role persistence
+   * @param roleRegistry in-memory registry of the stored roles
    * @param emailService service for sending emails
+   * @param externalCloudinaryService service for storing profile images
+   * @param identityFilter filter of the registered usernames and emails
+   * @param refreshTokenService service for refresh token rotation
    */
   public UserCommandServiceImpl(
       UserRepository userRepository,
       HashingService hashingService,
       TokenService tokenService,
-      RoleRepository roleRepository,
-      EmailService emailService, ExternalCloudinaryService externalCloudinaryService) {
+      RoleRegistry roleRegistry,
+      EmailService emailService,
+      ExternalCloudinaryService externalCloudinaryService,
+      UserIdentityFilter identityFilter,
+      RefreshTokenService refreshTokenService) {
     this.userRepository = userRepository;
     this.hashingService = hashingService;
     this.tokenService = tokenService;
-    this.roleRepository = roleRepository;
+    this.roleRegistry = roleRegistry;
     this.emailService = emailService;
     this.externalCloudinaryService = externalCloudinaryService;
+    this.identityFilter = identityFilter;
+    this.refreshTokenService = refreshTokenService;
   }
 
   /**
    * Handles user sign-in.
    *
+   * <p>If the stored hash was produced with a different cost than the configured one,
+   * the password is re-encoded and saved transparently.</p>
+   *
+   * <p>When the hashing service imitates sign-ins of unknown users, an unknown username
+   * takes as long as a wrong password and is reported the same way.</p>
+   *
    * @param command sign-in command
-   * @return authenticated user and generated token
+   * @return authenticated user, access token and the first refresh token of a new family
    */
   @Override
-  public Optional<ImmutablePair<User, String>> handle(SignInCommand command) {
-    var user = userRepository.findByUsername(command.username())
-        .orElseThrow(() -> new UserNotFoundException(command.username()));
+  public Optional<ImmutableTriple<User, String, String>> handle(SignInCommand command) {
+    var user = userRepository.findWithRolesByUsername(command.username()).orElse(null);
+
+    if (user == null) {
+      if (hashingService.imitateMatches(command.password())) {
+        throw new InvalidPasswordException();
+      }
+      throw new UserNotFoundException(command.username());
+    }
 
     if (!hashingService.matches(command.password(), user.getHashedPassword())) {
       throw new InvalidPasswordException();
@@ -90,23 +121,80 @@ public class UserCommandServiceImpl implements UserCommandService {
       throw new UserNotActiveException(user.getUsername());
     }
 
-    var token = tokenService.generateToken(user.getUsername());
-    return Optional.of(ImmutablePair.of(user, token));
+    if (hashingService.upgradeEncoding(user.getHashedPassword())) {
+      user.changePassword(hashingService.encode(command.password()));
+      userRepository.save(user);
+    }
+
+    var token = tokenService.generateToken(user);
+    var refreshToken = refreshTokenService.issue(user);
+    return Optional.of(ImmutableTriple.of(user, token, refreshToken));
+  }
+
+  /**
+   * Handles an access token refresh.
+   *
+   * <p>The refresh token is rotated first. If its user no longer exists, is inactive, or
+   * invalidated its tokens after the family was issued, the new refresh token is revoked
+   * and the refresh is rejected.</p>
+   *
+   * @param command refresh token command
+   * @return user, new access token and new refresh token
+   */
+  @Override
+  public Optional<ImmutableTriple<User, String, String>> handle(RefreshTokenCommand command) {
+    var rotation = refreshTokenService.rotate(command.refreshToken());
+    var user = userRepository.findWithRolesById(rotation.userId()).orElse(null);
+
+    if (user == null || !user.isActive() || rotation.tokenEpoch() < user.tokenEpoch()) {
+      refreshTokenService.revoke(rotation.refreshToken());
+      throw new InvalidRefreshTokenException();
+    }
+
+    var token = tokenService.generateToken(user);
+    return Optional.of(ImmutableTriple.of(user, token, rotation.refreshToken()));
+  }
+
+  /**
+   * Handles user sign-out.
+   *
+   * <p>The access token is revoked until it expires, and the refresh token family is
+   * revoked.</p>
+   *
+   * @param command sign-out command
+   */
+  @Override
+  public void handle(SignOutCommand command) {
+    if (command.token() != null) {
+      tokenService.revokeToken(command.token());
+    }
+    if (command.refreshToken() != null) {
+      refreshTokenService.revoke(command.refreshToken());
+    }
   }
 
   /**
    * Handles user sign-up.
    *
+   * <p>Uniqueness of the username and email is enforced by the database constraints,
+   * so a concurrent duplicate sign-up cannot slip in between a check and the insert.
+   * Identities already known to the {@link UserIdentityFilter} are rejected up front,
+   * before the password is hashed; new ones go straight to the insert.</p>
+   *
+   * <p>The user and its verification email are stored in the same transaction;
+   * the email is delivered asynchronously from the outbox.</p>
+   *
    * @param command sign-up command
    * @return created user
    */
   @Override
+  @Transactional
   public Optional<User> handle(SignUpCommand command) {
-    if (userRepository.existsByUsername(command.username())) {
+    if (identityFilter.isUsernameTaken(command.username())) {
       throw new UsernameAlreadyExistsException(command.username());
     }
 
-    if (userRepository.existsByEmail(command.email())) {
+    if (identityFilter.isEmailTaken(command.email())) {
       throw new EmailAlreadyExistsException(command.email());
     }
 
@@ -114,7 +202,7 @@ public class UserCommandServiceImpl implements UserCommandService {
 
     var roles = command.roles().stream()
         .map(role ->
-            roleRepository.findByRoles(role.getRoles())
+            roleRegistry.find(role.getRoles())
                 .orElseThrow(() ->
                     new RoleNotFoundException(role.getRoles().name())))
         .toList();
@@ -125,9 +213,14 @@ public class UserCommandServiceImpl implements UserCommandService {
         hashingService.encode(command.password()),
         roles);
 
-    userRepository.save(user);
+    try {
+      userRepository.saveAndFlush(user);
+    } catch (DataIntegrityViolationException e) {
+      throw toUniquenessException(e, command);
+    }
+    identityFilter.add(user.getUsername(), user.getEmail());
 
-    var token = tokenService.generateToken(user.getUsername());
+    var token = tokenService.generateVerificationToken(user.getUsername());
     var verificationLink =
         command.baseUrl()
             + "/api/v1/authentication/verify?token="
@@ -135,7 +228,7 @@ public class UserCommandServiceImpl implements UserCommandService {
 
     emailService.sendVerificationEmail(user.getEmail(), verificationLink);
 
-    return userRepository.findByUsername(command.username());
+    return Optional.of(user);
   }
 
   /**
@@ -146,23 +239,23 @@ public class UserCommandServiceImpl implements UserCommandService {
    */
   @Override
   public Optional<User> handle(VerifyUserCommand command) {
-    if (!tokenService.validateToken(command.token())) {
+    var validationResult = tokenService.verifyVerificationToken(command.token());
+    if (!validationResult.isValid()) {
       throw new InvalidTokenException();
     }
 
-    var username = tokenService.getUsernameFromToken(command.token());
+    var username = validationResult.subject();
     var user = userRepository.findByUsername(username)
         .orElseThrow(() -> new UserNotFoundException(username));
 
-    user.setVerified(true);
-    user.setActive(true);
+    user.verify();
     userRepository.save(user);
     return Optional.of(user);
   }
 
   @Override
   public Optional<User> handle(UpdateUserProfileImageCommand command) {
-    var user = userRepository.findById(command.userId())
+    var user = userRepository.findWithRolesById(command.userId())
         .orElseThrow(() -> new UserNotFoundException(command.userId().toString()));
 
     if (!user.isActive()) {
@@ -196,29 +289,35 @@ public class UserCommandServiceImpl implements UserCommandService {
   /**
    * Handles user status update.
    *
+   * <p>Every token issued to the user so far stops verifying.</p>
+   *
    * @param command update status command
    * @return updated user
    */
   @Override
   public Optional<User> handle(UpdateUserStatusCommand command) {
-    var user = userRepository.findById(command.userId())
+    var user = userRepository.findWithRolesById(command.userId())
         .orElseThrow(() ->
             new UserNotFoundException(command.userId().toString()));
 
-    user.setActive(command.isActive());
+    user.changeStatus(command.isActive());
+    user.invalidateTokens();
     userRepository.save(user);
+    tokenService.invalidateTokens(user);
     return Optional.of(user);
   }
 
   /**
    * Handles user password update.
    *
+   * <p>Every token issued to the user so far stops verifying.</p>
+   *
    * @param command update password command
    * @return updated user
    */
   @Override
   public Optional<User> handle(UpdatePasswordCommand command) {
-    var user = userRepository.findById(command.userId())
+    var user = userRepository.findWithRolesById(command.userId())
         .orElseThrow(() ->
             new UserNotFoundException(command.userId().toString()));
 
@@ -228,8 +327,50 @@ public class UserCommandServiceImpl implements UserCommandService {
     }
 
     PasswordValidator.validate(command.newPassword());
-    user.setHashedPassword(hashingService.encode(command.newPassword()));
+    user.changePassword(hashingService.encode(command.newPassword()));
+    user.invalidateTokens();
     userRepository.save(user);
+    tokenService.invalidateTokens(user);
     return Optional.of(user);
   }
+
+  /**
+   * Maps a unique constraint violation raised while registering a user to the
+   * matching domain exception.
+   *
+   * @param e data integrity violation raised by the insert
+   * @param command sign-up command being handled
+   * @return domain exception for the violated constraint, or {@code e} itself if the
+   *     violation is not about the username or email
+   */
+  private static RuntimeException toUniquenessException(
+      DataIntegrityViolationException e, SignUpCommand command) {
+    if (violates(e, User.USERNAME_UNIQUE_CONSTRAINT, "username")) {
+      return new UsernameAlreadyExistsException(command.username());
+    }
+    if (violates(e, User.EMAIL_UNIQUE_CONSTRAINT, "email")) {
+      return new EmailAlreadyExistsException(command.email());
+    }
+    return e;
+  }
+
+  /**
+   * Checks whether a constraint violation is about the given unique constraint.
+   *
+   * <p>The constraint is matched by name and, for schemas created before it was named,
+   * by the column reported in the database error.</p>
+   */
+  private static boolean violates(Throwable e, String constraintName, String column) {
+    for (var cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException violation) {
+        var name = violation.getConstraintName();
+        if (name != null && name.toLowerCase(Locale.ROOT).contains(constraintName)) {
+          return true;
+        }
+        var message = violation.getSQLException().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains("(" + column);
+      }
+    }
+    return false;
+  }
 }
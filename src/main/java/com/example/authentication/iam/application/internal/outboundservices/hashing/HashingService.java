@@ -21,4 +21,23 @@ public interface HashingService {
    * @return {@code true} if the passwords match, {@code false} otherwise
    */
   boolean matches(CharSequence rawPassword, String encodedPassword);
-}
\ No newline at end of file
+
+  /**
+   * Takes about as long as {@link #matches(CharSequence, String)} for a user that does
+   * not exist, so that unknown usernames cannot be told apart by response time.
+   *
+   * @param rawPassword raw password of the sign-in attempt
+   * @return {@code true} if the attempt was imitated and should be reported as an invalid
+   *     password, {@code false} if imitation is disabled
+   */
+  boolean imitateMatches(CharSequence rawPassword);
+
+  /**
+   * Checks whether an encoded password was produced with different parameters than the
+   * ones currently configured and should be re-encoded once the raw password is known.
+   *
+   * @param encodedPassword encoded password
+   * @return {@code true} if the password should be re-encoded, {@code false} otherwise
+   */
+  boolean upgradeEncoding(String encodedPassword);
+}
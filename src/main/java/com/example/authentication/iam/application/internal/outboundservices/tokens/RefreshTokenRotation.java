@@ -0,0 +1,14 @@
+package com.example.authentication.iam.application.internal.outboundservices.tokens;
+
+/**
+ * Result of exchanging a refresh token for the next token of its family.
+ *
+ * @param userId identifier of the user the family was issued to
+ * @param tokenEpoch token epoch of the user when the family was issued
+ * @param refreshToken new refresh token
+ */
+public record RefreshTokenRotation(
+    Long userId,
+    long tokenEpoch,
+    String refreshToken) {
+}
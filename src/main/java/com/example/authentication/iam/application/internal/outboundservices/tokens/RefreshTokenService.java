@@ -0,0 +1,40 @@
+package com.example.authentication.iam.application.internal.outboundservices.tokens;
+
+import com.example.authentication.iam.domain.exceptions.InvalidRefreshTokenException;
+import com.example.authentication.iam.domain.model.aggregates.User;
+
+/**
+ * Service responsible for issuing, rotating and revoking opaque refresh tokens.
+ *
+ * <p>Refresh tokens of one sign-in form a family. Every refresh token can be used once:
+ * using it returns the next token of its family, and using it again revokes the whole
+ * family, since either the client or an attacker holds a stolen copy.</p>
+ */
+public interface RefreshTokenService {
+
+  /**
+   * Issues the first refresh token of a new family for the given user.
+   *
+   * @param user authenticated user
+   * @return opaque refresh token
+   */
+  String issue(User user);
+
+  /**
+   * Exchanges a refresh token for the next token of its family.
+   *
+   * @param refreshToken refresh token to use
+   * @return user of the family, its token epoch when the family started and the new token
+   * @throws InvalidRefreshTokenException if the token is unknown, expired or already used
+   */
+  RefreshTokenRotation rotate(String refreshToken);
+
+  /**
+   * Revokes the family of a refresh token.
+   *
+   * <p>Unknown tokens are ignored.</p>
+   *
+   * @param refreshToken any token of the family
+   */
+  void revoke(String refreshToken);
+}
@@ -1,17 +1,34 @@
 package com.example.authentication.iam.application.internal.outboundservices.tokens;
 
+import com.example.authentication.iam.domain.model.aggregates.User;
+
 /**
  * Service responsible for generating and validating authentication tokens.
  */
 public interface TokenService {
 
   /**
-   * Generates a token for the given username.
+   * Generates an account verification token for the given username.
+   *
+   * <p>The token is only accepted by {@link #verifyVerificationToken(String)}, never as an
+   * access token.</p>
    *
    * @param username username to generate the token for
    * @return generated token
    */
-  String generateToken(String username);
+  String generateVerificationToken(String username);
+
+  /**
+   * Generates an access token for the given user.
+   *
+   * <p>The token carries the user identifier and token epoch, so it stops verifying once
+   * {@link #invalidateTokens(User)} is called. Depending on configuration, it may also carry
+   * the authorities and status so it can be authorized without a database lookup.</p>
+   *
+   * @param user user to generate the token for
+   * @return generated token
+   */
+  String generateToken(User user);
 
   /**
    * Extracts the username from the given token.
@@ -28,4 +45,46 @@ public interface TokenService {
    * @return {@code true} if the token is valid, {@code false} otherwise
    */
   boolean validateToken(String token);
+
+  /**
+   * Verifies the given access token once and returns its subject, expiration and claims.
+   *
+   * <p>Tokens of another type, such as verification tokens, are rejected with
+   * {@link TokenValidationResult.FailureReason#WRONG_TYPE}.</p>
+   *
+   * <p>Prefer this method over calling {@link #validateToken(String)} followed by
+   * {@link #getUsernameFromToken(String)}, which verifies the token twice.</p>
+   *
+   * @param token authentication token
+   * @return verification result, never {@code null}
+   */
+  TokenValidationResult verifyToken(String token);
+
+  /**
+   * Verifies the given account verification token and returns its subject.
+   *
+   * <p>Tokens of another type, such as access tokens, are rejected with
+   * {@link TokenValidationResult.FailureReason#WRONG_TYPE}.</p>
+   *
+   * @param token account verification token
+   * @return verification result, never {@code null}
+   */
+  TokenValidationResult verifyVerificationToken(String token);
+
+  /**
+   * Revokes the given token, so that it stops verifying before its expiration.
+   *
+   * <p>Tokens that do not verify, or that carry no identifier, are ignored.</p>
+   *
+   * @param token authentication token
+   */
+  void revokeToken(String token);
+
+  /**
+   * Invalidates every token issued to the given user before its
+   * {@link User#getTokensValidAfter() tokens-valid-after} instant.
+   *
+   * @param user user whose tokens are invalidated, already saved
+   */
+  void invalidateTokens(User user);
 }
@@ -0,0 +1,92 @@
+package com.example.authentication.iam.application.internal.outboundservices.tokens;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Outcome of verifying an authentication token.
+ *
+ * <p>A valid result carries the subject, the expiration and the verified claims.
+ * An invalid result only carries the {@link FailureReason}, so callers can react
+ * to a bad token without handling exceptions.</p>
+ *
+ * @param subject token subject, or {@code null} if the token is invalid
+ * @param expiration token expiration, or {@code null} if the token is invalid
+ * @param claims verified claims, empty if the token is invalid
+ * @param failureReason reason the token was rejected, or {@code null} if it is valid
+ */
+public record TokenValidationResult(
+    String subject,
+    Instant expiration,
+    Map<String, Object> claims,
+    FailureReason failureReason) {
+
+  /**
+   * Reasons a token can be rejected.
+   */
+  public enum FailureReason {
+
+    /** The signature does not match the token contents. */
+    INVALID_SIGNATURE,
+
+    /** The token is not a well-formed JWT. */
+    MALFORMED,
+
+    /** The token expiration is in the past. */
+    EXPIRED,
+
+    /** The token uses an unsupported format or algorithm. */
+    UNSUPPORTED,
+
+    /** The token is null or blank. */
+    EMPTY,
+
+    /** The token was revoked before its expiration. */
+    REVOKED,
+
+    /** The token was issued before the tokens of its user were invalidated. */
+    SUPERSEDED,
+
+    /** The token has another type than expected, such as a verification token. */
+    WRONG_TYPE
+  }
+
+  /**
+   * Creates a result for a successfully verified token.
+   *
+   * @param subject token subject
+   * @param expiration token expiration
+   * @param claims verified claims
+   * @return valid result
+   */
+  public static TokenValidationResult valid(
+      String subject,
+      Instant expiration,
+      Map<String, Object> claims) {
+    return new TokenValidationResult(
+        subject,
+        expiration,
+        Collections.unmodifiableMap(claims),
+        null);
+  }
+
+  /**
+   * Creates a result for a rejected token.
+   *
+   * @param failureReason reason the token was rejected
+   * @return invalid result
+   */
+  public static TokenValidationResult invalid(FailureReason failureReason) {
+    return new TokenValidationResult(null, null, Map.of(), failureReason);
+  }
+
+  /**
+   * Indicates whether the token was successfully verified.
+   *
+   * @return {@code true} if the token is valid, {@code false} otherwise
+   */
+  public boolean isValid() {
+    return failureReason == null;
+  }
+}
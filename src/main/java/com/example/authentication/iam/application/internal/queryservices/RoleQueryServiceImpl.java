@@ -5,21 +5,23 @@ import com.example.authentication.iam.domain.model.queries.GetAllRolesQuery;
 import com.example.authentication.iam.domain.model.queries.GetRoleByNameQuery;
 import com.example.authentication.iam.domain.model.valueobjects.Roles;
 import com.example.authentication.iam.domain.services.RoleQueryService;
-import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.RoleRepository;
+import com.example.authentication.iam.infrastructure.persistence.registries.RoleRegistry;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.stereotype.Service;
 
 /**
  * Query service implementation responsible for retrieving role information.
+ *
+ * <p>Roles are served from the in-memory {@link RoleRegistry}.</p>
  */
 @Service
 public class RoleQueryServiceImpl implements RoleQueryService {
 
-  private final RoleRepository roleRepository;
+  private final RoleRegistry roleRegistry;
 
-  public RoleQueryServiceImpl(RoleRepository roleRepository) {
-    this.roleRepository = roleRepository;
+  public RoleQueryServiceImpl(RoleRegistry roleRegistry) {
+    this.roleRegistry = roleRegistry;
   }
 
   /**
@@ -30,7 +32,7 @@ public class RoleQueryServiceImpl implements RoleQueryService {
    */
   @Override
   public List<Role> handle(GetAllRolesQuery query) {
-    return roleRepository.findAll();
+    return roleRegistry.findAll();
   }
 
   /**
@@ -48,7 +50,7 @@ public class RoleQueryServiceImpl implements RoleQueryService {
       }
 
       var roles = Roles.valueOf(roleName);
-      return roleRepository.findByRoles(roles);
+      return roleRegistry.find(roles);
     } catch (IllegalArgumentException e) {
       return Optional.empty();
     }
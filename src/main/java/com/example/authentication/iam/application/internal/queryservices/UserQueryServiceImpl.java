@@ -1,17 +1,26 @@
 package com.example.authentication.iam.application.internal.queryservices;
 
 import com.example.authentication.iam.domain.model.aggregates.User;
+import com.example.authentication.iam.domain.model.projections.UserSummary;
 import com.example.authentication.iam.domain.model.queries.GetAllUsersQuery;
 import com.example.authentication.iam.domain.model.queries.GetUserByIdQuery;
 import com.example.authentication.iam.domain.model.queries.GetUserByUsernameQuery;
+import com.example.authentication.iam.domain.model.queries.StreamAllUsersQuery;
 import com.example.authentication.iam.domain.services.UserQueryService;
 import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.UserRepository;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.UserRepository.UserSummaryRow;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Query service implementation responsible for retrieving user information.
+ *
+ * <p>Read endpoints are served from flat summary rows rather than managed {@code User}
+ * entities, so they skip the unused columns, the roles fetch and dirty checking.</p>
  */
 @Service
 public class UserQueryServiceImpl implements UserQueryService {
@@ -23,25 +32,45 @@ public class UserQueryServiceImpl implements UserQueryService {
   }
 
   /**
-   * Retrieves all users.
+   * Retrieves one page of users after the query cursor.
    *
-   * @param query query to retrieve all users
-   * @return list of users
+   * @param query query containing the keyset cursor and page size
+   * @return summaries of the users of the page
    */
   @Override
-  public List<User> handle(GetAllUsersQuery query) {
-    return userRepository.findAll();
+  public List<UserSummary> handle(GetAllUsersQuery query) {
+    return userRepository.findSummariesAfter(query.afterId(), query.size()).stream()
+        .map(UserQueryServiceImpl::toSummary)
+        .toList();
   }
 
   /**
-   * Retrieves a user by its identifier.
+   * Streams every user summary from a database cursor.
+   *
+   * <p>Summary rows are not managed entities, so memory use does not grow with the
+   * number of users.</p>
+   *
+   * @param query query to stream all users
+   * @param consumer consumer receiving each user summary
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public void handle(StreamAllUsersQuery query, Consumer<UserSummary> consumer) {
+    try (var rows = userRepository.streamAllSummaries()) {
+      rows.map(UserQueryServiceImpl::toSummary).forEach(consumer);
+    }
+  }
+
+  /**
+   * Retrieves the summary of a user by its identifier.
    *
    * @param query query containing the user identifier
-   * @return optional user if found
+   * @return optional user summary if found
    */
   @Override
-  public Optional<User> handle(GetUserByIdQuery query) {
-    return userRepository.findById(query.userId());
+  public Optional<UserSummary> handle(GetUserByIdQuery query) {
+    return userRepository.findSummaryById(query.userId())
+        .map(UserQueryServiceImpl::toSummary);
   }
 
   /**
@@ -54,4 +83,16 @@ public class UserQueryServiceImpl implements UserQueryService {
   public Optional<User> handle(GetUserByUsernameQuery query) {
     return userRepository.findByUsername(query.username());
   }
+
+  private static UserSummary toSummary(UserSummaryRow row) {
+    var roles = row.getRoles() == null
+        ? List.<String>of()
+        : Arrays.asList(row.getRoles().split(","));
+    return new UserSummary(
+        row.getId(),
+        row.getUsername(),
+        row.getEmail(),
+        roles,
+        row.getActive());
+  }
 }
@@ -0,0 +1,14 @@
+package com.example.authentication.iam.domain.exceptions;
+
+/**
+ * Exception thrown when password hashing is rejected because the hashing pool is saturated.
+ */
+public class HashingCapacityExceededException extends RuntimeException {
+
+  /**
+   * Creates a new {@code HashingCapacityExceededException}.
+   */
+  public HashingCapacityExceededException() {
+    super("Password hashing capacity exceeded, try again later");
+  }
+}
@@ -0,0 +1,15 @@
+package com.example.authentication.iam.domain.exceptions;
+
+/**
+ * Exception thrown when a refresh token is unknown, expired, reused or no longer valid
+ * for its user.
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+
+  /**
+   * Creates a new {@code InvalidRefreshTokenException}.
+   */
+  public InvalidRefreshTokenException() {
+    super("Invalid refresh token");
+  }
+}
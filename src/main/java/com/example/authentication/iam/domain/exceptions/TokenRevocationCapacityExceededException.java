@@ -0,0 +1,14 @@
+package com.example.authentication.iam.domain.exceptions;
+
+/**
+ * Exception thrown when a token cannot be revoked because the revocation list is full.
+ */
+public class TokenRevocationCapacityExceededException extends RuntimeException {
+
+  /**
+   * Creates a new {@code TokenRevocationCapacityExceededException}.
+   */
+  public TokenRevocationCapacityExceededException() {
+    super("Token revocation capacity exceeded, try again later");
+  }
+}
@@ -1,6 +1,8 @@
 package com.example.authentication.iam.domain.model.aggregates;
 
 import com.example.authentication.iam.domain.model.entities.Role;
+import com.example.authentication.iam.domain.model.events.UserChangedEvent;
+import com.example.authentication.iam.domain.model.events.UserChangedEvent.ChangeType;
 import com.example.authentication.shared.domain.model.aggregates.AuditableAbstractAggregateRoot;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -9,33 +11,47 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import lombok.Getter;
-import lombok.Setter;
 
 /**
  * User aggregate root representing an application user.
  * Handles identity, credentials, status, and assigned roles.
+ *
+ * <p>Changes to status, password, verification or roles of a persisted user
+ * register a {@link UserChangedEvent}, published when the user is saved. The state is
+ * only changed through the methods of the aggregate, so no change skips its event.</p>
  */
 @Getter
-@Setter
 @Entity
+@Table(uniqueConstraints = {
+    @UniqueConstraint(name = User.USERNAME_UNIQUE_CONSTRAINT, columnNames = "username"),
+    @UniqueConstraint(name = User.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email")
+})
 public class User extends AuditableAbstractAggregateRoot<User> {
 
+  /** Name of the unique constraint on {@code username}. */
+  public static final String USERNAME_UNIQUE_CONSTRAINT = "uk_users_username";
+
+  /** Name of the unique constraint on {@code email}. */
+  public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_users_email";
+
   @NotBlank
   @Size(max = 50)
-  @Column(unique = true)
   private String username;
 
   @Email
   @NotBlank
   @Size(max = 50)
-  @Column(unique = true)
   private String email;
 
   @NotBlank
@@ -54,12 +70,12 @@ public class User extends AuditableAbstractAggregateRoot<User> {
   @Column(length = 255)
   private String profileImagePublicId;
 
+  private Instant tokensValidAfter;
+
   @ManyToMany(
-      fetch = FetchType.EAGER,
+      fetch = FetchType.LAZY,
       cascade = {
           CascadeType.DETACH,
-          CascadeType.MERGE,
-          CascadeType.PERSIST,
           CascadeType.REFRESH
       })
   @JoinTable(
@@ -119,10 +135,70 @@ public class User extends AuditableAbstractAggregateRoot<User> {
   public void addRoles(List<Role> roles) {
     var validatedRoleSet = Role.validateRoleSet(roles);
     this.roles.addAll(validatedRoleSet);
+    registerChange(ChangeType.ROLES);
+  }
+
+  /**
+   * Changes the active status of the user.
+   *
+   * @param isActive new active status
+   */
+  public void changeStatus(boolean isActive) {
+    this.isActive = isActive;
+    registerChange(ChangeType.STATUS);
+  }
+
+  /**
+   * Replaces the hashed password of the user.
+   *
+   * @param hashedPassword new hashed password
+   */
+  public void changePassword(String hashedPassword) {
+    this.hashedPassword = hashedPassword;
+    registerChange(ChangeType.PASSWORD);
+  }
+
+  /**
+   * Invalidates every token issued to the user so far.
+   *
+   * <p>Tokens carry the value of {@link #getTokensValidAfter()} from when they were
+   * issued, and are rejected once it has moved past it. The instant always moves forward,
+   * even when called twice within the same millisecond.</p>
+   */
+  public void invalidateTokens() {
+    var now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    this.tokensValidAfter = tokensValidAfter == null || now.isAfter(tokensValidAfter)
+        ? now
+        : tokensValidAfter.plusMillis(1);
+  }
+
+  /**
+   * Returns the token epoch of the user, stamped into every token issued to it.
+   *
+   * @return {@link #getTokensValidAfter()} in epoch milliseconds, or {@code 0} if the user
+   *     never invalidated its tokens
+   */
+  public long tokenEpoch() {
+    return tokensValidAfter != null ? tokensValidAfter.toEpochMilli() : 0;
+  }
+
+  /**
+   * Marks the user as verified and active.
+   */
+  public void verify() {
+    this.isVerified = true;
+    this.isActive = true;
+    registerChange(ChangeType.VERIFICATION);
   }
 
   public void updateProfileImage(String url, String publicId) {
     this.profileImageUrl = url;
     this.profileImagePublicId = publicId;
   }
+
+  private void registerChange(ChangeType changeType) {
+    if (getId() != null) {
+      registerEvent(new UserChangedEvent(getId(), username, changeType));
+    }
+  }
 }
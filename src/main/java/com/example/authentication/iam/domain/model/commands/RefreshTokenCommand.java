@@ -0,0 +1,9 @@
+package com.example.authentication.iam.domain.model.commands;
+
+/**
+ * Command used to exchange a refresh token for a new access token and refresh token.
+ *
+ * @param refreshToken refresh token issued at sign-in or by the previous refresh
+ */
+public record RefreshTokenCommand(String refreshToken) {
+}
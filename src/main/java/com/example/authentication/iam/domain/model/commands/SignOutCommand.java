@@ -0,0 +1,10 @@
+package com.example.authentication.iam.domain.model.commands;
+
+/**
+ * Command used to end a session by revoking its access and refresh tokens.
+ *
+ * @param token access token, or {@code null} if none was sent
+ * @param refreshToken refresh token, or {@code null} if none was sent
+ */
+public record SignOutCommand(String token, String refreshToken) {
+}
@@ -0,0 +1,10 @@
+package com.example.authentication.iam.domain.model.events;
+
+/**
+ * Domain event raised when the set of stored roles changes.
+ *
+ * <p>Components that keep an in-memory copy of the roles listen to this event to
+ * reload it.</p>
+ */
+public record RolesChangedEvent() {
+}
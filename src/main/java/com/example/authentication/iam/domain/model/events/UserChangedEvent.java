@@ -0,0 +1,35 @@
+package com.example.authentication.iam.domain.model.events;
+
+/**
+ * Domain event raised when a change affects how a user is authenticated or authorized.
+ *
+ * <p>Components that keep a copy of user security data, such as caches, listen
+ * to this event to discard stale entries.</p>
+ *
+ * @param userId identifier of the changed user
+ * @param username username of the changed user
+ * @param changeType kind of change applied to the user
+ */
+public record UserChangedEvent(
+    Long userId,
+    String username,
+    ChangeType changeType) {
+
+  /**
+   * Kinds of user changes that invalidate security data.
+   */
+  public enum ChangeType {
+
+    /** The active status of the user changed. */
+    STATUS,
+
+    /** The password of the user changed. */
+    PASSWORD,
+
+    /** The user verified their account. */
+    VERIFICATION,
+
+    /** Roles were added to the user. */
+    ROLES
+  }
+}
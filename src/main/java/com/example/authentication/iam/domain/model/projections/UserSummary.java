@@ -0,0 +1,20 @@
+package com.example.authentication.iam.domain.model.projections;
+
+import java.util.List;
+
+/**
+ * Read-only view of a user with the fields exposed by the user listing endpoints.
+ *
+ * @param id unique identifier of the user
+ * @param username username of the user
+ * @param email email address of the user
+ * @param roles names of the roles assigned to the user
+ * @param active whether the user is active
+ */
+public record UserSummary(
+    Long id,
+    String username,
+    String email,
+    List<String> roles,
+    boolean active) {
+}
@@ -1,7 +1,41 @@
 package com.example.authentication.iam.domain.model.queries;
 
 /**
- * Query used to retrieve all users from the system.
+ * Query used to retrieve one page of users, ordered by identifier.
+ *
+ * <p>Pages are addressed with a keyset cursor: the identifier of the last user of the
+ * previous page. The page size is capped at {@link #MAX_SIZE}.</p>
+ *
+ * @param afterId identifier after which the page starts, {@code null} for the first page
+ * @param size maximum number of users in the page
  */
-public record GetAllUsersQuery() {
+public record GetAllUsersQuery(Long afterId, int size) {
+
+  /**
+   * Page size used when none is requested.
+   */
+  public static final int DEFAULT_SIZE = 20;
+
+  /**
+   * Largest page size that can be requested.
+   */
+  public static final int MAX_SIZE = 100;
+
+  /**
+   * Creates a new {@code GetAllUsersQuery}, bringing the page size within bounds.
+   *
+   * @param afterId identifier after which the page starts, {@code null} for the first page
+   * @param size maximum number of users in the page
+   */
+  public GetAllUsersQuery {
+    afterId = afterId != null ? afterId : 0L;
+    size = Math.clamp(size, 1, MAX_SIZE);
+  }
+
+  /**
+   * Creates a query for the first page with the default size.
+   */
+  public GetAllUsersQuery() {
+    this(null, DEFAULT_SIZE);
+  }
 }
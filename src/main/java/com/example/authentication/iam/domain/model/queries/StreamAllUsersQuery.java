@@ -0,0 +1,7 @@
+package com.example.authentication.iam.domain.model.queries;
+
+/**
+ * Query used to stream every user, ordered by identifier, without loading them all at once.
+ */
+public record StreamAllUsersQuery() {
+}
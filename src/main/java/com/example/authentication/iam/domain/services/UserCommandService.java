@@ -1,14 +1,16 @@
 package com.example.authentication.iam.domain.services;
 
 import com.example.authentication.iam.domain.model.aggregates.User;
+import com.example.authentication.iam.domain.model.commands.RefreshTokenCommand;
 import com.example.authentication.iam.domain.model.commands.SignInCommand;
+import com.example.authentication.iam.domain.model.commands.SignOutCommand;
 import com.example.authentication.iam.domain.model.commands.SignUpCommand;
 import com.example.authentication.iam.domain.model.commands.UpdatePasswordCommand;
 import com.example.authentication.iam.domain.model.commands.UpdateUserProfileImageCommand;
 import com.example.authentication.iam.domain.model.commands.UpdateUserStatusCommand;
 import com.example.authentication.iam.domain.model.commands.VerifyUserCommand;
 import java.util.Optional;
-import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.ImmutableTriple;
 
 /**
  * Command service responsible for handling user-related write operations.
@@ -19,9 +21,25 @@ public interface UserCommandService {
    * Handles the user sign-in process.
    *
    * @param command sign-in command
-   * @return an optional pair containing the authenticated user and a token
+   * @return an optional triple containing the authenticated user, an access token and a
+   *     refresh token
    */
-  Optional<ImmutablePair<User, String>> handle(SignInCommand command);
+  Optional<ImmutableTriple<User, String, String>> handle(SignInCommand command);
+
+  /**
+   * Exchanges a refresh token for a new access token and refresh token.
+   *
+   * @param command refresh token command
+   * @return an optional triple containing the user, an access token and a refresh token
+   */
+  Optional<ImmutableTriple<User, String, String>> handle(RefreshTokenCommand command);
+
+  /**
+   * Handles the user sign-out process.
+   *
+   * @param command sign-out command
+   */
+  void handle(SignOutCommand command);
 
   /**
    * Handles the user sign-up process.
@@ -1,11 +1,14 @@
 package com.example.authentication.iam.domain.services;
 
 import com.example.authentication.iam.domain.model.aggregates.User;
+import com.example.authentication.iam.domain.model.projections.UserSummary;
 import com.example.authentication.iam.domain.model.queries.GetAllUsersQuery;
 import com.example.authentication.iam.domain.model.queries.GetUserByIdQuery;
 import com.example.authentication.iam.domain.model.queries.GetUserByUsernameQuery;
+import com.example.authentication.iam.domain.model.queries.StreamAllUsersQuery;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Query service responsible for handling user-related read operations.
@@ -13,20 +16,29 @@ import java.util.Optional;
 public interface UserQueryService {
 
   /**
-   * Retrieves all users.
+   * Retrieves one page of users, ordered by identifier.
    *
-   * @param query query to retrieve all users
-   * @return list of users
+   * @param query query containing the keyset cursor and page size
+   * @return summaries of the users of the page
    */
-  List<User> handle(GetAllUsersQuery query);
+  List<UserSummary> handle(GetAllUsersQuery query);
 
   /**
-   * Retrieves a user by its identifier.
+   * Passes the summary of every user, ordered by identifier, to the consumer as they
+   * are read.
+   *
+   * @param query query to stream all users
+   * @param consumer consumer receiving each user summary
+   */
+  void handle(StreamAllUsersQuery query, Consumer<UserSummary> consumer);
+
+  /**
+   * Retrieves the summary of a user by its identifier.
    *
    * @param query query containing the user identifier
-   * @return optional user if found
+   * @return optional user summary if found
    */
-  Optional<User> handle(GetUserByIdQuery query);
+  Optional<UserSummary> handle(GetUserByIdQuery query);
 
   /**
    * Retrieves a user by its username.
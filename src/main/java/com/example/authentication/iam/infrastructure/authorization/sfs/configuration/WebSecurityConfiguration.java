@@ -1,10 +1,15 @@
 package com.example.authentication.iam.infrastructure.authorization.sfs.configuration;
 
 import com.example.authentication.iam.infrastructure.authorization.sfs.pipeline.BearerAuthorizationRequestFilter;
-import com.example.authentication.iam.infrastructure.hashing.bcrypt.BcryptHashingService;
+import com.example.authentication.iam.infrastructure.authorization.sfs.pipeline.SignInThrottlingFilter;
+import com.example.authentication.iam.infrastructure.authorization.sfs.throttling.SignInThrottle;
+import com.example.authentication.iam.infrastructure.hashing.PasswordHashingService;
 import com.example.authentication.iam.infrastructure.tokens.jwt.BearerTokenService;
+import jakarta.servlet.DispatcherType;
 import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -20,6 +25,7 @@ import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
+import tools.jackson.databind.json.JsonMapper;
 
 /**
  * Spring Security configuration for stateless JWT-based authentication.
@@ -29,39 +35,68 @@ import org.springframework.web.cors.CorsConfiguration;
 public class WebSecurityConfiguration {
 
   private final UserDetailsService userDetailsService;
+  private final UserDetailsService requestUserDetailsService;
   private final BearerTokenService tokenService;
-  private final BcryptHashingService hashingService;
+  private final PasswordHashingService hashingService;
   private final AuthenticationEntryPoint unauthorizedRequestHandler;
+  private final boolean selfContainedTokens;
 
   /**
    * Creates a new {@code WebSecurityConfiguration}.
    *
    * @param userDetailsService user details service
+   * @param cachedUserDetailsService caching user details service, if enabled
    * @param tokenService bearer token service
    * @param hashingService password hashing service
    * @param authenticationEntryPoint entry point for unauthorized requests
+   * @param selfContainedTokens whether the bearer filter trusts claims embedded in tokens
    */
   public WebSecurityConfiguration(
       @Qualifier("defaultUserDetailsService") UserDetailsService userDetailsService,
+      @Qualifier("cachedUserDetailsService")
+      ObjectProvider<UserDetailsService> cachedUserDetailsService,
       BearerTokenService tokenService,
-      BcryptHashingService hashingService,
-      AuthenticationEntryPoint authenticationEntryPoint) {
+      PasswordHashingService hashingService,
+      AuthenticationEntryPoint authenticationEntryPoint,
+      @Value("${authorization.jwt.self-contained.enabled:false}") boolean selfContainedTokens) {
 
     this.userDetailsService = userDetailsService;
+    this.requestUserDetailsService =
+        cachedUserDetailsService.getIfAvailable(() -> userDetailsService);
     this.tokenService = tokenService;
     this.hashingService = hashingService;
     this.unauthorizedRequestHandler = authenticationEntryPoint;
+    this.selfContainedTokens = selfContainedTokens;
   }
 
 
   /**
    * Creates the bearer authorization request filter.
    *
+   * <p>The filter uses the caching user details service when
+   * {@code authorization.user-details-cache.enabled} is {@code true}.</p>
+   *
    * @return authorization request filter
    */
   @Bean
   public BearerAuthorizationRequestFilter authorizationRequestFilter() {
-    return new BearerAuthorizationRequestFilter(tokenService, userDetailsService);
+    return new BearerAuthorizationRequestFilter(
+        tokenService,
+        requestUserDetailsService,
+        selfContainedTokens);
+  }
+
+  /**
+   * Creates the filter that limits sign-in attempts by client address and username.
+   *
+   * @param throttle limits applied to sign-in attempts
+   * @param jsonMapper mapper used to read sign-in requests and write rejections
+   * @return sign-in throttling filter
+   */
+  @Bean
+  public SignInThrottlingFilter signInThrottlingFilter(
+      SignInThrottle throttle, JsonMapper jsonMapper) {
+    return new SignInThrottlingFilter(throttle, jsonMapper);
   }
 
   /**
@@ -103,11 +138,13 @@ public class WebSecurityConfiguration {
    * Configures the security filter chain.
    *
    * @param http HTTP security configuration
+   * @param signInThrottlingFilter filter that limits sign-in attempts
    * @return security filter chain
    * @throws Exception if configuration fails
    */
   @Bean
-  public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+  public SecurityFilterChain filterChain(
+      HttpSecurity http, SignInThrottlingFilter signInThrottlingFilter) throws Exception {
     http
         .cors(corsConfigurer ->
             corsConfigurer.configurationSource(request -> {
@@ -126,9 +163,14 @@ public class WebSecurityConfiguration {
             sessionManagement.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .authorizeHttpRequests(authorizeRequests ->
             authorizeRequests
+                // The request was already authorized before a streamed response started;
+                // its async completion dispatch carries no bearer token.
+                .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                .permitAll()
                 .requestMatchers(
                     "/api/v1/authentication/**",
                     "/api/v1/profiles/**",
+                    "/.well-known/jwks.json",
                     "/v3/api-docs/**",
                     "/swagger-ui.html",
                     "/swagger-ui/**",
@@ -140,6 +182,9 @@ public class WebSecurityConfiguration {
                 .authenticated());
 
     http.authenticationProvider(authenticationProvider());
+    http.addFilterBefore(
+        signInThrottlingFilter,
+        UsernamePasswordAuthenticationFilter.class);
     http.addFilterBefore(
         authorizationRequestFilter(),
         UsernamePasswordAuthenticationFilter.class);
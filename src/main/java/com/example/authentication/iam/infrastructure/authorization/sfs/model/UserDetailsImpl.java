@@ -76,4 +76,30 @@ public class UserDetailsImpl implements UserDetails {
         user.isActive(),
         authorities);
   }
+
+  /**
+   * Builds a {@code UserDetailsImpl} instance from values carried by a
+   * self-contained token, without loading the user.
+   *
+   * <p>The resulting instance has no password, since it is only used to
+   * authorize requests that were already authenticated by the token.</p>
+   *
+   * @param id user identifier
+   * @param username username
+   * @param enabled whether the user is enabled
+   * @param authorityNames names of the granted authorities
+   * @return user details instance
+   */
+  public static UserDetailsImpl build(
+      Long id,
+      String username,
+      boolean enabled,
+      Collection<String> authorityNames) {
+    var authorities =
+        authorityNames.stream()
+            .map(SimpleGrantedAuthority::new)
+            .collect(Collectors.toList());
+
+    return new UserDetailsImpl(id, username, null, enabled, authorities);
+  }
 }
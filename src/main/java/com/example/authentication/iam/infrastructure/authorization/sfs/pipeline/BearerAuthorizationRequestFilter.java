@@ -1,23 +1,35 @@
 package com.example.authentication.iam.infrastructure.authorization.sfs.pipeline;
 
+import com.example.authentication.iam.application.internal.outboundservices.tokens.TokenValidationResult;
+import com.example.authentication.iam.infrastructure.authorization.sfs.model.UserDetailsImpl;
 import com.example.authentication.iam.infrastructure.authorization.sfs.model.UsernamePasswordAuthenticationTokenBuilder;
 import com.example.authentication.iam.infrastructure.tokens.jwt.BearerTokenService;
+import com.example.authentication.iam.infrastructure.tokens.jwt.JwtClaimNames;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
 import org.jspecify.annotations.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 /**
  * Spring Security filter that processes incoming requests and performs
  * bearer token authentication using JWT.
+ *
+ * <p>When self-contained tokens are enabled and the token carries the user
+ * authorities and status, the principal is built from the token claims and no
+ * user is loaded. Otherwise, including for tokens issued before self-contained
+ * tokens were enabled, the user is loaded through the
+ * {@link UserDetailsService}.</p>
  */
 public class BearerAuthorizationRequestFilter extends OncePerRequestFilter {
 
@@ -29,18 +41,23 @@ public class BearerAuthorizationRequestFilter extends OncePerRequestFilter {
   @Qualifier("defaultUserDetailsService")
   private final UserDetailsService userDetailsService;
 
+  private final boolean selfContainedTokens;
+
   /**
    * Creates a new bearer authorization request filter.
    *
    * @param tokenService JWT bearer token service
    * @param userDetailsService user details service
+   * @param selfContainedTokens whether principals may be built from token claims
    */
   public BearerAuthorizationRequestFilter(
       BearerTokenService tokenService,
-      UserDetailsService userDetailsService) {
+      UserDetailsService userDetailsService,
+      boolean selfContainedTokens) {
 
     this.tokenService = tokenService;
     this.userDetailsService = userDetailsService;
+    this.selfContainedTokens = selfContainedTokens;
   }
 
   @Override
@@ -54,9 +71,11 @@ public class BearerAuthorizationRequestFilter extends OncePerRequestFilter {
       String token = tokenService.getBearerTokenFrom(request);
       LOGGER.debug("Bearer token received");
 
-      if (token != null && tokenService.validateToken(token)) {
-        String username = tokenService.getUsernameFromToken(token);
-        var userDetails = userDetailsService.loadUserByUsername(username);
+      var validationResult = token != null ? tokenService.verifyToken(token) : null;
+
+      if (validationResult != null && validationResult.isValid()) {
+        String username = validationResult.subject();
+        var userDetails = resolveUserDetails(validationResult);
 
         if (userDetails.isEnabled()) {
           SecurityContextHolder.getContext().setAuthentication(
@@ -77,4 +96,25 @@ public class BearerAuthorizationRequestFilter extends OncePerRequestFilter {
 
     filterChain.doFilter(request, response);
   }
+
+  private UserDetails resolveUserDetails(TokenValidationResult validationResult) {
+    var claims = validationResult.claims();
+    if (selfContainedTokens && claims.containsKey(JwtClaimNames.USER_ID)
+        && claims.containsKey(JwtClaimNames.AUTHORITIES)
+        && claims.containsKey(JwtClaimNames.ACTIVE)) {
+      return UserDetailsImpl.build(
+          ((Number) claims.get(JwtClaimNames.USER_ID)).longValue(),
+          validationResult.subject(),
+          Boolean.TRUE.equals(claims.get(JwtClaimNames.ACTIVE)),
+          authorityNamesFrom(claims.get(JwtClaimNames.AUTHORITIES)));
+    }
+    return userDetailsService.loadUserByUsername(validationResult.subject());
+  }
+
+  private Collection<String> authorityNamesFrom(Object authoritiesClaim) {
+    if (authoritiesClaim instanceof Collection<?> authorities) {
+      return authorities.stream().map(String::valueOf).toList();
+    }
+    return List.of();
+  }
 }
@@ -0,0 +1,170 @@
+package com.example.authentication.iam.infrastructure.authorization.sfs.pipeline;
+
+import com.example.authentication.iam.infrastructure.authorization.sfs.throttling.SignInThrottle;
+import com.example.authentication.iam.interfaces.rest.resources.SignInResource;
+import com.example.authentication.shared.interfaces.rest.resources.MessageResource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Filter that limits sign-in attempts by client address and username before the
+ * password is checked.
+ *
+ * <p>The request body is read once to extract the username and replayed to the rest of
+ * the chain. Bodies larger than 8 KiB get a {@code 413 Content Too Large} response,
+ * decided from {@code Content-Length} when it is sent and otherwise after reading one
+ * byte past the limit. Rejected attempts get a {@code 429 Too Many Requests} response
+ * with a {@code Retry-After} header in seconds.</p>
+ *
+ * <p>The endpoint is matched on the servlet path, so the context path and the encoding
+ * of the request URI do not let a request skip the filter.</p>
+ *
+ * <p>The client address is {@link HttpServletRequest#getRemoteAddr()}; behind a proxy,
+ * {@code server.forward-headers-strategy} must be set so that it is the real client.</p>
+ */
+public class SignInThrottlingFilter extends OncePerRequestFilter {
+
+  /**
+   * Path of the sign-in endpoint.
+   */
+  public static final String SIGN_IN_PATH = "/api/v1/authentication/sign-in";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SignInThrottlingFilter.class);
+  private static final int MAXIMUM_BODY_SIZE = 8 * 1024;
+
+  private final SignInThrottle throttle;
+  private final JsonMapper jsonMapper;
+
+  /**
+   * Creates a new sign-in throttling filter.
+   *
+   * @param throttle limits applied to sign-in attempts
+   * @param jsonMapper mapper used to read the username and write rejections
+   */
+  public SignInThrottlingFilter(SignInThrottle throttle, JsonMapper jsonMapper) {
+    this.throttle = throttle;
+    this.jsonMapper = jsonMapper;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+    return !HttpMethod.POST.matches(request.getMethod())
+        || !SIGN_IN_PATH.equals(request.getServletPath());
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain)
+      throws ServletException, IOException {
+
+    if (request.getContentLengthLong() > MAXIMUM_BODY_SIZE) {
+      reject(response, HttpStatus.CONTENT_TOO_LARGE, "Sign-in request body is too large.");
+      return;
+    }
+    var body = request.getInputStream().readNBytes(MAXIMUM_BODY_SIZE + 1);
+    if (body.length > MAXIMUM_BODY_SIZE) {
+      reject(response, HttpStatus.CONTENT_TOO_LARGE, "Sign-in request body is too large.");
+      return;
+    }
+
+    var wait = throttle.tryAcquire(request.getRemoteAddr(), usernameFrom(body));
+    if (wait > 0) {
+      var retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait - 1) + 1);
+      LOGGER.warn("Sign-in attempt from {} throttled for {}s",
+          request.getRemoteAddr(), retryAfterSeconds);
+      response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+      reject(response, HttpStatus.TOO_MANY_REQUESTS,
+          "Too many sign-in attempts. Try again later.");
+      return;
+    }
+
+    filterChain.doFilter(new CachedBodyRequest(request, body), response);
+  }
+
+  private void reject(HttpServletResponse response, HttpStatus status, String message)
+      throws IOException {
+    response.setStatus(status.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.getWriter().write(jsonMapper.writeValueAsString(new MessageResource(message)));
+  }
+
+  private String usernameFrom(byte[] body) {
+    try {
+      return jsonMapper.readValue(body, SignInResource.class).username();
+    } catch (JacksonException exception) {
+      return null;
+    }
+  }
+
+  private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+
+    private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+      super(request);
+      this.body = body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      var input = new ByteArrayInputStream(body);
+      return new ServletInputStream() {
+        @Override
+        public boolean isFinished() {
+          return input.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+          throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int read() {
+          return input.read();
+        }
+
+        @Override
+        public int read(byte @NonNull [] bytes, int offset, int length) {
+          return input.read(bytes, offset, length);
+        }
+      };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+      var encoding = getCharacterEncoding();
+      var charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+      return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package com.example.authentication.iam.infrastructure.authorization.sfs.services;
+
+import com.example.authentication.iam.domain.model.events.UserChangedEvent;
+import com.example.authentication.iam.infrastructure.messaging.RemoteUserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Caching decorator around the default {@link UserDetailsService}.
+ *
+ * <p>Entries are bounded by size and time-to-live. Concurrent lookups of the same
+ * missing username wait for a single load instead of each querying the database.
+ * Entries are evicted as soon as a {@link UserChangedEvent} is committed, so status,
+ * password and role changes take effect on the next request. Changes made on other
+ * replicas arrive as {@link RemoteUserChangedEvent}s.</p>
+ *
+ * <p>Hit, miss and eviction counters are published under the {@code userDetails}
+ * cache name through Micrometer.</p>
+ *
+ * <p>Caffeine loads a missing entry inside {@code ConcurrentHashMap.compute}, so on
+ * Java 21 a virtual request thread stays pinned to its carrier during the query.</p>
+ */
+@Service(value = "cachedUserDetailsService")
+@ConditionalOnProperty(name = "authorization.user-details-cache.enabled", havingValue = "true")
+public class CachedUserDetailsService implements UserDetailsService {
+
+  private static final String CACHE_NAME = "userDetails";
+
+  private final UserDetailsService delegate;
+  private final Cache<String, UserDetails> cache;
+
+  /**
+   * Creates a new {@code CachedUserDetailsService}.
+   *
+   * @param delegate user details service that loads users from the database
+   * @param maximumSize maximum number of cached users
+   * @param timeToLive time after which a cached user is reloaded
+   * @param meterRegistry registry where cache statistics are published
+   */
+  @Autowired
+  public CachedUserDetailsService(
+      @Qualifier("defaultUserDetailsService") UserDetailsService delegate,
+      @Value("${authorization.user-details-cache.maximum-size:10000}") long maximumSize,
+      @Value("${authorization.user-details-cache.time-to-live:5m}") Duration timeToLive,
+      MeterRegistry meterRegistry) {
+    this(delegate, maximumSize, timeToLive, meterRegistry,
+        Ticker.systemTicker(), ForkJoinPool.commonPool());
+  }
+
+  CachedUserDetailsService(
+      UserDetailsService delegate,
+      long maximumSize,
+      Duration timeToLive,
+      MeterRegistry meterRegistry,
+      Ticker ticker,
+      Executor executor) {
+    this.delegate = delegate;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(timeToLive)
+        .ticker(ticker)
+        .executor(executor)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  @Override
+  @NonNull
+  public UserDetails loadUserByUsername(@NonNull String username)
+      throws UsernameNotFoundException {
+    return cache.get(username, delegate::loadUserByUsername);
+  }
+
+  /**
+   * Evicts the cached entry of a user whose security data changed.
+   *
+   * @param event user changed event
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void on(UserChangedEvent event) {
+    cache.invalidate(event.username());
+  }
+
+  /**
+   * Evicts the cached entry of a user changed on another node.
+   *
+   * @param event user change received from another node
+   */
+  @EventListener
+  public void on(RemoteUserChangedEvent event) {
+    cache.invalidate(event.event().username());
+  }
+}
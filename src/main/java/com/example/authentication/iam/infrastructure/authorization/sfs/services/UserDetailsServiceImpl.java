@@ -29,7 +29,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
   public UserDetails loadUserByUsername(@NonNull String username)
       throws UsernameNotFoundException {
 
-    var user = userRepository.findByUsername(username)
+    var user = userRepository.findWithRolesByUsername(username)
         .orElseThrow(() -> new UsernameNotFoundException(
             "User not found with username: " + username));
 
@@ -0,0 +1,112 @@
+package com.example.authentication.iam.infrastructure.authorization.sfs.throttling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token bucket limits applied to sign-in attempts, by client address and by username.
+ *
+ * <p>Every sign-in attempt costs a password hash, so attempts are limited before the
+ * request reaches the controller. The client address bucket is checked first; the
+ * username bucket is only charged for attempts the address bucket lets through.</p>
+ *
+ * <p>It publishes the {@code signin.throttle.keys} gauge (buckets in memory) and the
+ * {@code signin.throttle.rejected} counter, both tagged by {@code scope}
+ * ({@code ip} or {@code username}).</p>
+ */
+@Component
+public class SignInThrottle {
+
+  private static final String METRIC_NAME = "signin.throttle";
+
+  private final boolean enabled;
+  private final Scope addresses;
+  private final Scope usernames;
+
+  /**
+   * Creates a new {@code SignInThrottle}.
+   *
+   * @param enabled whether sign-in attempts are limited
+   * @param ipCapacity attempts allowed in a burst from one client address
+   * @param ipRefillPeriod time it takes a client address to regain all its attempts
+   * @param usernameCapacity attempts allowed in a burst for one username
+   * @param usernameRefillPeriod time it takes a username to regain all its attempts
+   * @param maximumKeys maximum number of buckets kept in memory per scope
+   * @param meterRegistry registry where the throttling metrics are published
+   */
+  public SignInThrottle(
+      @Value("${sign-in.throttling.enabled:true}") boolean enabled,
+      @Value("${sign-in.throttling.ip.capacity:20}") int ipCapacity,
+      @Value("${sign-in.throttling.ip.refill-period:1m}") Duration ipRefillPeriod,
+      @Value("${sign-in.throttling.username.capacity:5}") int usernameCapacity,
+      @Value("${sign-in.throttling.username.refill-period:1m}") Duration usernameRefillPeriod,
+      @Value("${sign-in.throttling.maximum-keys:100000}") int maximumKeys,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.addresses = new Scope("ip",
+        new TokenBucketRateLimiter(ipCapacity, ipRefillPeriod, maximumKeys), meterRegistry);
+    this.usernames = new Scope("username",
+        new TokenBucketRateLimiter(usernameCapacity, usernameRefillPeriod, maximumKeys),
+        meterRegistry);
+  }
+
+  /**
+   * Charges a sign-in attempt to its client address and username.
+   *
+   * @param clientAddress address the attempt comes from
+   * @param username username of the attempt, or {@code null} if it has none
+   * @return {@code 0} if the attempt is allowed, otherwise the nanoseconds to wait
+   */
+  public long tryAcquire(String clientAddress, String username) {
+    if (!enabled) {
+      return 0;
+    }
+    var wait = addresses.tryAcquire(clientAddress);
+    if (wait == 0 && username != null && !username.isBlank()) {
+      wait = usernames.tryAcquire(username);
+    }
+    return wait;
+  }
+
+  /**
+   * Drops the buckets of clients and usernames that have regained all their attempts.
+   */
+  @Scheduled(
+      initialDelayString = "${sign-in.throttling.eviction-interval:1m}",
+      fixedDelayString = "${sign-in.throttling.eviction-interval:1m}")
+  public void evictIdle() {
+    addresses.limiter.evictIdle();
+    usernames.limiter.evictIdle();
+  }
+
+  private static final class Scope {
+
+    private final TokenBucketRateLimiter limiter;
+    private final Counter rejected;
+
+    private Scope(String name, TokenBucketRateLimiter limiter, MeterRegistry meterRegistry) {
+      this.limiter = limiter;
+      this.rejected = Counter.builder(METRIC_NAME + ".rejected")
+          .description("Sign-in attempts rejected by the throttle")
+          .tag("scope", name)
+          .register(meterRegistry);
+      Gauge.builder(METRIC_NAME + ".keys", limiter, TokenBucketRateLimiter::size)
+          .description("Throttling buckets kept in memory")
+          .tag("scope", name)
+          .register(meterRegistry);
+    }
+
+    private long tryAcquire(String key) {
+      var wait = limiter.tryAcquire(key);
+      if (wait > 0) {
+        rejected.increment();
+      }
+      return wait;
+    }
+  }
+}
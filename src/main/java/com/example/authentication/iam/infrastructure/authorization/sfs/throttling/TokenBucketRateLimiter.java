@@ -0,0 +1,110 @@
+package com.example.authentication.iam.infrastructure.authorization.sfs.throttling;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket rate limiter keyed by string.
+ *
+ * <p>Each bucket holds {@code capacity} tokens and refills completely over
+ * {@code refillPeriod}. It is stored as a single {@link AtomicLong} with the
+ * theoretical arrival time of the next request (the generic cell rate algorithm), so
+ * acquiring a token is one compare-and-set and refilling needs no background work.</p>
+ *
+ * <p>Buckets are kept in a Caffeine cache bounded by {@code maximumKeys} that expires
+ * them {@code refillPeriod} after their last request. By then the arrival time is in the
+ * past, so the bucket is full and dropping it loses no state. When the bound is reached,
+ * the cache evicts the buckets least likely to be used again; every key keeps a bucket of
+ * its own. Expired and evicted buckets are removed by the requests themselves, in
+ * amortized constant time, or by {@link #evictIdle()}.</p>
+ */
+public final class TokenBucketRateLimiter {
+
+  private static final long FULL = Long.MIN_VALUE;
+
+  private final long emissionIntervalNanos;
+  private final long burstNanos;
+  private final LongSupplier nanoClock;
+  private final Cache<String, AtomicLong> buckets;
+
+  /**
+   * Creates a new {@code TokenBucketRateLimiter} driven by {@link System#nanoTime()}.
+   *
+   * @param capacity number of tokens a full bucket holds
+   * @param refillPeriod time it takes an empty bucket to refill completely
+   * @param maximumKeys maximum number of buckets kept in memory
+   */
+  public TokenBucketRateLimiter(int capacity, Duration refillPeriod, int maximumKeys) {
+    this(capacity, refillPeriod, maximumKeys, System::nanoTime);
+  }
+
+  /**
+   * Creates a new {@code TokenBucketRateLimiter}.
+   *
+   * @param capacity number of tokens a full bucket holds
+   * @param refillPeriod time it takes an empty bucket to refill completely
+   * @param maximumKeys maximum number of buckets kept in memory
+   * @param nanoClock monotonic clock in nanoseconds
+   */
+  public TokenBucketRateLimiter(
+      int capacity, Duration refillPeriod, int maximumKeys, LongSupplier nanoClock) {
+    if (capacity < 1 || maximumKeys < 1 || refillPeriod.isNegative() || refillPeriod.isZero()) {
+      throw new IllegalArgumentException(
+          "Capacity, refill period and maximum keys must be positive");
+    }
+    this.emissionIntervalNanos = Math.max(1, refillPeriod.toNanos() / capacity);
+    this.burstNanos = emissionIntervalNanos * capacity;
+    this.nanoClock = nanoClock;
+    this.buckets = Caffeine.newBuilder()
+        .maximumSize(maximumKeys)
+        .expireAfterAccess(Duration.ofNanos(burstNanos))
+        .ticker(nanoClock::getAsLong)
+        .executor(Runnable::run)
+        .build();
+  }
+
+  /**
+   * Takes a token from the bucket of a key.
+   *
+   * @param key bucket key
+   * @return {@code 0} if a token was taken, otherwise the nanoseconds until one is available
+   */
+  public long tryAcquire(String key) {
+    var now = nanoClock.getAsLong();
+    var bucket = buckets.get(key, ignored -> new AtomicLong(FULL));
+    while (true) {
+      var arrival = bucket.get();
+      var next = Math.max(arrival, now) + emissionIntervalNanos;
+      var wait = next - now - burstNanos;
+      if (wait > 0) {
+        return wait;
+      }
+      if (bucket.compareAndSet(arrival, next)) {
+        return 0;
+      }
+    }
+  }
+
+  /**
+   * Removes the buckets that have refilled completely and the ones evicted by the size
+   * bound.
+   *
+   * <p>A request racing with the removal of its bucket may be granted one token more
+   * than the limit.</p>
+   */
+  public void evictIdle() {
+    buckets.cleanUp();
+  }
+
+  /**
+   * Returns the number of buckets kept in memory.
+   *
+   * @return number of buckets
+   */
+  public long size() {
+    return buckets.estimatedSize();
+  }
+}
@@ -2,27 +2,46 @@ package com.example.authentication.iam.infrastructure.email.javamail;
 
 import com.example.authentication.iam.application.internal.outboundservices.email.EmailService;
 import com.example.authentication.iam.domain.exceptions.EmailSendingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
 /**
  * JavaMail-based implementation of {@link EmailService}.
  *
  * <p>This service is responsible for sending transactional emails,
  * such as account verification emails.</p>
+ *
+ * <p>{@link #sendVerificationEmails(List)} sends a whole batch over a single
+ * SMTP connection, so the connection and STARTTLS handshake are paid once per batch
+ * instead of once per message. Sent and failed messages are counted in
+ * {@code email.sent} (tagged by {@code result}), and each batch is recorded in
+ * {@code email.batch.duration} and {@code email.batch.size}.</p>
  */
 @Service
 public class EmailServiceImpl implements EmailService {
 
   private final JavaMailSender mailSender;
-  private final TemplateEngine templateEngine;
+  private final EmailTemplateRenderer templateRenderer;
+  private final Counter sentCounter;
+  private final Counter failedCounter;
+  private final Timer batchTimer;
+  private final DistributionSummary batchSize;
 
   @Value("${spring.mail.from}")
   private String fromEmail;
@@ -31,13 +50,19 @@ public class EmailServiceImpl implements EmailService {
    * Creates a new {@code EmailServiceImpl}.
    *
    * @param mailSender mail sender used to send emails
-   * @param templateEngine Thymeleaf template engine
+   * @param templateRenderer email template renderer
+   * @param meterRegistry registry where the sending metrics are published
    */
   public EmailServiceImpl(
       JavaMailSender mailSender,
-      TemplateEngine templateEngine) {
+      EmailTemplateRenderer templateRenderer,
+      MeterRegistry meterRegistry) {
     this.mailSender = mailSender;
-    this.templateEngine = templateEngine;
+    this.templateRenderer = templateRenderer;
+    this.sentCounter = meterRegistry.counter("email.sent", "result", "success");
+    this.failedCounter = meterRegistry.counter("email.sent", "result", "failure");
+    this.batchTimer = meterRegistry.timer("email.batch.duration");
+    this.batchSize = meterRegistry.summary("email.batch.size");
   }
 
   /**
@@ -50,37 +75,91 @@ public class EmailServiceImpl implements EmailService {
   public void sendVerificationEmail(
       String to,
       String verificationLink) {
-    try {
-      MimeMessage message =
-          mailSender.createMimeMessage();
+    var failures = sendVerificationEmails(List.of(new VerificationEmail(to, verificationLink)));
+    if (!failures.isEmpty()) {
+      throw new EmailSendingException(
+          "Error sending verification email",
+          failures.get(0));
+    }
+  }
 
-      MimeMessageHelper helper =
-                new MimeMessageHelper(
-                    message,
-                    MimeMessageHelper.MULTIPART_MODE_MIXED_RELATED,
-                    StandardCharsets.UTF_8.name());
+  /**
+   * Sends several account verification emails over a single SMTP connection.
+   *
+   * <p>A failure only affects the messages it concerns; if the connection cannot be
+   * opened, every message of the batch is reported as failed.</p>
+   *
+   * @param emails emails to send
+   * @return failures keyed by the position of the email in {@code emails}
+   */
+  public Map<Integer, Exception> sendVerificationEmails(List<VerificationEmail> emails) {
+    Map<Integer, Exception> failures = new HashMap<>();
+    Map<MimeMessage, Integer> positions = new IdentityHashMap<>();
+    List<MimeMessage> messages = new ArrayList<>(emails.size());
 
-      Context context = new Context();
-      context.setVariable(
-                "verificationLink",
-                verificationLink);
+    for (int i = 0; i < emails.size(); i++) {
+      try {
+        var message = createVerificationMessage(emails.get(i));
+        positions.put(message, i);
+        messages.add(message);
+      } catch (MessagingException | RuntimeException e) {
+        failures.put(i, e);
+      }
+    }
 
-      String html =
-                templateEngine.process(
-                    "email-verification",
-                    context);
+    if (!messages.isEmpty()) {
+      batchSize.record(messages.size());
+      batchTimer.record(() -> send(messages, positions, failures));
+    }
 
-      helper.setFrom(fromEmail);
-      helper.setTo(to);
-      helper.setSubject(
-                "Confirm your account - Authentication Service");
-      helper.setText(html, true);
+    failedCounter.increment(failures.size());
+    sentCounter.increment(emails.size() - failures.size());
+    return failures;
+  }
 
-      mailSender.send(message);
-    } catch (MessagingException e) {
-      throw new EmailSendingException(
-          "Error sending verification email",
-          e);
+  private void send(
+      List<MimeMessage> messages,
+      Map<MimeMessage, Integer> positions,
+      Map<Integer, Exception> failures) {
+    try {
+      mailSender.send(messages.toArray(MimeMessage[]::new));
+    } catch (MailSendException e) {
+      e.getFailedMessages().forEach((message, cause) -> {
+        var position = positions.get(message);
+        if (position != null) {
+          failures.put(position, cause);
+        }
+      });
+      if (e.getFailedMessages().isEmpty()) {
+        positions.values().forEach(position -> failures.put(position, e));
+      }
+    } catch (MailException e) {
+      positions.values().forEach(position -> failures.put(position, e));
     }
   }
+
+  private MimeMessage createVerificationMessage(VerificationEmail email)
+      throws MessagingException {
+    MimeMessage message =
+        mailSender.createMimeMessage();
+
+    MimeMessageHelper helper =
+              new MimeMessageHelper(
+                  message,
+                  MimeMessageHelper.MULTIPART_MODE_MIXED_RELATED,
+                  StandardCharsets.UTF_8.name());
+
+    String html =
+              templateRenderer.render(
+                  "email-verification",
+                  "verificationLink",
+                  email.verificationLink());
+
+    helper.setFrom(fromEmail);
+    helper.setTo(email.to());
+    helper.setSubject(
+              "Confirm your account - Authentication Service");
+    helper.setText(html, true);
+    return message;
+  }
 }
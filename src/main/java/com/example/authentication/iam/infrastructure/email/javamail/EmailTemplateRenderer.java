@@ -0,0 +1,113 @@
+package com.example.authentication.iam.infrastructure.email.javamail;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.unbescape.html.HtmlEscape;
+
+/**
+ * Renders transactional email templates that depend on a single variable.
+ *
+ * <p>The first time a template is used it is rendered by Thymeleaf with a marker value,
+ * and the output is split around the marker into static fragments. Later renders only
+ * join those fragments with the HTML-escaped value, skipping template resolution and DOM
+ * processing. Before a compiled template is used, it must reproduce Thymeleaf's output
+ * exactly for a second marker and for a sample value that needs escaping. Templates
+ * with other dynamic content fail that check and are always rendered by Thymeleaf.</p>
+ */
+@Component
+public class EmailTemplateRenderer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(EmailTemplateRenderer.class);
+
+  private static final String ESCAPING_SAMPLE = "https://example.com/?a=1&b=\"2\"<'3'>";
+
+  private final TemplateEngine templateEngine;
+  private final boolean precompiled;
+  private final Map<String, Optional<CompiledTemplate>> compiledTemplates =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new {@code EmailTemplateRenderer}.
+   *
+   * @param templateEngine Thymeleaf template engine
+   * @param precompiled whether compiled templates are used when possible
+   */
+  public EmailTemplateRenderer(
+      TemplateEngine templateEngine,
+      @Value("${email.templates.precompiled.enabled:true}") boolean precompiled) {
+    this.templateEngine = templateEngine;
+    this.precompiled = precompiled;
+  }
+
+  /**
+   * Renders a template whose only variable is {@code variable}.
+   *
+   * @param template template name
+   * @param variable variable name
+   * @param value variable value
+   * @return rendered HTML
+   */
+  public String render(String template, String variable, String value) {
+    if (!precompiled) {
+      return process(template, variable, value);
+    }
+    return compiledTemplates
+        .computeIfAbsent(template + '#' + variable, key -> compile(template, variable))
+        .map(compiled -> compiled.render(value))
+        .orElseGet(() -> process(template, variable, value));
+  }
+
+  private String process(String template, String variable, String value) {
+    var context = new Context();
+    context.setVariable(variable, value);
+    return templateEngine.process(template, context);
+  }
+
+  private Optional<CompiledTemplate> compile(String template, String variable) {
+    var marker = newMarker();
+    var compiled = new CompiledTemplate(
+        process(template, variable, marker).split(Pattern.quote(marker), -1));
+
+    var otherMarker = newMarker();
+    if (compiled.render(otherMarker).equals(process(template, variable, otherMarker))
+        && compiled.render(ESCAPING_SAMPLE).equals(
+            process(template, variable, ESCAPING_SAMPLE))) {
+      return Optional.of(compiled);
+    }
+    LOGGER.info("Template {} has dynamic content, using full Thymeleaf rendering", template);
+    return Optional.empty();
+  }
+
+  private static String newMarker() {
+    return "tpl" + UUID.randomUUID().toString().replace("-", "");
+  }
+
+  /**
+   * Static fragments of a rendered template, to be joined with the escaped variable.
+   */
+  private record CompiledTemplate(String[] fragments) {
+
+    String render(String value) {
+      var escaped = HtmlEscape.escapeHtml4Xml(value);
+      int length = escaped.length() * (fragments.length - 1);
+      for (String fragment : fragments) {
+        length += fragment.length();
+      }
+      var html = new StringBuilder(length);
+      html.append(fragments[0]);
+      for (int i = 1; i < fragments.length; i++) {
+        html.append(escaped).append(fragments[i]);
+      }
+      return html.toString();
+    }
+  }
+}
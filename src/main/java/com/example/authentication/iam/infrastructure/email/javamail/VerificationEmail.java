@@ -0,0 +1,10 @@
+package com.example.authentication.iam.infrastructure.email.javamail;
+
+/**
+ * Verification email to be sent as part of a batch.
+ *
+ * @param to recipient email address
+ * @param verificationLink verification URL
+ */
+public record VerificationEmail(String to, String verificationLink) {
+}
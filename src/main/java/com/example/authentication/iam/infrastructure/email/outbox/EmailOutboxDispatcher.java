@@ -0,0 +1,118 @@
+package com.example.authentication.iam.infrastructure.email.outbox;
+
+import com.example.authentication.iam.infrastructure.email.javamail.EmailServiceImpl;
+import com.example.authentication.iam.infrastructure.email.javamail.VerificationEmail;
+import com.example.authentication.iam.infrastructure.email.outbox.model.EmailOutboxMessage.Status;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.EmailOutboxRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Background dispatcher that drains the email outbox.
+ *
+ * <p>Each run locks a batch of due messages and sends them through
+ * {@link EmailServiceImpl} over a single SMTP connection. Failed deliveries are retried
+ * with exponential backoff, and messages that keep failing after
+ * {@code email.outbox.max-attempts} attempts are dead-lettered: they stay in the table
+ * with status {@code DEAD} and their last error.</p>
+ *
+ * <p>With virtual threads enabled it runs on a virtual thread. On Java 21 the SMTP
+ * session pins its carrier thread, because Angus Mail does its socket I/O inside
+ * {@code synchronized} methods; as a single scheduled task, it pins at most one.</p>
+ */
+@Component
+@ConditionalOnProperty(
+    name = "email.outbox.dispatcher.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class EmailOutboxDispatcher {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+  private final EmailOutboxRepository emailOutboxRepository;
+  private final EmailServiceImpl emailSender;
+  private final int batchSize;
+  private final int maxAttempts;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+
+  /**
+   * Creates a new {@code EmailOutboxDispatcher}.
+   *
+   * @param emailOutboxRepository outbox repository
+   * @param emailSender SMTP email service used for delivery
+   * @param batchSize maximum number of messages sent per run
+   * @param maxAttempts number of attempts after which a message is dead-lettered
+   * @param initialBackoff delay before the first retry
+   * @param maxBackoff upper bound for the retry delay
+   */
+  public EmailOutboxDispatcher(
+      EmailOutboxRepository emailOutboxRepository,
+      EmailServiceImpl emailSender,
+      @Value("${email.outbox.batch-size:50}") int batchSize,
+      @Value("${email.outbox.max-attempts:8}") int maxAttempts,
+      @Value("${email.outbox.backoff.initial:5s}") Duration initialBackoff,
+      @Value("${email.outbox.backoff.max:15m}") Duration maxBackoff) {
+    this.emailOutboxRepository = emailOutboxRepository;
+    this.emailSender = emailSender;
+    this.batchSize = batchSize;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+  }
+
+  /**
+   * Sends the next batch of due messages.
+   *
+   * @return number of messages processed in this run
+   */
+  @Scheduled(fixedDelayString = "${email.outbox.poll-interval:1s}")
+  @Transactional
+  public int dispatch() {
+    var now = Instant.now();
+    var batch = emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+        Status.PENDING, now, Limit.of(batchSize));
+
+    var emails = batch.stream()
+        .map(message -> new VerificationEmail(
+            message.getRecipient(), message.getVerificationLink()))
+        .toList();
+    var failures = emails.isEmpty() ? Map.<Integer, Exception>of()
+        : emailSender.sendVerificationEmails(emails);
+
+    for (int i = 0; i < batch.size(); i++) {
+      var message = batch.get(i);
+      var failure = failures.get(i);
+      if (failure == null) {
+        message.markSent(Instant.now());
+        continue;
+      }
+      var error = failure.getCause() != null
+          ? failure.getCause().getMessage()
+          : failure.getMessage();
+      message.markFailed(error, now.plus(backoff(message.getAttempts() + 1)), maxAttempts);
+      if (message.getStatus() == Status.DEAD) {
+        LOGGER.error("Email outbox message {} dead-lettered after {} attempts: {}",
+            message.getId(), message.getAttempts(), error);
+      } else {
+        LOGGER.warn("Email outbox message {} failed (attempt {}), retrying at {}: {}",
+            message.getId(), message.getAttempts(), message.getNextAttemptAt(), error);
+      }
+    }
+    return batch.size();
+  }
+
+  private Duration backoff(int attempt) {
+    var delay = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+    return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+  }
+}
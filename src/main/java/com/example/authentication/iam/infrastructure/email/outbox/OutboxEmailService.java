@@ -0,0 +1,43 @@
+package com.example.authentication.iam.infrastructure.email.outbox;
+
+import com.example.authentication.iam.application.internal.outboundservices.email.EmailService;
+import com.example.authentication.iam.infrastructure.email.outbox.model.EmailOutboxMessage;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.EmailOutboxRepository;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Outbox-based implementation of {@link EmailService}.
+ *
+ * <p>Instead of talking to SMTP, emails are stored in the outbox within the caller's
+ * transaction and delivered later by {@link EmailOutboxDispatcher}.</p>
+ */
+@Service
+@Primary
+public class OutboxEmailService implements EmailService {
+
+  private final EmailOutboxRepository emailOutboxRepository;
+
+  /**
+   * Creates a new {@code OutboxEmailService}.
+   *
+   * @param emailOutboxRepository outbox repository
+   */
+  public OutboxEmailService(EmailOutboxRepository emailOutboxRepository) {
+    this.emailOutboxRepository = emailOutboxRepository;
+  }
+
+  /**
+   * Queues an account verification email in the current transaction.
+   *
+   * @param to recipient email address
+   * @param verificationLink verification URL
+   */
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void sendVerificationEmail(String to, String verificationLink) {
+    emailOutboxRepository.save(new EmailOutboxMessage(to, verificationLink));
+  }
+}
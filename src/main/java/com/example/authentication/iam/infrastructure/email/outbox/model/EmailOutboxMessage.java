@@ -0,0 +1,114 @@
+package com.example.authentication.iam.infrastructure.email.outbox.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Email waiting to be delivered by the outbox dispatcher.
+ *
+ * <p>Messages are written in the same transaction as the change that triggers them
+ * and delivered afterwards, so SMTP latency and failures never affect that transaction.</p>
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(indexes = @Index(
+    name = "idx_email_outbox_messages_status_next_attempt_at",
+    columnList = "status, next_attempt_at"))
+public class EmailOutboxMessage {
+
+  private static final int MAX_ERROR_LENGTH = 1000;
+
+  /**
+   * Delivery status of an outbox message.
+   */
+  public enum Status {
+    PENDING,
+    SENT,
+    DEAD
+  }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private String recipient;
+
+  @Column(nullable = false, length = 2048)
+  private String verificationLink;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 10)
+  private Status status;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  @Column(nullable = false)
+  private Instant nextAttemptAt;
+
+  @Column(nullable = false, updatable = false)
+  private Instant createdAt;
+
+  private Instant sentAt;
+
+  @Column(length = MAX_ERROR_LENGTH)
+  private String lastError;
+
+  /**
+   * Creates a pending verification email, ready to be sent immediately.
+   *
+   * @param recipient email recipient
+   * @param verificationLink verification link to be sent
+   */
+  public EmailOutboxMessage(String recipient, String verificationLink) {
+    this.recipient = recipient;
+    this.verificationLink = verificationLink;
+    this.status = Status.PENDING;
+    this.attempts = 0;
+    this.createdAt = Instant.now();
+    this.nextAttemptAt = createdAt;
+  }
+
+  /**
+   * Marks the message as delivered.
+   *
+   * @param now delivery time
+   */
+  public void markSent(Instant now) {
+    this.attempts++;
+    this.status = Status.SENT;
+    this.sentAt = now;
+    this.lastError = null;
+  }
+
+  /**
+   * Records a failed delivery attempt, scheduling a retry or dead-lettering the message.
+   *
+   * @param error failure description
+   * @param nextAttemptAt time of the next attempt
+   * @param maxAttempts number of attempts after which the message is dead-lettered
+   */
+  public void markFailed(String error, Instant nextAttemptAt, int maxAttempts) {
+    this.attempts++;
+    this.lastError = error != null && error.length() > MAX_ERROR_LENGTH
+        ? error.substring(0, MAX_ERROR_LENGTH)
+        : error;
+    if (attempts >= maxAttempts) {
+      this.status = Status.DEAD;
+    } else {
+      this.nextAttemptAt = nextAttemptAt;
+    }
+  }
+}
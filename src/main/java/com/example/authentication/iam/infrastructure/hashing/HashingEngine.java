@@ -0,0 +1,48 @@
+package com.example.authentication.iam.infrastructure.hashing;
+
+/**
+ * Password hashing algorithm recognised by the format of the hashes it produces.
+ */
+public interface HashingEngine {
+
+  /**
+   * Returns the identifier used to select this engine in {@code hashing.algorithm}.
+   *
+   * @return engine identifier
+   */
+  String id();
+
+  /**
+   * Checks whether the encoded password was produced by this engine.
+   *
+   * @param encodedPassword encoded password
+   * @return {@code true} if this engine can verify the hash, {@code false} otherwise
+   */
+  boolean supports(String encodedPassword);
+
+  /**
+   * Encodes the given raw password with the configured parameters.
+   *
+   * @param rawPassword raw password to encode
+   * @return encoded password
+   */
+  String encode(CharSequence rawPassword);
+
+  /**
+   * Verifies whether a raw password matches an encoded password supported by this engine.
+   *
+   * @param rawPassword raw password
+   * @param encodedPassword encoded password
+   * @return {@code true} if the passwords match, {@code false} otherwise
+   */
+  boolean matches(CharSequence rawPassword, String encodedPassword);
+
+  /**
+   * Checks whether a hash supported by this engine uses different parameters than the
+   * configured ones.
+   *
+   * @param encodedPassword encoded password
+   * @return {@code true} if the password should be re-encoded, {@code false} otherwise
+   */
+  boolean upgradeEncoding(String encodedPassword);
+}
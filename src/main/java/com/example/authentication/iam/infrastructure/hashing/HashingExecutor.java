@@ -0,0 +1,135 @@
+package com.example.authentication.iam.infrastructure.hashing;
+
+import com.example.authentication.iam.domain.exceptions.HashingCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded executor that runs password hashing off the servlet request threads.
+ *
+ * <p>Hashing is CPU bound, so it runs on a fixed pool sized to the available processors
+ * by default, in front of a bounded queue. When both are full the task is rejected at once
+ * with a {@link HashingCapacityExceededException}, which is mapped to HTTP 503, instead of
+ * letting sign-in bursts tie up the request threads used by the rest of the API.</p>
+ *
+ * <p>Besides the standard executor metrics (tagged {@code name=hashing}), it publishes
+ * {@code hashing.queue.wait} and {@code hashing.duration} timers, tagged by operation,
+ * and a {@code hashing.rejected} counter.</p>
+ */
+@Component
+public class HashingExecutor implements DisposableBean {
+
+  private static final String METRIC_NAME = "hashing";
+
+  private final ThreadPoolExecutor executor;
+  private final MeterRegistry meterRegistry;
+  private final Counter rejectedCounter;
+
+  /**
+   * Creates a new {@code HashingExecutor}.
+   *
+   * @param poolSize number of hashing threads, {@code 0} to use the available processors
+   * @param queueCapacity maximum number of hashing tasks waiting for a thread
+   * @param meterRegistry registry where the hashing metrics are published
+   */
+  public HashingExecutor(
+      @Value("${hashing.executor.pool-size:0}") int poolSize,
+      @Value("${hashing.executor.queue-capacity:64}") int queueCapacity,
+      MeterRegistry meterRegistry) {
+    int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+    var threadCount = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(
+        threads,
+        threads,
+        0L,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        runnable -> {
+          var thread = new Thread(runnable, "hashing-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.AbortPolicy());
+    this.meterRegistry = meterRegistry;
+    this.rejectedCounter = meterRegistry.counter(METRIC_NAME + ".rejected");
+    new ExecutorServiceMetrics(executor, METRIC_NAME, List.of()).bindTo(meterRegistry);
+  }
+
+  /**
+   * Runs a hashing operation on the hashing pool and waits for its result.
+   *
+   * @param operation operation name used to tag the metrics
+   * @param task hashing work to run
+   * @param <T> result type
+   * @return result of the task
+   * @throws HashingCapacityExceededException if the pool and its queue are full
+   */
+  public <T> T execute(String operation, Supplier<T> task) {
+    var waitTimer = Timer.builder(METRIC_NAME + ".queue.wait")
+        .tag("operation", operation)
+        .register(meterRegistry);
+    var hashTimer = Timer.builder(METRIC_NAME + ".duration")
+        .tag("operation", operation)
+        .register(meterRegistry);
+    long submittedAt = System.nanoTime();
+
+    Future<T> future;
+    try {
+      future = executor.submit(() -> {
+        waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+        return hashTimer.record(task);
+      });
+    } catch (RejectedExecutionException e) {
+      rejectedCounter.increment();
+      throw new HashingCapacityExceededException();
+    }
+
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Password hashing failed", e.getCause());
+    }
+  }
+
+  /**
+   * Rejects the caller the same way {@link #execute(String, Supplier)} would when the pool
+   * and its queue are full, without running anything.
+   *
+   * <p>Used by work that imitates a hash, so that it is rejected under the same load as
+   * the real one.</p>
+   *
+   * @throws HashingCapacityExceededException if the pool and its queue are full
+   */
+  public void checkCapacity() {
+    if (executor.getQueue().remainingCapacity() == 0) {
+      rejectedCounter.increment();
+      throw new HashingCapacityExceededException();
+    }
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,42 @@
+package com.example.authentication.iam.infrastructure.hashing;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Model of how long a password verification takes, built from observed timings.
+ *
+ * <p>It keeps the most recent verification times in a fixed-size ring and draws from
+ * them at random, so the sampled delays follow the real distribution, including the time
+ * spent waiting for the hashing pool under load. Recording and sampling are lock-free.</p>
+ */
+public class MatchesLatencyModel {
+
+  private static final int SAMPLES = 128;
+
+  private final AtomicLongArray samples = new AtomicLongArray(SAMPLES);
+  private final AtomicLong recorded = new AtomicLong();
+
+  /**
+   * Records the duration of a password verification.
+   *
+   * @param nanos duration in nanoseconds
+   */
+  public void record(long nanos) {
+    samples.set((int) (recorded.getAndIncrement() % SAMPLES), nanos);
+  }
+
+  /**
+   * Draws a verification duration from the recorded ones.
+   *
+   * @return duration in nanoseconds, or {@code 0} if nothing has been recorded yet
+   */
+  public long sample() {
+    var available = (int) Math.min(recorded.get(), SAMPLES);
+    if (available == 0) {
+      return 0;
+    }
+    return samples.get(ThreadLocalRandom.current().nextInt(available));
+  }
+}
@@ -1,14 +1,17 @@
-package com.example.authentication.iam.infrastructure.hashing.bcrypt;
+package com.example.authentication.iam.infrastructure.hashing;
 
 import com.example.authentication.iam.application.internal.outboundservices.hashing.HashingService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
- * Hashing service based on the BCrypt algorithm.
+ * Password hashing service used by the application and by Spring Security.
  *
  * <p>This interface combines application-level hashing operations
  * with Spring Security's {@link PasswordEncoder} contract.</p>
  */
-public interface BcryptHashingService
+public interface PasswordHashingService
     extends HashingService, PasswordEncoder {
+
+  @Override
+  boolean upgradeEncoding(String encodedPassword);
 }
@@ -0,0 +1,84 @@
+package com.example.authentication.iam.infrastructure.hashing.argon2;
+
+import com.example.authentication.iam.infrastructure.hashing.HashingEngine;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Argon2id {@link HashingEngine} for {@code $argon2id$} hashes.
+ *
+ * <p>Hashing is delegated to Spring Security's {@link Argon2PasswordEncoder}. Memory,
+ * iterations and parallelism come from the {@code hashing.argon2.*} properties and are
+ * encoded in every hash, so hashes written with other parameters keep verifying and are
+ * reported by {@link #upgradeEncoding(String)}.</p>
+ */
+@Component
+public class Argon2HashingEngine implements HashingEngine {
+
+  /**
+   * Identifier of this engine.
+   */
+  public static final String ID = "argon2id";
+
+  private static final String PREFIX = "$argon2id$";
+  private static final Pattern PARAMETERS_PATTERN =
+      Pattern.compile("\\$m=(\\d+),t=(\\d+),p=(\\d+)\\$");
+  private static final int SALT_LENGTH = 16;
+  private static final int HASH_LENGTH = 32;
+
+  private final Argon2PasswordEncoder passwordEncoder;
+  private final int memoryKib;
+  private final int iterations;
+  private final int parallelism;
+
+  /**
+   * Creates a new {@code Argon2HashingEngine}.
+   *
+   * @param memoryKib memory cost in KiB
+   * @param iterations number of passes over the memory
+   * @param parallelism number of lanes
+   */
+  public Argon2HashingEngine(
+      @Value("${hashing.argon2.memory-kib:19456}") int memoryKib,
+      @Value("${hashing.argon2.iterations:2}") int iterations,
+      @Value("${hashing.argon2.parallelism:1}") int parallelism) {
+    this.passwordEncoder = new Argon2PasswordEncoder(
+        SALT_LENGTH, HASH_LENGTH, parallelism, memoryKib, iterations);
+    this.memoryKib = memoryKib;
+    this.iterations = iterations;
+    this.parallelism = parallelism;
+  }
+
+  @Override
+  public String id() {
+    return ID;
+  }
+
+  @Override
+  public boolean supports(String encodedPassword) {
+    return encodedPassword.startsWith(PREFIX);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return passwordEncoder.encode(rawPassword);
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return passwordEncoder.matches(rawPassword, encodedPassword);
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    var matcher = PARAMETERS_PATTERN.matcher(encodedPassword);
+    if (!matcher.find()) {
+      return true;
+    }
+    return Integer.parseInt(matcher.group(1)) != memoryKib
+        || Integer.parseInt(matcher.group(2)) != iterations
+        || Integer.parseInt(matcher.group(3)) != parallelism;
+  }
+}
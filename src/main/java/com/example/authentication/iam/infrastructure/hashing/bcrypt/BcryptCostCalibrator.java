@@ -0,0 +1,88 @@
+package com.example.authentication.iam.infrastructure.hashing.bcrypt;
+
+import java.time.Duration;
+import java.util.Arrays;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Command that measures BCrypt hashing time on the current machine and recommends
+ * the highest cost factor that stays within a latency budget.
+ *
+ * <p>Run it on the target hardware and copy the result to {@code hashing.bcrypt.strength}:</p>
+ * <pre>
+ * mvn compile exec:java -Dexec.args=250 \
+ *   -Dexec.mainClass=com.example.authentication.iam.infrastructure.hashing.bcrypt.\
+ * BcryptCostCalibrator
+ * </pre>
+ */
+public final class BcryptCostCalibrator {
+
+  /**
+   * Lowest cost factor accepted by BCrypt.
+   */
+  public static final int MIN_STRENGTH = 4;
+
+  /**
+   * Highest cost factor worth measuring; each step doubles the hashing time.
+   */
+  public static final int MAX_STRENGTH = 16;
+
+  private static final long DEFAULT_BUDGET_MILLIS = 250;
+  private static final int SAMPLES = 5;
+  private static final String SAMPLE_PASSWORD = "Calibration-Passw0rd!";
+
+  private BcryptCostCalibrator() {
+  }
+
+  /**
+   * Entry point of the calibration command.
+   *
+   * @param args optional latency budget in milliseconds, {@code 250} by default
+   */
+  public static void main(String[] args) {
+    var budget = Duration.ofMillis(
+        args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_BUDGET_MILLIS);
+    System.out.printf("Target hashing budget: %d ms%n", budget.toMillis());
+    int recommended = recommend(budget);
+    System.out.printf("Recommended hashing.bcrypt.strength=%d%n", recommended);
+  }
+
+  /**
+   * Measures increasing cost factors and returns the highest one whose median hashing
+   * time fits the budget, never below {@link #MIN_STRENGTH}.
+   *
+   * @param budget maximum acceptable time for one hash
+   * @return recommended cost factor
+   */
+  public static int recommend(Duration budget) {
+    int recommended = MIN_STRENGTH;
+    for (int strength = MIN_STRENGTH; strength <= MAX_STRENGTH; strength++) {
+      var median = measure(strength);
+      System.out.printf("cost %2d: %6d ms%n", strength, median.toMillis());
+      if (median.compareTo(budget) > 0) {
+        break;
+      }
+      recommended = strength;
+    }
+    return recommended;
+  }
+
+  /**
+   * Returns the median time needed to hash a password with the given cost factor.
+   *
+   * @param strength BCrypt cost factor
+   * @return median hashing time
+   */
+  public static Duration measure(int strength) {
+    var encoder = new BCryptPasswordEncoder(strength);
+    encoder.encode(SAMPLE_PASSWORD);
+    long[] samples = new long[SAMPLES];
+    for (int i = 0; i < SAMPLES; i++) {
+      long start = System.nanoTime();
+      encoder.encode(SAMPLE_PASSWORD);
+      samples[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(samples);
+    return Duration.ofNanos(samples[SAMPLES / 2]);
+  }
+}
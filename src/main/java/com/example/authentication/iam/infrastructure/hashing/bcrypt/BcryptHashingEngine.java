@@ -0,0 +1,64 @@
+package com.example.authentication.iam.infrastructure.hashing.bcrypt;
+
+import com.example.authentication.iam.infrastructure.hashing.HashingEngine;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * BCrypt {@link HashingEngine} for {@code $2a$}, {@code $2b$} and {@code $2y$} hashes.
+ *
+ * <p>Hashing is delegated to Spring Security's {@link BCryptPasswordEncoder}
+ * with the cost factor from {@code hashing.bcrypt.strength}.</p>
+ */
+@Component
+public class BcryptHashingEngine implements HashingEngine {
+
+  /**
+   * Identifier of this engine.
+   */
+  public static final String ID = "bcrypt";
+
+  private static final Pattern BCRYPT_PATTERN =
+      Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+  private final BCryptPasswordEncoder passwordEncoder;
+  private final int strength;
+
+  /**
+   * Creates a new {@code BcryptHashingEngine}.
+   *
+   * @param strength BCrypt cost factor
+   */
+  public BcryptHashingEngine(@Value("${hashing.bcrypt.strength:10}") int strength) {
+    this.passwordEncoder = new BCryptPasswordEncoder(strength);
+    this.strength = strength;
+  }
+
+  @Override
+  public String id() {
+    return ID;
+  }
+
+  @Override
+  public boolean supports(String encodedPassword) {
+    return BCRYPT_PATTERN.matcher(encodedPassword).find();
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return passwordEncoder.encode(rawPassword);
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return passwordEncoder.matches(rawPassword, encodedPassword);
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    var matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+    return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+  }
+}
@@ -0,0 +1,138 @@
+package com.example.authentication.iam.infrastructure.hashing.service;
+
+import com.example.authentication.iam.infrastructure.hashing.HashingEngine;
+import com.example.authentication.iam.infrastructure.hashing.HashingExecutor;
+import com.example.authentication.iam.infrastructure.hashing.MatchesLatencyModel;
+import com.example.authentication.iam.infrastructure.hashing.PasswordHashingService;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Delegating implementation of {@link PasswordHashingService}.
+ *
+ * <p>New passwords are encoded with the engine selected by {@code hashing.algorithm}.
+ * Stored hashes are verified by the engine that recognises their prefix, so legacy
+ * {@code $2a$} hashes keep working after switching to Argon2id. Hashes produced by
+ * another engine, or with other parameters, are reported by
+ * {@link #upgradeEncoding(String)} so they can be migrated on the next sign-in.</p>
+ *
+ * <p>The work runs on the bounded {@link HashingExecutor} rather than on the caller's
+ * thread.</p>
+ *
+ * <p>Sign-ins for unknown users are imitated according to {@code hashing.unknown-user.mode}:
+ * {@code off} leaves them to the caller, {@code hash} verifies the password against a
+ * hash computed at startup, and {@code delay} sleeps for a duration drawn from the
+ * recent verification times, which keeps the timing without spending a hash. The model
+ * is seeded at startup with a few verifications of that hash. Delayed imitations are
+ * still rejected with {@code HashingCapacityExceededException} while the hashing pool is
+ * saturated, so a 503 does not tell known users from unknown ones.</p>
+ */
+@Service
+public class HashingServiceImpl implements PasswordHashingService {
+
+  private static final String IMITATED_PASSWORD = "unknown-user-password";
+  private static final int CALIBRATION_ROUNDS = 3;
+
+  private final List<HashingEngine> engines;
+  private final HashingEngine encodingEngine;
+  private final HashingExecutor hashingExecutor;
+  private final UnknownUserMode unknownUserMode;
+  private final MatchesLatencyModel latencyModel = new MatchesLatencyModel();
+  private final String imitatedHash;
+
+  HashingServiceImpl(
+      List<HashingEngine> engines,
+      HashingExecutor hashingExecutor,
+      @Value("${hashing.algorithm:bcrypt}") String algorithm,
+      @Value("${hashing.unknown-user.mode:off}") String unknownUserMode) {
+    this.engines = List.copyOf(engines);
+    this.encodingEngine = engines.stream()
+        .filter(engine -> engine.id().equals(algorithm))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException(
+            "Unsupported hashing algorithm: " + algorithm));
+    this.hashingExecutor = hashingExecutor;
+    this.unknownUserMode = UnknownUserMode.valueOf(unknownUserMode.toUpperCase(Locale.ROOT));
+    this.imitatedHash = this.unknownUserMode == UnknownUserMode.OFF
+        ? null
+        : encodingEngine.encode(IMITATED_PASSWORD);
+    if (this.unknownUserMode == UnknownUserMode.DELAY) {
+      for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+        long startedAt = System.nanoTime();
+        encodingEngine.matches(IMITATED_PASSWORD, imitatedHash);
+        latencyModel.record(System.nanoTime() - startedAt);
+      }
+    }
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return hashingExecutor.execute(
+        "encode",
+        () -> encodingEngine.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    var engine = engineFor(encodedPassword);
+    if (engine.isEmpty()) {
+      return false;
+    }
+    long startedAt = System.nanoTime();
+    var matches = hashingExecutor.execute(
+        "matches",
+        () -> engine.get().matches(rawPassword, encodedPassword));
+    latencyModel.record(System.nanoTime() - startedAt);
+    return matches;
+  }
+
+  @Override
+  public boolean imitateMatches(CharSequence rawPassword) {
+    return switch (unknownUserMode) {
+      case OFF -> false;
+      case HASH -> {
+        matches(rawPassword, imitatedHash);
+        yield true;
+      }
+      case DELAY -> {
+        hashingExecutor.checkCapacity();
+        sleep(latencyModel.sample());
+        yield true;
+      }
+    };
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return engineFor(encodedPassword)
+        .map(engine -> engine != encodingEngine || engine.upgradeEncoding(encodedPassword))
+        .orElse(false);
+  }
+
+  private Optional<HashingEngine> engineFor(String encodedPassword) {
+    if (encodedPassword == null) {
+      return Optional.empty();
+    }
+    return engines.stream()
+        .filter(engine -> engine.supports(encodedPassword))
+        .findFirst();
+  }
+
+  private static void sleep(long nanos) {
+    try {
+      Thread.sleep(Duration.ofNanos(nanos));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private enum UnknownUserMode {
+    OFF,
+    HASH,
+    DELAY
+  }
+}
@@ -0,0 +1,15 @@
+package com.example.authentication.iam.infrastructure.messaging;
+
+import com.example.authentication.iam.infrastructure.tokens.revocation.model.TokenRevokedEvent;
+
+/**
+ * Application event carrying a {@link TokenRevokedEvent} raised on another node.
+ *
+ * <p>It is published locally when the invalidation bus receives a revocation from a
+ * different replica, so the local revocation list rejects the token too. It is never
+ * sent back to the bus.</p>
+ *
+ * @param event token revocation received from another node
+ */
+public record RemoteTokenRevokedEvent(TokenRevokedEvent event) {
+}
@@ -0,0 +1,15 @@
+package com.example.authentication.iam.infrastructure.messaging;
+
+import com.example.authentication.iam.domain.model.events.UserChangedEvent;
+
+/**
+ * Application event carrying a {@link UserChangedEvent} raised on another node.
+ *
+ * <p>It is published locally when the invalidation bus receives a change from a
+ * different replica, so local caches can evict their entries. It is never sent
+ * back to the bus.</p>
+ *
+ * @param event user change received from another node
+ */
+public record RemoteUserChangedEvent(UserChangedEvent event) {
+}
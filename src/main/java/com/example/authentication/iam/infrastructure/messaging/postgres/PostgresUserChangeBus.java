@@ -0,0 +1,268 @@
+package com.example.authentication.iam.infrastructure.messaging.postgres;
+
+import com.example.authentication.iam.domain.model.events.UserChangedEvent;
+import com.example.authentication.iam.domain.model.events.UserChangedEvent.ChangeType;
+import com.example.authentication.iam.infrastructure.messaging.RemoteTokenRevokedEvent;
+import com.example.authentication.iam.infrastructure.messaging.RemoteUserChangedEvent;
+import com.example.authentication.iam.infrastructure.tokens.revocation.model.TokenRevokedEvent;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Invalidation bus that propagates {@link UserChangedEvent}s between replicas
+ * using PostgreSQL {@code LISTEN}/{@code NOTIFY}.
+ *
+ * <p>Committed user changes are sent with {@code pg_notify} on the configured channel.
+ * Every node keeps one connection of the existing pool listening on that channel and
+ * republishes changes raised by other nodes as {@link RemoteUserChangedEvent}s, which
+ * local caches use to evict their entries. Notifications sent by this node are
+ * ignored, since local listeners already received the original event.</p>
+ *
+ * <p>Access token revocations travel the same way on a second channel, listened on the
+ * same connection: each {@link TokenRevokedEvent} is sent with its identifier and
+ * expiration and republished on the other nodes as a {@link RemoteTokenRevokedEvent}.</p>
+ *
+ * <p>A notification that cannot be parsed, or whose listeners fail, is logged and
+ * skipped; the listener thread keeps handling the following ones.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "authorization.invalidation-bus.enabled", havingValue = "true")
+public class PostgresUserChangeBus implements SmartLifecycle {
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(PostgresUserChangeBus.class);
+
+  private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z_][a-z0-9_]*");
+  private static final String PAYLOAD_SEPARATOR = ":";
+  private static final int PAYLOAD_PARTS = 4;
+  private static final int REVOCATION_PAYLOAD_PARTS = 3;
+  private static final long RECONNECT_DELAY_MILLIS = 1000;
+
+  private final DataSource dataSource;
+  private final JdbcTemplate jdbcTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final String channel;
+  private final String revocationChannel;
+  private final int pollTimeoutMillis;
+  private final String nodeId;
+
+  private volatile boolean running;
+  private volatile boolean listening;
+  private Thread listenerThread;
+
+  /**
+   * Creates a new {@code PostgresUserChangeBus}.
+   *
+   * @param dataSource PostgreSQL data source used to notify and listen
+   * @param eventPublisher publisher used to raise events received from other nodes
+   * @param channel notification channel name for user changes
+   * @param revocationChannel notification channel name for token revocations
+   * @param pollTimeout maximum time the listener waits for notifications per poll
+   */
+  public PostgresUserChangeBus(
+      DataSource dataSource,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${authorization.invalidation-bus.channel:user_changed}") String channel,
+      @Value("${authorization.invalidation-bus.revocation-channel:token_revoked}")
+      String revocationChannel,
+      @Value("${authorization.invalidation-bus.poll-timeout:500ms}") Duration pollTimeout) {
+    for (var name : new String[] {channel, revocationChannel}) {
+      if (!CHANNEL_PATTERN.matcher(name).matches()) {
+        throw new IllegalArgumentException("Invalid notification channel name: " + name);
+      }
+    }
+    if (channel.equals(revocationChannel)) {
+      throw new IllegalArgumentException("User change and revocation channels must differ");
+    }
+    this.dataSource = dataSource;
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.eventPublisher = eventPublisher;
+    this.channel = channel;
+    this.revocationChannel = revocationChannel;
+    this.pollTimeoutMillis = (int) pollTimeout.toMillis();
+    this.nodeId = UUID.randomUUID().toString();
+  }
+
+  /**
+   * Sends a committed user change to the other nodes.
+   *
+   * @param event user changed event
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void on(UserChangedEvent event) {
+    try {
+      send(channel, toPayload(event));
+    } catch (RuntimeException e) {
+      LOGGER.error("Failed to notify user change for {}: {}", event.username(), e.getMessage());
+    }
+  }
+
+  /**
+   * Sends a token revocation to the other nodes.
+   *
+   * @param event token revoked event
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void on(TokenRevokedEvent event) {
+    try {
+      send(revocationChannel, toPayload(event));
+    } catch (RuntimeException e) {
+      LOGGER.error("Failed to notify revocation of token {}: {}",
+          event.tokenId(), e.getMessage());
+    }
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    listenerThread = new Thread(this::listen, "user-change-bus-listener");
+    listenerThread.setDaemon(true);
+    listenerThread.start();
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (listenerThread != null) {
+      listenerThread.interrupt();
+      try {
+        listenerThread.join(pollTimeoutMillis * 2L);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * Indicates whether the listener connection is currently subscribed to the channel.
+   *
+   * @return {@code true} once {@code LISTEN} succeeded, until the connection is lost
+   */
+  boolean isListening() {
+    return listening;
+  }
+
+  private void listen() {
+    while (running) {
+      try (Connection connection = dataSource.getConnection()) {
+        try (var statement = connection.createStatement()) {
+          statement.execute("LISTEN " + channel);
+          statement.execute("LISTEN " + revocationChannel);
+        }
+        LOGGER.info("Listening for user changes on channel {} and token revocations on {}",
+            channel, revocationChannel);
+        listening = true;
+
+        var pgConnection = connection.unwrap(PGConnection.class);
+        while (running) {
+          PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMillis);
+          if (notifications != null) {
+            for (PGNotification notification : notifications) {
+              handleSafely(notification.getName(), notification.getParameter());
+            }
+          }
+        }
+        listening = false;
+      } catch (SQLException e) {
+        listening = false;
+        if (running) {
+          LOGGER.warn("User change listener disconnected, retrying: {}", e.getMessage());
+          pauseBeforeReconnect();
+        }
+      }
+    }
+  }
+
+  private void handleSafely(String name, String payload) {
+    try {
+      if (revocationChannel.equals(name)) {
+        handleRevocation(payload);
+      } else {
+        handle(payload);
+      }
+    } catch (RuntimeException e) {
+      LOGGER.error("Failed to handle notification {} on {}: {}", payload, name, e.getMessage());
+    }
+  }
+
+  private void handle(String payload) {
+    var parts = payload.split(PAYLOAD_SEPARATOR, PAYLOAD_PARTS);
+    if (parts.length != PAYLOAD_PARTS) {
+      LOGGER.warn("Ignoring malformed user change notification: {}", payload);
+      return;
+    }
+    if (nodeId.equals(parts[0])) {
+      return;
+    }
+    var event = new UserChangedEvent(
+        Long.valueOf(parts[1]),
+        parts[3],
+        ChangeType.valueOf(parts[2]));
+    eventPublisher.publishEvent(new RemoteUserChangedEvent(event));
+  }
+
+  private void handleRevocation(String payload) {
+    var parts = payload.split(PAYLOAD_SEPARATOR, REVOCATION_PAYLOAD_PARTS);
+    if (parts.length != REVOCATION_PAYLOAD_PARTS) {
+      LOGGER.warn("Ignoring malformed token revocation notification: {}", payload);
+      return;
+    }
+    if (nodeId.equals(parts[0])) {
+      return;
+    }
+    var event = new TokenRevokedEvent(
+        UUID.fromString(parts[1]),
+        Instant.ofEpochMilli(Long.parseLong(parts[2])));
+    eventPublisher.publishEvent(new RemoteTokenRevokedEvent(event));
+  }
+
+  private void send(String name, String payload) {
+    jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> null, name, payload);
+  }
+
+  private String toPayload(TokenRevokedEvent event) {
+    return String.join(
+        PAYLOAD_SEPARATOR,
+        nodeId,
+        event.tokenId().toString(),
+        String.valueOf(event.expiresAt().toEpochMilli()));
+  }
+
+  private String toPayload(UserChangedEvent event) {
+    return String.join(
+        PAYLOAD_SEPARATOR,
+        nodeId,
+        String.valueOf(event.userId()),
+        event.changeType().name(),
+        event.username());
+  }
+
+  private void pauseBeforeReconnect() {
+    try {
+      Thread.sleep(RECONNECT_DELAY_MILLIS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
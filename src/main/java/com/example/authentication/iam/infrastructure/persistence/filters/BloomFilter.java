@@ -0,0 +1,127 @@
+package com.example.authentication.iam.infrastructure.persistence.filters;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter of strings.
+ *
+ * <p>{@link #mightContain(String)} never returns {@code false} for an added value, and
+ * returns {@code true} for a value that was never added with a probability close to the
+ * false positive rate the filter was sized for, as long as no more than the expected
+ * number of values are added.</p>
+ *
+ * <p>Bits are set with atomic updates, so values can be added and queried concurrently
+ * without locking.</p>
+ */
+public class BloomFilter {
+
+  private static final double LN2 = Math.log(2);
+
+  private final AtomicLongArray words;
+  private final long bitSize;
+  private final int hashFunctions;
+
+  private BloomFilter(long bitSize, int hashFunctions) {
+    this.words = new AtomicLongArray(Math.toIntExact((bitSize + 63) / 64));
+    this.bitSize = (long) words.length() * 64;
+    this.hashFunctions = hashFunctions;
+  }
+
+  /**
+   * Creates a filter sized for the given number of values and false positive rate.
+   *
+   * @param expectedInsertions number of values the filter is expected to hold
+   * @param falsePositiveRate target probability of a false positive, between 0 and 1
+   * @return empty filter
+   */
+  public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+    if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException(
+          "False positive rate must be between 0 and 1: " + falsePositiveRate);
+    }
+    long n = Math.max(1, expectedInsertions);
+    long bits = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2)));
+    int hashes = Math.max(1, (int) Math.round((double) bits / n * LN2));
+    return new BloomFilter(bits, hashes);
+  }
+
+  /**
+   * Adds a value to the filter.
+   *
+   * @param value value to add
+   */
+  public void put(String value) {
+    long hash = hash(value);
+    long h1 = hash;
+    long h2 = Long.rotateLeft(hash, 32) | 1;
+    for (int i = 0; i < hashFunctions; i++) {
+      long bit = Long.remainderUnsigned(h1 + i * h2, bitSize);
+      long mask = 1L << bit;
+      int word = (int) (bit >>> 6);
+      if ((words.get(word) & mask) == 0) {
+        words.getAndAccumulate(word, mask, (current, update) -> current | update);
+      }
+    }
+  }
+
+  /**
+   * Checks whether a value may have been added to the filter.
+   *
+   * @param value value to check
+   * @return {@code false} if the value was definitely never added, {@code true} if it
+   *     may have been
+   */
+  public boolean mightContain(String value) {
+    long hash = hash(value);
+    long h1 = hash;
+    long h2 = Long.rotateLeft(hash, 32) | 1;
+    for (int i = 0; i < hashFunctions; i++) {
+      long bit = Long.remainderUnsigned(h1 + i * h2, bitSize);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the memory used by the bit array.
+   *
+   * @return size of the bit array in bytes
+   */
+  public long bitSizeInBytes() {
+    return bitSize / 8;
+  }
+
+  /**
+   * Estimates the current false positive rate from the fraction of bits set.
+   *
+   * @return probability that a value never added is reported as possibly contained
+   */
+  public double expectedFalsePositiveRate() {
+    long set = 0;
+    for (int i = 0; i < words.length(); i++) {
+      set += Long.bitCount(words.get(i));
+    }
+    return Math.pow((double) set / bitSize, hashFunctions);
+  }
+
+  /**
+   * Computes a 64-bit FNV-1a hash of the UTF-8 bytes of the value, followed by the
+   * MurmurHash3 finalizer to spread the bits.
+   */
+  private static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
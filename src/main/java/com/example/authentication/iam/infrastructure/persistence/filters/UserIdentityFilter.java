@@ -0,0 +1,215 @@
+package com.example.authentication.iam.infrastructure.persistence.filters;
+
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bloom filters of the registered usernames and emails, used to reject sign-ups for
+ * identities that are already taken before the password is hashed.
+ *
+ * <p>A username or email the filter has never seen is definitely new and is reported as
+ * free without querying the database; the insert is still guarded by the unique
+ * constraints. Only possible hits are confirmed with an {@code exists} query.</p>
+ *
+ * <p>The filters are built by streaming the {@code users} table once the application is
+ * ready and rebuilt periodically, sized for twice the current number of users, so that
+ * deleted users and bits set by rolled back sign-ups do not accumulate. Until the first
+ * build, every check goes to the database.</p>
+ *
+ * <p>It publishes the {@code signup.identity.filter.memory} (bytes) and
+ * {@code signup.identity.filter.false.positive.rate} (estimated from the bits set)
+ * gauges, and a {@code signup.identity.filter.checks} counter tagged by {@code result}
+ * ({@code negative}, {@code true_positive} or {@code false_positive}), from which the
+ * observed false positive rate is derived. All meters are tagged by {@code field}.</p>
+ */
+@Component
+public class UserIdentityFilter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(UserIdentityFilter.class);
+  private static final String METRIC_NAME = "signup.identity.filter";
+
+  private final UserRepository userRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final double falsePositiveRate;
+  private final long minimumCapacity;
+  private final Field usernames;
+  private final Field emails;
+
+  /**
+   * Creates a new {@code UserIdentityFilter}.
+   *
+   * @param userRepository repository used to stream and confirm identities
+   * @param transactionManager transaction manager used to stream the users
+   * @param enabled whether the filters are used; when disabled, every identity is
+   *                reported as free and duplicates are caught by the insert
+   * @param falsePositiveRate target false positive rate of the filters
+   * @param minimumCapacity minimum number of identities each filter is sized for
+   * @param meterRegistry registry where the filter metrics are published
+   */
+  public UserIdentityFilter(
+      UserRepository userRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${sign-up.identity-filter.enabled:true}") boolean enabled,
+      @Value("${sign-up.identity-filter.false-positive-rate:0.01}") double falsePositiveRate,
+      @Value("${sign-up.identity-filter.minimum-capacity:10000}") long minimumCapacity,
+      MeterRegistry meterRegistry) {
+    this.userRepository = userRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.enabled = enabled;
+    this.falsePositiveRate = falsePositiveRate;
+    this.minimumCapacity = minimumCapacity;
+    this.usernames = new Field("username", userRepository::existsByUsername, meterRegistry);
+    this.emails = new Field("email", userRepository::existsByEmail, meterRegistry);
+  }
+
+  /**
+   * Checks whether a username is already registered.
+   *
+   * @param username username to check
+   * @return {@code true} if a user with the username exists
+   */
+  public boolean isUsernameTaken(String username) {
+    return enabled && usernames.isTaken(username);
+  }
+
+  /**
+   * Checks whether an email is already registered.
+   *
+   * @param email email to check
+   * @return {@code true} if a user with the email exists
+   */
+  public boolean isEmailTaken(String email) {
+    return enabled && emails.isTaken(email);
+  }
+
+  /**
+   * Adds the identity of a newly registered user to the filters.
+   *
+   * @param username username of the user
+   * @param email email of the user
+   */
+  public void add(String username, String email) {
+    usernames.add(username);
+    emails.add(email);
+  }
+
+  /**
+   * Builds the filters once the application is ready.
+   *
+   * @param event application ready event
+   */
+  @EventListener
+  public void on(ApplicationReadyEvent event) {
+    rebuild();
+  }
+
+  /**
+   * Rebuilds the filters from the {@code users} table.
+   *
+   * <p>Identities added while the table is streamed may be missing from the new
+   * filters until the next rebuild; such sign-ups are then rejected by the insert.</p>
+   */
+  @Scheduled(
+      initialDelayString = "${sign-up.identity-filter.rebuild-interval:6h}",
+      fixedDelayString = "${sign-up.identity-filter.rebuild-interval:6h}")
+  public void rebuild() {
+    if (!enabled) {
+      return;
+    }
+    long capacity = Math.max(minimumCapacity, userRepository.count() * 2);
+    var newUsernames = BloomFilter.create(capacity, falsePositiveRate);
+    var newEmails = BloomFilter.create(capacity, falsePositiveRate);
+    transactionTemplate.executeWithoutResult(status -> {
+      try (var identities = userRepository.streamAllIdentities()) {
+        identities.forEach(identity -> {
+          newUsernames.put(identity.getUsername());
+          newEmails.put(identity.getEmail());
+        });
+      }
+    });
+    usernames.filter = newUsernames;
+    emails.filter = newEmails;
+    LOGGER.info("User identity filters rebuilt for {} identities ({} bytes each)",
+        capacity, newUsernames.bitSizeInBytes());
+  }
+
+  /**
+   * Filter and meters of one identity field.
+   */
+  private static final class Field {
+
+    private final Predicate<String> exists;
+    private final Counter negatives;
+    private final Counter truePositives;
+    private final Counter falsePositives;
+    private volatile BloomFilter filter;
+
+    Field(String name, Predicate<String> exists, MeterRegistry meterRegistry) {
+      this.exists = exists;
+      this.negatives = checks(meterRegistry, name, "negative");
+      this.truePositives = checks(meterRegistry, name, "true_positive");
+      this.falsePositives = checks(meterRegistry, name, "false_positive");
+      gauge(meterRegistry, name, "memory", "bytes", BloomFilter::bitSizeInBytes);
+      gauge(meterRegistry, name, "false.positive.rate", null,
+          BloomFilter::expectedFalsePositiveRate);
+    }
+
+    boolean isTaken(String value) {
+      var current = filter;
+      if (current == null) {
+        return exists.test(value);
+      }
+      if (!current.mightContain(value)) {
+        negatives.increment();
+        return false;
+      }
+      var taken = exists.test(value);
+      (taken ? truePositives : falsePositives).increment();
+      return taken;
+    }
+
+    void add(String value) {
+      var current = filter;
+      if (current != null) {
+        current.put(value);
+      }
+    }
+
+    private static Counter checks(MeterRegistry meterRegistry, String field, String result) {
+      return Counter.builder(METRIC_NAME + ".checks")
+          .tag("field", field)
+          .tag("result", result)
+          .register(meterRegistry);
+    }
+
+    private void gauge(
+        MeterRegistry meterRegistry,
+        String field,
+        String name,
+        String baseUnit,
+        ToDoubleFunction<BloomFilter> value) {
+      Gauge.builder(METRIC_NAME + "." + name, this, self -> {
+        var current = self.filter;
+        return current == null ? 0 : value.applyAsDouble(current);
+      })
+          .tag("field", field)
+          .baseUnit(baseUnit)
+          .register(meterRegistry);
+    }
+  }
+}
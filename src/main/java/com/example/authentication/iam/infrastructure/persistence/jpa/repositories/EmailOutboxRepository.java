@@ -0,0 +1,37 @@
+package com.example.authentication.iam.infrastructure.persistence.jpa.repositories;
+
+import com.example.authentication.iam.infrastructure.email.outbox.model.EmailOutboxMessage;
+import com.example.authentication.iam.infrastructure.email.outbox.model.EmailOutboxMessage.Status;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JPA repository for {@link EmailOutboxMessage} entities.
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+  /**
+   * Locks the oldest messages in the given status that are due for delivery.
+   *
+   * <p>Rows already locked by another dispatcher are skipped
+   * ({@code FOR UPDATE SKIP LOCKED}), so several nodes can drain the outbox
+   * concurrently without sending a message twice.</p>
+   *
+   * @param status message status
+   * @param now current time
+   * @param limit maximum number of messages to lock
+   * @return locked messages, oldest first
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  List<EmailOutboxMessage> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+      Status status, Instant now, Limit limit);
+}
@@ -0,0 +1,60 @@
+package com.example.authentication.iam.infrastructure.persistence.jpa.repositories;
+
+import com.example.authentication.iam.infrastructure.tokens.refresh.model.RefreshToken;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * JPA repository for {@link RefreshToken} entities.
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+  /**
+   * Finds a refresh token by the SHA-256 hash of its value.
+   *
+   * @param tokenHash SHA-256 hash of the token
+   * @return refresh token, empty if none matches
+   */
+  Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
+
+  /**
+   * Marks a refresh token as rotated, unless it already is.
+   *
+   * @param id refresh token identifier
+   * @return {@code 1} if the token was marked, {@code 0} if it was already rotated
+   */
+  @Modifying
+  @Transactional
+  @Query("UPDATE RefreshToken r SET r.rotated = true WHERE r.id = :id AND r.rotated = false")
+  int markRotated(@Param("id") UUID id);
+
+  /**
+   * Deletes every refresh token of a family.
+   *
+   * @param familyId family identifier
+   * @return number of rows deleted
+   */
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM RefreshToken r WHERE r.familyId = :familyId")
+  int deleteFamily(@Param("familyId") UUID familyId);
+
+  /**
+   * Deletes the refresh tokens that have expired.
+   *
+   * @param now current time
+   * @return number of rows deleted
+   */
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM RefreshToken r WHERE r.expiresAt <= :now")
+  int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,45 @@
+package com.example.authentication.iam.infrastructure.persistence.jpa.repositories;
+
+import com.example.authentication.iam.infrastructure.tokens.revocation.model.RevokedToken;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * JPA repository for {@link RevokedToken} entities.
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, UUID> {
+
+  /**
+   * Streams the revoked tokens that have not expired yet.
+   *
+   * <p>Must be consumed inside a transaction and closed afterwards.</p>
+   *
+   * @param now current time
+   * @return stream of unexpired revoked tokens
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT r FROM RevokedToken r WHERE r.expiresAt > :now")
+  Stream<RevokedToken> streamUnexpired(@Param("now") Instant now);
+
+  /**
+   * Deletes the revoked tokens that have expired.
+   *
+   * @param now current time
+   * @return number of rows deleted
+   */
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+  int deleteExpired(@Param("now") Instant now);
+}
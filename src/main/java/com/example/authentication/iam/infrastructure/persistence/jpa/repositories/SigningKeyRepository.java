@@ -0,0 +1,25 @@
+package com.example.authentication.iam.infrastructure.persistence.jpa.repositories;
+
+import com.example.authentication.iam.infrastructure.tokens.keys.model.SigningKey;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JPA repository for {@link SigningKey} entities.
+ */
+@Repository
+public interface SigningKeyRepository extends JpaRepository<SigningKey, String> {
+
+  /**
+   * Finds the keys that have not expired yet.
+   *
+   * @param now current time
+   * @return unexpired keys
+   */
+  @Query("SELECT k FROM SigningKey k WHERE k.expiresAt IS NULL OR k.expiresAt > :now")
+  List<SigningKey> findUnexpired(@Param("now") Instant now);
+}
@@ -1,18 +1,41 @@
 package com.example.authentication.iam.infrastructure.persistence.jpa.repositories;
 
 import com.example.authentication.iam.domain.model.aggregates.User;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * JPA repository for {@link User} aggregate roots.
  *
- * <p>Provides query methods to retrieve and validate users by username and email.</p>
+ * <p>Provides query methods to retrieve and validate users by username and email, and
+ * summary projections that read only the columns exposed by the user listing endpoints,
+ * with role names aggregated in SQL.</p>
+ *
+ * <p>Roles are loaded lazily; the {@code findWithRoles} methods fetch them with the user
+ * for the paths that need them.</p>
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+  String SUMMARY_SELECT = "SELECT u.id AS id, u.username AS username, u.email AS email,"
+      + " u.is_active AS active,"
+      + " string_agg(CAST(r.roles AS VARCHAR), ',' ORDER BY r.roles) AS roles"
+      + " FROM users u"
+      + " LEFT JOIN user_roles ur ON ur.user_id = u.id"
+      + " LEFT JOIN roles r ON r.id = ur.role_id";
+
+  String SUMMARY_GROUP_BY = " GROUP BY u.id, u.username, u.email, u.is_active";
+
   /**
    * Finds a user by its username.
    *
@@ -21,6 +44,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
    */
   Optional<User> findByUsername(String username);
 
+  /**
+   * Finds a user by its username, fetching its roles in the same query.
+   *
+   * @param username unique username
+   * @return optional user with its roles initialized
+   */
+  @EntityGraph(attributePaths = "roles")
+  Optional<User> findWithRolesByUsername(String username);
+
+  /**
+   * Finds a user by its identifier, fetching its roles in the same query.
+   *
+   * @param id user identifier
+   * @return optional user with its roles initialized
+   */
+  @EntityGraph(attributePaths = "roles")
+  Optional<User> findWithRolesById(Long id);
+
   /**
    * Checks whether a user with the given username exists.
    *
@@ -36,4 +77,114 @@ public interface UserRepository extends JpaRepository<User, Long> {
    * @return {@code true} if the user exists, {@code false} otherwise
    */
   boolean existsByEmail(String email);
+
+  /**
+   * Streams the username and email of every user, fetching rows from a database cursor.
+   *
+   * <p>The stream must be consumed and closed within a transaction.</p>
+   *
+   * @return stream of user identities
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT u.username AS username, u.email AS email FROM User u")
+  Stream<UserIdentityRow> streamAllIdentities();
+
+  /**
+   * Streams the identifier and tokens-valid-after instant of the users whose tokens were
+   * invalidated after the given instant, fetching rows from a database cursor.
+   *
+   * <p>The stream must be consumed and closed within a transaction.</p>
+   *
+   * @param since earliest invalidation instant returned, exclusive
+   * @return stream of token epochs
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT u.id AS id, u.tokensValidAfter AS tokensValidAfter FROM User u"
+      + " WHERE u.tokensValidAfter > :since")
+  Stream<TokenEpochRow> streamTokenEpochsSince(@Param("since") Instant since);
+
+  /**
+   * Finds the instant before which the tokens of a user are rejected.
+   *
+   * @param id user identifier
+   * @return tokens-valid-after instant, empty if the user does not exist or never
+   *     invalidated its tokens
+   */
+  @Query("SELECT u.tokensValidAfter FROM User u WHERE u.id = :id")
+  Optional<Instant> findTokensValidAfterById(@Param("id") Long id);
+
+  /**
+   * Identifier of a user and the instant before which its tokens are rejected.
+   */
+  interface TokenEpochRow {
+
+    Long getId();
+
+    Instant getTokensValidAfter();
+  }
+
+  /**
+   * Username and email of a user.
+   */
+  interface UserIdentityRow {
+
+    String getUsername();
+
+    String getEmail();
+  }
+
+  /**
+   * Flat row of a user summary, with role names aggregated in SQL.
+   */
+  interface UserSummaryRow {
+
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+
+    boolean getActive();
+
+    /**
+     * Returns the role names, comma separated, or {@code null} when the user has none.
+     *
+     * @return comma-separated role names
+     */
+    String getRoles();
+  }
+
+  /**
+   * Finds the summaries of the users whose identifier is greater than the given one,
+   * ordered by identifier.
+   *
+   * @param afterId keyset cursor
+   * @param limit maximum number of users
+   * @return user summaries after the cursor
+   */
+  @Query(nativeQuery = true, value = SUMMARY_SELECT
+      + " WHERE u.id > :afterId" + SUMMARY_GROUP_BY + " ORDER BY u.id LIMIT :limit")
+  List<UserSummaryRow> findSummariesAfter(
+      @Param("afterId") Long afterId, @Param("limit") int limit);
+
+  /**
+   * Finds the summary of a user by its identifier.
+   *
+   * @param id user identifier
+   * @return optional user summary
+   */
+  @Query(nativeQuery = true, value = SUMMARY_SELECT + " WHERE u.id = :id" + SUMMARY_GROUP_BY)
+  Optional<UserSummaryRow> findSummaryById(@Param("id") Long id);
+
+  /**
+   * Streams the summaries of all users ordered by identifier, fetching rows from a
+   * database cursor.
+   *
+   * <p>The stream must be consumed and closed within a transaction.</p>
+   *
+   * @return stream of user summaries
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query(nativeQuery = true, value = SUMMARY_SELECT + SUMMARY_GROUP_BY + " ORDER BY u.id")
+  Stream<UserSummaryRow> streamAllSummaries();
 }
@@ -0,0 +1,83 @@
+package com.example.authentication.iam.infrastructure.persistence.registries;
+
+import com.example.authentication.iam.domain.model.entities.Role;
+import com.example.authentication.iam.domain.model.events.RolesChangedEvent;
+import com.example.authentication.iam.domain.model.valueobjects.Roles;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.RoleRepository;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory registry of the stored roles, indexed by their {@link Roles} value.
+ *
+ * <p>Roles are reference data seeded at startup, so they are read once into an
+ * immutable {@link EnumMap} and served from memory afterwards. The map is reloaded
+ * whenever a {@link RolesChangedEvent} is raised; readers always see either the
+ * previous or the new map, never a partially built one.</p>
+ *
+ * <p>The returned {@link Role} instances are detached and shared, and must not be
+ * modified.</p>
+ */
+@Component
+public class RoleRegistry {
+
+  private final RoleRepository roleRepository;
+
+  private volatile Map<Roles, Role> roles;
+
+  public RoleRegistry(RoleRepository roleRepository) {
+    this.roleRepository = roleRepository;
+  }
+
+  /**
+   * Finds a role by its enum value.
+   *
+   * @param roles role enum
+   * @return optional role, empty if it is not stored
+   */
+  public Optional<Role> find(Roles roles) {
+    return Optional.ofNullable(current().get(roles));
+  }
+
+  /**
+   * Returns all stored roles, in {@link Roles} declaration order.
+   *
+   * @return immutable list of roles
+   */
+  public List<Role> findAll() {
+    return List.copyOf(current().values());
+  }
+
+  /**
+   * Reloads the registry once the change to the stored roles is committed.
+   *
+   * @param event roles changed event
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void on(RolesChangedEvent event) {
+    reload();
+  }
+
+  /**
+   * Reads all roles from the repository and replaces the registry contents.
+   */
+  public void reload() {
+    var loaded = new EnumMap<Roles, Role>(Roles.class);
+    roleRepository.findAll().forEach(role -> loaded.put(role.getRoles(), role));
+    roles = Collections.unmodifiableMap(loaded);
+  }
+
+  private Map<Roles, Role> current() {
+    var current = roles;
+    if (current == null) {
+      reload();
+      current = roles;
+    }
+    return current;
+  }
+}
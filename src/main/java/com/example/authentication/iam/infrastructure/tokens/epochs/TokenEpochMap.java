@@ -0,0 +1,178 @@
+package com.example.authentication.iam.infrastructure.tokens.epochs;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Map from user identifier to token epoch stored in a flat {@code long[]} with open
+ * addressing.
+ *
+ * <p>Each entry takes two adjacent longs and no object, so neither keys nor values are
+ * boxed and a lookup is a single probe sequence over one array. Key {@code 0} marks an
+ * empty slot and is never stored; absent keys map to epoch {@code 0}.</p>
+ *
+ * <p>Lookups are optimistic reads that only fall back to a read lock when they race
+ * with a write; writes, resizes and cleanups take the write lock.</p>
+ */
+public final class TokenEpochMap {
+
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int MAXIMUM_LOAD_PERCENT = 75;
+
+  private final StampedLock lock = new StampedLock();
+  private long[] slots = new long[INITIAL_CAPACITY * 2];
+  private int size;
+
+  /**
+   * Returns the epoch of a user.
+   *
+   * @param userId user identifier
+   * @return epoch of the user, or {@code 0} if it has none
+   */
+  public long get(long userId) {
+    long stamp = lock.tryOptimisticRead();
+    long epoch = epochAt(slots, find(slots, userId));
+    if (lock.validate(stamp)) {
+      return epoch;
+    }
+    stamp = lock.readLock();
+    try {
+      return epochAt(slots, find(slots, userId));
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Raises the epoch of a user, keeping the current one if it is higher.
+   *
+   * @param userId user identifier, not {@code 0}
+   * @param epoch new epoch
+   */
+  public void advance(long userId, long epoch) {
+    if (userId == 0) {
+      throw new IllegalArgumentException("User identifier 0 cannot be stored");
+    }
+    long stamp = lock.writeLock();
+    try {
+      int slot = find(slots, userId);
+      if (slot >= 0) {
+        slots[slot * 2 + 1] = Math.max(slots[slot * 2 + 1], epoch);
+        return;
+      }
+      if ((size + 1) * 100L > (slots.length / 2) * (long) MAXIMUM_LOAD_PERCENT) {
+        slots = copyOf(slots, slots.length * 2, Long.MIN_VALUE);
+        slot = find(slots, userId);
+      }
+      insert(slots, -slot - 1, userId, epoch);
+      size++;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Removes the users whose epoch is lower than the given one.
+   *
+   * @param epoch lowest epoch kept
+   * @return number of users removed
+   */
+  public int removeBelow(long epoch) {
+    long stamp = lock.writeLock();
+    try {
+      var kept = copyOf(slots, slots.length, epoch);
+      int removed = size - count(kept);
+      slots = kept;
+      size -= removed;
+      return removed;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Returns the number of users in the map.
+   *
+   * @return number of users
+   */
+  public int size() {
+    long stamp = lock.readLock();
+    try {
+      return size;
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Returns the memory taken by the slot table.
+   *
+   * @return table size in bytes
+   */
+  public long memoryBytes() {
+    long stamp = lock.readLock();
+    try {
+      return (long) slots.length * Long.BYTES;
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Finds the slot of a user.
+   *
+   * @return index of the user, or {@code -(index of the empty slot) - 1}
+   */
+  private static int find(long[] slots, long userId) {
+    int mask = slots.length / 2 - 1;
+    int index = hash(userId) & mask;
+    while (true) {
+      long key = slots[index * 2];
+      if (key == userId) {
+        return index;
+      }
+      if (key == 0) {
+        return -index - 1;
+      }
+      index = (index + 1) & mask;
+    }
+  }
+
+  private static long epochAt(long[] slots, int index) {
+    return index >= 0 ? slots[index * 2 + 1] : 0;
+  }
+
+  private static void insert(long[] slots, int index, long userId, long epoch) {
+    slots[index * 2 + 1] = epoch;
+    slots[index * 2] = userId;
+  }
+
+  /**
+   * Copies the entries whose epoch is at least {@code minimumEpoch} into a new table.
+   */
+  private static long[] copyOf(long[] slots, int length, long minimumEpoch) {
+    var copy = new long[length];
+    for (int index = 0; index < slots.length / 2; index++) {
+      long userId = slots[index * 2];
+      long epoch = slots[index * 2 + 1];
+      if (userId != 0 && epoch >= minimumEpoch) {
+        insert(copy, -find(copy, userId) - 1, userId, epoch);
+      }
+    }
+    return copy;
+  }
+
+  private static int count(long[] slots) {
+    int count = 0;
+    for (int index = 0; index < slots.length; index += 2) {
+      if (slots[index] != 0) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static int hash(long userId) {
+    long hash = userId * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32));
+  }
+}
@@ -0,0 +1,150 @@
+package com.example.authentication.iam.infrastructure.tokens.epochs;
+
+import com.example.authentication.iam.domain.model.events.UserChangedEvent.ChangeType;
+import com.example.authentication.iam.infrastructure.messaging.RemoteUserChangedEvent;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Per-user token epochs, checked in memory and persisted in {@code users}.
+ *
+ * <p>A user's epoch is the instant, in epoch milliseconds, before which its tokens are
+ * rejected; users that never invalidated their tokens have epoch {@code 0}. Lookups and
+ * updates only touch the in-memory {@link TokenEpochMap}. The epoch is saved with the
+ * user first, so it survives restarts: epochs younger than the access token lifetime are
+ * loaded back once the application is ready, and older ones are dropped on a fixed delay
+ * since every access token they could reject has expired. Refresh tokens compare their
+ * epoch against the user they load, so they do not depend on this map.</p>
+ *
+ * <p>Password and status changes made on another replica arrive as
+ * {@link RemoteUserChangedEvent}s when the invalidation bus is enabled, and the epoch of
+ * that user is read again from the table. Without the bus, they are only seen here after
+ * a restart.</p>
+ *
+ * <p>It publishes the {@code tokens.epochs.entries} and {@code tokens.epochs.memory}
+ * (bytes) gauges.</p>
+ */
+@Component
+public class TokenEpochStore {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TokenEpochStore.class);
+  private static final String METRIC_NAME = "tokens.epochs";
+
+  private final UserRepository userRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final Duration tokenLifetime;
+  private final TokenEpochMap epochs = new TokenEpochMap();
+  private final Clock clock;
+
+  /**
+   * Creates a new {@code TokenEpochStore}.
+   *
+   * @param userRepository repository where the epochs are persisted
+   * @param transactionManager transaction manager used to load the epochs
+   * @param accessTokenLifetime time a user access token remains valid
+   * @param meterRegistry registry where the epoch metrics are published
+   */
+  @Autowired
+  public TokenEpochStore(
+      UserRepository userRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${authorization.jwt.access-token.lifetime:15m}") Duration accessTokenLifetime,
+      MeterRegistry meterRegistry) {
+    this(userRepository, transactionManager, accessTokenLifetime, meterRegistry,
+        Clock.systemUTC());
+  }
+
+  TokenEpochStore(
+      UserRepository userRepository,
+      PlatformTransactionManager transactionManager,
+      Duration tokenLifetime,
+      MeterRegistry meterRegistry,
+      Clock clock) {
+    this.userRepository = userRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.tokenLifetime = tokenLifetime;
+    this.clock = clock;
+    Gauge.builder(METRIC_NAME + ".entries", epochs, TokenEpochMap::size)
+        .description("Users with a token epoch kept in memory")
+        .register(meterRegistry);
+    Gauge.builder(METRIC_NAME + ".memory", epochs, TokenEpochMap::memoryBytes)
+        .description("Memory taken by the token epochs")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns the epoch of a user.
+   *
+   * @param userId user identifier
+   * @return instant before which the user's tokens are rejected, in epoch milliseconds,
+   *     or {@code 0} if none is
+   */
+  public long epochOf(long userId) {
+    return epochs.get(userId);
+  }
+
+  /**
+   * Raises the epoch of a user.
+   *
+   * @param userId user identifier
+   * @param tokensValidAfter instant before which the user's tokens are rejected
+   */
+  public void advance(long userId, Instant tokensValidAfter) {
+    epochs.advance(userId, tokensValidAfter.toEpochMilli());
+  }
+
+  /**
+   * Reads again the epoch of a user whose password or status changed on another node.
+   *
+   * @param event user change received from another node
+   */
+  @EventListener
+  public void on(RemoteUserChangedEvent event) {
+    var changeType = event.event().changeType();
+    if (changeType == ChangeType.PASSWORD || changeType == ChangeType.STATUS) {
+      var userId = event.event().userId();
+      userRepository.findTokensValidAfterById(userId)
+          .ifPresent(tokensValidAfter -> advance(userId, tokensValidAfter));
+    }
+  }
+
+  /**
+   * Loads the epochs younger than the access token lifetime from the table.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    var since = clock.instant().minus(tokenLifetime);
+    transactionTemplate.executeWithoutResult(transaction -> {
+      try (var rows = userRepository.streamTokenEpochsSince(since)) {
+        rows.forEach(row -> advance(row.getId(), row.getTokensValidAfter()));
+      }
+    });
+    LOGGER.info("Loaded {} token epochs", epochs.size());
+  }
+
+  /**
+   * Drops the epochs older than the access token lifetime.
+   */
+  @Scheduled(
+      initialDelayString = "${authorization.token-epochs.cleanup-interval:5m}",
+      fixedDelayString = "${authorization.token-epochs.cleanup-interval:5m}")
+  public void removeExpired() {
+    epochs.removeBelow(clock.instant().minus(tokenLifetime).toEpochMilli());
+  }
+}
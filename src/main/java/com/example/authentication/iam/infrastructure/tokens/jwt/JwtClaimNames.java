@@ -0,0 +1,32 @@
+package com.example.authentication.iam.infrastructure.tokens.jwt;
+
+/**
+ * Names of the private claims written into JSON Web Tokens by this service.
+ */
+public final class JwtClaimNames {
+
+  /** Identifier of the user the token was issued to. */
+  public static final String USER_ID = "uid";
+
+  /** Authorities granted to the user when the token was issued. */
+  public static final String AUTHORITIES = "roles";
+
+  /** Whether the user was active when the token was issued. */
+  public static final String ACTIVE = "active";
+
+  /** Token epoch of the user when the token was issued, in epoch milliseconds. */
+  public static final String TOKEN_EPOCH = "epoch";
+
+  /** Type of the token, {@link #ACCESS_TOKEN} or {@link #VERIFICATION_TOKEN}. */
+  public static final String TOKEN_TYPE = "typ";
+
+  /** Token type of access tokens, accepted by the bearer filter. */
+  public static final String ACCESS_TOKEN = "access";
+
+  /** Token type of account verification tokens, only accepted by the verify endpoint. */
+  public static final String VERIFICATION_TOKEN = "verify";
+
+  private JwtClaimNames() {
+    // Utility class
+  }
+}
@@ -0,0 +1,77 @@
+package com.example.authentication.iam.infrastructure.tokens.jwt.configuration;
+
+import com.example.authentication.iam.infrastructure.tokens.jwt.model.JwtKeyMaterial;
+import com.example.authentication.iam.infrastructure.tokens.jwt.model.JwtSigningAlgorithm;
+import java.security.KeyPair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * Configuration of the key material used to sign and verify JSON Web Tokens.
+ *
+ * <p>With {@code authorization.jwt.algorithm=HMAC}, the default, tokens are signed with
+ * {@code authorization.jwt.secret}. With {@code ES256} or {@code EDDSA}, they are signed
+ * with the PEM encoded PKCS#8 {@code authorization.jwt.private-key} and verified with
+ * the PEM encoded X.509 {@code authorization.jwt.public-key}. When neither key is set,
+ * startup fails, unless {@code authorization.jwt.generate-key-pair} is {@code true}: then
+ * a key pair is generated at startup. Such keys change on every restart and differ
+ * between replicas, so only the development profile enables it.</p>
+ *
+ * <p>This key is the bootstrap entry of the key ring: further keys are loaded from the
+ * database by the {@code JwtKeyRingStore}.</p>
+ */
+@Configuration
+public class JwtKeyMaterialConfiguration {
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(JwtKeyMaterialConfiguration.class);
+
+  /**
+   * Creates the configured key material, which always stays in the key ring.
+   *
+   * @param algorithm algorithm used to sign tokens
+   * @param secret HMAC secret, used with {@link JwtSigningAlgorithm#HMAC}
+   * @param privateKey PEM encoded PKCS#8 private key, used with asymmetric algorithms
+   * @param publicKey PEM encoded X.509 public key, used with asymmetric algorithms
+   * @param generateKeyPair whether a key pair is generated when no key is set
+   * @return key material for the configured algorithm
+   * @throws IllegalStateException if no key is set and generation is not allowed, if only
+   *     one of the keys is set or if they cannot be read
+   */
+  @Bean
+  public JwtKeyMaterial jwtKeyMaterial(
+      @Value("${authorization.jwt.algorithm:HMAC}") JwtSigningAlgorithm algorithm,
+      @Value("${authorization.jwt.secret}") String secret,
+      @Value("${authorization.jwt.private-key:}") String privateKey,
+      @Value("${authorization.jwt.public-key:}") String publicKey,
+      @Value("${authorization.jwt.generate-key-pair:false}") boolean generateKeyPair) {
+    if (!algorithm.isAsymmetric()) {
+      return JwtKeyMaterial.fromSecret(secret);
+    }
+    if (!StringUtils.hasText(privateKey) && !StringUtils.hasText(publicKey)) {
+      if (!generateKeyPair) {
+        throw new IllegalStateException("No " + algorithm + " key pair configured: set "
+            + "authorization.jwt.private-key and authorization.jwt.public-key, or "
+            + "authorization.jwt.generate-key-pair=true in development");
+      }
+      LOGGER.warn("No {} key pair configured, signing tokens with a generated key pair",
+          algorithm);
+      return JwtKeyMaterial.fromKeyPair(algorithm, algorithm.generateKeyPair());
+    }
+    if (!StringUtils.hasText(privateKey) || !StringUtils.hasText(publicKey)) {
+      throw new IllegalStateException(
+          "Both authorization.jwt.private-key and authorization.jwt.public-key are required");
+    }
+    try {
+      var keyPair = new KeyPair(
+          algorithm.readPublicKey(publicKey), algorithm.readPrivateKey(privateKey));
+      return JwtKeyMaterial.fromKeyPair(algorithm, keyPair);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalStateException("Invalid " + algorithm + " key pair configured", e);
+    }
+  }
+}
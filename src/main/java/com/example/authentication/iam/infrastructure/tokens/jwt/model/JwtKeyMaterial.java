@@ -0,0 +1,179 @@
+package com.example.authentication.iam.infrastructure.tokens.jwt.model;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+/**
+ * Immutable holder for one key used to sign and verify JSON Web Tokens.
+ *
+ * <p>The keys are derived once from a secret or a key pair and shared by every token
+ * operation. Key material built from a public key alone only verifies tokens, which is
+ * how a retired signer keeps accepting its tokens until they expire.</p>
+ *
+ * <p>Asymmetric key material also holds its public key as a JSON Web Key, rendered once,
+ * which is published for resource servers. Unless another identifier is given, its key
+ * identifier is the RFC 7638 thumbprint of the public key. Key material built from a
+ * secret is never published.</p>
+ */
+public final class JwtKeyMaterial {
+
+  private final String keyId;
+  private final Key signingKey;
+  private final Key verificationKey;
+  private final String publicJwk;
+
+  private JwtKeyMaterial(
+      String keyId, Key signingKey, Key verificationKey, String publicJwk) {
+    this.keyId = keyId;
+    this.signingKey = signingKey;
+    this.verificationKey = verificationKey;
+    this.publicJwk = publicJwk;
+  }
+
+  /**
+   * Builds key material without a key identifier from an HMAC secret.
+   *
+   * @param secret HMAC secret, encoded as UTF-8
+   * @return key material that signs and verifies with the derived key
+   */
+  public static JwtKeyMaterial fromSecret(String secret) {
+    return fromSecret(null, secret);
+  }
+
+  /**
+   * Builds key material from an HMAC secret.
+   *
+   * @param keyId identifier written to the {@code kid} header, or {@code null} for none
+   * @param secret HMAC secret, encoded as UTF-8
+   * @return key material that signs and verifies with the derived key
+   */
+  public static JwtKeyMaterial fromSecret(String keyId, String secret) {
+    var key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    return new JwtKeyMaterial(keyId, key, key, null);
+  }
+
+  /**
+   * Builds key material identified by the thumbprint of its public key.
+   *
+   * @param algorithm algorithm the key pair belongs to
+   * @param keyPair private key used to sign and public key used to verify
+   * @return key material that signs with the private key and publishes the public key
+   * @throws IllegalArgumentException if the key pair does not belong to the algorithm
+   */
+  public static JwtKeyMaterial fromKeyPair(JwtSigningAlgorithm algorithm, KeyPair keyPair) {
+    return fromKeyPair(null, algorithm, keyPair);
+  }
+
+  /**
+   * Builds key material from an asymmetric key pair.
+   *
+   * @param keyId key identifier, or {@code null} to use the thumbprint of the public key
+   * @param algorithm algorithm the key pair belongs to
+   * @param keyPair private key used to sign and public key used to verify
+   * @return key material that signs with the private key and publishes the public key
+   * @throws IllegalArgumentException if the key pair does not belong to the algorithm
+   */
+  public static JwtKeyMaterial fromKeyPair(
+      String keyId, JwtSigningAlgorithm algorithm, KeyPair keyPair) {
+    var material = fromKeys(keyId, algorithm, keyPair.getPrivate(), keyPair.getPublic());
+    material.requireMatchingKeys();
+    return material;
+  }
+
+  /**
+   * Builds verify-only key material from a public key.
+   *
+   * @param keyId key identifier, or {@code null} to use the thumbprint of the public key
+   * @param algorithm algorithm the public key belongs to
+   * @param publicKey public key used to verify
+   * @return key material that verifies and publishes the public key but cannot sign
+   * @throws IllegalArgumentException if the public key does not belong to the algorithm
+   */
+  public static JwtKeyMaterial fromPublicKey(
+      String keyId, JwtSigningAlgorithm algorithm, PublicKey publicKey) {
+    return fromKeys(keyId, algorithm, null, publicKey);
+  }
+
+  private static JwtKeyMaterial fromKeys(String keyId, JwtSigningAlgorithm algorithm,
+      PrivateKey privateKey, PublicKey publicKey) {
+    if (!algorithm.isAsymmetric()) {
+      throw new IllegalArgumentException(algorithm + " does not use a key pair");
+    }
+    var builder = Jwks.builder()
+        .<PublicKey, PrivateKey>key(publicKey)
+        .algorithm(algorithm.jwsAlgorithm())
+        .publicKeyUse("sig");
+    PublicJwk<PublicKey> jwk = keyId == null
+        ? builder.idFromThumbprint().build()
+        : builder.id(keyId).build();
+    if (!algorithm.curve().equals(jwk.get("crv"))) {
+      throw new IllegalArgumentException(
+          algorithm + " requires a " + algorithm.curve() + " key, got " + jwk.get("crv"));
+    }
+    return new JwtKeyMaterial(jwk.getId(), privateKey, publicKey, Jwks.json(jwk));
+  }
+
+  private void requireMatchingKeys() {
+    var probe = Jwts.builder().subject("probe").signWith(signingKey).compact();
+    try {
+      Jwts.parser()
+          .keyLocator(header -> verificationKey)
+          .build()
+          .parseSignedClaims(probe);
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("The private and public keys do not match", e);
+    }
+  }
+
+  /**
+   * Returns the identifier written to the {@code kid} header of the tokens it signs.
+   *
+   * @return key identifier, or {@code null} for a secret built without one
+   */
+  public String keyId() {
+    return keyId;
+  }
+
+  /**
+   * Returns whether this key material can sign new tokens.
+   *
+   * @return {@code false} for verify-only key material
+   */
+  public boolean canSign() {
+    return signingKey != null;
+  }
+
+  /**
+   * Returns the key used to sign new tokens.
+   *
+   * @return HMAC secret key or private key, or {@code null} for verify-only key material
+   */
+  public Key signingKey() {
+    return signingKey;
+  }
+
+  /**
+   * Returns the key used to verify tokens.
+   *
+   * @return HMAC secret key or public key
+   */
+  public Key verificationKey() {
+    return verificationKey;
+  }
+
+  /**
+   * Returns the public key as a JSON Web Key.
+   *
+   * @return JSON Web Key, or {@code null} for key material built from a secret
+   */
+  public String publicJwk() {
+    return publicJwk;
+  }
+}
@@ -0,0 +1,130 @@
+package com.example.authentication.iam.infrastructure.tokens.jwt.model;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Algorithm family used to sign JSON Web Tokens, selected with
+ * {@code authorization.jwt.algorithm}.
+ *
+ * <p>{@link #HMAC} signs with the shared {@code authorization.jwt.secret}, so only this
+ * service can verify tokens. {@link #ES256} and {@link #EDDSA} sign with a private key
+ * and publish the public key at {@code /.well-known/jwks.json}, so resource servers can
+ * verify tokens locally.</p>
+ */
+public enum JwtSigningAlgorithm {
+
+  /** HMAC with SHA-2, keyed with the configured secret. */
+  HMAC(null, null, null),
+
+  /** ECDSA on the P-256 curve with SHA-256. */
+  ES256("ES256", "EC", "P-256"),
+
+  /** EdDSA on the Ed25519 curve. */
+  EDDSA("EdDSA", "Ed25519", "Ed25519");
+
+  private final String jwsAlgorithm;
+  private final String keyFactoryAlgorithm;
+  private final String curve;
+
+  JwtSigningAlgorithm(String jwsAlgorithm, String keyFactoryAlgorithm, String curve) {
+    this.jwsAlgorithm = jwsAlgorithm;
+    this.keyFactoryAlgorithm = keyFactoryAlgorithm;
+    this.curve = curve;
+  }
+
+  /**
+   * Returns whether tokens are signed with a private key and verified with a public key.
+   *
+   * @return {@code true} for {@link #ES256} and {@link #EDDSA}
+   */
+  public boolean isAsymmetric() {
+    return keyFactoryAlgorithm != null;
+  }
+
+  /**
+   * Returns the {@code alg} value of the tokens and of the published keys.
+   *
+   * @return JWS algorithm name, or {@code null} for {@link #HMAC}
+   */
+  public String jwsAlgorithm() {
+    return jwsAlgorithm;
+  }
+
+  /**
+   * Returns the {@code crv} value the public key must have.
+   *
+   * @return JWK curve name, or {@code null} for {@link #HMAC}
+   */
+  public String curve() {
+    return curve;
+  }
+
+  /**
+   * Generates a new key pair for this algorithm.
+   *
+   * @return new key pair
+   * @throws IllegalStateException if the algorithm is {@link #HMAC}
+   */
+  public KeyPair generateKeyPair() {
+    return switch (this) {
+      case ES256 -> Jwts.SIG.ES256.keyPair().build();
+      case EDDSA -> Jwks.CRV.Ed25519.keyPair().build();
+      case HMAC -> throw new IllegalStateException("HMAC does not use a key pair");
+    };
+  }
+
+  /**
+   * Reads a PEM encoded PKCS#8 private key of this algorithm.
+   *
+   * @param pem PEM encoded private key; literal {@code \n} sequences are accepted
+   * @return private key
+   * @throws IllegalArgumentException if the key cannot be read
+   */
+  public PrivateKey readPrivateKey(String pem) {
+    try {
+      return keyFactory().generatePrivate(new PKCS8EncodedKeySpec(decodePem(pem)));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalArgumentException("Unable to read the " + this + " private key", e);
+    }
+  }
+
+  /**
+   * Reads a PEM encoded X.509 public key of this algorithm.
+   *
+   * @param pem PEM encoded public key; literal {@code \n} sequences are accepted
+   * @return public key
+   * @throws IllegalArgumentException if the key cannot be read
+   */
+  public PublicKey readPublicKey(String pem) {
+    try {
+      return keyFactory().generatePublic(new X509EncodedKeySpec(decodePem(pem)));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalArgumentException("Unable to read the " + this + " public key", e);
+    }
+  }
+
+  private KeyFactory keyFactory() throws NoSuchAlgorithmException {
+    if (!isAsymmetric()) {
+      throw new IllegalStateException("HMAC does not use a key pair");
+    }
+    return KeyFactory.getInstance(keyFactoryAlgorithm);
+  }
+
+  private static byte[] decodePem(String pem) {
+    var base64 = pem
+        .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+        .replace("\\n", "")
+        .replaceAll("\\s", "");
+    return Base64.getDecoder().decode(base64);
+  }
+}
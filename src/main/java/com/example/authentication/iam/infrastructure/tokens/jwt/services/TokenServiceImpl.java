@@ -1,18 +1,26 @@
 package com.example.authentication.iam.infrastructure.tokens.jwt.services;
 
+import com.example.authentication.iam.application.internal.outboundservices.tokens.TokenValidationResult;
+import com.example.authentication.iam.application.internal.outboundservices.tokens.TokenValidationResult.FailureReason;
+import com.example.authentication.iam.domain.model.aggregates.User;
+import com.example.authentication.iam.domain.model.entities.Role;
+import com.example.authentication.iam.infrastructure.tokens.epochs.TokenEpochStore;
 import com.example.authentication.iam.infrastructure.tokens.jwt.BearerTokenService;
+import com.example.authentication.iam.infrastructure.tokens.jwt.JwtClaimNames;
+import com.example.authentication.iam.infrastructure.tokens.keys.JwtKeyRingStore;
+import com.example.authentication.iam.infrastructure.tokens.revocation.TokenRevocationStore;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.http.HttpServletRequest;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
+import java.util.UUID;
 import java.util.function.Function;
-import javax.crypto.SecretKey;
 import org.apache.commons.lang3.time.DateUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +33,33 @@ import org.springframework.util.StringUtils;
  *
  * <p>This service is responsible for generating, validating, and extracting
  * information from JSON Web Tokens (JWT) used for authentication.</p>
+ *
+ * <p>Tokens are signed with the current signer of the {@link JwtKeyRingStore} and carry
+ * its {@code kid}, so resource servers can verify them against the published key set.
+ * They are verified by a single pre-built parser that picks the key by {@code kid}, so
+ * tokens signed by a previous key stay valid while it remains in the ring.</p>
+ *
+ * <p>Tokens issued for a {@link User} are access tokens that live for
+ * {@code authorization.jwt.access-token.lifetime}, minutes rather than days, and are
+ * renewed with refresh tokens. Verification tokens, issued for a username and sent in
+ * verification links, live for {@code authorization.jwt.expiration.days}. The
+ * {@code typ} claim tells them apart: {@link #verifyToken(String)} only accepts access
+ * tokens and {@link #verifyVerificationToken(String)} only verification tokens; any
+ * other type, or none, fails with {@link FailureReason#WRONG_TYPE}.</p>
+ *
+ * <p>Tokens issued for a {@link User} carry the user identifier and the token epoch of
+ * the user. Tokens whose epoch is older than the one in the {@link TokenEpochStore} fail
+ * verification with {@link FailureReason#SUPERSEDED}. When
+ * {@code authorization.jwt.self-contained.enabled} is {@code true}, they also carry the
+ * authorities and status, so the bearer filter can authorize requests without loading
+ * the user.</p>
+ *
+ * <p>Every token carries an expiration; tokens without one fail verification with
+ * {@link FailureReason#MALFORMED}.</p>
+ *
+ * <p>Every token carries a random {@code jti} identifier. Tokens whose identifier is in
+ * the {@link TokenRevocationStore} fail verification with
+ * {@link FailureReason#REVOKED}.</p>
  */
 @Service
 public class TokenServiceImpl implements BearerTokenService {
@@ -36,28 +71,74 @@ public class TokenServiceImpl implements BearerTokenService {
   private static final String BEARER_TOKEN_PREFIX = "Bearer ";
   private static final int TOKEN_BEGIN_INDEX = 7;
 
-  @Value("${authorization.jwt.secret}")
-  private String secret;
+  private final JwtKeyRingStore keyRingStore;
+  private final int expirationDays;
+  private final Duration accessTokenLifetime;
+  private final boolean selfContained;
+  private final TokenRevocationStore revocationStore;
+  private final TokenEpochStore epochStore;
 
-  @Value("${authorization.jwt.expiration.days}")
-  private int expirationDays;
+  /**
+   * Creates a new {@code TokenServiceImpl}.
+   *
+   * @param keyRingStore key ring used to sign and verify tokens
+   * @param expirationDays number of days a username token remains valid
+   * @param accessTokenLifetime time a user access token remains valid
+   * @param selfContained whether user tokens embed identifier, authorities and status
+   * @param revocationStore store of the revoked token identifiers
+   * @param epochStore store of the per-user token epochs
+   */
+  public TokenServiceImpl(
+      JwtKeyRingStore keyRingStore,
+      @Value("${authorization.jwt.expiration.days}") int expirationDays,
+      @Value("${authorization.jwt.access-token.lifetime:15m}") Duration accessTokenLifetime,
+      @Value("${authorization.jwt.self-contained.enabled:false}") boolean selfContained,
+      TokenRevocationStore revocationStore,
+      TokenEpochStore epochStore) {
+    this.keyRingStore = keyRingStore;
+    this.expirationDays = expirationDays;
+    this.accessTokenLifetime = accessTokenLifetime;
+    this.selfContained = selfContained;
+    this.revocationStore = revocationStore;
+    this.epochStore = epochStore;
+  }
 
   @Override
-  public String generateToken(String username) {
-    return buildTokenWithDefaultParameters(username);
+  public String generateVerificationToken(String username) {
+    var issuedAt = new Date();
+    return buildTokenWithDefaultParameters(
+        username, JwtClaimNames.VERIFICATION_TOKEN, issuedAt,
+        DateUtils.addDays(issuedAt, expirationDays)).compact();
   }
 
-  private String buildTokenWithDefaultParameters(String username) {
-    Date issuedAt = new Date();
-    Date expiration = DateUtils.addDays(issuedAt, expirationDays);
-    SecretKey key = getSigningKey();
+  @Override
+  public String generateToken(User user) {
+    var issuedAt = new Date();
+    var expiration = new Date(issuedAt.getTime() + accessTokenLifetime.toMillis());
+    var builder = buildTokenWithDefaultParameters(
+            user.getUsername(), JwtClaimNames.ACCESS_TOKEN, issuedAt, expiration)
+        .claim(JwtClaimNames.USER_ID, user.getId())
+        .claim(JwtClaimNames.TOKEN_EPOCH, user.tokenEpoch());
+    if (selfContained) {
+      builder
+          .claim(JwtClaimNames.AUTHORITIES,
+              user.getRoles().stream().map(Role::getStringRole).toList())
+          .claim(JwtClaimNames.ACTIVE, user.isActive());
+    }
+    return builder.compact();
+  }
 
+  private JwtBuilder buildTokenWithDefaultParameters(
+      String username, String type, Date issuedAt, Date expiration) {
+    var signer = keyRingStore.current().signer();
     return Jwts.builder()
+        .header().keyId(signer.keyId()).and()
+        .id(UUID.randomUUID().toString())
         .subject(username)
+        .claim(JwtClaimNames.TOKEN_TYPE, type)
         .issuedAt(issuedAt)
         .expiration(expiration)
-        .signWith(key)
-        .compact();
+        .signWith(signer.signingKey());
   }
 
   @Override
@@ -67,27 +148,111 @@ public class TokenServiceImpl implements BearerTokenService {
 
   @Override
   public boolean validateToken(String token) {
+    return verifyToken(token).isValid();
+  }
+
+  @Override
+  public TokenValidationResult verifyToken(String token) {
+    return verify(token, JwtClaimNames.ACCESS_TOKEN);
+  }
+
+  @Override
+  public TokenValidationResult verifyVerificationToken(String token) {
+    return verify(token, JwtClaimNames.VERIFICATION_TOKEN);
+  }
+
+  private TokenValidationResult verify(String token, String expectedType) {
     try {
-      Jwts.parser()
-          .verifyWith(getSigningKey())
-          .build()
-          .parseSignedClaims(token);
+      Claims claims = keyRingStore.parser()
+          .parseSignedClaims(token)
+          .getPayload();
+
+      if (claims.getExpiration() == null) {
+        LOGGER.error("JSON Web Token has no expiration");
+        return TokenValidationResult.invalid(FailureReason.MALFORMED);
+      }
+
+      if (!expectedType.equals(claims.get(JwtClaimNames.TOKEN_TYPE))) {
+        LOGGER.warn("JSON Web Token of type {} used where {} is expected",
+            claims.get(JwtClaimNames.TOKEN_TYPE), expectedType);
+        return TokenValidationResult.invalid(FailureReason.WRONG_TYPE);
+      }
+
+      var tokenId = tokenIdOf(claims.getId());
+      if (tokenId != null
+          && revocationStore.isRevoked(tokenId, claims.getExpiration().toInstant())) {
+        LOGGER.warn("JSON Web Token {} is revoked", tokenId);
+        return TokenValidationResult.invalid(FailureReason.REVOKED);
+      }
+
+      if (isSuperseded(claims)) {
+        LOGGER.warn("JSON Web Token of user {} was issued before its tokens were invalidated",
+            claims.getSubject());
+        return TokenValidationResult.invalid(FailureReason.SUPERSEDED);
+      }
 
-      LOGGER.info("Token is valid");
-      return true;
+      LOGGER.debug("Token is valid");
+      return TokenValidationResult.valid(
+          claims.getSubject(),
+          claims.getExpiration().toInstant(),
+          claims);
 
     } catch (SignatureException e) {
       LOGGER.error("Invalid JSON Web Token signature: {}", e.getMessage());
+      return TokenValidationResult.invalid(FailureReason.INVALID_SIGNATURE);
     } catch (MalformedJwtException e) {
       LOGGER.error("Invalid JSON Web Token: {}", e.getMessage());
+      return TokenValidationResult.invalid(FailureReason.MALFORMED);
     } catch (ExpiredJwtException e) {
       LOGGER.error("JSON Web Token is expired: {}", e.getMessage());
+      return TokenValidationResult.invalid(FailureReason.EXPIRED);
     } catch (UnsupportedJwtException e) {
       LOGGER.error("JSON Web Token is unsupported: {}", e.getMessage());
+      return TokenValidationResult.invalid(FailureReason.UNSUPPORTED);
     } catch (IllegalArgumentException e) {
       LOGGER.error("JSON Web Token claims string is empty: {}", e.getMessage());
+      return TokenValidationResult.invalid(FailureReason.EMPTY);
+    }
+  }
+
+  @Override
+  public void revokeToken(String token) {
+    var result = verifyToken(token);
+    if (!result.isValid()) {
+      return;
+    }
+    var tokenId = tokenIdOf(result.claims().get(Claims.ID));
+    if (tokenId != null) {
+      revocationStore.revoke(tokenId, result.expiration());
+    }
+  }
+
+  @Override
+  public void invalidateTokens(User user) {
+    if (user.getTokensValidAfter() != null) {
+      epochStore.advance(user.getId(), user.getTokensValidAfter());
+    }
+  }
+
+  private boolean isSuperseded(Claims claims) {
+    if (!(claims.get(JwtClaimNames.USER_ID) instanceof Number userId)) {
+      return false;
+    }
+    long tokenEpoch = claims.get(JwtClaimNames.TOKEN_EPOCH) instanceof Number epoch
+        ? epoch.longValue()
+        : 0;
+    return tokenEpoch < epochStore.epochOf(userId.longValue());
+  }
+
+  private static UUID tokenIdOf(Object id) {
+    if (!(id instanceof String value)) {
+      return null;
+    }
+    try {
+      return UUID.fromString(value);
+    } catch (IllegalArgumentException e) {
+      return null;
     }
-    return false;
   }
 
   private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -96,18 +261,11 @@ public class TokenServiceImpl implements BearerTokenService {
   }
 
   private Claims extractAllClaims(String token) {
-    return Jwts.parser()
-        .verifyWith(getSigningKey())
-        .build()
+    return keyRingStore.parser()
         .parseSignedClaims(token)
         .getPayload();
   }
 
-  private SecretKey getSigningKey() {
-    byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-    return Keys.hmacShaKeyFor(keyBytes);
-  }
-
   private boolean isTokenPresentIn(String authorizationParameter) {
     return StringUtils.hasText(authorizationParameter);
   }
@@ -0,0 +1,121 @@
+package com.example.authentication.iam.infrastructure.tokens.keys;
+
+import com.example.authentication.iam.infrastructure.tokens.jwt.model.JwtKeyMaterial;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of the keys that sign and verify JSON Web Tokens.
+ *
+ * <p>One key signs new tokens; every key verifies the tokens carrying its identifier in
+ * the {@code kid} header, found with a single hash lookup. Tokens without a {@code kid},
+ * issued before keys had identifiers, are verified with the default key. The published
+ * JSON Web Key Set and its version are rendered once per snapshot.</p>
+ */
+public final class JwtKeyRing {
+
+  private static final int VERSION_BYTES = 16;
+
+  private final JwtKeyMaterial signer;
+  private final JwtKeyMaterial defaultKey;
+  private final Map<String, JwtKeyMaterial> keysById;
+  private final String jwkSet;
+  private final String jwkSetVersion;
+
+  /**
+   * Creates a new {@code JwtKeyRing}.
+   *
+   * @param signer key that signs new tokens
+   * @param defaultKey key that verifies tokens without a {@code kid}
+   * @param keys keys that verify tokens by their identifier; keys without one are skipped
+   * @throws IllegalArgumentException if the signer cannot sign
+   */
+  public JwtKeyRing(
+      JwtKeyMaterial signer, JwtKeyMaterial defaultKey, Collection<JwtKeyMaterial> keys) {
+    if (!signer.canSign()) {
+      throw new IllegalArgumentException("Key " + signer.keyId() + " cannot sign");
+    }
+    this.signer = signer;
+    this.defaultKey = defaultKey;
+    Map<String, JwtKeyMaterial> byId = HashMap.newHashMap(keys.size());
+    for (var key : keys) {
+      if (key.keyId() != null) {
+        byId.putIfAbsent(key.keyId(), key);
+      }
+    }
+    this.keysById = Map.copyOf(byId);
+    this.jwkSet = keysById.values().stream()
+        .map(JwtKeyMaterial::publicJwk)
+        .filter(Objects::nonNull)
+        .sorted()
+        .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+    this.jwkSetVersion = versionOf(jwkSet);
+  }
+
+  /**
+   * Returns the key that signs new tokens.
+   *
+   * @return signing key material
+   */
+  public JwtKeyMaterial signer() {
+    return signer;
+  }
+
+  /**
+   * Returns the key that verifies a token.
+   *
+   * @param keyId {@code kid} header of the token, or {@code null} if it has none
+   * @return verification key, or {@code null} if no key has that identifier
+   */
+  public Key verificationKey(String keyId) {
+    var key = keyId == null ? defaultKey : keysById.get(keyId);
+    return key == null ? null : key.verificationKey();
+  }
+
+  /**
+   * Returns the identifiers of the keys in the ring.
+   *
+   * @return key identifiers
+   */
+  public Collection<String> keyIds() {
+    return keysById.keySet();
+  }
+
+  /**
+   * Returns the public keys of the ring as a JSON Web Key Set document.
+   *
+   * @return JSON Web Key Set, empty if every key is an HMAC secret
+   */
+  public String jwkSet() {
+    return jwkSet;
+  }
+
+  /**
+   * Returns a short hash of the JSON Web Key Set that changes whenever the set does.
+   *
+   * @return URL-safe version of the key set
+   */
+  public String jwkSetVersion() {
+    return jwkSetVersion;
+  }
+
+  private static String versionOf(String body) {
+    try {
+      var digest = MessageDigest.getInstance("SHA-256")
+          .digest(body.getBytes(StandardCharsets.UTF_8));
+      return Base64.getUrlEncoder().withoutPadding()
+          .encodeToString(Arrays.copyOf(digest, VERSION_BYTES));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -0,0 +1,280 @@
+package com.example.authentication.iam.infrastructure.tokens.keys;
+
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.SigningKeyRepository;
+import com.example.authentication.iam.infrastructure.tokens.jwt.model.JwtKeyMaterial;
+import com.example.authentication.iam.infrastructure.tokens.jwt.model.JwtSigningAlgorithm;
+import com.example.authentication.iam.infrastructure.tokens.keys.model.SigningKey;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.security.Key;
+import java.security.KeyPair;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Key ring of the JSON Web Tokens, reloaded from {@code signing_keys} without a restart.
+ *
+ * <p>The configured key always stays in the ring, signs until a key in the table takes
+ * over and verifies the tokens without a {@code kid}. The table is read once the
+ * application is ready and then every {@code authorization.jwt.key-ring.refresh-interval};
+ * each read builds a new {@link JwtKeyRing} and swaps it in, so token operations never
+ * wait for a reload. Key material already read is reused by key identifier.</p>
+ *
+ * <p>Keys read ahead of their {@code activates_at} are kept pending, and the first token
+ * operation at or after that instant swaps in a ring signed by them without reading the
+ * table. A key inserted at least one refresh interval before its {@code activates_at} is
+ * therefore loaded everywhere in time, and signing moves to it on every replica at once;
+ * a key read for the first time with less notice than that is logged, since replicas may
+ * switch to it up to one refresh interval apart. A token whose {@code kid} is not in the
+ * ring is rejected against the current ring; only the scheduled reload reads the table,
+ * under a lock that token operations never wait for. The previous signer keeps verifying
+ * until its {@code expires_at}, so rotating keys does not end any session early.</p>
+ *
+ * <p>Secrets and private keys are stored encrypted and read with the
+ * {@link SigningKeyCipher}.</p>
+ *
+ * <p>It publishes the {@code tokens.keys.entries} gauge.</p>
+ */
+@Component
+public class JwtKeyRingStore {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JwtKeyRingStore.class);
+
+  private final JwtKeyMaterial configuredKey;
+  private final SigningKeyRepository signingKeyRepository;
+  private final SigningKeyCipher cipher;
+  private final Duration refreshInterval;
+  private final Clock clock;
+  private final JwtParser parser;
+  private final Map<String, JwtKeyMaterial> loadedKeys = new HashMap<>();
+  private final ReentrantLock lock = new ReentrantLock();
+  private List<JwtKeyMaterial> keys;
+  private List<Candidate> candidates = List.of();
+  private Instant lastReload;
+  private volatile Instant nextActivation;
+  private volatile JwtKeyRing ring;
+
+  /**
+   * Creates a new {@code JwtKeyRingStore}.
+   *
+   * @param configuredKey key configured with the {@code authorization.jwt} properties
+   * @param signingKeyRepository repository of the keys managed in the database
+   * @param cipher cipher of the secrets and private keys stored in the database
+   * @param refreshInterval time between two reads of the table
+   * @param meterRegistry registry where the key ring metrics are published
+   */
+  @Autowired
+  public JwtKeyRingStore(
+      JwtKeyMaterial configuredKey,
+      SigningKeyRepository signingKeyRepository,
+      SigningKeyCipher cipher,
+      @Value("${authorization.jwt.key-ring.refresh-interval:30s}") Duration refreshInterval,
+      MeterRegistry meterRegistry) {
+    this(configuredKey, signingKeyRepository, cipher, refreshInterval, meterRegistry,
+        Clock.systemUTC());
+  }
+
+  JwtKeyRingStore(
+      JwtKeyMaterial configuredKey,
+      SigningKeyRepository signingKeyRepository,
+      SigningKeyCipher cipher,
+      Duration refreshInterval,
+      MeterRegistry meterRegistry,
+      Clock clock) {
+    this.configuredKey = configuredKey;
+    this.signingKeyRepository = signingKeyRepository;
+    this.cipher = cipher;
+    this.refreshInterval = refreshInterval;
+    this.clock = clock;
+    this.keys = List.of(configuredKey);
+    this.ring = new JwtKeyRing(configuredKey, configuredKey, keys);
+    this.parser = Jwts.parser()
+        .keyLocator(this::verificationKeyOf)
+        .build();
+    Gauge.builder("tokens.keys.entries", this, store -> store.current().keyIds().size())
+        .description("Keys that verify tokens by key identifier")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns the current key ring, signed by the key activated last.
+   *
+   * @return latest key ring snapshot
+   */
+  public JwtKeyRing current() {
+    var activation = nextActivation;
+    if (activation != null && !clock.instant().isBefore(activation)) {
+      activatePending();
+    }
+    return ring;
+  }
+
+  /**
+   * Returns the shared parser that verifies tokens with the key named by their
+   * {@code kid} header in the current ring.
+   *
+   * @return thread-safe JWT parser
+   */
+  public JwtParser parser() {
+    return parser;
+  }
+
+  /**
+   * Reads the unexpired keys from the table and swaps in a new key ring.
+   *
+   * <p>Keys whose material cannot be read are logged and left out.</p>
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(
+      initialDelayString = "${authorization.jwt.key-ring.refresh-interval:30s}",
+      fixedDelayString = "${authorization.jwt.key-ring.refresh-interval:30s}")
+  public void reload() {
+    lock.lock();
+    try {
+      reloadLocked();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void reloadLocked() {
+    var now = clock.instant();
+    List<JwtKeyMaterial> readKeys = new ArrayList<>();
+    readKeys.add(configuredKey);
+    Map<String, JwtKeyMaterial> readKeysById = new HashMap<>();
+    List<Candidate> readCandidates = new ArrayList<>();
+
+    for (var row : signingKeyRepository.findUnexpired(now)) {
+      if (row.getKeyId().equals(configuredKey.keyId())) {
+        LOGGER.warn("Signing key {} is already configured, ignoring its row", row.getKeyId());
+        continue;
+      }
+      var key = loadedKeys.get(row.getKeyId());
+      if (key == null) {
+        try {
+          key = toKeyMaterial(row);
+        } catch (IllegalArgumentException e) {
+          LOGGER.error("Signing key {} cannot be read: {}", row.getKeyId(), e.getMessage());
+          continue;
+        }
+        warnIfActivatingTooSoon(row, key, now);
+      }
+      readKeysById.put(row.getKeyId(), key);
+      readKeys.add(key);
+      if (key.canSign() && row.getActivatesAt() != null) {
+        readCandidates.add(new Candidate(key, row.getActivatesAt()));
+      }
+    }
+
+    loadedKeys.clear();
+    loadedKeys.putAll(readKeysById);
+    keys = readKeys;
+    candidates = readCandidates;
+    lastReload = now;
+    activate(now);
+  }
+
+  private void activatePending() {
+    if (!lock.tryLock()) {
+      return;
+    }
+    try {
+      var activation = nextActivation;
+      var now = clock.instant();
+      if (activation != null && !now.isBefore(activation)) {
+        activate(now);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void activate(Instant now) {
+    var signer = configuredKey;
+    Instant signerActivation = null;
+    Instant pending = null;
+    for (var candidate : candidates) {
+      var activatesAt = candidate.activatesAt();
+      if (activatesAt.isAfter(now)) {
+        pending = pending == null || activatesAt.isBefore(pending) ? activatesAt : pending;
+      } else if (signerActivation == null || activatesAt.isAfter(signerActivation)) {
+        signer = candidate.key();
+        signerActivation = activatesAt;
+      }
+    }
+
+    var previous = ring;
+    ring = new JwtKeyRing(signer, configuredKey, keys);
+    nextActivation = pending;
+    if (!Objects.equals(previous.signer().keyId(), signer.keyId())
+        || !previous.keyIds().equals(ring.keyIds())) {
+      LOGGER.info("Key ring updated with {} keys, signing with {}",
+          ring.keyIds().size(), signer.keyId());
+    }
+  }
+
+  private void warnIfActivatingTooSoon(SigningKey row, JwtKeyMaterial key, Instant now) {
+    var activatesAt = row.getActivatesAt();
+    if (lastReload != null && key.canSign() && activatesAt != null
+        && activatesAt.isBefore(now.plus(refreshInterval))) {
+      LOGGER.warn("Signing key {} activates at {}, less than {} after it was first read; "
+          + "replicas may switch to it at different times", row.getKeyId(), activatesAt,
+          refreshInterval);
+    }
+  }
+
+  private JwtKeyMaterial toKeyMaterial(SigningKey row) {
+    JwtSigningAlgorithm algorithm = row.getAlgorithm();
+    if (!algorithm.isAsymmetric()) {
+      if (row.getSecret() == null) {
+        throw new IllegalArgumentException("HMAC keys require a secret");
+      }
+      return JwtKeyMaterial.fromSecret(
+          row.getKeyId(), cipher.decrypt(row.getKeyId(), row.getSecret()));
+    }
+    if (row.getPublicKey() == null) {
+      throw new IllegalArgumentException(algorithm + " keys require a public key");
+    }
+    var publicKey = algorithm.readPublicKey(row.getPublicKey());
+    if (row.getPrivateKey() == null) {
+      return JwtKeyMaterial.fromPublicKey(row.getKeyId(), algorithm, publicKey);
+    }
+    var privateKey = cipher.decrypt(row.getKeyId(), row.getPrivateKey());
+    var keyPair = new KeyPair(publicKey, algorithm.readPrivateKey(privateKey));
+    return JwtKeyMaterial.fromKeyPair(row.getKeyId(), algorithm, keyPair);
+  }
+
+  private Key verificationKeyOf(Header header) {
+    var keyId = header instanceof ProtectedHeader protectedHeader
+        ? protectedHeader.getKeyId()
+        : null;
+    var key = current().verificationKey(keyId);
+    if (key == null) {
+      throw new SignatureException("No key with identifier " + keyId);
+    }
+    return key;
+  }
+
+  private record Candidate(JwtKeyMaterial key, Instant activatesAt) {
+  }
+}
@@ -0,0 +1,156 @@
+package com.example.authentication.iam.infrastructure.tokens.keys;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Encryption of the secrets and private keys stored in {@code signing_keys}.
+ *
+ * <p>Values are encrypted with AES-256-GCM under the base64 encoded 32-byte
+ * {@code authorization.jwt.key-ring.encryption-key}, with the key identifier as
+ * associated data, so a value copied to another row does not decrypt. They are stored
+ * as {@code v1:} followed by the base64 encoded nonce and ciphertext. Without an
+ * encryption key, only verify-only rows, which hold no secret, can be read.</p>
+ *
+ * <p>Values to insert are produced with the command below, which reads the encryption
+ * key from {@code JWT_KEY_RING_ENCRYPTION_KEY} and the secret or PEM private key from
+ * standard input:</p>
+ * <pre>
+ * mvn -q compile exec:java -Dexec.args=2026-10 \
+ *   -Dexec.mainClass=com.example.authentication.iam.infrastructure.tokens.keys.\
+ * SigningKeyCipher &lt; private-key.pem
+ * </pre>
+ */
+@Component
+public class SigningKeyCipher {
+
+  /**
+   * Prefix of the values encrypted by this version of the cipher.
+   */
+  public static final String PREFIX = "v1:";
+
+  private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+  private static final int KEY_BYTES = 32;
+  private static final int NONCE_BYTES = 12;
+  private static final int TAG_BITS = 128;
+
+  private final SecretKey key;
+  private final SecureRandom random = new SecureRandom();
+
+  /**
+   * Creates a new {@code SigningKeyCipher}.
+   *
+   * @param encryptionKey base64 encoded 32-byte key, or empty if none is configured
+   * @throws IllegalStateException if the key is not 32 bytes of valid base64
+   */
+  public SigningKeyCipher(
+      @Value("${authorization.jwt.key-ring.encryption-key:}") String encryptionKey) {
+    if (!StringUtils.hasText(encryptionKey)) {
+      this.key = null;
+      return;
+    }
+    byte[] bytes;
+    try {
+      bytes = Base64.getDecoder().decode(encryptionKey.strip());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalStateException("authorization.jwt.key-ring.encryption-key is not base64");
+    }
+    if (bytes.length != KEY_BYTES) {
+      throw new IllegalStateException(
+          "authorization.jwt.key-ring.encryption-key must be " + KEY_BYTES + " bytes");
+    }
+    this.key = new SecretKeySpec(bytes, "AES");
+  }
+
+  /**
+   * Encrypts a secret or private key of a signing key.
+   *
+   * @param keyId identifier of the signing key
+   * @param plaintext secret or PEM encoded private key
+   * @return value to store, starting with {@link #PREFIX}
+   * @throws IllegalStateException if no encryption key is configured
+   */
+  public String encrypt(String keyId, String plaintext) {
+    if (key == null) {
+      throw new IllegalStateException("No signing key encryption key is configured");
+    }
+    var nonce = new byte[NONCE_BYTES];
+    random.nextBytes(nonce);
+    try {
+      var ciphertext = cipher(Cipher.ENCRYPT_MODE, keyId, nonce)
+          .doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+      var value = ByteBuffer.allocate(NONCE_BYTES + ciphertext.length)
+          .put(nonce)
+          .put(ciphertext)
+          .array();
+      return PREFIX + Base64.getEncoder().encodeToString(value);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Signing key encryption failed", e);
+    }
+  }
+
+  /**
+   * Decrypts a secret or private key read from {@code signing_keys}.
+   *
+   * @param keyId identifier of the signing key
+   * @param value stored value
+   * @return secret or PEM encoded private key
+   * @throws IllegalArgumentException if no encryption key is configured, or the value is
+   *     stored in plaintext, malformed, or encrypted under another key or key identifier
+   */
+  public String decrypt(String keyId, String value) {
+    if (key == null) {
+      throw new IllegalArgumentException(
+          "no encryption key is configured, only verify-only keys can be read");
+    }
+    if (!value.startsWith(PREFIX)) {
+      throw new IllegalArgumentException("secret material is not encrypted");
+    }
+    try {
+      var bytes = Base64.getDecoder().decode(value.substring(PREFIX.length()));
+      if (bytes.length <= NONCE_BYTES) {
+        throw new IllegalArgumentException("encrypted value is too short");
+      }
+      var plaintext = cipher(Cipher.DECRYPT_MODE, keyId, Arrays.copyOf(bytes, NONCE_BYTES))
+          .doFinal(bytes, NONCE_BYTES, bytes.length - NONCE_BYTES);
+      return new String(plaintext, StandardCharsets.UTF_8);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalArgumentException("encrypted value cannot be decrypted", e);
+    }
+  }
+
+  /**
+   * Entry point of the encryption command.
+   *
+   * @param args identifier of the signing key
+   * @throws IOException if standard input cannot be read
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 1) {
+      System.err.println("Usage: SigningKeyCipher <key-id> < secret-or-private-key");
+      System.exit(2);
+    }
+    var cipher = new SigningKeyCipher(System.getenv("JWT_KEY_RING_ENCRYPTION_KEY"));
+    var plaintext = new String(System.in.readAllBytes(), StandardCharsets.UTF_8).strip();
+    System.out.println(cipher.encrypt(args[0], plaintext));
+  }
+
+  private Cipher cipher(int mode, String keyId, byte[] nonce) throws GeneralSecurityException {
+    var cipher = Cipher.getInstance(TRANSFORMATION);
+    cipher.init(mode, key, new GCMParameterSpec(TAG_BITS, nonce));
+    cipher.updateAAD(keyId.getBytes(StandardCharsets.UTF_8));
+    return cipher;
+  }
+}
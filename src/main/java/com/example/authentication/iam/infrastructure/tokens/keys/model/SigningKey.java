@@ -0,0 +1,74 @@
+package com.example.authentication.iam.infrastructure.tokens.keys.model;
+
+import com.example.authentication.iam.infrastructure.tokens.jwt.model.JwtSigningAlgorithm;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Key of the JSON Web Token key ring, managed directly in the {@code signing_keys} table.
+ *
+ * <p>HMAC keys hold a {@code secret}; ES256 and EdDSA keys hold a PEM encoded X.509
+ * {@code public_key} and, if they may sign, a PEM encoded PKCS#8 {@code private_key}.
+ * Secrets and private keys are stored encrypted by the {@code SigningKeyCipher}.
+ * A key with an {@code activates_at} in the past may sign, and the one activated last
+ * does; keys without it only verify. Once {@code expires_at} has passed, the key leaves
+ * the ring and its tokens are rejected. The key material of a row is read once, so a
+ * key is replaced by inserting a new row rather than by updating it.</p>
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+public class SigningKey {
+
+  @Id
+  @Column(length = 64)
+  private String keyId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private JwtSigningAlgorithm algorithm;
+
+  @Column(length = 1024)
+  private String secret;
+
+  @Column(length = 2048)
+  private String privateKey;
+
+  @Column(length = 1024)
+  private String publicKey;
+
+  private Instant activatesAt;
+
+  private Instant expiresAt;
+
+  /**
+   * Creates a new {@code SigningKey}.
+   *
+   * @param keyId identifier written to the {@code kid} header
+   * @param algorithm signing algorithm
+   * @param secret encrypted HMAC secret, or {@code null} for asymmetric keys
+   * @param privateKey encrypted PEM encoded private key, or {@code null} for verify-only
+   *     keys
+   * @param publicKey PEM encoded public key, or {@code null} for HMAC keys
+   * @param activatesAt instant from which the key may sign, or {@code null} if it never
+   *     does
+   * @param expiresAt instant from which the key stops verifying, or {@code null} if it
+   *     never does
+   */
+  public SigningKey(String keyId, JwtSigningAlgorithm algorithm, String secret,
+      String privateKey, String publicKey, Instant activatesAt, Instant expiresAt) {
+    this.keyId = keyId;
+    this.algorithm = algorithm;
+    this.secret = secret;
+    this.privateKey = privateKey;
+    this.publicKey = publicKey;
+    this.activatesAt = activatesAt;
+    this.expiresAt = expiresAt;
+  }
+}
@@ -0,0 +1,78 @@
+package com.example.authentication.iam.infrastructure.tokens.refresh.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * SHA-256 hash of an opaque refresh token, kept until the token expires.
+ *
+ * <p>Used tokens stay in the table as rotated, so that using one again is detected as
+ * reuse. Rows are inserted once and only updated by the rotation query, so the entity
+ * always reports itself as new and is persisted without a preceding select.</p>
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_refresh_tokens_token_hash", columnNames = "token_hash"),
+    indexes = {
+        @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+    })
+public class RefreshToken implements Persistable<UUID> {
+
+  @Id
+  private UUID id;
+
+  @Column(nullable = false, length = 32)
+  private byte[] tokenHash;
+
+  @Column(nullable = false)
+  private UUID familyId;
+
+  @Column(nullable = false)
+  private Long userId;
+
+  @Column(nullable = false)
+  private long tokenEpoch;
+
+  @Column(nullable = false)
+  private Instant expiresAt;
+
+  @Column(nullable = false)
+  private boolean rotated;
+
+  /**
+   * Creates a new {@code RefreshToken}.
+   *
+   * @param tokenHash SHA-256 hash of the token
+   * @param familyId identifier shared by the tokens of one sign-in
+   * @param userId identifier of the user the token was issued to
+   * @param tokenEpoch token epoch of the user when the family was issued
+   * @param expiresAt token expiration
+   */
+  public RefreshToken(
+      byte[] tokenHash, UUID familyId, Long userId, long tokenEpoch, Instant expiresAt) {
+    this.id = UUID.randomUUID();
+    this.tokenHash = tokenHash;
+    this.familyId = familyId;
+    this.userId = userId;
+    this.tokenEpoch = tokenEpoch;
+    this.expiresAt = expiresAt;
+  }
+
+  @Override
+  public boolean isNew() {
+    return true;
+  }
+}
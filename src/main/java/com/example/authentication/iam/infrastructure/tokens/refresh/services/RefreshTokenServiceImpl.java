@@ -0,0 +1,136 @@
+package com.example.authentication.iam.infrastructure.tokens.refresh.services;
+
+import com.example.authentication.iam.application.internal.outboundservices.tokens.RefreshTokenRotation;
+import com.example.authentication.iam.application.internal.outboundservices.tokens.RefreshTokenService;
+import com.example.authentication.iam.domain.exceptions.InvalidRefreshTokenException;
+import com.example.authentication.iam.domain.model.aggregates.User;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.RefreshTokenRepository;
+import com.example.authentication.iam.infrastructure.tokens.refresh.model.RefreshToken;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Opaque refresh tokens persisted in {@code refresh_tokens}.
+ *
+ * <p>A token is 256 random bits encoded as base64url. Only its SHA-256 hash is stored:
+ * the token already has full entropy, so a slow password hash would add cost to every
+ * refresh without making the stored hashes any harder to reverse.</p>
+ *
+ * <p>Rotation marks the used token with a conditional update, so two concurrent uses of
+ * the same token cannot both succeed; the loser is treated as reuse and the family is
+ * deleted. Marking the used token and issuing the next one run in one transaction, so a
+ * failure in between cannot leave the family without a usable token; the deletion of a
+ * reused family is committed even though the rotation fails. Expired tokens are deleted
+ * on a fixed delay.</p>
+ */
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+  private static final int TOKEN_BYTES = 32;
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final Duration lifetime;
+  private final Clock clock;
+  private final SecureRandom random = new SecureRandom();
+
+  /**
+   * Creates a new {@code RefreshTokenServiceImpl}.
+   *
+   * @param refreshTokenRepository repository where refresh tokens are persisted
+   * @param lifetime time a refresh token remains valid after it is issued
+   */
+  @Autowired
+  public RefreshTokenServiceImpl(
+      RefreshTokenRepository refreshTokenRepository,
+      @Value("${authorization.refresh-token.lifetime:14d}") Duration lifetime) {
+    this(refreshTokenRepository, lifetime, Clock.systemUTC());
+  }
+
+  RefreshTokenServiceImpl(
+      RefreshTokenRepository refreshTokenRepository, Duration lifetime, Clock clock) {
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.lifetime = lifetime;
+    this.clock = clock;
+  }
+
+  @Override
+  public String issue(User user) {
+    return issueInFamily(UUID.randomUUID(), user.getId(), user.tokenEpoch());
+  }
+
+  @Override
+  @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+  public RefreshTokenRotation rotate(String refreshToken) {
+    var token = find(refreshToken);
+    if (!token.getExpiresAt().isAfter(clock.instant())) {
+      throw new InvalidRefreshTokenException();
+    }
+    if (token.isRotated() || refreshTokenRepository.markRotated(token.getId()) == 0) {
+      LOGGER.warn("Refresh token of user {} was reused, revoking its family", token.getUserId());
+      refreshTokenRepository.deleteFamily(token.getFamilyId());
+      throw new InvalidRefreshTokenException();
+    }
+    var next = issueInFamily(token.getFamilyId(), token.getUserId(), token.getTokenEpoch());
+    return new RefreshTokenRotation(token.getUserId(), token.getTokenEpoch(), next);
+  }
+
+  @Override
+  public void revoke(String refreshToken) {
+    if (refreshToken == null || refreshToken.isBlank()) {
+      return;
+    }
+    refreshTokenRepository.findByTokenHash(hash(refreshToken))
+        .ifPresent(token -> refreshTokenRepository.deleteFamily(token.getFamilyId()));
+  }
+
+  /**
+   * Deletes the refresh tokens that have expired.
+   */
+  @Scheduled(
+      initialDelayString = "${authorization.refresh-token.cleanup-interval:1h}",
+      fixedDelayString = "${authorization.refresh-token.cleanup-interval:1h}")
+  public void removeExpired() {
+    refreshTokenRepository.deleteExpired(clock.instant());
+  }
+
+  private String issueInFamily(UUID familyId, Long userId, long tokenEpoch) {
+    var bytes = new byte[TOKEN_BYTES];
+    random.nextBytes(bytes);
+    var value = ENCODER.encodeToString(bytes);
+    refreshTokenRepository.save(new RefreshToken(
+        hash(value), familyId, userId, tokenEpoch, clock.instant().plus(lifetime)));
+    return value;
+  }
+
+  private RefreshToken find(String refreshToken) {
+    if (refreshToken == null || refreshToken.isBlank()) {
+      throw new InvalidRefreshTokenException();
+    }
+    return refreshTokenRepository.findByTokenHash(hash(refreshToken))
+        .orElseThrow(InvalidRefreshTokenException::new);
+  }
+
+  private static byte[] hash(String refreshToken) {
+    try {
+      return MessageDigest.getInstance("SHA-256")
+          .digest(refreshToken.getBytes(StandardCharsets.US_ASCII));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package com.example.authentication.iam.infrastructure.tokens.revocation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory list of revoked token identifiers that forgets each one when its token expires.
+ *
+ * <p>Identifiers are grouped in buckets by the expiration of their token, each bucket
+ * covering one {@code granularity}. A lookup goes straight to the bucket of the token's
+ * own expiration, so it is a single set probe however many tokens are revoked. Expired
+ * identifiers are dropped a whole bucket at a time, from the head of the bucket map, so
+ * cleanup never visits entries that are still live.</p>
+ */
+public final class ExpiringRevocationList {
+
+  private final long granularityMillis;
+  private final int maximumEntries;
+  private final ConcurrentSkipListMap<Long, RevokedIdSet> buckets = new ConcurrentSkipListMap<>();
+  private final AtomicInteger size = new AtomicInteger();
+
+  /**
+   * Creates a new {@code ExpiringRevocationList}.
+   *
+   * @param granularity span of expirations grouped in one bucket
+   * @param maximumEntries maximum number of identifiers kept in memory
+   */
+  public ExpiringRevocationList(Duration granularity, int maximumEntries) {
+    this.granularityMillis = granularity.toMillis();
+    this.maximumEntries = maximumEntries;
+    if (granularityMillis < 1 || maximumEntries < 1) {
+      throw new IllegalArgumentException("Granularity and maximum entries must be positive");
+    }
+  }
+
+  /**
+   * Checks whether the token with the given identifier and expiration is revoked.
+   *
+   * @param id token identifier
+   * @param expiresAt token expiration
+   * @return {@code true} if the token is revoked, {@code false} otherwise
+   */
+  public boolean contains(UUID id, Instant expiresAt) {
+    var bucket = buckets.get(bucketOf(expiresAt));
+    return bucket != null && bucket.contains(id);
+  }
+
+  /**
+   * Adds the identifier of a token until its expiration.
+   *
+   * @param id token identifier
+   * @param expiresAt token expiration
+   * @return {@code true} if the identifier was added, {@code false} if it was present
+   * @throws IllegalStateException if the list holds {@code maximumEntries} identifiers
+   */
+  public boolean add(UUID id, Instant expiresAt) {
+    if (size.get() >= maximumEntries) {
+      throw new IllegalStateException("Revocation list is full");
+    }
+    var added = buckets.computeIfAbsent(bucketOf(expiresAt), key -> new RevokedIdSet()).add(id);
+    if (added) {
+      size.incrementAndGet();
+    }
+    return added;
+  }
+
+  /**
+   * Drops the buckets whose tokens have all expired.
+   *
+   * @param now current time
+   * @return number of identifiers dropped
+   */
+  public int removeExpired(Instant now) {
+    ConcurrentNavigableMap<Long, RevokedIdSet> expired = buckets.headMap(bucketOf(now));
+    var removed = 0;
+    for (Map.Entry<Long, RevokedIdSet> bucket; (bucket = expired.pollFirstEntry()) != null; ) {
+      removed += bucket.getValue().size();
+    }
+    size.addAndGet(-removed);
+    return removed;
+  }
+
+  /**
+   * Returns the number of identifiers kept in memory.
+   *
+   * @return number of identifiers
+   */
+  public int size() {
+    return size.get();
+  }
+
+  /**
+   * Returns the maximum number of identifiers kept in memory.
+   *
+   * @return maximum number of identifiers
+   */
+  public int maximumEntries() {
+    return maximumEntries;
+  }
+
+  /**
+   * Returns the memory taken by the identifier tables of all buckets.
+   *
+   * @return memory in bytes
+   */
+  public long memoryBytes() {
+    return buckets.values().stream().mapToLong(RevokedIdSet::memoryBytes).sum();
+  }
+
+  private long bucketOf(Instant instant) {
+    return Math.floorDiv(instant.toEpochMilli(), granularityMillis);
+  }
+}
@@ -0,0 +1,180 @@
+package com.example.authentication.iam.infrastructure.tokens.revocation;
+
+import com.example.authentication.iam.domain.exceptions.TokenRevocationCapacityExceededException;
+import com.example.authentication.iam.infrastructure.messaging.RemoteTokenRevokedEvent;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.RevokedTokenRepository;
+import com.example.authentication.iam.infrastructure.tokens.revocation.model.RevokedToken;
+import com.example.authentication.iam.infrastructure.tokens.revocation.model.TokenRevokedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Revoked token identifiers, checked in memory and persisted in {@code revoked_tokens}.
+ *
+ * <p>Lookups only touch the in-memory {@link ExpiringRevocationList}. Revocations are
+ * written to the table first, so they survive restarts: the unexpired rows are loaded
+ * back once the application is ready. Expired identifiers are dropped from memory and
+ * from the table on a fixed delay.</p>
+ *
+ * <p>Each revocation is published as a {@link TokenRevokedEvent}. With the invalidation
+ * bus enabled, the other replicas receive it as a {@link RemoteTokenRevokedEvent} and add
+ * the identifier to their own list; without it, they only see it after a restart.</p>
+ *
+ * <p>It publishes the {@code tokens.revoked.entries} and {@code tokens.revoked.memory}
+ * (bytes) gauges.</p>
+ */
+@Component
+public class TokenRevocationStore {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TokenRevocationStore.class);
+  private static final String METRIC_NAME = "tokens.revoked";
+
+  private final RevokedTokenRepository revokedTokenRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ExpiringRevocationList revocations;
+  private final Clock clock;
+
+  /**
+   * Creates a new {@code TokenRevocationStore}.
+   *
+   * @param revokedTokenRepository repository where revocations are persisted
+   * @param transactionManager transaction manager used to load the revocations
+   * @param eventPublisher publisher used to announce revocations to other nodes
+   * @param granularity span of token expirations grouped in one in-memory bucket
+   * @param maximumEntries maximum number of revoked identifiers kept in memory
+   * @param meterRegistry registry where the revocation metrics are published
+   */
+  @Autowired
+  public TokenRevocationStore(
+      RevokedTokenRepository revokedTokenRepository,
+      PlatformTransactionManager transactionManager,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${authorization.token-revocation.bucket-granularity:1m}") Duration granularity,
+      @Value("${authorization.token-revocation.maximum-entries:5000000}") int maximumEntries,
+      MeterRegistry meterRegistry) {
+    this(revokedTokenRepository, transactionManager, eventPublisher, granularity,
+        maximumEntries, meterRegistry, Clock.systemUTC());
+  }
+
+  TokenRevocationStore(
+      RevokedTokenRepository revokedTokenRepository,
+      PlatformTransactionManager transactionManager,
+      ApplicationEventPublisher eventPublisher,
+      Duration granularity,
+      int maximumEntries,
+      MeterRegistry meterRegistry,
+      Clock clock) {
+    this.revokedTokenRepository = revokedTokenRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.eventPublisher = eventPublisher;
+    this.revocations = new ExpiringRevocationList(granularity, maximumEntries);
+    this.clock = clock;
+    Gauge.builder(METRIC_NAME + ".entries", revocations, ExpiringRevocationList::size)
+        .description("Revoked token identifiers kept in memory")
+        .register(meterRegistry);
+    Gauge.builder(METRIC_NAME + ".memory", revocations, ExpiringRevocationList::memoryBytes)
+        .description("Memory taken by the revoked token identifiers")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Checks whether a token is revoked.
+   *
+   * @param id token identifier
+   * @param expiresAt token expiration
+   * @return {@code true} if the token is revoked, {@code false} otherwise
+   */
+  public boolean isRevoked(UUID id, Instant expiresAt) {
+    return revocations.contains(id, expiresAt);
+  }
+
+  /**
+   * Revokes a token until it expires.
+   *
+   * @param id token identifier
+   * @param expiresAt token expiration
+   * @throws TokenRevocationCapacityExceededException if the revocation list is full
+   */
+  public void revoke(UUID id, Instant expiresAt) {
+    if (!expiresAt.isAfter(clock.instant()) || revocations.contains(id, expiresAt)) {
+      return;
+    }
+    if (revocations.size() >= revocations.maximumEntries()) {
+      throw new TokenRevocationCapacityExceededException();
+    }
+    try {
+      revokedTokenRepository.save(new RevokedToken(id, expiresAt));
+    } catch (DataIntegrityViolationException e) {
+      LOGGER.debug("Token {} was already revoked", id);
+    }
+    add(id, expiresAt);
+    eventPublisher.publishEvent(new TokenRevokedEvent(id, expiresAt));
+  }
+
+  /**
+   * Adds a token revoked on another node to the in-memory list.
+   *
+   * @param event revocation received from another node
+   */
+  @EventListener
+  public void on(RemoteTokenRevokedEvent event) {
+    var revoked = event.event();
+    if (revoked.expiresAt().isAfter(clock.instant())) {
+      add(revoked.tokenId(), revoked.expiresAt());
+    }
+  }
+
+  /**
+   * Loads the unexpired revocations from the table.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    var now = clock.instant();
+    var loaded = transactionTemplate.execute(transaction -> {
+      try (var revokedTokens = revokedTokenRepository.streamUnexpired(now)) {
+        return revokedTokens.filter(token -> add(token.getId(), token.getExpiresAt())).count();
+      }
+    });
+    LOGGER.info("Loaded {} revoked tokens", loaded);
+  }
+
+  /**
+   * Drops the revocations of tokens that have expired.
+   */
+  @Scheduled(
+      initialDelayString = "${authorization.token-revocation.cleanup-interval:1m}",
+      fixedDelayString = "${authorization.token-revocation.cleanup-interval:1m}")
+  public void removeExpired() {
+    var now = clock.instant();
+    revocations.removeExpired(now);
+    revokedTokenRepository.deleteExpired(now);
+  }
+
+  private boolean add(UUID id, Instant expiresAt) {
+    try {
+      return revocations.add(id, expiresAt);
+    } catch (IllegalStateException e) {
+      LOGGER.error("Revocation list is full, token {} is only revoked in the database", id);
+      return false;
+    }
+  }
+}
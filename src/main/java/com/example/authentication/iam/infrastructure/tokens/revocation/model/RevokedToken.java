@@ -0,0 +1,47 @@
+package com.example.authentication.iam.infrastructure.tokens.revocation.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Identifier of a revoked token, kept until the token expires.
+ *
+ * <p>Rows are only ever inserted and deleted, so the entity always reports itself as new
+ * and is persisted without a preceding select.</p>
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"))
+public class RevokedToken implements Persistable<UUID> {
+
+  @Id
+  private UUID id;
+
+  @Column(nullable = false)
+  private Instant expiresAt;
+
+  /**
+   * Creates a new {@code RevokedToken}.
+   *
+   * @param id token identifier ({@code jti} claim)
+   * @param expiresAt token expiration
+   */
+  public RevokedToken(UUID id, Instant expiresAt) {
+    this.id = id;
+    this.expiresAt = expiresAt;
+  }
+
+  @Override
+  public boolean isNew() {
+    return true;
+  }
+}
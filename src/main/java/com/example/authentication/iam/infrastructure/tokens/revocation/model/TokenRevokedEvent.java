@@ -0,0 +1,18 @@
+package com.example.authentication.iam.infrastructure.tokens.revocation.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event raised when this node revokes an access token.
+ *
+ * <p>The invalidation bus sends it to the other replicas, which add the identifier to
+ * their own in-memory revocation list.</p>
+ *
+ * @param tokenId identifier ({@code jti}) of the revoked token
+ * @param expiresAt expiration of the revoked token
+ */
+public record TokenRevokedEvent(
+    UUID tokenId,
+    Instant expiresAt) {
+}
@@ -1,7 +1,10 @@
 package com.example.authentication.iam.interfaces.rest.controllers;
 
+import com.example.authentication.iam.domain.model.commands.RefreshTokenCommand;
+import com.example.authentication.iam.domain.model.commands.SignOutCommand;
 import com.example.authentication.iam.domain.services.UserCommandService;
 import com.example.authentication.iam.interfaces.rest.resources.AuthenticatedUserResource;
+import com.example.authentication.iam.interfaces.rest.resources.RefreshTokenResource;
 import com.example.authentication.iam.interfaces.rest.resources.SignInResource;
 import com.example.authentication.iam.interfaces.rest.resources.SignUpResource;
 import com.example.authentication.iam.interfaces.rest.resources.UserResource;
@@ -17,11 +20,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -42,6 +47,8 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 )
 public class AuthenticationRestController {
 
+  private static final String BEARER_PREFIX = "Bearer ";
+
   private final UserCommandService userCommandService;
 
   /**
@@ -63,7 +70,7 @@ public class AuthenticationRestController {
   @Operation(
       summary = "Log in into the application",
       description = "Authenticates a user using username and password. "
-          + "If valid, an access token is returned."
+          + "If valid, a short-lived access token and a refresh token are returned."
   )
   @ApiResponses(
       value = {
@@ -112,12 +119,60 @@ public class AuthenticationRestController {
     var authenticatedUserResource =
         AuthenticatedUserResourceFromEntityAssembler.toResourceFromEntity(
             authenticatedUser.get().getLeft(),
+            authenticatedUser.get().getMiddle(),
             authenticatedUser.get().getRight()
         );
 
     return ResponseEntity.ok(authenticatedUserResource);
   }
 
+  /**
+   * Exchanges a refresh token for a new access token and refresh token.
+   *
+   * @param refreshTokenResource resource containing the refresh token
+   * @return authenticated user with the new tokens
+   */
+  @PostMapping("/refresh")
+  @Operation(
+      summary = "Refresh the access token",
+      description = "Exchanges a refresh token for a new access token and refresh token. "
+          + "Each refresh token works once; using it again revokes its whole family."
+  )
+  @ApiResponses(
+      value = {
+          @ApiResponse(
+              responseCode = "200",
+              description = "Tokens refreshed successfully",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(
+                      implementation = AuthenticatedUserResource.class
+                  )
+              )
+          ),
+          @ApiResponse(
+              responseCode = "401",
+              description = "Unknown, expired or reused refresh token",
+              content = @Content(
+                  mediaType = "application/json",
+                  schema = @Schema(implementation = MessageResource.class)
+              )
+          )
+      }
+  )
+  public ResponseEntity<AuthenticatedUserResource> refresh(
+      @RequestBody RefreshTokenResource refreshTokenResource) {
+
+    var refreshed = userCommandService.handle(
+        new RefreshTokenCommand(refreshTokenResource.refreshToken()));
+
+    return refreshed
+        .map(tokens -> ResponseEntity.ok(
+            AuthenticatedUserResourceFromEntityAssembler.toResourceFromEntity(
+                tokens.getLeft(), tokens.getMiddle(), tokens.getRight())))
+        .orElseGet(() -> ResponseEntity.badRequest().build());
+  }
+
   /**
    * Registers a new user in the system.
    *
@@ -185,4 +240,38 @@ public class AuthenticationRestController {
 
     return new ResponseEntity<>(userResource, HttpStatus.CREATED);
   }
+
+  /**
+   * Signs out by revoking the bearer token of the request and the refresh token family.
+   *
+   * @param authorization value of the {@code Authorization} header
+   * @param refreshTokenResource resource containing the refresh token, if any
+   * @return empty response
+   */
+  @PostMapping("/logout")
+  @Operation(
+      summary = "Log out of the application",
+      description = "Revokes the bearer access token, which stops working before it expires, "
+          + "and the family of the refresh token sent in the body."
+  )
+  @ApiResponses(
+      value = {
+          @ApiResponse(
+              responseCode = "204",
+              description = "Tokens revoked, or no valid token was sent"
+          )
+      }
+  )
+  public ResponseEntity<Void> logout(
+      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false)
+      String authorization,
+      @RequestBody(required = false) RefreshTokenResource refreshTokenResource) {
+
+    var token = authorization != null && authorization.startsWith(BEARER_PREFIX)
+        ? authorization.substring(BEARER_PREFIX.length())
+        : null;
+    var refreshToken = refreshTokenResource != null ? refreshTokenResource.refreshToken() : null;
+    userCommandService.handle(new SignOutCommand(token, refreshToken));
+    return ResponseEntity.noContent().build();
+  }
 }
@@ -0,0 +1,87 @@
+package com.example.authentication.iam.interfaces.rest.controllers;
+
+import com.example.authentication.iam.infrastructure.tokens.keys.JwtKeyRingStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller that publishes the public keys used to verify JSON Web Tokens.
+ *
+ * <p>Resource servers fetch the key set once and verify tokens locally, selecting the
+ * key by the {@code kid} header. The set holds every key of the ring, including keys
+ * that will sign later and keys that only verify. It only changes when the key ring
+ * does, so it is rendered once per ring and served with {@code Cache-Control: public}
+ * for {@code authorization.jwt.jwks.max-age} and a strong {@code ETag}; revalidation
+ * with {@code If-None-Match} is answered with {@code 304 Not Modified}.</p>
+ */
+@RestController
+@Tag(
+    name = "JSON Web Key Set",
+    description = "Public keys used to verify the issued tokens"
+)
+public class JwksController {
+
+  private static final MediaType JWK_SET_JSON = MediaType.parseMediaType(
+      "application/jwk-set+json");
+
+  private final JwtKeyRingStore keyRingStore;
+  private final CacheControl cacheControl;
+
+  /**
+   * Creates a new {@code JwksController}.
+   *
+   * @param keyRingStore key ring whose public keys are published
+   * @param maxAge time clients may reuse the key set without revalidating it
+   */
+  public JwksController(
+      JwtKeyRingStore keyRingStore,
+      @Value("${authorization.jwt.jwks.max-age:10m}") Duration maxAge) {
+    this.keyRingStore = keyRingStore;
+    this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+  }
+
+  /**
+   * Returns the JSON Web Key Set with the public keys of the key ring.
+   *
+   * <p>HMAC secrets are never published, so the set is empty when only they are used.</p>
+   *
+   * @return JSON Web Key Set, or an empty {@code 304} response when the client copy is
+   *     current
+   */
+  @GetMapping("/.well-known/jwks.json")
+  @Operation(
+      summary = "Get the JSON Web Key Set",
+      description = "Returns the public keys used to verify the issued tokens."
+  )
+  @ApiResponses(
+      value = {
+          @ApiResponse(
+              responseCode = "200",
+              description = "Key set returned",
+              content = @Content(mediaType = "application/jwk-set+json")
+          ),
+          @ApiResponse(
+              responseCode = "304",
+              description = "Key set not modified"
+          )
+      }
+  )
+  public ResponseEntity<String> getJwkSet() {
+    var ring = keyRingStore.current();
+    return ResponseEntity.ok()
+        .contentType(JWK_SET_JSON)
+        .cacheControl(cacheControl)
+        .eTag("\"" + ring.jwkSetVersion() + "\"")
+        .body(ring.jwkSet());
+  }
+}
@@ -3,6 +3,7 @@ package com.example.authentication.iam.interfaces.rest.controllers;
 import com.example.authentication.iam.domain.model.commands.UpdateUserStatusCommand;
 import com.example.authentication.iam.domain.model.queries.GetAllUsersQuery;
 import com.example.authentication.iam.domain.model.queries.GetUserByIdQuery;
+import com.example.authentication.iam.domain.model.queries.StreamAllUsersQuery;
 import com.example.authentication.iam.domain.services.UserCommandService;
 import com.example.authentication.iam.domain.services.UserQueryService;
 import com.example.authentication.iam.interfaces.rest.resources.UpdatePasswordResource;
@@ -10,6 +11,7 @@ import com.example.authentication.iam.interfaces.rest.resources.UserResource;
 import com.example.authentication.iam.interfaces.rest.transform.UpdatePasswordCommandFromResourceAssembler;
 import com.example.authentication.iam.interfaces.rest.transform.UpdateUserProfileImageCommandFromResourceAssembler;
 import com.example.authentication.iam.interfaces.rest.transform.UserResourceFromEntityAssembler;
+import com.example.authentication.iam.interfaces.rest.transform.UserResourceFromSummaryAssembler;
 import com.example.authentication.shared.interfaces.rest.resources.MessageResource;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,7 +19,10 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -29,6 +34,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tools.jackson.databind.json.JsonMapper;
 
 /**
  * REST controller for managing users.
@@ -47,28 +55,43 @@ import org.springframework.web.multipart.MultipartFile;
 )
 public class UsersController {
 
+  private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+  private static final int STREAM_FLUSH_INTERVAL = 100;
+
   private final UserQueryService userQueryService;
   private final UserCommandService userCommandService;
+  private final JsonMapper jsonMapper;
 
   /**
    * Creates a new {@code UsersController}.
    *
    * @param userQueryService   service used to query users
    * @param userCommandService service used to execute user commands
+   * @param jsonMapper         JSON mapper used to write streamed users
    */
-  public UsersController(UserQueryService userQueryService, UserCommandService userCommandService) {
+  public UsersController(
+      UserQueryService userQueryService,
+      UserCommandService userCommandService,
+      JsonMapper jsonMapper) {
     this.userQueryService = userQueryService;
     this.userCommandService = userCommandService;
+    this.jsonMapper = jsonMapper;
   }
 
   /**
-   * Retrieves all users.
+   * Retrieves one page of users, ordered by ID.
+   *
+   * <p>When the page is full, the {@code Link} header points to the next page.</p>
    *
+   * @param after ID of the last user of the previous page
+   * @param size maximum number of users in the page, capped at
+   *             {@value GetAllUsersQuery#MAX_SIZE}
    * @return list of user resources
    */
   @GetMapping
   @PreAuthorize("hasRole('ADMIN')")
-  @Operation(summary = "Get all users", description = "Retrieve all registered users.")
+  @Operation(summary = "Get all users",
+      description = "Retrieve a page of registered users using keyset pagination on ID.")
   @ApiResponses(value = {
       @ApiResponse(
           responseCode = "200",
@@ -87,12 +110,75 @@ public class UsersController {
           )
       )
   })
-  public ResponseEntity<List<UserResource>> getAllUsers() {
-    var users = userQueryService.handle(new GetAllUsersQuery());
+  public ResponseEntity<List<UserResource>> getAllUsers(
+      @RequestParam(required = false) Long after,
+      @RequestParam(defaultValue = "" + GetAllUsersQuery.DEFAULT_SIZE) int size) {
+    var query = new GetAllUsersQuery(after, size);
+    var users = userQueryService.handle(query);
     var userResources = users.stream()
-        .map(UserResourceFromEntityAssembler::toResourceFromEntity)
+        .map(UserResourceFromSummaryAssembler::toResourceFromSummary)
         .toList();
-    return ResponseEntity.ok(userResources);
+
+    var response = ResponseEntity.ok();
+    if (userResources.size() == query.size()) {
+      var next = ServletUriComponentsBuilder.fromCurrentRequest()
+          .replaceQueryParam("after", userResources.getLast().id())
+          .replaceQueryParam("size", query.size())
+          .toUriString();
+      response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+    }
+    return response.body(userResources);
+  }
+
+  /**
+   * Streams all users as newline-delimited JSON, ordered by ID.
+   *
+   * <p>Users are written as they are read from the database cursor, so memory use
+   * does not depend on the number of users.</p>
+   *
+   * @return streamed user resources, one JSON object per line
+   */
+  @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+  @PreAuthorize("hasRole('ADMIN')")
+  @Operation(summary = "Stream all users",
+      description = "Stream all registered users as newline-delimited JSON.")
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "Users streamed",
+          content = @Content(
+              mediaType = APPLICATION_NDJSON_VALUE,
+              schema = @Schema(implementation = UserResource.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "401",
+          description = "Unauthorized",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = MessageResource.class)
+          )
+      )
+  })
+  public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+    StreamingResponseBody body = outputStream -> {
+      var written = new int[1];
+      userQueryService.handle(new StreamAllUsersQuery(), user -> {
+        try {
+          outputStream.write(jsonMapper.writeValueAsBytes(
+              UserResourceFromSummaryAssembler.toResourceFromSummary(user)));
+          outputStream.write('\n');
+          if (++written[0] % STREAM_FLUSH_INTERVAL == 0) {
+            outputStream.flush();
+          }
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    };
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+        .body(body);
   }
 
   /**
@@ -140,7 +226,7 @@ public class UsersController {
     }
 
     return ResponseEntity.ok(
-        UserResourceFromEntityAssembler.toResourceFromEntity(user.get())
+        UserResourceFromSummaryAssembler.toResourceFromSummary(user.get())
     );
   }
 
@@ -1,13 +1,17 @@
 package com.example.authentication.iam.interfaces.rest.exceptions;
 
 import com.example.authentication.iam.domain.exceptions.EmailAlreadyExistsException;
+import com.example.authentication.iam.domain.exceptions.HashingCapacityExceededException;
 import com.example.authentication.iam.domain.exceptions.InvalidPasswordException;
+import com.example.authentication.iam.domain.exceptions.InvalidRefreshTokenException;
 import com.example.authentication.iam.domain.exceptions.RoleNotFoundException;
+import com.example.authentication.iam.domain.exceptions.TokenRevocationCapacityExceededException;
 import com.example.authentication.iam.domain.exceptions.UserNotActiveException;
 import com.example.authentication.iam.domain.exceptions.UserNotFoundException;
 import com.example.authentication.iam.domain.exceptions.UsernameAlreadyExistsException;
 import com.example.authentication.iam.domain.exceptions.WeakPasswordException;
 import com.example.authentication.shared.interfaces.rest.resources.MessageResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -135,4 +139,56 @@ public class DomainExceptionHandler {
             new MessageResource(e.getMessage())
         );
   }
+
+  /**
+   * Handles HashingCapacityExceededException.
+   *
+   * @param e the exception
+   * @return ResponseEntity with HTTP 503, a Retry-After header and error message
+   */
+  @ExceptionHandler(HashingCapacityExceededException.class)
+  public ResponseEntity<MessageResource> handleHashingCapacityExceededException(
+      HashingCapacityExceededException e
+  ) {
+    return ResponseEntity
+        .status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(
+            new MessageResource(e.getMessage())
+        );
+  }
+
+  /**
+   * Handles InvalidRefreshTokenException.
+   *
+   * @param e the exception
+   * @return ResponseEntity with HTTP 401 and error message
+   */
+  @ExceptionHandler(InvalidRefreshTokenException.class)
+  public ResponseEntity<MessageResource> handleInvalidRefreshTokenException(
+      InvalidRefreshTokenException e
+  ) {
+    return ResponseEntity
+        .status(HttpStatus.UNAUTHORIZED)
+        .body(
+            new MessageResource(e.getMessage())
+        );
+  }
+
+  /**
+   * Handles TokenRevocationCapacityExceededException.
+   *
+   * @param e the exception
+   * @return ResponseEntity with HTTP 503 and error message
+   */
+  @ExceptionHandler(TokenRevocationCapacityExceededException.class)
+  public ResponseEntity<MessageResource> handleTokenRevocationCapacityExceededException(
+      TokenRevocationCapacityExceededException e
+  ) {
+    return ResponseEntity
+        .status(HttpStatus.SERVICE_UNAVAILABLE)
+        .body(
+            new MessageResource(e.getMessage())
+        );
+  }
 }
@@ -1,17 +1,19 @@
 package com.example.authentication.iam.interfaces.rest.resources;
 
 /**
- * Represents the authenticated user details returned after login.
+ * Represents the authenticated user details returned after login or refresh.
  *
- * @param id       the ID of the authenticated user
- * @param username the username of the authenticated user
- * @param email    the email of the authenticated user
- * @param token    the authentication token
+ * @param id           the ID of the authenticated user
+ * @param username     the username of the authenticated user
+ * @param email        the email of the authenticated user
+ * @param token        the short-lived access token
+ * @param refreshToken the single-use token that obtains the next access token
  */
 public record AuthenticatedUserResource(
     Long id,
     String username,
     String email,
-    String token
+    String token,
+    String refreshToken
 ) {
 }
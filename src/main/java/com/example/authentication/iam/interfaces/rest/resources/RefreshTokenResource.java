@@ -0,0 +1,11 @@
+package com.example.authentication.iam.interfaces.rest.resources;
+
+/**
+ * Represents the request body carrying a refresh token.
+ *
+ * @param refreshToken the refresh token
+ */
+public record RefreshTokenResource(
+    String refreshToken
+) {
+}
@@ -13,18 +13,21 @@ public class AuthenticatedUserResourceFromEntityAssembler {
   }
 
   /**
-   * Converts a {@link User} entity and a token into an {@link AuthenticatedUserResource}.
+   * Converts a {@link User} entity and its tokens into an {@link AuthenticatedUserResource}.
    *
-   * @param user  the user entity to convert
-   * @param token the authentication token for the user
+   * @param user         the user entity to convert
+   * @param token        the access token for the user
+   * @param refreshToken the refresh token for the user
    * @return the corresponding AuthenticatedUserResource
    */
-  public static AuthenticatedUserResource toResourceFromEntity(User user, String token) {
+  public static AuthenticatedUserResource toResourceFromEntity(
+      User user, String token, String refreshToken) {
     return new AuthenticatedUserResource(
         user.getId(),
         user.getUsername(),
         user.getEmail(),
-        token
+        token,
+        refreshToken
     );
   }
 }
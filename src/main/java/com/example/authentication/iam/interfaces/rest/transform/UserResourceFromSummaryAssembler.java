@@ -0,0 +1,30 @@
+package com.example.authentication.iam.interfaces.rest.transform;
+
+import com.example.authentication.iam.domain.model.projections.UserSummary;
+import com.example.authentication.iam.interfaces.rest.resources.UserResource;
+
+/**
+ * Assembles a {@link UserResource} from a {@link UserSummary} projection.
+ */
+public class UserResourceFromSummaryAssembler {
+
+  private UserResourceFromSummaryAssembler() {
+    // Prevent instantiation
+  }
+
+  /**
+   * Converts a {@link UserSummary} into a {@link UserResource}.
+   *
+   * @param summary the user summary
+   * @return the corresponding UserResource
+   */
+  public static UserResource toResourceFromSummary(UserSummary summary) {
+    return new UserResource(
+        summary.id(),
+        summary.username(),
+        summary.email(),
+        summary.roles(),
+        summary.active()
+    );
+  }
+}
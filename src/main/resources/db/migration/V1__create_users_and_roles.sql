@@ -0,0 +1,30 @@
+-- Schema created by Hibernate before migrations were introduced. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+
+CREATE TABLE roles (
+    id    BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    roles VARCHAR(20) UNIQUE CHECK (roles IN ('ROLE_ADMIN', 'ROLE_USER')),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE users (
+    id                      BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username                VARCHAR(50)                 NOT NULL UNIQUE,
+    email                   VARCHAR(50)                 NOT NULL UNIQUE,
+    hashed_password         VARCHAR(100)                NOT NULL,
+    is_active               BOOLEAN                     NOT NULL,
+    is_verified             BOOLEAN                     NOT NULL,
+    profile_image_url       VARCHAR(500),
+    profile_image_public_id VARCHAR(255),
+    created_at              TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at              TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (role_id, user_id),
+    CONSTRAINT FKhfh9dx7w3ubf1co1vdev94g3f FOREIGN KEY (user_id) REFERENCES users,
+    CONSTRAINT FKh8ciramu9cc9q3qcqiv4ue8a6 FOREIGN KEY (role_id) REFERENCES roles
+);
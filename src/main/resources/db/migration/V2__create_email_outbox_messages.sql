@@ -0,0 +1,20 @@
+-- Verification emails queued in the same transaction as the sign-up and sent by
+-- EmailOutboxDispatcher. IF NOT EXISTS lets databases where Hibernate already created the
+-- table adopt the migration.
+
+CREATE TABLE IF NOT EXISTS email_outbox_messages (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    recipient         VARCHAR(255)                NOT NULL,
+    verification_link VARCHAR(2048)               NOT NULL,
+    status            VARCHAR(10)                 NOT NULL
+        CHECK (status IN ('PENDING', 'SENT', 'DEAD')),
+    attempts          INTEGER                     NOT NULL,
+    next_attempt_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    last_error        VARCHAR(1000),
+    created_at        TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    sent_at           TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_email_outbox_messages_status_next_attempt_at
+    ON email_outbox_messages (status, next_attempt_at);
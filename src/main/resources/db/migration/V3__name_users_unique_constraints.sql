@@ -0,0 +1,16 @@
+-- Sign-up maps unique violations to their field by constraint name (User.USERNAME_UNIQUE_CONSTRAINT
+-- and User.EMAIL_UNIQUE_CONSTRAINT), so the PostgreSQL generated names are replaced. Databases
+-- where Hibernate already created the named constraints are left as they are.
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_constraint
+               WHERE conrelid = 'users'::regclass AND conname = 'users_username_key') THEN
+        ALTER TABLE users RENAME CONSTRAINT users_username_key TO uk_users_username;
+    END IF;
+    IF EXISTS (SELECT 1 FROM pg_constraint
+               WHERE conrelid = 'users'::regclass AND conname = 'users_email_key') THEN
+        ALTER TABLE users RENAME CONSTRAINT users_email_key TO uk_users_email;
+    END IF;
+END
+$$;
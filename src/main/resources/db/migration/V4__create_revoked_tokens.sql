@@ -0,0 +1,10 @@
+-- Identifiers (jti) of revoked access tokens, loaded into TokenRevocationStore on startup
+-- and deleted once the token would have expired anyway.
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    id         UUID                        NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,4 @@
+-- Instant before which every token issued to the user is rejected (its token epoch). Null
+-- until the user first invalidates its tokens.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS tokens_valid_after TIMESTAMP(6) WITH TIME ZONE;
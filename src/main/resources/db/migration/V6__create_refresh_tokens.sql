@@ -0,0 +1,17 @@
+-- Opaque refresh tokens, stored as the SHA-256 hash of the token. Tokens rotated from the
+-- same sign-in share a family, which is deleted as a whole when a rotated token is reused.
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id          UUID                        NOT NULL,
+    token_hash  BYTEA                       NOT NULL,
+    family_id   UUID                        NOT NULL,
+    user_id     BIGINT                      NOT NULL,
+    token_epoch BIGINT                      NOT NULL,
+    expires_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    rotated     BOOLEAN                     NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash)
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family_id ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
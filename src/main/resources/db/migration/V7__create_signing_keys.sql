@@ -0,0 +1,14 @@
+-- Keys of the JSON Web Token key ring, inserted by operators and read by every replica on
+-- authorization.jwt.key-ring.refresh-interval. See SigningKey for the meaning of each column.
+
+CREATE TABLE IF NOT EXISTS signing_keys (
+    key_id       VARCHAR(64)                 NOT NULL,
+    algorithm    VARCHAR(16)                 NOT NULL
+        CHECK (algorithm IN ('HMAC', 'ES256', 'EDDSA')),
+    secret       VARCHAR(1024),
+    private_key  VARCHAR(2048),
+    public_key   VARCHAR(1024),
+    activates_at TIMESTAMP(6) WITH TIME ZONE,
+    expires_at   TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (key_id)
+);
@@ -17,14 +17,18 @@ import static org.mockito.Mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import com.example.authentication.iam.domain.model.commands.SeedRolesCommand;
 import com.example.authentication.iam.domain.model.entities.Role;
+import com.example.authentication.iam.domain.model.events.RolesChangedEvent;
 import com.example.authentication.iam.domain.model.valueobjects.Roles;
 import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.RoleRepository;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 class RoleCommandServiceImplTest {
 
   @Mock
   private RoleRepository roleRepository;
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
   @InjectMocks
   private RoleCommandServiceImpl service;
 
@@ -85,4 +89,19 @@ class RoleCommandServiceImplTest {
     verify(roleRepository, times(vals.length)).existsByRoles(any());
     verifyNoMoreInteractions(roleRepository);
   }
+
+  @Test
+  @DisplayName("handle(SeedRolesCommand) publishes RolesChangedEvent after seeding (AAA)")
+  void handle_ShouldPublishRolesChangedEvent_AfterSeeding() {
+    // Arrange
+    when(roleRepository.existsByRoles(any())).thenReturn(true);
+
+    // Act
+    service.handle(new SeedRolesCommand());
+
+    // Assert
+    var inOrder = inOrder(roleRepository, eventPublisher);
+    inOrder.verify(roleRepository, times(Roles.values().length)).existsByRoles(any());
+    inOrder.verify(eventPublisher).publishEvent(new RolesChangedEvent());
+  }
 }
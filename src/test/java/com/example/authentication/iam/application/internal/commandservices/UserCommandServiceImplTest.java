@@ -1,14 +1,18 @@
 package com.example.authentication.iam.application.internal.commandservices;
 
+import java.sql.SQLException;
 import java.util.Collections;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.ImmutableTriple;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
@@ -17,16 +21,22 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.example.authentication.iam.application.internal.outboundservices.email.EmailService;
 import com.example.authentication.iam.application.internal.outboundservices.hashing.HashingService;
 import com.example.authentication.iam.application.internal.outboundservices.hashing.PasswordValidator;
+import com.example.authentication.iam.application.internal.outboundservices.tokens.RefreshTokenRotation;
+import com.example.authentication.iam.application.internal.outboundservices.tokens.RefreshTokenService;
 import com.example.authentication.iam.application.internal.outboundservices.tokens.TokenService;
+import com.example.authentication.iam.application.internal.outboundservices.tokens.TokenValidationResult;
 import com.example.authentication.iam.domain.exceptions.*;
 import com.example.authentication.iam.domain.model.aggregates.User;
 import com.example.authentication.iam.domain.model.commands.*;
 import com.example.authentication.iam.domain.model.entities.Role;
 import com.example.authentication.iam.domain.model.valueobjects.Roles;
-import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.RoleRepository;
+import com.example.authentication.iam.infrastructure.persistence.filters.UserIdentityFilter;
 import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.UserRepository;
+import com.example.authentication.iam.infrastructure.persistence.registries.RoleRegistry;
 import com.example.authentication.iam.application.internal.outboundservices.acl.ExternalCloudinaryService;
 import com.example.authentication.shared.domain.model.dto.CloudinaryResponse;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.mock.web.MockMultipartFile;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,40 +48,151 @@ class UserCommandServiceImplTest {
   @Mock
   TokenService tokenService;
   @Mock
-  RoleRepository roleRepository;
+  RoleRegistry roleRegistry;
   @Mock
   EmailService emailService;
   @Mock
   ExternalCloudinaryService externalCloudinaryService;
+  @Mock
+  UserIdentityFilter identityFilter;
+  @Mock
+  RefreshTokenService refreshTokenService;
   @InjectMocks
   UserCommandServiceImpl service;
 
   @Test
-  @DisplayName("handle(SignInCommand) - success: returns user and token")
-  void handle_signIn_success_returnsUserAndToken() {
+  @DisplayName("handle(SignInCommand) - success: returns user, access token and refresh token")
+  void handle_signIn_success_returnsUserAndTokens() {
     // Arrange
     var username = "alice";
     var rawPassword = "password";
     var hashed = "hashedPassword";
     var token = "token-abc";
     User user = new User(username, "alice@example.com", hashed, Collections.emptyList());
-    user.setActive(true);
-    user.setVerified(true);
+    user.verify();
 
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+    when(userRepository.findWithRolesByUsername(username)).thenReturn(Optional.of(user));
+    when(hashingService.matches(rawPassword, hashed)).thenReturn(true);
+    when(tokenService.generateToken(user)).thenReturn(token);
+    when(refreshTokenService.issue(user)).thenReturn("refresh-abc");
+
+    var command = new SignInCommand(username, rawPassword);
+
+    // Act
+    Optional<ImmutableTriple<User, String, String>> result = service.handle(command);
+
+    // Assert
+    assertThat(result).isPresent();
+    ImmutableTriple<User, String, String> triple = result.get();
+    assertThat(triple.getLeft()).isSameAs(user);
+    assertThat(triple.getMiddle()).isEqualTo(token);
+    assertThat(triple.getRight()).isEqualTo("refresh-abc");
+  }
+
+  @Test
+  @DisplayName("handle(RefreshTokenCommand) - active user: returns new access and refresh tokens")
+  void handle_refresh_activeUser_returnsNewTokens() {
+    // Arrange
+    User user = new User("alice", "alice@example.com", "hashed", Collections.emptyList());
+    user.changeStatus(true);
+    when(refreshTokenService.rotate("refresh-abc"))
+        .thenReturn(new RefreshTokenRotation(1L, 0, "refresh-def"));
+    when(userRepository.findWithRolesById(1L)).thenReturn(Optional.of(user));
+    when(tokenService.generateToken(user)).thenReturn("token-def");
+
+    // Act
+    var result = service.handle(new RefreshTokenCommand("refresh-abc"));
+
+    // Assert
+    assertThat(result).contains(ImmutableTriple.of(user, "token-def", "refresh-def"));
+    verify(refreshTokenService, never()).revoke(any());
+  }
+
+  @Test
+  @DisplayName("handle(RefreshTokenCommand) - inactive user: revokes the new token and throws")
+  void handle_refresh_inactiveUser_revokesAndThrows() {
+    // Arrange
+    User user = new User("alice", "alice@example.com", "hashed", Collections.emptyList());
+    when(refreshTokenService.rotate("refresh-abc"))
+        .thenReturn(new RefreshTokenRotation(1L, 0, "refresh-def"));
+    when(userRepository.findWithRolesById(1L)).thenReturn(Optional.of(user));
+
+    // Act & Assert
+    assertThrows(InvalidRefreshTokenException.class,
+        () -> service.handle(new RefreshTokenCommand("refresh-abc")));
+    verify(refreshTokenService).revoke("refresh-def");
+    verify(tokenService, never()).generateToken(any(User.class));
+  }
+
+  @Test
+  @DisplayName("handle(RefreshTokenCommand) - tokens invalidated after sign-in: revokes and throws")
+  void handle_refresh_tokensInvalidated_revokesAndThrows() {
+    // Arrange
+    User user = new User("alice", "alice@example.com", "hashed", Collections.emptyList());
+    user.changeStatus(true);
+    user.invalidateTokens();
+    when(refreshTokenService.rotate("refresh-abc"))
+        .thenReturn(new RefreshTokenRotation(1L, 0, "refresh-def"));
+    when(userRepository.findWithRolesById(1L)).thenReturn(Optional.of(user));
+
+    // Act & Assert
+    assertThrows(InvalidRefreshTokenException.class,
+        () -> service.handle(new RefreshTokenCommand("refresh-abc")));
+    verify(refreshTokenService).revoke("refresh-def");
+  }
+
+  @Test
+  @DisplayName("handle(SignInCommand) - outdated hash cost: re-encodes and saves password")
+  void handle_signIn_outdatedHash_rehashesPassword() {
+    // Arrange
+    var username = "alice";
+    var rawPassword = "password";
+    var hashed = "hashedPassword";
+    var rehashed = "rehashedPassword";
+    User user = new User(username, "alice@example.com", hashed, Collections.emptyList());
+    user.verify();
+
+    when(userRepository.findWithRolesByUsername(username)).thenReturn(Optional.of(user));
     when(hashingService.matches(rawPassword, hashed)).thenReturn(true);
-    when(tokenService.generateToken(username)).thenReturn(token);
+    when(hashingService.upgradeEncoding(hashed)).thenReturn(true);
+    when(hashingService.encode(rawPassword)).thenReturn(rehashed);
+    when(tokenService.generateToken(user)).thenReturn("token-abc");
 
     var command = new SignInCommand(username, rawPassword);
 
     // Act
-    Optional<ImmutablePair<User, String>> result = service.handle(command);
+    var result = service.handle(command);
 
     // Assert
     assertThat(result).isPresent();
-    ImmutablePair<User, String> pair = result.get();
-    assertThat(pair.getLeft()).isSameAs(user);
-    assertThat(pair.getRight()).isEqualTo(token);
+    assertThat(user.getHashedPassword()).isEqualTo(rehashed);
+    verify(userRepository).save(user);
+  }
+
+  @Test
+  @DisplayName("handle(SignInCommand) - current hash cost: does not re-encode password")
+  void handle_signIn_currentHash_doesNotRehash() {
+    // Arrange
+    var username = "alice";
+    var rawPassword = "password";
+    var hashed = "hashedPassword";
+    User user = new User(username, "alice@example.com", hashed, Collections.emptyList());
+    user.verify();
+
+    when(userRepository.findWithRolesByUsername(username)).thenReturn(Optional.of(user));
+    when(hashingService.matches(rawPassword, hashed)).thenReturn(true);
+    when(hashingService.upgradeEncoding(hashed)).thenReturn(false);
+    when(tokenService.generateToken(user)).thenReturn("token-abc");
+
+    var command = new SignInCommand(username, rawPassword);
+
+    // Act
+    service.handle(command);
+
+    // Assert
+    assertThat(user.getHashedPassword()).isEqualTo(hashed);
+    verify(hashingService, never()).encode(any());
+    verify(userRepository, never()).save(any());
   }
 
   @Test
@@ -80,13 +201,49 @@ class UserCommandServiceImplTest {
     // Arrange
     var username = "missing";
     var rawPassword = "irrelevant";
-    when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
+    when(userRepository.findWithRolesByUsername(username)).thenReturn(Optional.empty());
     var command = new SignInCommand(username, rawPassword);
 
     // Act & Assert
     assertThrows(UserNotFoundException.class, () -> service.handle(command));
   }
 
+  @Test
+  @DisplayName("handle(SignInCommand) - user not found, imitated: throws InvalidPasswordException")
+  void handle_signIn_userNotFoundImitated_throwsInvalidPasswordException() {
+    // Arrange
+    var username = "missing";
+    var rawPassword = "irrelevant";
+    when(userRepository.findWithRolesByUsername(username)).thenReturn(Optional.empty());
+    when(hashingService.imitateMatches(rawPassword)).thenReturn(true);
+    var command = new SignInCommand(username, rawPassword);
+
+    // Act & Assert
+    assertThrows(InvalidPasswordException.class, () -> service.handle(command));
+    verify(hashingService, never()).matches(any(), any());
+  }
+
+  @Test
+  @DisplayName("handle(SignOutCommand) - access and refresh tokens: revokes both")
+  void handle_signOut_revokesTokens() {
+    // Act
+    service.handle(new SignOutCommand("token-abc", "refresh-abc"));
+
+    // Assert
+    verify(tokenService).revokeToken("token-abc");
+    verify(refreshTokenService).revoke("refresh-abc");
+  }
+
+  @Test
+  @DisplayName("handle(SignOutCommand) - no tokens: revokes nothing")
+  void handle_signOut_noTokens_revokesNothing() {
+    // Act
+    service.handle(new SignOutCommand(null, null));
+
+    // Assert
+    verifyNoInteractions(tokenService, refreshTokenService);
+  }
+
   @Test
   @DisplayName("handle(SignInCommand) - invalid password: throws InvalidPasswordException")
   void handle_signIn_invalidPassword_throwsInvalidPasswordException() {
@@ -95,9 +252,9 @@ class UserCommandServiceImplTest {
     var rawPassword = "wrong";
     var hashed = "hashed";
     User user = new User(username, "bob@example.com", hashed, Collections.emptyList());
-    user.setActive(true);
+    user.changeStatus(true);
 
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+    when(userRepository.findWithRolesByUsername(username)).thenReturn(Optional.of(user));
     when(hashingService.matches(rawPassword, hashed)).thenReturn(false);
 
     var command = new SignInCommand(username, rawPassword);
@@ -114,10 +271,8 @@ class UserCommandServiceImplTest {
     var rawPassword = "password";
     var hashed = "hashed";
     User user = new User(username, "charlie@example.com", hashed, Collections.emptyList());
-    user.setVerified(false);
-    user.setActive(false);
 
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+    when(userRepository.findWithRolesByUsername(username)).thenReturn(Optional.of(user));
     when(hashingService.matches(rawPassword, hashed)).thenReturn(true);
 
     var command = new SignInCommand(username, rawPassword);
@@ -134,10 +289,10 @@ class UserCommandServiceImplTest {
     var rawPassword = "password";
     var hashed = "hashed";
     User user = new User(username, "charlie@example.com", hashed, Collections.emptyList());
-    user.setActive(false);
-    user.setVerified(true);
+    user.verify();
+    user.changeStatus(false);
 
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+    when(userRepository.findWithRolesByUsername(username)).thenReturn(Optional.of(user));
     when(hashingService.matches(rawPassword, hashed)).thenReturn(true);
 
     var command = new SignInCommand(username, rawPassword);
@@ -156,13 +311,9 @@ class UserCommandServiceImplTest {
     var hashed = "hashedPwd";
     var token = "signup-token-1";
     var baseUrl = "http://localhost:8080";
-    User user = new User(username, email, hashed, Collections.emptyList());
 
-    when(userRepository.existsByUsername(username)).thenReturn(false);
-    when(userRepository.existsByEmail(email)).thenReturn(false);
     when(hashingService.encode(rawPassword)).thenReturn(hashed);
-    when(tokenService.generateToken(username)).thenReturn(token);
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+    when(tokenService.generateVerificationToken(username)).thenReturn(token);
 
     var command = new SignUpCommand(username, email, rawPassword, Collections.emptyList(), baseUrl);
 
@@ -170,9 +321,43 @@ class UserCommandServiceImplTest {
     Optional<User> result = service.handle(command);
 
     // Assert
-    assertThat(result).containsSame(user);
+    var saved = ArgumentCaptor.forClass(User.class);
+    verify(userRepository).saveAndFlush(saved.capture());
+    assertThat(result).containsSame(saved.getValue());
+    assertThat(saved.getValue().getUsername()).isEqualTo(username);
+    assertThat(saved.getValue().getHashedPassword()).isEqualTo(hashed);
     var expectedLink = baseUrl + "/api/v1/authentication/verify?token=" + token;
     verify(emailService).sendVerificationEmail(email, expectedLink);
+    verify(identityFilter).add(username, email);
+    verifyNoMoreInteractions(userRepository);
+  }
+
+  @Test
+  @DisplayName("handle(SignUpCommand) - username known to filter: rejects before hashing")
+  void handle_signUp_usernameKnownToFilter_rejectsBeforeHashing() {
+    // Arrange
+    when(identityFilter.isUsernameTaken("existing")).thenReturn(true);
+    var command = new SignUpCommand(
+        "existing", "some@example.com", "StrongP@ssw0rd", Collections.emptyList(), "http://localhost");
+
+    // Act & Assert
+    assertThrows(UsernameAlreadyExistsException.class, () -> service.handle(command));
+    verify(hashingService, never()).encode(any());
+    verify(userRepository, never()).saveAndFlush(any());
+  }
+
+  @Test
+  @DisplayName("handle(SignUpCommand) - email known to filter: rejects before hashing")
+  void handle_signUp_emailKnownToFilter_rejectsBeforeHashing() {
+    // Arrange
+    when(identityFilter.isEmailTaken("existing@example.com")).thenReturn(true);
+    var command = new SignUpCommand(
+        "unique", "existing@example.com", "StrongP@ssw0rd", Collections.emptyList(), "http://localhost");
+
+    // Act & Assert
+    assertThrows(EmailAlreadyExistsException.class, () -> service.handle(command));
+    verify(hashingService, never()).encode(any());
+    verify(userRepository, never()).saveAndFlush(any());
   }
 
   @Test
@@ -181,13 +366,15 @@ class UserCommandServiceImplTest {
     // Arrange
     var username = "existing";
     var email = "some@example.com";
-    var rawPassword = "password";
+    var rawPassword = "StrongP@ssw0rd";
     var baseUrl = "http://localhost";
-    when(userRepository.existsByUsername(username)).thenReturn(true);
+    when(userRepository.saveAndFlush(any()))
+        .thenThrow(uniqueViolation(User.USERNAME_UNIQUE_CONSTRAINT, "Key (username)"));
     var command = new SignUpCommand(username, email, rawPassword, Collections.emptyList(), baseUrl);
 
     // Act & Assert
     assertThrows(UsernameAlreadyExistsException.class, () -> service.handle(command));
+    verify(emailService, never()).sendVerificationEmail(any(), any());
   }
 
   @Test
@@ -196,16 +383,44 @@ class UserCommandServiceImplTest {
     // Arrange
     var username = "unique";
     var email = "existing@example.com";
-    var rawPassword = "password";
+    var rawPassword = "StrongP@ssw0rd";
     var baseUrl = "http://localhost";
-    when(userRepository.existsByUsername(username)).thenReturn(false);
-    when(userRepository.existsByEmail(email)).thenReturn(true);
+    when(userRepository.saveAndFlush(any()))
+        .thenThrow(uniqueViolation(User.EMAIL_UNIQUE_CONSTRAINT, "Key (email)"));
     var command = new SignUpCommand(username, email, rawPassword, Collections.emptyList(), baseUrl);
 
+    // Act & Assert
+    assertThrows(EmailAlreadyExistsException.class, () -> service.handle(command));
+    verify(emailService, never()).sendVerificationEmail(any(), any());
+  }
+
+  @Test
+  @DisplayName("handle(SignUpCommand) - unnamed constraint on email: throws EmailAlreadyExistsException")
+  void handle_signUp_unnamedEmailConstraint_throwsEmailAlreadyExistsException() {
+    // Arrange
+    when(userRepository.saveAndFlush(any())).thenThrow(uniqueViolation(
+        "uk6dotkott2kjsp8vw4d0m25fb7", "Detail: Key (email)=(existing@example.com) already exists."));
+    var command = new SignUpCommand(
+        "unique", "existing@example.com", "StrongP@ssw0rd", Collections.emptyList(), "http://localhost");
+
     // Act & Assert
     assertThrows(EmailAlreadyExistsException.class, () -> service.handle(command));
   }
 
+  @Test
+  @DisplayName("handle(SignUpCommand) - other integrity violation: rethrows it")
+  void handle_signUp_otherIntegrityViolation_rethrowsIt() {
+    // Arrange
+    var violation = uniqueViolation("fk_user_roles_role_id", "Key (role_id)=(9) is not present");
+    when(userRepository.saveAndFlush(any())).thenThrow(violation);
+    var command = new SignUpCommand(
+        "unique", "unique@example.com", "StrongP@ssw0rd", Collections.emptyList(), "http://localhost");
+
+    // Act & Assert
+    var thrown = assertThrows(DataIntegrityViolationException.class, () -> service.handle(command));
+    assertThat(thrown).isSameAs(violation);
+  }
+
   @Test
   @DisplayName("handle(SignUpCommand) - with roles: creates user with roles and sends verification email")
   void handle_signUp_withRoles_createsUserWithRolesAndSendsVerificationEmail() {
@@ -221,14 +436,9 @@ class UserCommandServiceImplTest {
     var requestedRole = mock(Role.class);
     when(requestedRole.getRoles()).thenReturn(Roles.ROLE_USER);
 
-    when(userRepository.existsByUsername(username)).thenReturn(false);
-    when(userRepository.existsByEmail(email)).thenReturn(false);
-    when(roleRepository.findByRoles(Roles.ROLE_USER)).thenReturn(Optional.of(roleEntity));
+    when(roleRegistry.find(Roles.ROLE_USER)).thenReturn(Optional.of(roleEntity));
     when(hashingService.encode(rawPassword)).thenReturn(hashed);
-    when(tokenService.generateToken(username)).thenReturn(token);
-
-    User user = new User(username, email, hashed, List.of(roleEntity));
-    when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+    when(tokenService.generateVerificationToken(username)).thenReturn(token);
 
     var command = new SignUpCommand(username, email, rawPassword, List.of(requestedRole), baseUrl);
 
@@ -236,8 +446,7 @@ class UserCommandServiceImplTest {
     Optional<User> result = service.handle(command);
 
     // Assert
-    assertThat(result).containsSame(user);
-    assertThat(user.getRoles()).contains(roleEntity);
+    assertThat(result).hasValueSatisfying(user -> assertThat(user.getRoles()).contains(roleEntity));
     var expectedLink = baseUrl + "/api/v1/authentication/verify?token=" + token;
     verify(emailService).sendVerificationEmail(email, expectedLink);
   }
@@ -251,13 +460,10 @@ class UserCommandServiceImplTest {
     var rawPassword = "StrongP@ssw0rd";
     var baseUrl = "http://localhost";
 
-    when(userRepository.existsByUsername(username)).thenReturn(false);
-    when(userRepository.existsByEmail(email)).thenReturn(false);
-
     var requestedRole = mock(Role.class);
     when(requestedRole.getRoles()).thenReturn(Roles.ROLE_USER);
 
-    when(roleRepository.findByRoles(
+    when(roleRegistry.find(
         Roles.ROLE_USER))
         .thenReturn(Optional.empty());
 
@@ -276,7 +482,7 @@ class UserCommandServiceImplTest {
     );
 
     // Verificaciones adicionales (alineadas con el resto de tests)
-    verify(userRepository, never()).save(any());
+    verify(userRepository, never()).saveAndFlush(any());
     verify(emailService, never()).sendVerificationEmail(any(), any());
   }
 
@@ -289,9 +495,6 @@ class UserCommandServiceImplTest {
     var weakPassword = "123";
     var baseUrl = "http://localhost";
 
-    when(userRepository.existsByUsername(username)).thenReturn(false);
-    when(userRepository.existsByEmail(email)).thenReturn(false);
-
     var command = new SignUpCommand(
         username,
         email,
@@ -316,7 +519,7 @@ class UserCommandServiceImplTest {
     }
 
     // Verificaciones de seguridad (alineadas con el resto de tests)
-    verify(userRepository, never()).save(any());
+    verify(userRepository, never()).saveAndFlush(any());
     verify(emailService, never()).sendVerificationEmail(any(), any());
   }
 
@@ -330,8 +533,8 @@ class UserCommandServiceImplTest {
     User user = new User(username, "alice@example.com", hashed, Collections.emptyList());
 
 
-    when(tokenService.validateToken(token)).thenReturn(true);
-    when(tokenService.getUsernameFromToken(token)).thenReturn(username);
+    when(tokenService.verifyVerificationToken(token)).thenReturn(
+        TokenValidationResult.valid(username, Instant.now().plusSeconds(60), Map.of()));
     when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
 
     var command = new VerifyUserCommand(token);
@@ -352,12 +555,14 @@ class UserCommandServiceImplTest {
     // Arrange
     var token = "invalid-token";
 
-    when(tokenService.validateToken(token)).thenReturn(false);
+    when(tokenService.verifyVerificationToken(token)).thenReturn(
+        TokenValidationResult.invalid(TokenValidationResult.FailureReason.EXPIRED));
 
     var command = new VerifyUserCommand(token);
 
     // Act & Assert
     assertThrows(InvalidTokenException.class, () -> service.handle(command));
+    verify(userRepository, never()).findByUsername(any());
   }
 
   @Test
@@ -367,8 +572,8 @@ class UserCommandServiceImplTest {
     var token = "valid-token";
     var username = "missing";
 
-    when(tokenService.validateToken(token)).thenReturn(true);
-    when(tokenService.getUsernameFromToken(token)).thenReturn(username);
+    when(tokenService.verifyVerificationToken(token)).thenReturn(
+        TokenValidationResult.valid(username, Instant.now().plusSeconds(60), Map.of()));
     when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
 
     var command = new VerifyUserCommand(token);
@@ -386,9 +591,8 @@ class UserCommandServiceImplTest {
     var username = "alice";
     var hashed = "hashedPassword";
     User user = new User(username, "alice@example.com", hashed, Collections.emptyList());
-    user.setActive(false); // Initial state
 
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(userRepository.findWithRolesById(userId)).thenReturn(Optional.of(user));
 
     var command = new UpdateUserStatusCommand(userId, isActive);
 
@@ -398,7 +602,9 @@ class UserCommandServiceImplTest {
     // Assert
     assertThat(result).containsSame(user);
     assertThat(user.isActive()).isTrue();
+    assertThat(user.getTokensValidAfter()).isNotNull();
     verify(userRepository).save(user);
+    verify(tokenService).invalidateTokens(user);
   }
 
   @Test
@@ -408,7 +614,7 @@ class UserCommandServiceImplTest {
     var userId = 999L;
     var isActive = false;
 
-    when(userRepository.findById(userId)).thenReturn(Optional.empty());
+    when(userRepository.findWithRolesById(userId)).thenReturn(Optional.empty());
 
     var command = new UpdateUserStatusCommand(userId, isActive);
 
@@ -428,7 +634,7 @@ class UserCommandServiceImplTest {
     var oldHashed = "hashedOldPassword";
     User user = new User(username, "alice@example.com", oldHashed, Collections.emptyList());
 
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(userRepository.findWithRolesById(userId)).thenReturn(Optional.of(user));
     when(hashingService.matches(currentPassword, oldHashed)).thenReturn(true);
     when(hashingService.encode(newPassword)).thenReturn(hashedNew);
 
@@ -440,7 +646,9 @@ class UserCommandServiceImplTest {
     // Assert
     assertThat(result).containsSame(user);
     assertThat(user.getHashedPassword()).isEqualTo(hashedNew);
+    assertThat(user.getTokensValidAfter()).isNotNull();
     verify(userRepository).save(user);
+    verify(tokenService).invalidateTokens(user);
   }
 
   @Test
@@ -451,7 +659,7 @@ class UserCommandServiceImplTest {
     var currentPassword = "irrelevant";
     var newPassword = "irrelevant";
 
-    when(userRepository.findById(userId)).thenReturn(Optional.empty());
+    when(userRepository.findWithRolesById(userId)).thenReturn(Optional.empty());
 
     var command = new UpdatePasswordCommand(userId, currentPassword, newPassword);
 
@@ -470,7 +678,7 @@ class UserCommandServiceImplTest {
     var oldHashed = "hashedOldPassword";
     User user = new User(username, "alice@example.com", oldHashed, Collections.emptyList());
 
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(userRepository.findWithRolesById(userId)).thenReturn(Optional.of(user));
     when(hashingService.matches(currentPassword, oldHashed)).thenReturn(false);
 
     var command = new UpdatePasswordCommand(userId, currentPassword, newPassword);
@@ -490,7 +698,7 @@ class UserCommandServiceImplTest {
     var oldHashed = "hashedOldPassword";
     User user = new User(username, "alice@example.com", oldHashed, Collections.emptyList());
 
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(userRepository.findWithRolesById(userId)).thenReturn(Optional.of(user));
     when(hashingService.matches(currentPassword, oldHashed)).thenReturn(true);
 
     var command = new UpdatePasswordCommand(userId, currentPassword, invalidNewPassword);
@@ -512,8 +720,7 @@ class UserCommandServiceImplTest {
     var username = "alice";
     var hashed = "hashedPassword";
     User user = new User(username, "alice@example.com", hashed, Collections.emptyList());
-    user.setActive(true);
-    user.setVerified(true);
+    user.verify();
 
     var file = new MockMultipartFile(
         "file",
@@ -527,7 +734,7 @@ class UserCommandServiceImplTest {
         "uploads/profile_123"
     );
 
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(userRepository.findWithRolesById(userId)).thenReturn(Optional.of(user));
     when(externalCloudinaryService.uploadImage(file)).thenReturn(cloudinaryResponse);
 
     var command = new UpdateUserProfileImageCommand(userId, file);
@@ -556,7 +763,7 @@ class UserCommandServiceImplTest {
         "image content".getBytes()
     );
 
-    when(userRepository.findById(userId)).thenReturn(Optional.empty());
+    when(userRepository.findWithRolesById(userId)).thenReturn(Optional.empty());
 
     var command = new UpdateUserProfileImageCommand(userId, file);
 
@@ -572,8 +779,8 @@ class UserCommandServiceImplTest {
     var username = "inactive";
     var hashed = "hashedPassword";
     User user = new User(username, "inactive@example.com", hashed, Collections.emptyList());
-    user.setActive(false);
-    user.setVerified(true);
+    user.verify();
+    user.changeStatus(false);
 
     var file = new MockMultipartFile(
         "file",
@@ -582,7 +789,7 @@ class UserCommandServiceImplTest {
         "image content".getBytes()
     );
 
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(userRepository.findWithRolesById(userId)).thenReturn(Optional.of(user));
 
     var command = new UpdateUserProfileImageCommand(userId, file);
 
@@ -598,8 +805,7 @@ class UserCommandServiceImplTest {
     var username = "unverified";
     var hashed = "hashedPassword";
     User user = new User(username, "unverified@example.com", hashed, Collections.emptyList());
-    user.setActive(true);
-    user.setVerified(false);
+    user.changeStatus(true);
 
     var file = new MockMultipartFile(
         "file",
@@ -608,7 +814,7 @@ class UserCommandServiceImplTest {
         "image content".getBytes()
     );
 
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(userRepository.findWithRolesById(userId)).thenReturn(Optional.of(user));
 
     var command = new UpdateUserProfileImageCommand(userId, file);
 
@@ -624,10 +830,9 @@ class UserCommandServiceImplTest {
     var username = "alice";
     var hashed = "hashedPassword";
     User user = new User(username, "alice@example.com", hashed, Collections.emptyList());
-    user.setActive(true);
-    user.setVerified(true);
+    user.verify();
 
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(userRepository.findWithRolesById(userId)).thenReturn(Optional.of(user));
 
     var command = new UpdateUserProfileImageCommand(userId, null);
 
@@ -643,8 +848,7 @@ class UserCommandServiceImplTest {
     var username = "alice";
     var hashed = "hashedPassword";
     User user = new User(username, "alice@example.com", hashed, Collections.emptyList());
-    user.setActive(true);
-    user.setVerified(true);
+    user.verify();
 
     var emptyFile = new MockMultipartFile(
         "file",
@@ -653,7 +857,7 @@ class UserCommandServiceImplTest {
         new byte[0]
     );
 
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(userRepository.findWithRolesById(userId)).thenReturn(Optional.of(user));
 
     var command = new UpdateUserProfileImageCommand(userId, emptyFile);
 
@@ -669,8 +873,7 @@ class UserCommandServiceImplTest {
     var username = "alice";
     var hashed = "hashedPassword";
     User user = new User(username, "alice@example.com", hashed, Collections.emptyList());
-    user.setActive(true);
-    user.setVerified(true);
+    user.verify();
 
     var file = new MockMultipartFile(
         "file",
@@ -679,7 +882,7 @@ class UserCommandServiceImplTest {
         "image content".getBytes()
     );
 
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(userRepository.findWithRolesById(userId)).thenReturn(Optional.of(user));
     when(externalCloudinaryService.uploadImage(file)).thenReturn(null);
 
     var command = new UpdateUserProfileImageCommand(userId, file);
@@ -696,8 +899,7 @@ class UserCommandServiceImplTest {
     var username = "alice";
     var hashed = "hashedPassword";
     User user = new User(username, "alice@example.com", hashed, Collections.emptyList());
-    user.setActive(true);
-    user.setVerified(true);
+    user.verify();
     user.updateProfileImage("old-url", "old-public-id");
 
     var file = new MockMultipartFile(
@@ -712,7 +914,7 @@ class UserCommandServiceImplTest {
         "uploads/new-profile_456"
     );
 
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(userRepository.findWithRolesById(userId)).thenReturn(Optional.of(user));
     when(externalCloudinaryService.uploadImage(file)).thenReturn(cloudinaryResponse);
 
     var command = new UpdateUserProfileImageCommand(userId, file);
@@ -738,8 +940,7 @@ class UserCommandServiceImplTest {
     var username = "alice";
     var hashed = "hashedPassword";
     User user = new User(username, "alice@example.com", hashed, Collections.emptyList());
-    user.setActive(true);
-    user.setVerified(true);
+    user.verify();
     // publicId remains null
 
     var file = new MockMultipartFile(
@@ -754,7 +955,7 @@ class UserCommandServiceImplTest {
         "uploads/profile_123"
     );
 
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(userRepository.findWithRolesById(userId)).thenReturn(Optional.of(user));
     when(externalCloudinaryService.uploadImage(file)).thenReturn(cloudinaryResponse);
 
     var command = new UpdateUserProfileImageCommand(userId, file);
@@ -780,8 +981,7 @@ class UserCommandServiceImplTest {
     var username = "alice";
     var hashed = "hashedPassword";
     User user = new User(username, "alice@example.com", hashed, Collections.emptyList());
-    user.setActive(true);
-    user.setVerified(true);
+    user.verify();
     user.updateProfileImage("some-url", ""); // empty publicId
 
     var file = new MockMultipartFile(
@@ -796,7 +996,7 @@ class UserCommandServiceImplTest {
         "uploads/profile_123"
     );
 
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(userRepository.findWithRolesById(userId)).thenReturn(Optional.of(user));
     when(externalCloudinaryService.uploadImage(file)).thenReturn(cloudinaryResponse);
 
     var command = new UpdateUserProfileImageCommand(userId, file);
@@ -813,4 +1013,12 @@ class UserCommandServiceImplTest {
     verify(externalCloudinaryService).uploadImage(file);
     verify(userRepository).save(user);
   }
+
+  private static DataIntegrityViolationException uniqueViolation(
+      String constraintName, String detail) {
+    var sqlException = new SQLException("duplicate key value violates unique constraint \""
+        + constraintName + "\"\n  " + detail, "23505");
+    return new DataIntegrityViolationException("could not execute statement",
+        new ConstraintViolationException("could not execute statement", sqlException, constraintName));
+  }
 }
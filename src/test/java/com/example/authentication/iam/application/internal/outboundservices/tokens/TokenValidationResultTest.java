@@ -0,0 +1,47 @@
+package com.example.authentication.iam.application.internal.outboundservices.tokens;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.example.authentication.iam.application.internal.outboundservices.tokens.TokenValidationResult.FailureReason;
+
+class TokenValidationResultTest {
+
+  @Test
+  @DisplayName("valid - success: exposes subject, expiration and read-only claims")
+  void valid_success_exposesSubjectExpirationAndReadOnlyClaims() {
+    // Arrange
+    var expiration = Instant.parse("2030-01-01T00:00:00Z");
+    Map<String, Object> claims = new HashMap<>();
+    claims.put("sub", "alice");
+
+    // Act
+    var result = TokenValidationResult.valid("alice", expiration, claims);
+
+    // Assert
+    assertThat(result.isValid()).isTrue();
+    assertThat(result.subject()).isEqualTo("alice");
+    assertThat(result.expiration()).isEqualTo(expiration);
+    assertThat(result.claims()).containsEntry("sub", "alice");
+    assertThat(result.failureReason()).isNull();
+    assertThrows(UnsupportedOperationException.class, () -> result.claims().put("x", "y"));
+  }
+
+  @Test
+  @DisplayName("invalid - success: carries the failure reason and no token data")
+  void invalid_success_carriesFailureReasonAndNoTokenData() {
+    // Act
+    var result = TokenValidationResult.invalid(FailureReason.INVALID_SIGNATURE);
+
+    // Assert
+    assertThat(result.isValid()).isFalse();
+    assertThat(result.failureReason()).isEqualTo(FailureReason.INVALID_SIGNATURE);
+    assertThat(result.subject()).isNull();
+    assertThat(result.expiration()).isNull();
+    assertThat(result.claims()).isEmpty();
+  }
+}
@@ -15,23 +15,23 @@ import com.example.authentication.iam.domain.model.entities.Role;
 import com.example.authentication.iam.domain.model.queries.GetAllRolesQuery;
 import com.example.authentication.iam.domain.model.queries.GetRoleByNameQuery;
 import com.example.authentication.iam.domain.model.valueobjects.Roles;
-import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.RoleRepository;
+import com.example.authentication.iam.infrastructure.persistence.registries.RoleRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class RoleQueryServiceImplTest {
 
   @Mock
-  RoleRepository roleRepository;
+  RoleRegistry roleRegistry;
 
   @InjectMocks
   RoleQueryServiceImpl service;
 
   @Test
-  @DisplayName("handle(GetAllRolesQuery) - success: returns all roles from repository")
-  void handle_getAllRoles_success_returnsAllRolesFromRepository() {
+  @DisplayName("handle(GetAllRolesQuery) - success: returns all roles from registry")
+  void handle_getAllRoles_success_returnsAllRolesFromRegistry() {
     // Arrange
     var roles = List.of(mock(Role.class), mock(Role.class));
-    when(roleRepository.findAll()).thenReturn(roles);
+    when(roleRegistry.findAll()).thenReturn(roles);
 
     var query = new GetAllRolesQuery();
 
@@ -49,7 +49,7 @@ class RoleQueryServiceImplTest {
     var role = mock(Role.class);
     var query = new GetRoleByNameQuery("ROLE_USER");
 
-    when(roleRepository.findByRoles(Roles.ROLE_USER)).thenReturn(Optional.of(role));
+    when(roleRegistry.find(Roles.ROLE_USER)).thenReturn(Optional.of(role));
 
     // Act
     var result = service.handle(query);
@@ -65,7 +65,7 @@ class RoleQueryServiceImplTest {
     var role = mock(Role.class);
     var query = new GetRoleByNameQuery("USER");
 
-    when(roleRepository.findByRoles(Roles.ROLE_USER)).thenReturn(Optional.of(role));
+    when(roleRegistry.find(Roles.ROLE_USER)).thenReturn(Optional.of(role));
 
     // Act
     var result = service.handle(query);
@@ -88,12 +88,12 @@ class RoleQueryServiceImplTest {
   }
 
   @Test
-  @DisplayName("handle(GetRoleByNameQuery) - valid role not found in repository: returns empty")
+  @DisplayName("handle(GetRoleByNameQuery) - valid role not found in registry: returns empty")
   void handle_getRoleByName_validRoleNotFound_returnsEmpty() {
     // Arrange
     var query = new GetRoleByNameQuery("ROLE_ADMIN");
 
-    when(roleRepository.findByRoles(Roles.ROLE_ADMIN)).thenReturn(Optional.empty());
+    when(roleRegistry.find(Roles.ROLE_ADMIN)).thenReturn(Optional.empty());
 
     // Act
     var result = service.handle(query);
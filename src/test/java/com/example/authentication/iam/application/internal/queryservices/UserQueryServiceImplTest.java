@@ -1,7 +1,9 @@
 package com.example.authentication.iam.application.internal.queryservices;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,10 +14,13 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import com.example.authentication.iam.domain.model.aggregates.User;
+import com.example.authentication.iam.domain.model.projections.UserSummary;
 import com.example.authentication.iam.domain.model.queries.GetAllUsersQuery;
 import com.example.authentication.iam.domain.model.queries.GetUserByIdQuery;
 import com.example.authentication.iam.domain.model.queries.GetUserByUsernameQuery;
+import com.example.authentication.iam.domain.model.queries.StreamAllUsersQuery;
 import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.UserRepository;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.UserRepository.UserSummaryRow;
 
 @ExtendWith(MockitoExtension.class)
 class UserQueryServiceImplTest {
@@ -27,28 +32,63 @@ class UserQueryServiceImplTest {
   UserQueryServiceImpl service;
 
   @Test
-  @DisplayName("handle(GetAllUsersQuery) - success: returns all users from repository")
-  void handle_getAllUsers_success_returnsAllUsersFromRepository() {
+  @DisplayName("handle(GetAllUsersQuery) - success: returns summaries of page after cursor")
+  void handle_getAllUsers_success_returnsSummariesAfterCursor() {
     // Arrange
-    var users = List.of(mock(User.class), mock(User.class));
-    when(userRepository.findAll()).thenReturn(users);
+    var alice = row(11L, "alice", "ROLE_ADMIN,ROLE_USER", true);
+    var bob = row(12L, "bob", null, false);
+    when(userRepository.findSummariesAfter(10L, 2)).thenReturn(List.of(alice, bob));
 
-    var query = new GetAllUsersQuery();
+    var query = new GetAllUsersQuery(10L, 2);
 
     // Act
     var result = service.handle(query);
 
     // Assert
-    assertThat(result).isEqualTo(users);
+    assertThat(result).containsExactly(
+        new UserSummary(11L, "alice", "alice@example.com", List.of("ROLE_ADMIN", "ROLE_USER"), true),
+        new UserSummary(12L, "bob", "bob@example.com", List.of(), false));
   }
 
   @Test
-  @DisplayName("handle(GetUserByIdQuery) - user found: returns user")
-  void handle_getUserById_userFound_returnsUser() {
+  @DisplayName("handle(GetAllUsersQuery) - no cursor and oversized page: starts at first user with capped size")
+  void handle_getAllUsers_noCursorOversizedPage_usesFirstPageWithCappedSize() {
+    // Arrange
+    when(userRepository.findSummariesAfter(0L, GetAllUsersQuery.MAX_SIZE))
+        .thenReturn(List.of());
+
+    var query = new GetAllUsersQuery(null, 10_000);
+
+    // Act
+    var result = service.handle(query);
+
+    // Assert
+    assertThat(result).isEmpty();
+  }
+
+  @Test
+  @DisplayName("handle(StreamAllUsersQuery) - success: passes each summary to consumer in order")
+  void handle_streamAllUsers_success_passesEachSummaryInOrder() {
+    // Arrange
+    var first = row(1L, "alice", "ROLE_USER", true);
+    var second = row(2L, "bob", "ROLE_USER", true);
+    when(userRepository.streamAllSummaries()).thenReturn(Stream.of(first, second));
+    var consumed = new ArrayList<UserSummary>();
+
+    // Act
+    service.handle(new StreamAllUsersQuery(), consumed::add);
+
+    // Assert
+    assertThat(consumed).extracting(UserSummary::username).containsExactly("alice", "bob");
+  }
+
+  @Test
+  @DisplayName("handle(GetUserByIdQuery) - user found: returns summary")
+  void handle_getUserById_userFound_returnsSummary() {
     // Arrange
     var userId = 1L;
-    var user = mock(User.class);
-    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    var alice = row(userId, "alice", "ROLE_USER", true);
+    when(userRepository.findSummaryById(userId)).thenReturn(Optional.of(alice));
 
     var query = new GetUserByIdQuery(userId);
 
@@ -56,7 +96,8 @@ class UserQueryServiceImplTest {
     var result = service.handle(query);
 
     // Assert
-    assertThat(result).containsSame(user);
+    assertThat(result).contains(
+        new UserSummary(userId, "alice", "alice@example.com", List.of("ROLE_USER"), true));
   }
 
   @Test
@@ -64,7 +105,7 @@ class UserQueryServiceImplTest {
   void handle_getUserById_userNotFound_returnsEmpty() {
     // Arrange
     var userId = 999L;
-    when(userRepository.findById(userId)).thenReturn(Optional.empty());
+    when(userRepository.findSummaryById(userId)).thenReturn(Optional.empty());
 
     var query = new GetUserByIdQuery(userId);
 
@@ -107,4 +148,14 @@ class UserQueryServiceImplTest {
     // Assert
     assertThat(result).isEmpty();
   }
+
+  private static UserSummaryRow row(Long id, String username, String roles, boolean active) {
+    var row = mock(UserSummaryRow.class);
+    when(row.getId()).thenReturn(id);
+    when(row.getUsername()).thenReturn(username);
+    when(row.getEmail()).thenReturn(username + "@example.com");
+    when(row.getRoles()).thenReturn(roles);
+    when(row.getActive()).thenReturn(active);
+    return row;
+  }
 }
@@ -0,0 +1,116 @@
+package com.example.authentication.iam.domain.model.aggregates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.authentication.iam.domain.model.entities.Role;
+import com.example.authentication.iam.domain.model.events.UserChangedEvent;
+import com.example.authentication.iam.domain.model.events.UserChangedEvent.ChangeType;
+import com.example.authentication.iam.domain.model.valueobjects.Roles;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class UserTest {
+
+  @Test
+  @DisplayName("changeStatus - persisted user: registers a STATUS change")
+  void changeStatus_PersistedUser_RegistersStatusChange() {
+    // Arrange
+    var user = persistedUser();
+
+    // Act
+    user.changeStatus(true);
+
+    // Assert
+    assertThat(user.isActive()).isTrue();
+    assertThat(domainEventsOf(user))
+        .containsExactly(new UserChangedEvent(42L, "alice", ChangeType.STATUS));
+  }
+
+  @Test
+  @DisplayName("changePassword - persisted user: registers a PASSWORD change")
+  void changePassword_PersistedUser_RegistersPasswordChange() {
+    // Arrange
+    var user = persistedUser();
+
+    // Act
+    user.changePassword("rehashed");
+
+    // Assert
+    assertThat(user.getHashedPassword()).isEqualTo("rehashed");
+    assertThat(domainEventsOf(user))
+        .containsExactly(new UserChangedEvent(42L, "alice", ChangeType.PASSWORD));
+  }
+
+  @Test
+  @DisplayName("verify - persisted user: verified, active and registers a VERIFICATION change")
+  void verify_PersistedUser_RegistersVerificationChange() {
+    // Arrange
+    var user = persistedUser();
+
+    // Act
+    user.verify();
+
+    // Assert
+    assertThat(user.isVerified()).isTrue();
+    assertThat(user.isActive()).isTrue();
+    assertThat(domainEventsOf(user))
+        .containsExactly(new UserChangedEvent(42L, "alice", ChangeType.VERIFICATION));
+  }
+
+  @Test
+  @DisplayName("addRoles - persisted user: registers a ROLES change")
+  void addRoles_PersistedUser_RegistersRolesChange() {
+    // Arrange
+    var user = persistedUser();
+
+    // Act
+    user.addRoles(List.of(new Role(Roles.ROLE_ADMIN)));
+
+    // Assert
+    assertThat(user.getRoles()).extracting(Role::getStringRole).containsExactly("ROLE_ADMIN");
+    assertThat(domainEventsOf(user))
+        .containsExactly(new UserChangedEvent(42L, "alice", ChangeType.ROLES));
+  }
+
+  @Test
+  @DisplayName("changes - transient user: no event registered")
+  void changes_TransientUser_NoEvent() {
+    // Arrange
+    var user = new User("alice", "alice@example.com", "hashed", List.of());
+
+    // Act
+    user.changeStatus(true);
+    user.changePassword("rehashed");
+    user.verify();
+    user.addRoles(List.of(new Role(Roles.ROLE_ADMIN)));
+
+    // Assert
+    assertThat(domainEventsOf(user)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("updateProfileImage - persisted user: no event registered")
+  void updateProfileImage_PersistedUser_NoEvent() {
+    // Arrange
+    var user = persistedUser();
+
+    // Act
+    user.updateProfileImage("https://example.com/alice.png", "alice");
+
+    // Assert
+    assertThat(domainEventsOf(user)).isEmpty();
+  }
+
+  private static User persistedUser() {
+    var user = new User("alice", "alice@example.com", "hashed");
+    ReflectionTestUtils.setField(user, "id", 42L);
+    return user;
+  }
+
+  private static Collection<Object> domainEventsOf(User user) {
+    return ReflectionTestUtils.invokeMethod(user, "domainEvents");
+  }
+}
@@ -0,0 +1,248 @@
+package com.example.authentication.iam.infrastructure.authorization.sfs.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.authentication.iam.domain.model.aggregates.User;
+import com.example.authentication.iam.domain.model.entities.Role;
+import com.example.authentication.iam.domain.model.valueobjects.Roles;
+import com.example.authentication.iam.infrastructure.authorization.sfs.model.UserDetailsImpl;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.SigningKeyRepository;
+import com.example.authentication.iam.infrastructure.tokens.epochs.TokenEpochStore;
+import com.example.authentication.iam.infrastructure.tokens.jwt.JwtClaimNames;
+import com.example.authentication.iam.infrastructure.tokens.jwt.model.JwtKeyMaterial;
+import com.example.authentication.iam.infrastructure.tokens.jwt.services.TokenServiceImpl;
+import com.example.authentication.iam.infrastructure.tokens.keys.JwtKeyRingStore;
+import com.example.authentication.iam.infrastructure.tokens.keys.SigningKeyCipher;
+import com.example.authentication.iam.infrastructure.tokens.revocation.TokenRevocationStore;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class BearerAuthorizationRequestFilterTest {
+
+  private static final String SECRET = "WriteHereYourSecretStringForTokenSigningCredentials";
+
+  @Mock
+  UserDetailsService userDetailsService;
+
+  @Mock
+  TokenRevocationStore revocationStore;
+
+  @Mock
+  TokenEpochStore epochStore;
+
+  @Mock
+  SigningKeyRepository signingKeyRepository;
+
+  private JwtKeyRingStore keyRingStore;
+  private TokenServiceImpl tokenService;
+
+  @BeforeEach
+  void setUp() {
+    keyRingStore = new JwtKeyRingStore(
+        JwtKeyMaterial.fromSecret(SECRET), signingKeyRepository, new SigningKeyCipher(""),
+        Duration.ofSeconds(30), new SimpleMeterRegistry());
+    tokenService = new TokenServiceImpl(
+        keyRingStore, 1, Duration.ofMinutes(15), true, revocationStore, epochStore);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  @DisplayName("doFilter - self-contained token with user identifier: authorized from claims")
+  void doFilter_SelfContainedToken_AuthorizedFromClaims() throws Exception {
+    // Arrange
+    var token = tokenService.generateToken(user(true));
+    var chain = new MockFilterChain();
+
+    // Act
+    filter(true).doFilter(bearer(token), new MockHttpServletResponse(), chain);
+
+    // Assert
+    var authentication = SecurityContextHolder.getContext().getAuthentication();
+    assertThat(authentication).isNotNull();
+    assertThat(authentication.getName()).isEqualTo("alice");
+    assertThat(authentication.getAuthorities())
+        .extracting(GrantedAuthority::getAuthority)
+        .containsExactly("ROLE_ADMIN");
+    assertThat(((UserDetailsImpl) authentication.getPrincipal()).getId()).isEqualTo(42L);
+    verify(userDetailsService, never()).loadUserByUsername(any());
+    assertThat(chain.getRequest()).isNotNull();
+  }
+
+  @Test
+  @DisplayName("doFilter - self-contained tokens disabled: user loaded by username")
+  void doFilter_SelfContainedDisabled_UserLoaded() throws Exception {
+    // Arrange
+    var user = user(true);
+    var token = tokenService.generateToken(user);
+    when(userDetailsService.loadUserByUsername("alice")).thenReturn(UserDetailsImpl.build(user));
+
+    // Act
+    filter(false).doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+    // Assert
+    assertThat(SecurityContextHolder.getContext().getAuthentication().getName())
+        .isEqualTo("alice");
+    verify(userDetailsService).loadUserByUsername("alice");
+  }
+
+  @Test
+  @DisplayName("doFilter - token issued before self-contained tokens: user loaded by username")
+  void doFilter_TokenWithoutAuthorities_UserLoaded() throws Exception {
+    // Arrange
+    var user = user(true);
+    var token = new TokenServiceImpl(
+        keyRingStore, 1, Duration.ofMinutes(15), false, revocationStore, epochStore)
+        .generateToken(user);
+    when(userDetailsService.loadUserByUsername("alice")).thenReturn(UserDetailsImpl.build(user));
+
+    // Act
+    filter(true).doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+    // Assert
+    var authentication = SecurityContextHolder.getContext().getAuthentication();
+    assertThat(authentication).isNotNull();
+    assertThat(authentication.getAuthorities())
+        .extracting(GrantedAuthority::getAuthority)
+        .containsExactly("ROLE_ADMIN");
+    verify(userDetailsService).loadUserByUsername("alice");
+  }
+
+  @Test
+  @DisplayName("doFilter - access token without user identifier: user loaded by username")
+  void doFilter_TokenWithoutUserId_UserLoaded() throws Exception {
+    // Arrange
+    var token = Jwts.builder()
+        .id(UUID.randomUUID().toString())
+        .subject("alice")
+        .claim(JwtClaimNames.TOKEN_TYPE, JwtClaimNames.ACCESS_TOKEN)
+        .expiration(new Date(System.currentTimeMillis() + 60_000))
+        .signWith(JwtKeyMaterial.fromSecret(SECRET).signingKey())
+        .compact();
+    when(userDetailsService.loadUserByUsername("alice"))
+        .thenReturn(UserDetailsImpl.build(user(true)));
+
+    // Act
+    filter(true).doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+    // Assert
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+    verify(userDetailsService).loadUserByUsername("alice");
+  }
+
+  @Test
+  @DisplayName("doFilter - verification token: not authenticated and no user loaded")
+  void doFilter_VerificationToken_NotAuthenticated() throws Exception {
+    // Arrange
+    var token = tokenService.generateVerificationToken("alice");
+    var chain = new MockFilterChain();
+
+    // Act
+    filter(false).doFilter(bearer(token), new MockHttpServletResponse(), chain);
+
+    // Assert
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    verify(userDetailsService, never()).loadUserByUsername(any());
+    assertThat(chain.getRequest()).isNotNull();
+  }
+
+  @Test
+  @DisplayName("doFilter - inactive user: not authenticated, request continues")
+  void doFilter_InactiveUser_NotAuthenticated() throws Exception {
+    // Arrange
+    var token = tokenService.generateToken(user(false));
+    var chain = new MockFilterChain();
+
+    // Act
+    filter(true).doFilter(bearer(token), new MockHttpServletResponse(), chain);
+
+    // Assert
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    assertThat(chain.getRequest()).isNotNull();
+  }
+
+  @Test
+  @DisplayName("doFilter - expired token: not authenticated and no user loaded")
+  void doFilter_ExpiredToken_NotAuthenticated() throws Exception {
+    // Arrange
+    var issuedAt = new Date(System.currentTimeMillis() - 120_000);
+    var token = Jwts.builder()
+        .subject("alice")
+        .issuedAt(issuedAt)
+        .expiration(new Date(issuedAt.getTime() + 60_000))
+        .signWith(JwtKeyMaterial.fromSecret(SECRET).signingKey())
+        .compact();
+
+    // Act
+    filter(false).doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+    // Assert
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    verify(userDetailsService, never()).loadUserByUsername(any());
+  }
+
+  @Test
+  @DisplayName("doFilter - token with a tampered signature: not authenticated")
+  void doFilter_TamperedToken_NotAuthenticated() throws Exception {
+    // Arrange
+    var token = tokenService.generateToken(user(true));
+    var index = token.length() - 5;
+    var tampered = token.substring(0, index)
+        + (token.charAt(index) == 'A' ? 'B' : 'A')
+        + token.substring(index + 1);
+    var chain = new MockFilterChain();
+
+    // Act
+    filter(true).doFilter(bearer(tampered), new MockHttpServletResponse(), chain);
+
+    // Assert
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    verify(userDetailsService, never()).loadUserByUsername(any());
+    assertThat(chain.getRequest()).isNotNull();
+  }
+
+  private BearerAuthorizationRequestFilter filter(boolean selfContainedTokens) {
+    return new BearerAuthorizationRequestFilter(
+        tokenService, userDetailsService, selfContainedTokens);
+  }
+
+  private static MockHttpServletRequest bearer(String token) {
+    var request = new MockHttpServletRequest("GET", "/api/v1/users/42");
+    request.addHeader("Authorization", "Bearer " + token);
+    return request;
+  }
+
+  private static User user(boolean active) {
+    var user = new User("alice", "alice@example.com", "hashed");
+    ReflectionTestUtils.setField(user, "id", 42L);
+    user.addRoles(List.of(new Role(Roles.ROLE_ADMIN)));
+    user.changeStatus(active);
+    return user;
+  }
+}
@@ -0,0 +1,201 @@
+package com.example.authentication.iam.infrastructure.authorization.sfs.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.authentication.iam.infrastructure.authorization.sfs.throttling.SignInThrottle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+class SignInThrottlingFilterTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private SignInThrottlingFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    var throttle = new SignInThrottle(
+        true, 3, Duration.ofMinutes(1), 2, Duration.ofMinutes(1), 100, meterRegistry);
+    filter = new SignInThrottlingFilter(throttle, JsonMapper.builder().build());
+  }
+
+  @Test
+  @DisplayName("doFilter - allowed sign-in: body is replayed to the chain")
+  void doFilter_Allowed_BodyReplayed() throws Exception {
+    // Arrange
+    var chain = new MockFilterChain();
+
+    // Act
+    var response = signIn("10.0.0.1", "alice", chain);
+
+    // Assert
+    assertThat(response.getStatus()).isEqualTo(200);
+    var forwarded = chain.getRequest().getInputStream().readAllBytes();
+    assertThat(new String(forwarded, StandardCharsets.UTF_8)).contains("\"alice\"");
+  }
+
+  @Test
+  @DisplayName("doFilter - username over its limit: 429 with Retry-After")
+  void doFilter_UsernameOverLimit_TooManyRequests() throws Exception {
+    // Arrange
+    signIn("10.0.0.1", "alice", new MockFilterChain());
+    signIn("10.0.0.2", "alice", new MockFilterChain());
+    var chain = new MockFilterChain();
+
+    // Act
+    var response = signIn("10.0.0.3", "alice", chain);
+
+    // Assert
+    assertThat(response.getStatus()).isEqualTo(429);
+    assertThat(response.getHeader("Retry-After")).isEqualTo("30");
+    assertThat(response.getContentAsString()).contains("Too many sign-in attempts");
+    assertThat(chain.getRequest()).isNull();
+    assertThat(rejected("username")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("doFilter - client address over its limit: 429 for any username")
+  void doFilter_AddressOverLimit_TooManyRequests() throws Exception {
+    // Arrange
+    signIn("10.0.0.1", "a", new MockFilterChain());
+    signIn("10.0.0.1", "b", new MockFilterChain());
+    signIn("10.0.0.1", "c", new MockFilterChain());
+
+    // Act
+    var response = signIn("10.0.0.1", "d", new MockFilterChain());
+
+    // Assert
+    assertThat(response.getStatus()).isEqualTo(429);
+    assertThat(response.getHeader("Retry-After")).isEqualTo("20");
+    assertThat(rejected("ip")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("doFilter - other endpoint: not throttled")
+  void doFilter_OtherEndpoint_NotThrottled() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      // Arrange
+      var request = new MockHttpServletRequest("POST", "/api/v1/authentication/sign-up");
+      request.setServletPath("/api/v1/authentication/sign-up");
+      request.setRemoteAddr("10.0.0.1");
+      var response = new MockHttpServletResponse();
+
+      // Act
+      filter.doFilter(request, response, new MockFilterChain());
+
+      // Assert
+      assertThat(response.getStatus()).isEqualTo(200);
+    }
+  }
+
+  @Test
+  @DisplayName("doFilter - malformed body: limited by client address only")
+  void doFilter_MalformedBody_LimitedByAddressOnly() throws Exception {
+    // Arrange
+    var request = signInRequest("10.0.0.1");
+    request.setContent("not json".getBytes(StandardCharsets.UTF_8));
+    var response = new MockHttpServletResponse();
+
+    // Act
+    filter.doFilter(request, response, new MockFilterChain());
+
+    // Assert
+    assertThat(response.getStatus()).isEqualTo(200);
+    assertThat(meterRegistry.get("signin.throttle.keys").tag("scope", "username")
+        .gauge().value()).isZero();
+  }
+
+  @Test
+  @DisplayName("doFilter - application under a context path: still throttled")
+  void doFilter_ContextPath_Throttled() throws Exception {
+    // Arrange
+    for (var username : new String[] {"a", "b", "c"}) {
+      signIn("10.0.0.1", username, new MockFilterChain());
+    }
+    var request = new MockHttpServletRequest("POST", "/iam" + SignInThrottlingFilter.SIGN_IN_PATH);
+    request.setContextPath("/iam");
+    request.setServletPath(SignInThrottlingFilter.SIGN_IN_PATH);
+    request.setRemoteAddr("10.0.0.1");
+    var response = new MockHttpServletResponse();
+
+    // Act
+    filter.doFilter(request, response, new MockFilterChain());
+
+    // Assert
+    assertThat(response.getStatus()).isEqualTo(429);
+  }
+
+  @Test
+  @DisplayName("doFilter - Content-Length over the limit: 413 before reading the body")
+  void doFilter_ContentLengthOverLimit_ContentTooLarge() throws Exception {
+    // Arrange
+    var request = signInRequest("10.0.0.1");
+    request.setContent(new byte[8 * 1024 + 1]);
+    var chain = new MockFilterChain();
+    var response = new MockHttpServletResponse();
+
+    // Act
+    filter.doFilter(request, response, chain);
+
+    // Assert
+    assertThat(response.getStatus()).isEqualTo(413);
+    assertThat(response.getContentAsString()).contains("too large");
+    assertThat(chain.getRequest()).isNull();
+    assertThat(request.getInputStream().available()).isEqualTo(8 * 1024 + 1);
+  }
+
+  @Test
+  @DisplayName("doFilter - chunked body over the limit: 413 after reading one byte past it")
+  void doFilter_ChunkedBodyOverLimit_ContentTooLarge() throws Exception {
+    // Arrange
+    var request = new MockHttpServletRequest("POST", SignInThrottlingFilter.SIGN_IN_PATH) {
+      @Override
+      public long getContentLengthLong() {
+        return -1;
+      }
+    };
+    request.setServletPath(SignInThrottlingFilter.SIGN_IN_PATH);
+    request.setRemoteAddr("10.0.0.1");
+    request.setContent(new byte[64 * 1024]);
+    var chain = new MockFilterChain();
+    var response = new MockHttpServletResponse();
+
+    // Act
+    filter.doFilter(request, response, chain);
+
+    // Assert
+    assertThat(response.getStatus()).isEqualTo(413);
+    assertThat(chain.getRequest()).isNull();
+    assertThat(request.getInputStream().available()).isEqualTo(64 * 1024 - (8 * 1024 + 1));
+  }
+
+  private MockHttpServletResponse signIn(String address, String username, MockFilterChain chain)
+      throws Exception {
+    var request = signInRequest(address);
+    request.setContentType("application/json");
+    request.setContent(("{\"username\":\"" + username + "\",\"password\":\"secret\"}")
+        .getBytes(StandardCharsets.UTF_8));
+    var response = new MockHttpServletResponse();
+    filter.doFilter(request, response, chain);
+    return response;
+  }
+
+  private static MockHttpServletRequest signInRequest(String address) {
+    var request = new MockHttpServletRequest("POST", SignInThrottlingFilter.SIGN_IN_PATH);
+    request.setServletPath(SignInThrottlingFilter.SIGN_IN_PATH);
+    request.setRemoteAddr(address);
+    return request;
+  }
+
+  private double rejected(String scope) {
+    return meterRegistry.get("signin.throttle.rejected").tag("scope", scope).counter().count();
+  }
+}
@@ -0,0 +1,224 @@
+package com.example.authentication.iam.infrastructure.authorization.sfs.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.authentication.iam.domain.model.events.UserChangedEvent;
+import com.example.authentication.iam.domain.model.events.UserChangedEvent.ChangeType;
+import com.example.authentication.iam.infrastructure.authorization.sfs.model.UserDetailsImpl;
+import com.example.authentication.iam.infrastructure.messaging.RemoteUserChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class CachedUserDetailsServiceTest {
+
+  private static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+
+  @Mock
+  UserDetailsService delegate;
+
+  private final AtomicLong nanos = new AtomicLong();
+  private SimpleMeterRegistry meterRegistry;
+  private CachedUserDetailsService service;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    service = new CachedUserDetailsService(
+        delegate, 2, TIME_TO_LIVE, meterRegistry, nanos::get, Runnable::run);
+  }
+
+  @Test
+  @DisplayName("loadUserByUsername - second lookup: served from the cache")
+  void loadUserByUsername_SecondLookup_CacheHit() {
+    // Arrange
+    var alice = userDetails("alice");
+    when(delegate.loadUserByUsername("alice")).thenReturn(alice);
+
+    // Act
+    service.loadUserByUsername("alice");
+    var result = service.loadUserByUsername("alice");
+
+    // Assert
+    assertThat(result).isSameAs(alice);
+    verify(delegate, times(1)).loadUserByUsername("alice");
+  }
+
+  @Test
+  @DisplayName("loadUserByUsername - lookups: hits and misses published as metrics")
+  void loadUserByUsername_Lookups_MetricsPublished() {
+    // Arrange
+    when(delegate.loadUserByUsername("alice")).thenReturn(userDetails("alice"));
+
+    // Act
+    service.loadUserByUsername("alice");
+    service.loadUserByUsername("alice");
+    service.loadUserByUsername("alice");
+
+    // Assert
+    assertThat(meterRegistry.get("cache.gets").tags("cache", "userDetails", "result", "hit")
+        .functionCounter().count()).isEqualTo(2.0);
+    assertThat(meterRegistry.get("cache.gets").tags("cache", "userDetails", "result", "miss")
+        .functionCounter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("loadUserByUsername - entry older than its time to live: reloaded")
+  void loadUserByUsername_EntryExpired_Reloaded() {
+    // Arrange
+    when(delegate.loadUserByUsername("alice")).thenReturn(userDetails("alice"));
+    service.loadUserByUsername("alice");
+    nanos.addAndGet(TIME_TO_LIVE.plusSeconds(1).toNanos());
+
+    // Act
+    service.loadUserByUsername("alice");
+
+    // Assert
+    verify(delegate, times(2)).loadUserByUsername("alice");
+  }
+
+  @Test
+  @DisplayName("loadUserByUsername - more users than the maximum size: entries evicted")
+  void loadUserByUsername_OverMaximumSize_EntriesEvicted() {
+    // Arrange
+    for (var username : List.of("alice", "bob", "carol")) {
+      when(delegate.loadUserByUsername(username)).thenReturn(userDetails(username));
+    }
+
+    // Act
+    service.loadUserByUsername("alice");
+    service.loadUserByUsername("bob");
+    service.loadUserByUsername("carol");
+
+    // Assert
+    assertThat(meterRegistry.get("cache.size").tags("cache", "userDetails")
+        .gauge().value()).isEqualTo(2.0);
+    assertThat(meterRegistry.get("cache.evictions").tags("cache", "userDetails")
+        .functionCounter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("on(RemoteUserChangedEvent) - user changed on another node: entry evicted")
+  void on_RemoteUserChanged_EntryEvicted() {
+    // Arrange
+    when(delegate.loadUserByUsername("alice")).thenReturn(userDetails("alice"));
+    service.loadUserByUsername("alice");
+
+    // Act
+    service.on(new RemoteUserChangedEvent(new UserChangedEvent(1L, "alice", ChangeType.STATUS)));
+    service.loadUserByUsername("alice");
+
+    // Assert
+    verify(delegate, times(2)).loadUserByUsername("alice");
+  }
+
+  @Test
+  @DisplayName("on(UserChangedEvent) - published in a transaction: entry evicted after commit")
+  void on_UserChangedInTransaction_EvictedAfterCommit() {
+    // Arrange
+    when(delegate.loadUserByUsername("alice")).thenReturn(userDetails("alice"));
+    try (var context = new AnnotationConfigApplicationContext()) {
+      context.getBeanFactory().registerSingleton("defaultUserDetailsService", delegate);
+      context.register(TransactionalEventsConfiguration.class);
+      context.refresh();
+      var cachedService = context.getBean(CachedUserDetailsService.class);
+      var transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+      cachedService.loadUserByUsername("alice");
+
+      // Act
+      transactions.executeWithoutResult(status -> {
+        context.publishEvent(new UserChangedEvent(1L, "alice", ChangeType.PASSWORD));
+        cachedService.loadUserByUsername("alice");
+      });
+      cachedService.loadUserByUsername("alice");
+    }
+
+    // Assert
+    verify(delegate, times(2)).loadUserByUsername("alice");
+  }
+
+  @Test
+  @DisplayName("on(UserChangedEvent) - transaction rolled back: entry kept")
+  void on_UserChangedInRolledBackTransaction_EntryKept() {
+    // Arrange
+    when(delegate.loadUserByUsername("alice")).thenReturn(userDetails("alice"));
+    try (var context = new AnnotationConfigApplicationContext()) {
+      context.getBeanFactory().registerSingleton("defaultUserDetailsService", delegate);
+      context.register(TransactionalEventsConfiguration.class);
+      context.refresh();
+      var cachedService = context.getBean(CachedUserDetailsService.class);
+      var transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+      cachedService.loadUserByUsername("alice");
+
+      // Act
+      transactions.executeWithoutResult(status -> {
+        context.publishEvent(new UserChangedEvent(1L, "alice", ChangeType.PASSWORD));
+        status.setRollbackOnly();
+      });
+      cachedService.loadUserByUsername("alice");
+    }
+
+    // Assert
+    verify(delegate, times(1)).loadUserByUsername("alice");
+  }
+
+  private static UserDetailsImpl userDetails(String username) {
+    return UserDetailsImpl.build(1L, username, true, List.of("ROLE_USER"));
+  }
+
+  @Configuration
+  @EnableTransactionManagement
+  static class TransactionalEventsConfiguration {
+
+    @Bean
+    PlatformTransactionManager transactionManager() {
+      return new AbstractPlatformTransactionManager() {
+        @Override
+        protected Object doGetTransaction() {
+          return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+      };
+    }
+
+    @Bean
+    CachedUserDetailsService cachedUserDetailsService(
+        @Qualifier("defaultUserDetailsService") UserDetailsService delegate) {
+      return new CachedUserDetailsService(
+          delegate, 10, TIME_TO_LIVE, new SimpleMeterRegistry());
+    }
+  }
+}
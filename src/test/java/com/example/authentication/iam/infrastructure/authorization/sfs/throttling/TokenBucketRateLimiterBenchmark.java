@@ -0,0 +1,90 @@
+package com.example.authentication.iam.infrastructure.authorization.sfs.throttling;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link TokenBucketRateLimiter} under contention from 16 threads.
+ *
+ * <p>{@code hotKey} sends every request to one bucket, as a credential-stuffing run
+ * against a single username does; {@code spreadKeys} spreads requests over 10,000
+ * client addresses. {@code synchronizedHotKey} is a token bucket guarded by a monitor,
+ * for comparison with the single compare-and-set of the limiter.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+public class TokenBucketRateLimiterBenchmark {
+
+  private static final int KEYS = 10_000;
+
+  private TokenBucketRateLimiter limiter;
+  private SynchronizedBucket synchronizedBucket;
+  private String[] keys;
+
+  @Setup
+  public void setUp() {
+    limiter = new TokenBucketRateLimiter(20, Duration.ofMinutes(1), KEYS * 2);
+    synchronizedBucket = new SynchronizedBucket(20, Duration.ofMinutes(1));
+    keys = new String[KEYS];
+    for (int i = 0; i < KEYS; i++) {
+      keys[i] = "10.0." + (i / 256) + "." + (i % 256);
+    }
+  }
+
+  @Benchmark
+  public long hotKey() {
+    return limiter.tryAcquire("victim");
+  }
+
+  @Benchmark
+  public long spreadKeys() {
+    return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEYS)]);
+  }
+
+  @Benchmark
+  public boolean synchronizedHotKey() {
+    return synchronizedBucket.tryAcquire();
+  }
+
+  private static final class SynchronizedBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAt = System.nanoTime();
+
+    private SynchronizedBucket(int capacity, Duration refillPeriod) {
+      this.capacity = capacity;
+      this.tokensPerNano = capacity / (double) refillPeriod.toNanos();
+      this.tokens = capacity;
+    }
+
+    private synchronized boolean tryAcquire() {
+      var now = System.nanoTime();
+      tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+      refilledAt = now;
+      if (tokens >= 1) {
+        tokens--;
+        return true;
+      }
+      return false;
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package com.example.authentication.iam.infrastructure.authorization.sfs.throttling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+  private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+  private final AtomicLong clock = new AtomicLong(-SECOND * 1000);
+
+  @Test
+  @DisplayName("tryAcquire - full bucket: allows capacity requests, then reports the wait")
+  void tryAcquire_FullBucket_AllowsCapacityThenReportsWait() {
+    // Arrange
+    var limiter = new TokenBucketRateLimiter(5, Duration.ofSeconds(10), 100, clock::get);
+
+    // Act
+    for (int i = 0; i < 5; i++) {
+      assertThat(limiter.tryAcquire("client")).isZero();
+    }
+    var wait = limiter.tryAcquire("client");
+
+    // Assert
+    assertThat(wait).isEqualTo(2 * SECOND);
+    assertThat(limiter.tryAcquire("other")).isZero();
+  }
+
+  @Test
+  @DisplayName("tryAcquire - after waiting: tokens are regained at the refill rate")
+  void tryAcquire_AfterWaiting_TokensRegained() {
+    // Arrange
+    var limiter = new TokenBucketRateLimiter(5, Duration.ofSeconds(10), 100, clock::get);
+    for (int i = 0; i < 5; i++) {
+      limiter.tryAcquire("client");
+    }
+
+    // Act
+    clock.addAndGet(4 * SECOND);
+
+    // Assert
+    assertThat(limiter.tryAcquire("client")).isZero();
+    assertThat(limiter.tryAcquire("client")).isZero();
+    assertThat(limiter.tryAcquire("client")).isPositive();
+  }
+
+  @Test
+  @DisplayName("evictIdle - buckets untouched for the refill period: removed, active kept")
+  void evictIdle_RefilledBuckets_Removed() {
+    // Arrange
+    var limiter = new TokenBucketRateLimiter(5, Duration.ofSeconds(10), 100, clock::get);
+    limiter.tryAcquire("idle");
+    clock.addAndGet(3 * SECOND);
+    limiter.tryAcquire("active");
+    clock.addAndGet(8 * SECOND);
+
+    // Act
+    limiter.evictIdle();
+
+    // Assert
+    assertThat(limiter.size()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("tryAcquire - maximum keys reached: keys evicted, each key keeps its own bucket")
+  void tryAcquire_MaximumKeysReached_KeysEvictedNoSharedBucket() {
+    // Arrange
+    var limiter = new TokenBucketRateLimiter(1, Duration.ofSeconds(10), 2, clock::get);
+    limiter.tryAcquire("a");
+    limiter.tryAcquire("b");
+
+    // Act
+    var waits = new long[] {
+        limiter.tryAcquire("c"), limiter.tryAcquire("d"), limiter.tryAcquire("e")};
+    limiter.evictIdle();
+
+    // Assert
+    assertThat(waits).containsOnly(0L);
+    assertThat(limiter.size()).isLessThanOrEqualTo(2);
+    assertThat(limiter.tryAcquire("e")).isPositive();
+  }
+
+  @Test
+  @DisplayName("tryAcquire - concurrent requests on one key: never exceeds the capacity")
+  void tryAcquire_ConcurrentRequests_NeverExceedsCapacity() throws Exception {
+    // Arrange
+    var limiter = new TokenBucketRateLimiter(100, Duration.ofHours(1), 10);
+    var allowed = new AtomicInteger();
+    var start = new CountDownLatch(1);
+
+    // Act
+    try (var executor = Executors.newFixedThreadPool(8)) {
+      for (int thread = 0; thread < 8; thread++) {
+        executor.submit(() -> {
+          start.await();
+          for (int i = 0; i < 1000; i++) {
+            if (limiter.tryAcquire("hot") == 0) {
+              allowed.incrementAndGet();
+            }
+          }
+          return null;
+        });
+      }
+      start.countDown();
+    }
+
+    // Assert
+    assertThat(allowed).hasValue(100);
+  }
+
+  @Test
+  @DisplayName("constructor - zero capacity: throws IllegalArgumentException")
+  void constructor_ZeroCapacity_Throws() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new TokenBucketRateLimiter(0, Duration.ofSeconds(1), 10));
+  }
+}
@@ -0,0 +1,108 @@
+package com.example.authentication.iam.infrastructure.email.javamail;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+/**
+ * Compares one SMTP connection per message with one connection per batch, against a local
+ * GreenMail stub. The {@code smtps} variant includes the TLS handshake on every connection.
+ * Scores are emails per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class EmailServiceImplBenchmark {
+
+  private static final int BATCH_SIZE = 50;
+
+  @Param({"smtp", "smtps"})
+  public String protocol;
+
+  private GreenMail greenMail;
+  private EmailServiceImpl emailService;
+  private List<VerificationEmail> emails;
+
+  @Setup
+  public void setUp() {
+    var serverSetup = new ServerSetup(0, "localhost", protocol);
+    greenMail = new GreenMail(serverSetup);
+    greenMail.start();
+
+    var mailSender = new JavaMailSenderImpl();
+    mailSender.setProtocol(protocol);
+    mailSender.setHost("localhost");
+    mailSender.setPort(greenMail.getSmtp() != null
+        ? greenMail.getSmtp().getPort()
+        : greenMail.getSmtps().getPort());
+    var properties = new Properties();
+    properties.put("mail.smtps.ssl.trust", "*");
+    properties.put("mail.smtps.ssl.checkserveridentity", "false");
+    mailSender.setJavaMailProperties(properties);
+
+    var templateResolver = new ClassLoaderTemplateResolver();
+    templateResolver.setPrefix("templates/");
+    templateResolver.setSuffix(".html");
+    var templateEngine = new SpringTemplateEngine();
+    templateEngine.setTemplateResolver(templateResolver);
+
+    emailService = new EmailServiceImpl(
+        mailSender, new EmailTemplateRenderer(templateEngine, true), new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@authentication.com");
+
+    emails = IntStream.range(0, BATCH_SIZE)
+        .mapToObj(i -> new VerificationEmail(
+            "user" + i + "@example.com", "http://localhost/verify?token=" + i))
+        .toList();
+  }
+
+  @TearDown(Level.Iteration)
+  public void purge() throws Exception {
+    greenMail.purgeEmailFromAllMailboxes();
+  }
+
+  @TearDown
+  public void tearDown() {
+    greenMail.stop();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void connectionPerMessage() {
+    for (VerificationEmail email : emails) {
+      emailService.sendVerificationEmail(email.to(), email.verificationLink());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public Map<Integer, Exception> connectionPerBatch() {
+    return emailService.sendVerificationEmails(emails);
+  }
+}
@@ -0,0 +1,66 @@
+package com.example.authentication.iam.infrastructure.email.javamail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.context.IContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+class EmailTemplateRendererTest {
+
+  private SpringTemplateEngine templateEngine;
+  private EmailTemplateRenderer renderer;
+
+  @BeforeEach
+  void setUp() {
+    var templateResolver = new ClassLoaderTemplateResolver();
+    templateResolver.setPrefix("templates/");
+    templateResolver.setSuffix(".html");
+    templateEngine = spy(new SpringTemplateEngine());
+    templateEngine.setTemplateResolver(templateResolver);
+    renderer = new EmailTemplateRenderer(templateEngine, true);
+  }
+
+  @Test
+  @DisplayName("render - static template: matches Thymeleaf output without reprocessing")
+  void render_StaticTemplate_MatchesThymeleafOutput() {
+    // Arrange
+    var link = "http://localhost:8090/api/v1/authentication/verify?token=a.b&c=\"d\"";
+
+    // Act
+    renderer.render("email-verification", "verificationLink", "http://localhost/first");
+    var html = renderer.render("email-verification", "verificationLink", link);
+
+    // Assert
+    // Compilation renders the marker, the check marker and the escaping sample only
+    verify(templateEngine, times(3)).process(eq("email-verification"), any(IContext.class));
+    assertThat(html).contains("token=a.b&amp;c=&quot;d&quot;");
+    assertThat(html).isEqualTo(thymeleaf("email-verification", link));
+  }
+
+  @Test
+  @DisplayName("render - dynamic template: falls back to Thymeleaf rendering")
+  void render_DynamicTemplate_FallsBackToThymeleaf() {
+    // Arrange
+    var link = "http://localhost/verify?token=abc";
+
+    // Act
+    var html = renderer.render("dynamic-link", "verificationLink", link);
+
+    // Assert
+    assertThat(html).contains("HTTP://LOCALHOST/VERIFY?TOKEN=ABC");
+  }
+
+  private String thymeleaf(String template, String link) {
+    return new EmailTemplateRenderer(templateEngine, false)
+        .render(template, "verificationLink", link);
+  }
+}
@@ -0,0 +1,160 @@
+package com.example.authentication.iam.infrastructure.email.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.example.authentication.iam.infrastructure.email.javamail.EmailServiceImpl;
+import com.example.authentication.iam.infrastructure.email.javamail.EmailTemplateRenderer;
+import com.example.authentication.iam.infrastructure.email.outbox.model.EmailOutboxMessage;
+import com.example.authentication.iam.infrastructure.email.outbox.model.EmailOutboxMessage.Status;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.EmailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Part;
+import jakarta.mail.internet.MimeMultipart;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+/**
+ * Delivers outbox messages to a local GreenMail SMTP server.
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+  @RegisterExtension
+  static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+  @Mock
+  EmailOutboxRepository emailOutboxRepository;
+
+  private JavaMailSenderImpl mailSender;
+  private EmailOutboxDispatcher dispatcher;
+
+  @BeforeEach
+  void setUp() {
+    mailSender = new JavaMailSenderImpl();
+    mailSender.setHost("localhost");
+    mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+    var templateResolver = new ClassLoaderTemplateResolver();
+    templateResolver.setPrefix("templates/");
+    templateResolver.setSuffix(".html");
+    var templateEngine = new SpringTemplateEngine();
+    templateEngine.setTemplateResolver(templateResolver);
+
+    var emailSender = new EmailServiceImpl(
+        mailSender, new EmailTemplateRenderer(templateEngine, true), new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(emailSender, "fromEmail", "noreply@authentication.com");
+
+    dispatcher = new EmailOutboxDispatcher(
+        emailOutboxRepository, emailSender, 50, 3, Duration.ofSeconds(5), Duration.ofMinutes(1));
+  }
+
+  @Test
+  @DisplayName("dispatch - SMTP available: sends pending messages and marks them sent")
+  void dispatch_SmtpAvailable_SendsAndMarksSent() throws Exception {
+    // Arrange
+    var first = new EmailOutboxMessage("alice@example.com", "http://localhost/verify?token=a");
+    var second = new EmailOutboxMessage("bob@example.com", "http://localhost/verify?token=b");
+    when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+        eq(Status.PENDING), any(Instant.class), any())).thenReturn(List.of(first, second));
+
+    // Act
+    var processed = dispatcher.dispatch();
+
+    // Assert
+    assertThat(processed).isEqualTo(2);
+    assertThat(first.getStatus()).isEqualTo(Status.SENT);
+    assertThat(second.getStatus()).isEqualTo(Status.SENT);
+    var received = greenMail.getReceivedMessages();
+    assertThat(received).hasSize(2);
+    assertThat(received[0].getAllRecipients()[0].toString()).isEqualTo("alice@example.com");
+    assertThat(received[0].getSubject()).isEqualTo("Confirm your account - Authentication Service");
+    assertThat(htmlOf(received[0])).contains("http://localhost/verify?token=a");
+  }
+
+  @Test
+  @DisplayName("dispatch - invalid recipient in batch: only that message is retried")
+  void dispatch_InvalidRecipientInBatch_OnlyThatMessageRetried() {
+    // Arrange
+    var valid = new EmailOutboxMessage("alice@example.com", "http://localhost/verify?token=a");
+    var invalid = new EmailOutboxMessage("not an address", "http://localhost/verify?token=b");
+    when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+        eq(Status.PENDING), any(Instant.class), any())).thenReturn(List.of(valid, invalid));
+
+    // Act
+    dispatcher.dispatch();
+
+    // Assert
+    assertThat(valid.getStatus()).isEqualTo(Status.SENT);
+    assertThat(invalid.getStatus()).isEqualTo(Status.PENDING);
+    assertThat(invalid.getAttempts()).isEqualTo(1);
+    assertThat(greenMail.getReceivedMessages()).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("dispatch - SMTP unavailable: schedules retry with backoff")
+  void dispatch_SmtpUnavailable_SchedulesRetry() {
+    // Arrange
+    mailSender.setPort(1);
+    var message = new EmailOutboxMessage("alice@example.com", "http://localhost/verify?token=a");
+    when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+        eq(Status.PENDING), any(Instant.class), any())).thenReturn(List.of(message));
+    var before = Instant.now();
+
+    // Act
+    dispatcher.dispatch();
+
+    // Assert
+    assertThat(message.getStatus()).isEqualTo(Status.PENDING);
+    assertThat(message.getAttempts()).isEqualTo(1);
+    assertThat(message.getLastError()).isNotBlank();
+    assertThat(message.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(5));
+    assertThat(greenMail.getReceivedMessages()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("dispatch - last attempt fails: dead-letters the message")
+  void dispatch_LastAttemptFails_DeadLetters() {
+    // Arrange
+    mailSender.setPort(1);
+    var message = new EmailOutboxMessage("alice@example.com", "http://localhost/verify?token=a");
+    message.markFailed("previous failure", Instant.now(), 3);
+    message.markFailed("previous failure", Instant.now(), 3);
+    when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+        eq(Status.PENDING), any(Instant.class), any())).thenReturn(List.of(message));
+
+    // Act
+    dispatcher.dispatch();
+
+    // Assert
+    assertThat(message.getStatus()).isEqualTo(Status.DEAD);
+    assertThat(message.getAttempts()).isEqualTo(3);
+  }
+
+  private static String htmlOf(Part part) throws Exception {
+    if (part.getContent() instanceof MimeMultipart multipart) {
+      var html = new StringBuilder();
+      for (int i = 0; i < multipart.getCount(); i++) {
+        html.append(htmlOf(multipart.getBodyPart(i)));
+      }
+      return html.toString();
+    }
+    return part.getContent().toString();
+  }
+}
@@ -0,0 +1,93 @@
+package com.example.authentication.iam.infrastructure.hashing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.authentication.iam.domain.exceptions.HashingCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HashingExecutorTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private HashingExecutor hashingExecutor;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    hashingExecutor = new HashingExecutor(1, 1, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    hashingExecutor.destroy();
+  }
+
+  @Test
+  @DisplayName("execute - capacity available: returns result and records metrics")
+  void execute_CapacityAvailable_ReturnsResult() {
+    // Act
+    var result = hashingExecutor.execute("encode", () -> "hashed");
+
+    // Assert
+    assertEquals("hashed", result);
+    assertEquals(1, meterRegistry.get("hashing.duration").tag("operation", "encode")
+        .timer().count());
+    assertEquals(1, meterRegistry.get("hashing.queue.wait").tag("operation", "encode")
+        .timer().count());
+  }
+
+  @Test
+  @DisplayName("execute - pool and queue full: throws HashingCapacityExceededException")
+  void execute_Saturated_ThrowsHashingCapacityExceededException() throws Exception {
+    // Arrange
+    var release = new CountDownLatch(1);
+    var running = new CountDownLatch(1);
+    var busy = CompletableFuture.runAsync(() -> hashingExecutor.execute("matches", () -> {
+      running.countDown();
+      return await(release);
+    }));
+    running.await(5, TimeUnit.SECONDS);
+    var queued = CompletableFuture.runAsync(
+        () -> hashingExecutor.execute("matches", () -> true));
+    while (meterRegistry.get("executor.queued").gauge().value() < 1) {
+      Thread.onSpinWait();
+    }
+
+    // Act & Assert
+    assertThrows(HashingCapacityExceededException.class,
+        () -> hashingExecutor.execute("matches", () -> true));
+    assertEquals(1, meterRegistry.get("hashing.rejected").counter().count());
+    assertThrows(HashingCapacityExceededException.class, hashingExecutor::checkCapacity);
+    assertEquals(2, meterRegistry.get("hashing.rejected").counter().count());
+
+    release.countDown();
+    busy.get(5, TimeUnit.SECONDS);
+    queued.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  @DisplayName("checkCapacity - capacity available: nothing is run or rejected")
+  void checkCapacity_CapacityAvailable_DoesNotThrow() {
+    // Act
+    hashingExecutor.checkCapacity();
+
+    // Assert
+    assertEquals(0, meterRegistry.get("hashing.rejected").counter().count());
+  }
+
+  private static boolean await(CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
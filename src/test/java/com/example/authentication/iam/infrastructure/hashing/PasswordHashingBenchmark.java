@@ -0,0 +1,71 @@
+package com.example.authentication.iam.infrastructure.hashing;
+
+import com.example.authentication.iam.infrastructure.hashing.argon2.Argon2HashingEngine;
+import com.example.authentication.iam.infrastructure.hashing.bcrypt.BcryptHashingEngine;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares hashing throughput across algorithms and parameters.
+ *
+ * <p>Run it with {@code -prof gc}: {@code gc.alloc.rate.norm} is the memory allocated
+ * per hash, which for Argon2id tracks the configured memory cost.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+  private static final String PASSWORD = "Str0ng!Password";
+
+  /**
+   * Engine and parameters: {@code bcrypt:<cost>} or
+   * {@code argon2id:<memoryKib>:<iterations>:<parallelism>}.
+   */
+  @Param({
+      "bcrypt:10",
+      "bcrypt:12",
+      "argon2id:19456:2:1",
+      "argon2id:47104:1:1",
+      "argon2id:65536:3:4"
+  })
+  public String engine;
+
+  private HashingEngine hashingEngine;
+  private String encoded;
+
+  @Setup
+  public void setUp() {
+    var parts = engine.split(":");
+    hashingEngine = switch (parts[0]) {
+      case BcryptHashingEngine.ID -> new BcryptHashingEngine(Integer.parseInt(parts[1]));
+      case Argon2HashingEngine.ID -> new Argon2HashingEngine(
+          Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), Integer.parseInt(parts[3]));
+      default -> throw new IllegalArgumentException(engine);
+    };
+    encoded = hashingEngine.encode(PASSWORD);
+  }
+
+  @Benchmark
+  public String encode() {
+    return hashingEngine.encode(PASSWORD);
+  }
+
+  @Benchmark
+  public boolean matches() {
+    return hashingEngine.matches(PASSWORD, encoded);
+  }
+}
@@ -0,0 +1,157 @@
+package com.example.authentication.iam.infrastructure.hashing.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.authentication.iam.domain.exceptions.HashingCapacityExceededException;
+import com.example.authentication.iam.infrastructure.hashing.HashingExecutor;
+import com.example.authentication.iam.infrastructure.hashing.argon2.Argon2HashingEngine;
+import com.example.authentication.iam.infrastructure.hashing.bcrypt.BcryptHashingEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HashingServiceImplTest {
+
+  private static final String PASSWORD = "Str0ng!Password";
+
+  private final BcryptHashingEngine bcrypt = new BcryptHashingEngine(4);
+  private final Argon2HashingEngine argon2 = new Argon2HashingEngine(1024, 1, 1);
+
+  private SimpleMeterRegistry meterRegistry;
+  private HashingExecutor hashingExecutor;
+  private HashingServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    hashingExecutor = new HashingExecutor(1, 4, meterRegistry);
+    service = new HashingServiceImpl(List.of(bcrypt, argon2), hashingExecutor, "argon2id", "off");
+  }
+
+  @AfterEach
+  void tearDown() {
+    hashingExecutor.destroy();
+  }
+
+  @Test
+  @DisplayName("encode - argon2id configured: writes argon2id hashes that verify")
+  void encode_Argon2Configured_WritesArgon2Hash() {
+    // Act
+    var encoded = service.encode(PASSWORD);
+
+    // Assert
+    assertThat(encoded).startsWith("$argon2id$");
+    assertThat(service.matches(PASSWORD, encoded)).isTrue();
+    assertThat(service.upgradeEncoding(encoded)).isFalse();
+  }
+
+  @Test
+  @DisplayName("matches - legacy bcrypt hash: verifies and reports upgrade")
+  void matches_LegacyBcryptHash_VerifiesAndReportsUpgrade() {
+    // Arrange
+    var legacy = bcrypt.encode(PASSWORD);
+
+    // Act & Assert
+    assertThat(legacy).startsWith("$2a$");
+    assertThat(service.matches(PASSWORD, legacy)).isTrue();
+    assertThat(service.matches("wrong", legacy)).isFalse();
+    assertThat(service.upgradeEncoding(legacy)).isTrue();
+  }
+
+  @Test
+  @DisplayName("upgradeEncoding - argon2id hash with other parameters: reports upgrade")
+  void upgradeEncoding_OtherArgon2Parameters_ReportsUpgrade() {
+    // Arrange
+    var encoded = new Argon2HashingEngine(2048, 1, 1).encode(PASSWORD);
+
+    // Act & Assert
+    assertThat(service.matches(PASSWORD, encoded)).isTrue();
+    assertThat(service.upgradeEncoding(encoded)).isTrue();
+  }
+
+  @Test
+  @DisplayName("matches - unknown format: returns false")
+  void matches_UnknownFormat_ReturnsFalse() {
+    // Act & Assert
+    assertThat(service.matches(PASSWORD, "plain-text")).isFalse();
+    assertThat(service.upgradeEncoding("plain-text")).isFalse();
+  }
+
+  @Test
+  @DisplayName("imitateMatches - mode off: not imitated")
+  void imitateMatches_Off_NotImitated() {
+    // Act & Assert
+    assertThat(service.imitateMatches(PASSWORD)).isFalse();
+    assertThat(verifications()).isZero();
+  }
+
+  @Test
+  @DisplayName("imitateMatches - mode hash: verifies against a dummy hash")
+  void imitateMatches_Hash_VerifiesDummyHash() {
+    // Arrange
+    service = new HashingServiceImpl(List.of(bcrypt, argon2), hashingExecutor, "bcrypt", "hash");
+
+    // Act & Assert
+    assertThat(service.imitateMatches(PASSWORD)).isTrue();
+    assertThat(verifications()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("imitateMatches - mode delay: imitated without hashing")
+  void imitateMatches_Delay_ImitatedWithoutHashing() {
+    // Arrange
+    service = new HashingServiceImpl(List.of(bcrypt, argon2), hashingExecutor, "bcrypt", "delay");
+
+    // Act & Assert
+    assertThat(service.imitateMatches(PASSWORD)).isTrue();
+    assertThat(verifications()).isZero();
+  }
+
+  @Test
+  @DisplayName("imitateMatches - mode delay, hashing pool saturated: rejected like a real sign-in")
+  void imitateMatches_DelaySaturated_ThrowsHashingCapacityExceededException() throws Exception {
+    // Arrange
+    service = new HashingServiceImpl(List.of(bcrypt, argon2), hashingExecutor, "bcrypt", "delay");
+    var release = new CountDownLatch(1);
+    var tasks = new ArrayList<CompletableFuture<Boolean>>();
+    for (int i = 0; i < 5; i++) {
+      tasks.add(CompletableFuture.supplyAsync(
+          () -> hashingExecutor.execute("matches", () -> await(release))));
+    }
+    while (meterRegistry.get("executor.queued").gauge().value() < 4) {
+      Thread.onSpinWait();
+    }
+
+    // Act & Assert
+    assertThrows(HashingCapacityExceededException.class,
+        () -> service.imitateMatches(PASSWORD));
+    assertThat(meterRegistry.get("hashing.rejected").counter().count()).isEqualTo(1.0);
+
+    release.countDown();
+    for (var task : tasks) {
+      task.get(5, TimeUnit.SECONDS);
+    }
+  }
+
+  private static boolean await(CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private long verifications() {
+    var timer = meterRegistry.find("hashing.duration").tag("operation", "matches").timer();
+    return timer == null ? 0 : timer.count();
+  }
+}
@@ -0,0 +1,85 @@
+package com.example.authentication.iam.infrastructure.hashing.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.authentication.iam.infrastructure.hashing.HashingExecutor;
+import com.example.authentication.iam.infrastructure.hashing.bcrypt.BcryptHashingEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the latency distribution of a wrong password for a known user with the one of
+ * an imitated sign-in for an unknown user.
+ */
+class UnknownUserLatencyDistributionTest {
+
+  private static final String PASSWORD = "Str0ng!Password";
+  private static final int ROUNDS = 40;
+
+  private final BcryptHashingEngine bcrypt = new BcryptHashingEngine(8);
+
+  private HashingExecutor hashingExecutor;
+  private String storedHash;
+
+  @BeforeEach
+  void setUp() {
+    hashingExecutor = new HashingExecutor(1, 4, new SimpleMeterRegistry());
+    storedHash = bcrypt.encode(PASSWORD);
+  }
+
+  @AfterEach
+  void tearDown() {
+    hashingExecutor.destroy();
+  }
+
+  @Test
+  @DisplayName("imitateMatches - mode delay: median and p90 close to a wrong password")
+  void imitateMatches_Delay_DistributionCloseToWrongPassword() {
+    // Arrange
+    var service = new HashingServiceImpl(List.of(bcrypt), hashingExecutor, "bcrypt", "delay");
+
+    // Act
+    var wrongPassword = latencies(() -> service.matches("wrong", storedHash));
+    var unknownUser = latencies(() -> service.imitateMatches(PASSWORD));
+
+    // Assert
+    assertThat(ratio(unknownUser, wrongPassword, 0.5)).isBetween(0.7, 1.4);
+    assertThat(ratio(unknownUser, wrongPassword, 0.9)).isBetween(0.6, 1.6);
+  }
+
+  @Test
+  @DisplayName("imitateMatches - mode off: unknown users answer far faster")
+  void imitateMatches_Off_UnknownUsersDistinguishable() {
+    // Arrange
+    var service = new HashingServiceImpl(List.of(bcrypt), hashingExecutor, "bcrypt", "off");
+
+    // Act
+    var wrongPassword = latencies(() -> service.matches("wrong", storedHash));
+    var unknownUser = latencies(() -> service.imitateMatches(PASSWORD));
+
+    // Assert
+    assertThat(ratio(unknownUser, wrongPassword, 0.5)).isLessThan(0.1);
+  }
+
+  private static long[] latencies(Supplier<Boolean> signIn) {
+    var latencies = new long[ROUNDS];
+    for (int i = 0; i < ROUNDS; i++) {
+      long startedAt = System.nanoTime();
+      signIn.get();
+      latencies[i] = System.nanoTime() - startedAt;
+    }
+    Arrays.sort(latencies);
+    return latencies;
+  }
+
+  private static double ratio(long[] sorted, long[] reference, double quantile) {
+    int index = (int) Math.ceil(quantile * ROUNDS) - 1;
+    return (double) sorted[index] / reference[index];
+  }
+}
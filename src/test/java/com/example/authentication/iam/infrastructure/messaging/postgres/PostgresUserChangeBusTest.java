@@ -0,0 +1,167 @@
+package com.example.authentication.iam.infrastructure.messaging.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import com.example.authentication.iam.domain.model.events.UserChangedEvent;
+import com.example.authentication.iam.domain.model.events.UserChangedEvent.ChangeType;
+import com.example.authentication.iam.infrastructure.messaging.RemoteTokenRevokedEvent;
+import com.example.authentication.iam.infrastructure.messaging.RemoteUserChangedEvent;
+import com.example.authentication.iam.infrastructure.tokens.revocation.model.TokenRevokedEvent;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Runs two bus instances, acting as two nodes, against an in-process PostgreSQL.
+ */
+class PostgresUserChangeBusTest {
+
+  private static final String CHANNEL = "user_changed_test";
+  private static final String REVOCATION_CHANNEL = "token_revoked_test";
+  private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+
+  private static EmbeddedPostgres postgres;
+
+  private final BlockingQueue<Object> nodeAEvents = new LinkedBlockingQueue<>();
+  private final BlockingQueue<Object> nodeBEvents = new LinkedBlockingQueue<>();
+
+  private PostgresUserChangeBus nodeA;
+  private PostgresUserChangeBus nodeB;
+
+  @BeforeAll
+  static void startPostgres() throws IOException {
+    postgres = EmbeddedPostgres.start();
+  }
+
+  @AfterAll
+  static void stopPostgres() throws IOException {
+    postgres.close();
+  }
+
+  private final AtomicInteger failingPublications = new AtomicInteger();
+
+  @BeforeEach
+  void startNodes() throws InterruptedException {
+    DataSource dataSource = postgres.getPostgresDatabase();
+    nodeA = new PostgresUserChangeBus(dataSource, nodeAEvents::add, CHANNEL, REVOCATION_CHANNEL, POLL_TIMEOUT);
+    nodeB = new PostgresUserChangeBus(dataSource, event -> {
+      if (failingPublications.getAndDecrement() > 0) {
+        throw new IllegalStateException("listener failed");
+      }
+      nodeBEvents.add(event);
+    }, CHANNEL, REVOCATION_CHANNEL, POLL_TIMEOUT);
+    nodeA.start();
+    nodeB.start();
+    awaitListening(nodeA);
+    awaitListening(nodeB);
+  }
+
+  @AfterEach
+  void stopNodes() {
+    nodeA.stop();
+    nodeB.stop();
+  }
+
+  @Test
+  @DisplayName("on(UserChangedEvent) - change notified by one node: other node republishes it")
+  void on_ChangeNotified_OtherNodeRepublishes() throws InterruptedException {
+    // Arrange
+    var change = new UserChangedEvent(7L, "john:doe", ChangeType.STATUS);
+
+    // Act
+    nodeA.on(change);
+
+    // Assert
+    var received = nodeBEvents.poll(5, TimeUnit.SECONDS);
+    assertNotNull(received);
+    assertEquals(new RemoteUserChangedEvent(change), received);
+    assertNull(nodeAEvents.poll(POLL_TIMEOUT.toMillis() * 3, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  @DisplayName("listen - malformed notifications: skipped, later changes still republished")
+  void listen_MalformedNotifications_Skipped() throws InterruptedException {
+    // Arrange
+    var change = new UserChangedEvent(7L, "john", ChangeType.PASSWORD);
+    var jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+
+    // Act
+    for (var payload : List.of("other-node:not-a-number:STATUS:john",
+        "other-node:7:NOT_A_CHANGE:john", "garbage")) {
+      jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> null, CHANNEL, payload);
+    }
+    nodeA.on(change);
+
+    // Assert
+    assertEquals(new RemoteUserChangedEvent(change), nodeBEvents.poll(5, TimeUnit.SECONDS));
+    assertTrue(nodeB.isListening());
+  }
+
+  @Test
+  @DisplayName("listen - listener of a remote change fails: later changes still republished")
+  void listen_ListenerFails_LaterChangesRepublished() throws InterruptedException {
+    // Arrange
+    failingPublications.set(1);
+    var change = new UserChangedEvent(7L, "john", ChangeType.ROLES);
+
+    // Act
+    nodeA.on(new UserChangedEvent(7L, "john", ChangeType.STATUS));
+    nodeA.on(change);
+
+    // Assert
+    assertEquals(new RemoteUserChangedEvent(change), nodeBEvents.poll(5, TimeUnit.SECONDS));
+    assertTrue(nodeB.isListening());
+  }
+
+  @Test
+  @DisplayName("on(TokenRevokedEvent) - token revoked on one node: other node republishes it")
+  void on_TokenRevoked_RepublishedOnOtherNode() throws InterruptedException {
+    // Arrange
+    var revocation = new TokenRevokedEvent(
+        UUID.randomUUID(), Instant.parse("2026-01-01T12:15:00.123Z"));
+
+    // Act
+    nodeA.on(revocation);
+
+    // Assert
+    assertEquals(new RemoteTokenRevokedEvent(revocation), nodeBEvents.poll(5, TimeUnit.SECONDS));
+    assertNull(nodeAEvents.poll(POLL_TIMEOUT.toMillis() * 3, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  @DisplayName("constructor - same channel for changes and revocations: throws")
+  void constructor_SameChannels_Throws() {
+    assertThrows(IllegalArgumentException.class, () -> new PostgresUserChangeBus(
+        postgres.getPostgresDatabase(), event -> { }, CHANNEL, CHANNEL, POLL_TIMEOUT));
+  }
+
+  private static void awaitListening(PostgresUserChangeBus node) throws InterruptedException {
+    var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!node.isListening()) {
+      if (System.nanoTime() > deadline) {
+        fail("Listener did not subscribe to " + CHANNEL);
+      }
+      Thread.sleep(10);
+    }
+  }
+}
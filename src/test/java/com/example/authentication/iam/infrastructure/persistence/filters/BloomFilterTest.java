@@ -0,0 +1,68 @@
+package com.example.authentication.iam.infrastructure.persistence.filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.stream.IntStream;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+  private static final int INSERTIONS = 50_000;
+  private static final double FALSE_POSITIVE_RATE = 0.01;
+
+  @Test
+  @DisplayName("mightContain - added values: never reports a false negative")
+  void mightContain_AddedValues_NoFalseNegatives() {
+    // Arrange
+    var filter = BloomFilter.create(INSERTIONS, FALSE_POSITIVE_RATE);
+    IntStream.range(0, INSERTIONS).forEach(i -> filter.put("user" + i + "@example.com"));
+
+    // Act
+    var missing = IntStream.range(0, INSERTIONS)
+        .filter(i -> !filter.mightContain("user" + i + "@example.com"))
+        .count();
+
+    // Assert
+    assertThat(missing).isZero();
+  }
+
+  @Test
+  @DisplayName("mightContain - values never added: false positive rate close to target")
+  void mightContain_ValuesNeverAdded_FalsePositiveRateCloseToTarget() {
+    // Arrange
+    var filter = BloomFilter.create(INSERTIONS, FALSE_POSITIVE_RATE);
+    IntStream.range(0, INSERTIONS).forEach(i -> filter.put("user" + i));
+
+    // Act
+    var falsePositives = IntStream.range(0, INSERTIONS)
+        .filter(i -> filter.mightContain("other" + i))
+        .count();
+
+    // Assert
+    var observed = (double) falsePositives / INSERTIONS;
+    assertThat(observed).isLessThan(FALSE_POSITIVE_RATE * 1.5);
+    assertThat(filter.expectedFalsePositiveRate()).isCloseTo(FALSE_POSITIVE_RATE,
+        Offset.offset(FALSE_POSITIVE_RATE * 0.2));
+  }
+
+  @Test
+  @DisplayName("bitSizeInBytes - 1% rate: uses about 1.2 bytes per expected value")
+  void bitSizeInBytes_OnePercent_AboutOnePointTwoBytesPerValue() {
+    // Act
+    var filter = BloomFilter.create(1_000_000, FALSE_POSITIVE_RATE);
+
+    // Assert
+    assertThat(filter.bitSizeInBytes()).isBetween(1_190_000L, 1_200_000L);
+    assertThat(filter.expectedFalsePositiveRate()).isZero();
+  }
+
+  @Test
+  @DisplayName("create - rate out of range: throws IllegalArgumentException")
+  void create_RateOutOfRange_Throws() {
+    assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, 0));
+    assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, 1));
+  }
+}
@@ -0,0 +1,154 @@
+package com.example.authentication.iam.infrastructure.persistence.filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.UserRepository;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.UserRepository.UserIdentityRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdentityFilterTest {
+
+  @Mock
+  UserRepository userRepository;
+
+  @Mock
+  PlatformTransactionManager transactionManager;
+
+  private SimpleMeterRegistry meterRegistry;
+  private UserIdentityFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    filter = new UserIdentityFilter(
+        userRepository, transactionManager, true, 0.01, 1000, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("isUsernameTaken - before first build: checks the database")
+  void isUsernameTaken_BeforeBuild_ChecksDatabase() {
+    // Arrange
+    when(userRepository.existsByUsername("alice")).thenReturn(true);
+
+    // Act
+    var taken = filter.isUsernameTaken("alice");
+
+    // Assert
+    assertThat(taken).isTrue();
+  }
+
+  @Test
+  @DisplayName("isUsernameTaken - unknown username after build: free without querying")
+  void isUsernameTaken_UnknownAfterBuild_FreeWithoutQuery() {
+    // Arrange
+    build(identity("alice", "alice@example.com"));
+
+    // Act
+    var taken = filter.isUsernameTaken("bob");
+
+    // Assert
+    assertThat(taken).isFalse();
+    verify(userRepository, never()).existsByUsername("bob");
+    assertThat(checks("username", "negative")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("isEmailTaken - registered email after build: confirmed by the database")
+  void isEmailTaken_RegisteredAfterBuild_ConfirmedByDatabase() {
+    // Arrange
+    build(identity("alice", "alice@example.com"));
+    when(userRepository.existsByEmail("alice@example.com")).thenReturn(true);
+
+    // Act
+    var taken = filter.isEmailTaken("alice@example.com");
+
+    // Assert
+    assertThat(taken).isTrue();
+    assertThat(checks("email", "true_positive")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("isUsernameTaken - possible hit not in database: counted as false positive")
+  void isUsernameTaken_PossibleHitNotInDatabase_CountedAsFalsePositive() {
+    // Arrange
+    build();
+    filter.add("carol", "carol@example.com");
+    when(userRepository.existsByUsername("carol")).thenReturn(false);
+
+    // Act
+    var taken = filter.isUsernameTaken("carol");
+
+    // Assert
+    assertThat(taken).isFalse();
+    assertThat(checks("username", "false_positive")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("rebuild - after build: publishes memory and estimated false positive rate")
+  void rebuild_AfterBuild_PublishesMemoryAndRate() {
+    // Act
+    build(identity("alice", "alice@example.com"));
+
+    // Assert
+    var memory = meterRegistry.get("signup.identity.filter.memory")
+        .tag("field", "username").gauge().value();
+    var rate = meterRegistry.get("signup.identity.filter.false.positive.rate")
+        .tag("field", "email").gauge().value();
+    assertThat(memory).isEqualTo(BloomFilter.create(2000, 0.01).bitSizeInBytes());
+    assertThat(rate).isGreaterThan(0).isLessThan(0.01);
+  }
+
+  @Test
+  @DisplayName("isUsernameTaken - filter disabled: free without querying")
+  void isUsernameTaken_Disabled_FreeWithoutQuery() {
+    // Arrange
+    filter = new UserIdentityFilter(
+        userRepository, transactionManager, false, 0.01, 1000, meterRegistry);
+    filter.rebuild();
+
+    // Act
+    var taken = filter.isUsernameTaken("alice");
+
+    // Assert
+    assertThat(taken).isFalse();
+    verify(userRepository, never()).existsByUsername("alice");
+    verify(userRepository, never()).streamAllIdentities();
+  }
+
+  private void build(UserIdentityRow... identities) {
+    when(userRepository.count()).thenReturn(1000L);
+    when(userRepository.streamAllIdentities()).thenReturn(Stream.of(identities));
+    filter.rebuild();
+  }
+
+  private double checks(String field, String result) {
+    return meterRegistry.get("signup.identity.filter.checks")
+        .tag("field", field).tag("result", result).counter().count();
+  }
+
+  private static UserIdentityRow identity(String username, String email) {
+    return new UserIdentityRow() {
+      @Override
+      public String getUsername() {
+        return username;
+      }
+
+      @Override
+      public String getEmail() {
+        return email;
+      }
+    };
+  }
+}
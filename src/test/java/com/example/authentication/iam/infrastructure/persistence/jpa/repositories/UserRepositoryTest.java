@@ -0,0 +1,145 @@
+package com.example.authentication.iam.infrastructure.persistence.jpa.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.authentication.iam.domain.model.aggregates.User;
+import com.example.authentication.iam.domain.model.entities.Role;
+import com.example.authentication.iam.domain.model.valueobjects.Roles;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.UserRepository.UserSummaryRow;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Runs the repository queries against an in-process PostgreSQL, with the schema created by
+ * the Flyway migrations and validated against the entities.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+class UserRepositoryTest {
+
+  @TestConfiguration
+  static class PostgresConfiguration {
+
+    @Bean(destroyMethod = "close")
+    EmbeddedPostgres embeddedPostgres() throws IOException {
+      return EmbeddedPostgres.start();
+    }
+
+    @Bean
+    DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+      return embeddedPostgres.getPostgresDatabase();
+    }
+  }
+
+  @Autowired
+  UserRepository userRepository;
+
+  @Autowired
+  RoleRepository roleRepository;
+
+  private Role admin;
+  private Role user;
+
+  @BeforeEach
+  void seedRoles() {
+    admin = roleRepository.save(new Role(Roles.ROLE_ADMIN));
+    user = roleRepository.save(new Role(Roles.ROLE_USER));
+  }
+
+  @Test
+  @DisplayName("findSummariesAfter - users with and without roles: aggregates sorted role names")
+  void findSummariesAfter_UsersWithAndWithoutRoles_AggregatesRoleNames() {
+    // Arrange
+    var alice = new User("alice", "alice@example.com", "hash", List.of(user, admin));
+    alice.changeStatus(true);
+    var aliceId = userRepository.save(alice).getId();
+    userRepository.save(new User("bob", "bob@example.com", "hash"));
+
+    // Act
+    var rows = userRepository.findSummariesAfter(0L, 10);
+
+    // Assert
+    assertThat(rows).extracting(UserSummaryRow::getUsername).containsExactly("alice", "bob");
+    assertThat(rows.getFirst().getId()).isEqualTo(aliceId);
+    assertThat(rows.getFirst().getEmail()).isEqualTo("alice@example.com");
+    assertThat(rows.getFirst().getActive()).isTrue();
+    assertThat(rows.getFirst().getRoles()).isEqualTo("ROLE_ADMIN,ROLE_USER");
+    assertThat(rows.getLast().getActive()).isFalse();
+    assertThat(rows.getLast().getRoles()).isNull();
+  }
+
+  @Test
+  @DisplayName("findSummariesAfter - cursor and limit: returns the next page only")
+  void findSummariesAfter_CursorAndLimit_ReturnsNextPage() {
+    // Arrange
+    var ids = List.of("carol", "dave", "erin").stream()
+        .map(name -> userRepository.save(
+            new User(name, name + "@example.com", "hash", List.of(user))).getId())
+        .toList();
+
+    // Act
+    var rows = userRepository.findSummariesAfter(ids.getFirst(), 1);
+
+    // Assert
+    assertThat(rows).extracting(UserSummaryRow::getUsername).containsExactly("dave");
+  }
+
+  @Test
+  @DisplayName("findSummaryById / streamAllSummaries - saved user: reads the same summary")
+  void findSummaryByIdAndStream_SavedUser_ReadSameSummary() {
+    // Arrange
+    var id = userRepository.save(
+        new User("frank", "frank@example.com", "hash", List.of(user))).getId();
+
+    // Act
+    var byId = userRepository.findSummaryById(id);
+    List<String> streamed;
+    try (var rows = userRepository.streamAllSummaries()) {
+      streamed = rows.map(UserSummaryRow::getUsername).toList();
+    }
+
+    // Assert
+    assertThat(byId).map(UserSummaryRow::getRoles).contains("ROLE_USER");
+    assertThat(userRepository.findSummaryById(id + 1)).isEmpty();
+    assertThat(streamed).containsExactly("frank");
+  }
+
+  @Test
+  @DisplayName("saveAndFlush - taken username: violates the username unique constraint")
+  void saveAndFlush_TakenUsername_ViolatesUsernameConstraint() {
+    // Arrange
+    userRepository.saveAndFlush(new User("grace", "grace@example.com", "hash"));
+
+    // Act & Assert
+    assertThatThrownBy(() -> userRepository.saveAndFlush(
+        new User("grace", "other@example.com", "hash")))
+        .isInstanceOf(DataIntegrityViolationException.class)
+        .hasMessageContaining(User.USERNAME_UNIQUE_CONSTRAINT);
+  }
+
+  @Test
+  @DisplayName("saveAndFlush - taken email: violates the email unique constraint")
+  void saveAndFlush_TakenEmail_ViolatesEmailConstraint() {
+    // Arrange
+    userRepository.saveAndFlush(new User("grace", "grace@example.com", "hash"));
+
+    // Act & Assert
+    assertThatThrownBy(() -> userRepository.saveAndFlush(
+        new User("other", "grace@example.com", "hash")))
+        .isInstanceOf(DataIntegrityViolationException.class)
+        .hasMessageContaining(User.EMAIL_UNIQUE_CONSTRAINT);
+  }
+}
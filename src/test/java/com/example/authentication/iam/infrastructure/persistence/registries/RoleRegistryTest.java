@@ -0,0 +1,76 @@
+package com.example.authentication.iam.infrastructure.persistence.registries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.authentication.iam.domain.model.entities.Role;
+import com.example.authentication.iam.domain.model.events.RolesChangedEvent;
+import com.example.authentication.iam.domain.model.valueobjects.Roles;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.RoleRepository;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RoleRegistryTest {
+
+  @Mock
+  RoleRepository roleRepository;
+
+  @InjectMocks
+  RoleRegistry registry;
+
+  @Test
+  @DisplayName("find - repeated lookups: reads the repository once")
+  void find_RepeatedLookups_ReadsRepositoryOnce() {
+    // Arrange
+    var admin = new Role(1L, Roles.ROLE_ADMIN);
+    var user = new Role(2L, Roles.ROLE_USER);
+    when(roleRepository.findAll()).thenReturn(List.of(user, admin));
+
+    // Act
+    var first = registry.find(Roles.ROLE_USER);
+    var second = registry.find(Roles.ROLE_ADMIN);
+    var all = registry.findAll();
+
+    // Assert
+    assertThat(first).containsSame(user);
+    assertThat(second).containsSame(admin);
+    assertThat(all).containsExactly(admin, user);
+    verify(roleRepository, times(1)).findAll();
+  }
+
+  @Test
+  @DisplayName("find - role not stored: returns empty")
+  void find_RoleNotStored_ReturnsEmpty() {
+    // Arrange
+    when(roleRepository.findAll()).thenReturn(List.of(new Role(2L, Roles.ROLE_USER)));
+
+    // Act
+    var result = registry.find(Roles.ROLE_ADMIN);
+
+    // Assert
+    assertThat(result).isEmpty();
+  }
+
+  @Test
+  @DisplayName("on(RolesChangedEvent) - roles seeded after first load: serves the new roles")
+  void on_RolesChanged_ServesNewRoles() {
+    // Arrange
+    var admin = new Role(1L, Roles.ROLE_ADMIN);
+    when(roleRepository.findAll()).thenReturn(List.<Role>of()).thenReturn(List.of(admin));
+    assertThat(registry.find(Roles.ROLE_ADMIN)).isEmpty();
+
+    // Act
+    registry.on(new RolesChangedEvent());
+
+    // Assert
+    assertThat(registry.find(Roles.ROLE_ADMIN)).containsSame(admin);
+  }
+}
@@ -0,0 +1,54 @@
+package com.example.authentication.iam.infrastructure.tokens.epochs;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per-request cost of reading a user's token epoch.
+ *
+ * <p>{@code boxedMap} looks the epoch up in a {@code ConcurrentHashMap<Long, Long>};
+ * {@code primitiveMap} goes through {@link TokenEpochMap}. Both hold one epoch for each of
+ * {@value #USERS} users and are read with random identifiers, half of them absent.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenEpochMapBenchmark {
+
+  private static final int USERS = 100_000;
+
+  private final TokenEpochMap primitive = new TokenEpochMap();
+  private final ConcurrentHashMap<Long, Long> boxed = new ConcurrentHashMap<>();
+
+  @Setup
+  public void setUp() {
+    for (long userId = 1; userId <= USERS; userId++) {
+      primitive.advance(userId, userId);
+      boxed.put(userId, userId);
+    }
+  }
+
+  @Benchmark
+  public long primitiveMap() {
+    return primitive.get(ThreadLocalRandom.current().nextLong(1, USERS * 2L));
+  }
+
+  @Benchmark
+  public long boxedMap() {
+    return boxed.getOrDefault(ThreadLocalRandom.current().nextLong(1, USERS * 2L), 0L);
+  }
+}
@@ -0,0 +1,74 @@
+package com.example.authentication.iam.infrastructure.tokens.epochs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TokenEpochMapTest {
+
+  private final TokenEpochMap map = new TokenEpochMap();
+
+  @Test
+  @DisplayName("get - unknown user: returns zero")
+  void get_UnknownUser_Zero() {
+    assertThat(map.get(42L)).isZero();
+  }
+
+  @Test
+  @DisplayName("advance - lower epoch than the current one: keeps the current one")
+  void advance_LowerEpoch_KeepsCurrent() {
+    // Arrange
+    map.advance(42L, 2_000L);
+
+    // Act
+    map.advance(42L, 1_000L);
+
+    // Assert
+    assertThat(map.get(42L)).isEqualTo(2_000L);
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("advance - past several resizes: every epoch still found")
+  void advance_PastResizes_AllFound() {
+    // Arrange
+    for (long userId = 1; userId <= 10_000; userId++) {
+      map.advance(userId, userId * 10);
+    }
+
+    // Act & Assert
+    for (long userId = 1; userId <= 10_000; userId++) {
+      assertThat(map.get(userId)).isEqualTo(userId * 10);
+    }
+    assertThat(map.get(10_001L)).isZero();
+    assertThat(map.size()).isEqualTo(10_000);
+    assertThat(map.memoryBytes()).isEqualTo(16_384L * 2 * Long.BYTES);
+  }
+
+  @Test
+  @DisplayName("removeBelow - mixed epochs: drops only the older ones")
+  void removeBelow_MixedEpochs_DropsOlder() {
+    // Arrange
+    for (long userId = 1; userId <= 100; userId++) {
+      map.advance(userId, userId);
+    }
+
+    // Act
+    var removed = map.removeBelow(51L);
+
+    // Assert
+    assertThat(removed).isEqualTo(50);
+    assertThat(map.size()).isEqualTo(50);
+    assertThat(map.get(50L)).isZero();
+    assertThat(map.get(51L)).isEqualTo(51L);
+    assertThat(map.get(100L)).isEqualTo(100L);
+  }
+
+  @Test
+  @DisplayName("advance - user identifier zero: throws IllegalArgumentException")
+  void advance_UserIdZero_Throws() {
+    assertThrows(IllegalArgumentException.class, () -> map.advance(0L, 1L));
+  }
+}
@@ -0,0 +1,132 @@
+package com.example.authentication.iam.infrastructure.tokens.epochs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.authentication.iam.domain.model.events.UserChangedEvent;
+import com.example.authentication.iam.domain.model.events.UserChangedEvent.ChangeType;
+import com.example.authentication.iam.infrastructure.messaging.RemoteUserChangedEvent;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.UserRepository;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.UserRepository.TokenEpochRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class TokenEpochStoreTest {
+
+  private static final Instant NOW = Instant.parse("2026-01-02T12:00:00Z");
+  private static final Duration TOKEN_LIFETIME = Duration.ofDays(1);
+
+  @Mock
+  UserRepository userRepository;
+
+  @Mock
+  PlatformTransactionManager transactionManager;
+
+  private SimpleMeterRegistry meterRegistry;
+  private TokenEpochStore store;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    store = new TokenEpochStore(userRepository, transactionManager, TOKEN_LIFETIME,
+        meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+  }
+
+  @Test
+  @DisplayName("advance - new instant: epoch read back in milliseconds")
+  void advance_NewInstant_EpochInMillis() {
+    // Act
+    store.advance(42L, NOW);
+
+    // Assert
+    assertThat(store.epochOf(42L)).isEqualTo(NOW.toEpochMilli());
+    assertThat(store.epochOf(43L)).isZero();
+    assertThat(meterRegistry.get("tokens.epochs.entries").gauge().value()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("load - persisted epochs: loads those younger than the token lifetime")
+  void load_PersistedEpochs_Loaded() {
+    // Arrange
+    when(userRepository.streamTokenEpochsSince(NOW.minus(TOKEN_LIFETIME)))
+        .thenReturn(Stream.of(row(42L, NOW.minusSeconds(60))));
+
+    // Act
+    store.load();
+
+    // Assert
+    assertThat(store.epochOf(42L)).isEqualTo(NOW.minusSeconds(60).toEpochMilli());
+  }
+
+  @Test
+  @DisplayName("removeExpired - epoch older than the token lifetime: dropped")
+  void removeExpired_OldEpoch_Dropped() {
+    // Arrange
+    store.advance(42L, NOW.minus(TOKEN_LIFETIME).minusSeconds(1));
+    store.advance(43L, NOW.minusSeconds(1));
+
+    // Act
+    store.removeExpired();
+
+    // Assert
+    assertThat(store.epochOf(42L)).isZero();
+    assertThat(store.epochOf(43L)).isEqualTo(NOW.minusSeconds(1).toEpochMilli());
+  }
+
+  @Test
+  @DisplayName("on(RemoteUserChangedEvent) - password changed elsewhere: reads the epoch again")
+  void onRemoteChange_PasswordChanged_ReadsEpoch() {
+    // Arrange
+    when(userRepository.findTokensValidAfterById(42L)).thenReturn(Optional.of(NOW));
+
+    // Act
+    store.on(remoteChange(ChangeType.PASSWORD));
+
+    // Assert
+    assertThat(store.epochOf(42L)).isEqualTo(NOW.toEpochMilli());
+  }
+
+  @Test
+  @DisplayName("on(RemoteUserChangedEvent) - roles changed elsewhere: ignored")
+  void onRemoteChange_RolesChanged_Ignored() {
+    // Act
+    store.on(remoteChange(ChangeType.ROLES));
+
+    // Assert
+    verify(userRepository, never()).findTokensValidAfterById(any());
+  }
+
+  private static RemoteUserChangedEvent remoteChange(ChangeType changeType) {
+    return new RemoteUserChangedEvent(new UserChangedEvent(42L, "alice", changeType));
+  }
+
+  private static TokenEpochRow row(Long id, Instant tokensValidAfter) {
+    return new TokenEpochRow() {
+      @Override
+      public Long getId() {
+        return id;
+      }
+
+      @Override
+      public Instant getTokensValidAfter() {
+        return tokensValidAfter;
+      }
+    };
+  }
+}
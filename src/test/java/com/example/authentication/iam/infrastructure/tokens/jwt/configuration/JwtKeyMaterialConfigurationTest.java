@@ -0,0 +1,48 @@
+package com.example.authentication.iam.infrastructure.tokens.jwt.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.authentication.iam.infrastructure.tokens.jwt.model.JwtSigningAlgorithm;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class JwtKeyMaterialConfigurationTest {
+
+  private static final String SECRET = "WriteHereYourSecretStringForTokenSigningCredentials";
+
+  private final JwtKeyMaterialConfiguration configuration = new JwtKeyMaterialConfiguration();
+
+  @Test
+  @DisplayName("jwtKeyMaterial - ES256 without keys, generation not allowed: throws")
+  void jwtKeyMaterial_NoKeysGenerationNotAllowed_Throws() {
+    assertThatThrownBy(() -> configuration.jwtKeyMaterial(
+        JwtSigningAlgorithm.ES256, SECRET, "", "", false))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("authorization.jwt.generate-key-pair");
+  }
+
+  @Test
+  @DisplayName("jwtKeyMaterial - EDDSA without keys, generation allowed: signs with a new pair")
+  void jwtKeyMaterial_NoKeysGenerationAllowed_GeneratesKeyPair() {
+    // Act
+    var keyMaterial = configuration.jwtKeyMaterial(
+        JwtSigningAlgorithm.EDDSA, SECRET, "", "", true);
+
+    // Assert
+    assertThat(keyMaterial.canSign()).isTrue();
+    assertThat(keyMaterial.keyId()).isNotNull();
+  }
+
+  @Test
+  @DisplayName("jwtKeyMaterial - HMAC, generation not allowed: signs with the secret")
+  void jwtKeyMaterial_Hmac_UsesSecret() {
+    // Act
+    var keyMaterial = configuration.jwtKeyMaterial(
+        JwtSigningAlgorithm.HMAC, SECRET, "", "", false);
+
+    // Assert
+    assertThat(keyMaterial.canSign()).isTrue();
+    assertThat(keyMaterial.keyId()).isNull();
+  }
+}
@@ -0,0 +1,86 @@
+package com.example.authentication.iam.infrastructure.tokens.jwt.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import java.security.KeyPair;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class JwtKeyMaterialTest {
+
+  private static final String SECRET = "WriteHereYourSecretStringForTokenSigningCredentials";
+
+  @Test
+  @DisplayName("fromSecret - HMAC secret: no key identifier and nothing to publish")
+  void fromSecret_HmacSecret_PublishesNothing() {
+    // Act
+    var keyMaterial = JwtKeyMaterial.fromSecret(SECRET);
+
+    // Assert
+    assertThat(keyMaterial.keyId()).isNull();
+    assertThat(keyMaterial.canSign()).isTrue();
+    assertThat(keyMaterial.publicJwk()).isNull();
+  }
+
+  @Test
+  @DisplayName("fromKeyPair - ES256 key pair: publishes only the public key, identified by kid")
+  void fromKeyPair_Es256KeyPair_PublishesPublicKey() {
+    // Act
+    var keyMaterial = JwtKeyMaterial.fromKeyPair(
+        JwtSigningAlgorithm.ES256, JwtSigningAlgorithm.ES256.generateKeyPair());
+
+    // Assert
+    var jwk = Jwks.parser().build().parse(keyMaterial.publicJwk());
+    assertThat(jwk.getId()).isEqualTo(keyMaterial.keyId());
+    assertThat(jwk.getAlgorithm()).isEqualTo("ES256");
+    assertThat(jwk).containsEntry("crv", "P-256").containsEntry("use", "sig")
+        .doesNotContainKey("d");
+  }
+
+  @Test
+  @DisplayName("fromPublicKey - Ed25519 public key: verify-only, identified by the given kid")
+  void fromPublicKey_Ed25519PublicKey_VerifyOnly() {
+    // Arrange
+    var keyPair = JwtSigningAlgorithm.EDDSA.generateKeyPair();
+
+    // Act
+    var keyMaterial = JwtKeyMaterial.fromPublicKey(
+        "2026-10", JwtSigningAlgorithm.EDDSA, keyPair.getPublic());
+
+    // Assert
+    assertThat(keyMaterial.canSign()).isFalse();
+    assertThat(keyMaterial.keyId()).isEqualTo("2026-10");
+    assertThat(keyMaterial.verificationKey()).isEqualTo(keyPair.getPublic());
+    assertThat(Jwks.parser().build().parse(keyMaterial.publicJwk()).getId())
+        .isEqualTo("2026-10");
+  }
+
+  @Test
+  @DisplayName("fromKeyPair - key pair of another curve: rejected")
+  void fromKeyPair_OtherCurve_Rejected() {
+    // Arrange
+    var p384 = Jwts.SIG.ES384.keyPair().build();
+
+    // Act & Assert
+    assertThatThrownBy(() -> JwtKeyMaterial.fromKeyPair(JwtSigningAlgorithm.ES256, p384))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("P-256");
+  }
+
+  @Test
+  @DisplayName("fromKeyPair - private and public key of different pairs: rejected")
+  void fromKeyPair_MismatchedKeys_Rejected() {
+    // Arrange
+    var first = JwtSigningAlgorithm.EDDSA.generateKeyPair();
+    var second = JwtSigningAlgorithm.EDDSA.generateKeyPair();
+    var mismatched = new KeyPair(first.getPublic(), second.getPrivate());
+
+    // Act & Assert
+    assertThatThrownBy(() -> JwtKeyMaterial.fromKeyPair(JwtSigningAlgorithm.EDDSA, mismatched))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("do not match");
+  }
+}
@@ -0,0 +1,77 @@
+package com.example.authentication.iam.infrastructure.tokens.jwt.model;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the cost of signing and verifying a token with HS256, ES256 and EdDSA.
+ *
+ * <p>HS256 uses a 256-bit secret; ES256 and EdDSA go through
+ * {@link JwtKeyMaterial#fromKeyPair}, as with an asymmetric
+ * {@code authorization.jwt.algorithm}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtSigningAlgorithmBenchmark {
+
+  private static final String HS256_SECRET = "0123456789abcdef0123456789abcdef";
+
+  @Param({"HS256", "ES256", "EdDSA"})
+  public String algorithm;
+
+  private JwtKeyMaterial keyMaterial;
+  private JwtParser parser;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    keyMaterial = switch (algorithm) {
+      case "HS256" -> JwtKeyMaterial.fromSecret(HS256_SECRET);
+      case "ES256" -> JwtKeyMaterial.fromKeyPair(
+          JwtSigningAlgorithm.ES256, JwtSigningAlgorithm.ES256.generateKeyPair());
+      default -> JwtKeyMaterial.fromKeyPair(
+          JwtSigningAlgorithm.EDDSA, JwtSigningAlgorithm.EDDSA.generateKeyPair());
+    };
+    parser = Jwts.parser()
+        .keyLocator(header -> keyMaterial.verificationKey())
+        .build();
+    token = sign();
+  }
+
+  @Benchmark
+  public String sign() {
+    var issuedAt = new Date();
+    return Jwts.builder()
+        .header().keyId(keyMaterial.keyId()).and()
+        .subject("benchmark-user")
+        .issuedAt(issuedAt)
+        .expiration(new Date(issuedAt.getTime() + 900_000))
+        .signWith(keyMaterial.signingKey())
+        .compact();
+  }
+
+  @Benchmark
+  public String verify() {
+    return parser
+        .parseSignedClaims(token)
+        .getPayload()
+        .getSubject();
+  }
+}
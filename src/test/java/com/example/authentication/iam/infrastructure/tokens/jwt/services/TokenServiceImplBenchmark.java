@@ -0,0 +1,103 @@
+package com.example.authentication.iam.infrastructure.tokens.jwt.services;
+
+import com.example.authentication.iam.domain.model.aggregates.User;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.RevokedTokenRepository;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.SigningKeyRepository;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.UserRepository;
+import com.example.authentication.iam.infrastructure.tokens.epochs.TokenEpochStore;
+import com.example.authentication.iam.infrastructure.tokens.jwt.model.JwtKeyMaterial;
+import com.example.authentication.iam.infrastructure.tokens.keys.JwtKeyRingStore;
+import com.example.authentication.iam.infrastructure.tokens.keys.SigningKeyCipher;
+import com.example.authentication.iam.infrastructure.tokens.revocation.TokenRevocationStore;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Measures the per-request cost of validating a bearer token.
+ *
+ * <p>{@code perCallKeyAndParser} reproduces the previous behaviour, where the signing key
+ * and the parser were rebuilt on every call; {@code cachedKeyMaterial} goes through
+ * {@link TokenServiceImpl} and its pre-built parser.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceImplBenchmark {
+
+  private static final String SECRET = "WriteHereYourSecretStringForTokenSigningCredentials";
+
+  private TokenServiceImpl tokenService;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    tokenService = new TokenServiceImpl(
+        keyRingStore(), 1, Duration.ofMinutes(15), false, revocationStore(), epochStore());
+    var user = new User("benchmark-user", "benchmark-user@example.com", "hashed");
+    ReflectionTestUtils.setField(user, "id", 1L);
+    token = tokenService.generateToken(user);
+  }
+
+  @Benchmark
+  public boolean perCallKeyAndParser() {
+    var key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    return Jwts.parser()
+        .verifyWith(key)
+        .build()
+        .parseSignedClaims(token)
+        .getPayload()
+        .getSubject() != null;
+  }
+
+  @Benchmark
+  public boolean cachedKeyMaterial() {
+    return tokenService.validateToken(token);
+  }
+
+  private static JwtKeyRingStore keyRingStore() {
+    return new JwtKeyRingStore(
+        JwtKeyMaterial.fromSecret(SECRET),
+        Mockito.mock(SigningKeyRepository.class),
+        new SigningKeyCipher(""),
+        Duration.ofSeconds(30),
+        new SimpleMeterRegistry());
+  }
+
+  private static TokenEpochStore epochStore() {
+    return new TokenEpochStore(
+        Mockito.mock(UserRepository.class),
+        Mockito.mock(PlatformTransactionManager.class),
+        Duration.ofMinutes(15),
+        new SimpleMeterRegistry());
+  }
+
+  private static TokenRevocationStore revocationStore() {
+    return new TokenRevocationStore(
+        Mockito.mock(RevokedTokenRepository.class),
+        Mockito.mock(PlatformTransactionManager.class),
+        event -> { },
+        Duration.ofMinutes(1),
+        1000,
+        new SimpleMeterRegistry());
+  }
+}
@@ -0,0 +1,392 @@
+package com.example.authentication.iam.infrastructure.tokens.jwt.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.authentication.iam.application.internal.outboundservices.tokens.TokenValidationResult.FailureReason;
+import com.example.authentication.iam.domain.model.aggregates.User;
+import com.example.authentication.iam.domain.model.entities.Role;
+import com.example.authentication.iam.domain.model.valueobjects.Roles;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.SigningKeyRepository;
+import com.example.authentication.iam.infrastructure.tokens.epochs.TokenEpochStore;
+import com.example.authentication.iam.infrastructure.tokens.jwt.JwtClaimNames;
+import com.example.authentication.iam.infrastructure.tokens.jwt.model.JwtKeyMaterial;
+import com.example.authentication.iam.infrastructure.tokens.jwt.model.JwtSigningAlgorithm;
+import com.example.authentication.iam.infrastructure.tokens.keys.JwtKeyRingStore;
+import com.example.authentication.iam.infrastructure.tokens.keys.SigningKeyCipher;
+import com.example.authentication.iam.infrastructure.tokens.keys.model.SigningKey;
+import com.example.authentication.iam.infrastructure.tokens.revocation.TokenRevocationStore;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class TokenServiceImplTest {
+
+  private static final String SECRET = "WriteHereYourSecretStringForTokenSigningCredentials";
+  private static final SigningKeyCipher CIPHER =
+      new SigningKeyCipher("AAECAwQFBgcICQoLDA0ODxAREhMUFRYXGBkaGxwdHh8=");
+
+  @Mock
+  TokenRevocationStore revocationStore;
+
+  @Mock
+  TokenEpochStore epochStore;
+
+  @Mock
+  SigningKeyRepository signingKeyRepository;
+
+  private JwtKeyRingStore keyRingStore;
+
+  private TokenServiceImpl tokenService;
+
+  @BeforeEach
+  void setUp() {
+    keyRingStore = new JwtKeyRingStore(JwtKeyMaterial.fromSecret(SECRET), signingKeyRepository,
+        CIPHER, Duration.ofSeconds(30), new SimpleMeterRegistry());
+    tokenService = new TokenServiceImpl(
+        keyRingStore, 1, Duration.ofMinutes(15), false, revocationStore, epochStore);
+  }
+
+  @Test
+  @DisplayName("generateToken - any user: carries a random jti")
+  void generateToken_AnyUser_CarriesJti() {
+    // Act
+    var first = tokenService.verifyToken(tokenService.generateToken(user(42L)));
+    var second = tokenService.verifyToken(tokenService.generateToken(user(42L)));
+
+    // Assert
+    var firstId = UUID.fromString((String) first.claims().get(Claims.ID));
+    assertThat(firstId).isNotEqualTo(UUID.fromString((String) second.claims().get(Claims.ID)));
+  }
+
+  @Test
+  @DisplayName("verifyToken - revoked token: invalid with REVOKED")
+  void verifyToken_RevokedToken_Invalid() {
+    // Arrange
+    var token = tokenService.generateToken(user(42L));
+    when(revocationStore.isRevoked(any(), any())).thenReturn(true);
+
+    // Act
+    var result = tokenService.verifyToken(token);
+
+    // Assert
+    assertThat(result.isValid()).isFalse();
+    assertThat(result.failureReason()).isEqualTo(FailureReason.REVOKED);
+  }
+
+  @Test
+  @DisplayName("generateToken(User) - user with a token epoch: carries its identifier and epoch")
+  void generateToken_UserWithEpoch_CarriesIdentifierAndEpoch() {
+    // Arrange
+    var user = user(42L);
+    ReflectionTestUtils.setField(user, "tokensValidAfter", Instant.ofEpochMilli(1_000));
+    when(epochStore.epochOf(42L)).thenReturn(1_000L);
+
+    // Act
+    var result = tokenService.verifyToken(tokenService.generateToken(user));
+
+    // Assert
+    assertThat(result.isValid()).isTrue();
+    assertThat(((Number) result.claims().get(JwtClaimNames.USER_ID)).longValue()).isEqualTo(42L);
+    assertThat(((Number) result.claims().get(JwtClaimNames.TOKEN_EPOCH)).longValue())
+        .isEqualTo(1_000L);
+  }
+
+  @Test
+  @DisplayName("generateToken(User) - self-contained tokens: carries identifier, roles and status")
+  void generateToken_SelfContained_CarriesIdentifierRolesAndStatus() {
+    // Arrange
+    var selfContainedService = new TokenServiceImpl(
+        keyRingStore, 1, Duration.ofMinutes(15), true, revocationStore, epochStore);
+    var user = user(42L);
+    user.addRoles(List.of(new Role(Roles.ROLE_ADMIN)));
+    user.changeStatus(true);
+
+    // Act
+    var result = selfContainedService.verifyToken(selfContainedService.generateToken(user));
+
+    // Assert
+    assertThat(result.isValid()).isTrue();
+    assertThat(result.subject()).isEqualTo("alice");
+    assertThat(((Number) result.claims().get(JwtClaimNames.USER_ID)).longValue()).isEqualTo(42L);
+    assertThat(result.claims().get(JwtClaimNames.AUTHORITIES)).isEqualTo(List.of("ROLE_ADMIN"));
+    assertThat(result.claims().get(JwtClaimNames.ACTIVE)).isEqualTo(true);
+  }
+
+  @Test
+  @DisplayName("generateToken(User) - tokens not self-contained: no roles nor status")
+  void generateToken_NotSelfContained_NoRolesNorStatus() {
+    // Arrange
+    var user = user(42L);
+    user.addRoles(List.of(new Role(Roles.ROLE_ADMIN)));
+
+    // Act
+    var result = tokenService.verifyToken(tokenService.generateToken(user));
+
+    // Assert
+    assertThat(result.claims())
+        .containsKey(JwtClaimNames.USER_ID)
+        .doesNotContainKeys(JwtClaimNames.AUTHORITIES, JwtClaimNames.ACTIVE);
+  }
+
+  @Test
+  @DisplayName("generateToken - access and verification: access lives minutes, verification days")
+  void generateToken_AccessAndVerification_DifferentLifetimes() {
+    // Act
+    var accessToken = tokenService.verifyToken(tokenService.generateToken(user(42L)));
+    var usernameToken = tokenService.verifyVerificationToken(
+        tokenService.generateVerificationToken("alice"));
+
+    // Assert
+    assertThat(accessToken.expiration())
+        .isBetween(Instant.now().plus(Duration.ofMinutes(14)),
+            Instant.now().plus(Duration.ofMinutes(15)));
+    assertThat(usernameToken.expiration()).isAfter(Instant.now().plus(Duration.ofHours(23)));
+  }
+
+  @Test
+  @DisplayName("generateToken - EdDSA key pair: verifiable with the published key by kid")
+  void generateToken_EdDsaKeyPair_VerifiableWithPublishedKey() {
+    // Arrange
+    var keyMaterial = JwtKeyMaterial.fromKeyPair(
+        JwtSigningAlgorithm.EDDSA, JwtSigningAlgorithm.EDDSA.generateKeyPair());
+    var asymmetricRing = new JwtKeyRingStore(keyMaterial, signingKeyRepository, CIPHER,
+        Duration.ofSeconds(30), new SimpleMeterRegistry());
+    var asymmetricService = new TokenServiceImpl(
+        asymmetricRing, 1, Duration.ofMinutes(15), false, revocationStore, epochStore);
+
+    // Act
+    var token = asymmetricService.generateToken(user(42L));
+
+    // Assert
+    var publishedKey = Jwks.setParser().build()
+        .parse(asymmetricRing.current().jwkSet()).getKeys().stream()
+        .filter(jwk -> jwk.getId().equals(keyMaterial.keyId()))
+        .findFirst()
+        .orElseThrow();
+    var jws = Jwts.parser()
+        .verifyWith((PublicKey) publishedKey.toKey())
+        .build()
+        .parseSignedClaims(token);
+    assertThat(jws.getHeader().getAlgorithm()).isEqualTo("EdDSA");
+    assertThat(jws.getHeader().getKeyId()).isEqualTo(keyMaterial.keyId());
+    assertThat(jws.getPayload().getSubject()).isEqualTo("alice");
+  }
+
+  @Test
+  @DisplayName("verifyToken - token of the previous signer after a rotation: still valid")
+  void verifyToken_PreviousSignerAfterRotation_Valid() {
+    // Arrange
+    var previousToken = tokenService.generateToken(user(42L));
+    var keyPair = JwtSigningAlgorithm.ES256.generateKeyPair();
+    when(signingKeyRepository.findUnexpired(any())).thenReturn(List.of(new SigningKey(
+        "2026-10", JwtSigningAlgorithm.ES256, null,
+        CIPHER.encrypt("2026-10", pem(keyPair.getPrivate())),
+        pem(keyPair.getPublic()), Instant.now().minusSeconds(1), null)));
+
+    // Act
+    keyRingStore.reload();
+    var nextToken = tokenService.generateToken(user(42L));
+
+    // Assert
+    assertThat(tokenService.validateToken(previousToken)).isTrue();
+    assertThat(tokenService.validateToken(nextToken)).isTrue();
+    assertThat(Jwts.parser().verifyWith(keyPair.getPublic()).build()
+        .parseSignedClaims(nextToken).getHeader().getKeyId()).isEqualTo("2026-10");
+  }
+
+  @Test
+  @DisplayName("verifyToken - kid not in the key ring: invalid with INVALID_SIGNATURE")
+  void verifyToken_UnknownKeyId_Invalid() {
+    // Arrange
+    var token = Jwts.builder()
+        .header().keyId("unknown").and()
+        .subject("alice")
+        .signWith(JwtKeyMaterial.fromSecret(SECRET).signingKey())
+        .compact();
+
+    // Act
+    var result = tokenService.verifyToken(token);
+
+    // Assert
+    assertThat(result.isValid()).isFalse();
+    assertThat(result.failureReason()).isEqualTo(FailureReason.INVALID_SIGNATURE);
+  }
+
+  @Test
+  @DisplayName("verifyToken - token without expiration: invalid with MALFORMED")
+  void verifyToken_NoExpiration_Invalid() {
+    // Arrange
+    var token = Jwts.builder()
+        .id(UUID.randomUUID().toString())
+        .subject("alice")
+        .signWith(JwtKeyMaterial.fromSecret(SECRET).signingKey())
+        .compact();
+
+    // Act
+    var result = tokenService.verifyToken(token);
+
+    // Assert
+    assertThat(result.isValid()).isFalse();
+    assertThat(result.failureReason()).isEqualTo(FailureReason.MALFORMED);
+    verify(revocationStore, never()).isRevoked(any(), any());
+  }
+
+  @Test
+  @DisplayName("verifyToken - verification token: invalid with WRONG_TYPE")
+  void verifyToken_VerificationToken_Invalid() {
+    // Act
+    var result = tokenService.verifyToken(tokenService.generateVerificationToken("alice"));
+
+    // Assert
+    assertThat(result.isValid()).isFalse();
+    assertThat(result.failureReason()).isEqualTo(FailureReason.WRONG_TYPE);
+  }
+
+  @Test
+  @DisplayName("verifyToken - token without a type: invalid with WRONG_TYPE")
+  void verifyToken_NoType_Invalid() {
+    // Arrange
+    var token = Jwts.builder()
+        .id(UUID.randomUUID().toString())
+        .subject("alice")
+        .expiration(new Date(System.currentTimeMillis() + 60_000))
+        .signWith(JwtKeyMaterial.fromSecret(SECRET).signingKey())
+        .compact();
+
+    // Act
+    var result = tokenService.verifyToken(token);
+
+    // Assert
+    assertThat(result.failureReason()).isEqualTo(FailureReason.WRONG_TYPE);
+  }
+
+  @Test
+  @DisplayName("verifyVerificationToken - verification token: valid with its username")
+  void verifyVerificationToken_VerificationToken_Valid() {
+    // Act
+    var result = tokenService.verifyVerificationToken(
+        tokenService.generateVerificationToken("alice"));
+
+    // Assert
+    assertThat(result.isValid()).isTrue();
+    assertThat(result.subject()).isEqualTo("alice");
+    assertThat(result.claims()).containsEntry(JwtClaimNames.TOKEN_TYPE, "verify");
+  }
+
+  @Test
+  @DisplayName("verifyVerificationToken - access token: invalid with WRONG_TYPE")
+  void verifyVerificationToken_AccessToken_Invalid() {
+    // Act
+    var result = tokenService.verifyVerificationToken(tokenService.generateToken(user(42L)));
+
+    // Assert
+    assertThat(result.isValid()).isFalse();
+    assertThat(result.failureReason()).isEqualTo(FailureReason.WRONG_TYPE);
+  }
+
+  @Test
+  @DisplayName("verifyToken - asymmetric signature on an HMAC key: invalid with UNSUPPORTED")
+  void verifyToken_AlgorithmOfAnotherKeyType_Invalid() {
+    // Arrange
+    var token = Jwts.builder()
+        .subject("alice")
+        .signWith(JwtSigningAlgorithm.ES256.generateKeyPair().getPrivate())
+        .compact();
+
+    // Act
+    var result = tokenService.verifyToken(token);
+
+    // Assert
+    assertThat(result.isValid()).isFalse();
+    assertThat(result.failureReason()).isEqualTo(FailureReason.UNSUPPORTED);
+  }
+
+  @Test
+  @DisplayName("verifyToken - token issued before its user's epoch: invalid with SUPERSEDED")
+  void verifyToken_TokenOlderThanEpoch_Invalid() {
+    // Arrange
+    var token = tokenService.generateToken(user(42L));
+    when(epochStore.epochOf(42L)).thenReturn(1_000L);
+
+    // Act
+    var result = tokenService.verifyToken(token);
+
+    // Assert
+    assertThat(result.isValid()).isFalse();
+    assertThat(result.failureReason()).isEqualTo(FailureReason.SUPERSEDED);
+  }
+
+  @Test
+  @DisplayName("invalidateTokens - user with a tokens-valid-after instant: advances its epoch")
+  void invalidateTokens_UserWithInstant_AdvancesEpoch() {
+    // Arrange
+    var user = user(42L);
+    user.invalidateTokens();
+
+    // Act
+    tokenService.invalidateTokens(user);
+
+    // Assert
+    verify(epochStore).advance(42L, user.getTokensValidAfter());
+  }
+
+  @Test
+  @DisplayName("revokeToken - valid token: revoked until its expiration")
+  void revokeToken_ValidToken_RevokedUntilExpiration() {
+    // Arrange
+    var token = tokenService.generateToken(user(42L));
+    var result = tokenService.verifyToken(token);
+
+    // Act
+    tokenService.revokeToken(token);
+
+    // Assert
+    verify(revocationStore).revoke(
+        UUID.fromString((String) result.claims().get(Claims.ID)), result.expiration());
+  }
+
+  @Test
+  @DisplayName("revokeToken - invalid token: ignored")
+  void revokeToken_InvalidToken_Ignored() {
+    // Act
+    tokenService.revokeToken("not-a-token");
+
+    // Assert
+    verify(revocationStore, never()).revoke(any(), any());
+  }
+
+  private static String pem(Key key) {
+    var type = key instanceof PrivateKey ? "PRIVATE KEY" : "PUBLIC KEY";
+    return "-----BEGIN " + type + "-----\n"
+        + Base64.getMimeEncoder().encodeToString(key.getEncoded())
+        + "\n-----END " + type + "-----";
+  }
+
+  private static User user(Long id) {
+    var user = new User("alice", "alice@example.com", "hashed");
+    ReflectionTestUtils.setField(user, "id", id);
+    return user;
+  }
+}
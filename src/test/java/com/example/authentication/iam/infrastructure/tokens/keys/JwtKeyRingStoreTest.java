@@ -0,0 +1,365 @@
+package com.example.authentication.iam.infrastructure.tokens.keys;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.SigningKeyRepository;
+import com.example.authentication.iam.infrastructure.tokens.jwt.model.JwtKeyMaterial;
+import com.example.authentication.iam.infrastructure.tokens.jwt.model.JwtSigningAlgorithm;
+import com.example.authentication.iam.infrastructure.tokens.keys.model.SigningKey;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class JwtKeyRingStoreTest {
+
+  private static final String SECRET = "WriteHereYourSecretStringForTokenSigningCredentials";
+  private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+  private static final Duration REFRESH_INTERVAL = Duration.ofSeconds(30);
+  private static final SigningKeyCipher CIPHER =
+      new SigningKeyCipher("AAECAwQFBgcICQoLDA0ODxAREhMUFRYXGBkaGxwdHh8=");
+
+  @Mock
+  SigningKeyRepository signingKeyRepository;
+
+  private JwtKeyMaterial configuredKey;
+  private SimpleMeterRegistry meterRegistry;
+  private MutableClock clock;
+  private JwtKeyRingStore store;
+
+  @BeforeEach
+  void setUp() {
+    configuredKey = JwtKeyMaterial.fromSecret(SECRET);
+    meterRegistry = new SimpleMeterRegistry();
+    clock = new MutableClock(NOW);
+    store = new JwtKeyRingStore(configuredKey, signingKeyRepository, CIPHER, REFRESH_INTERVAL,
+        meterRegistry, clock);
+  }
+
+  @Test
+  @DisplayName("current - before any reload: the configured key signs")
+  void current_BeforeReload_ConfiguredKeySigns() {
+    // Act
+    var ring = store.current();
+
+    // Assert
+    assertThat(ring.signer()).isSameAs(configuredKey);
+    assertThat(ring.verificationKey(null)).isEqualTo(configuredKey.verificationKey());
+    assertThat(ring.jwkSet()).isEqualTo("{\"keys\":[]}");
+  }
+
+  @Test
+  @DisplayName("reload - keys activated in the past: the one activated last signs")
+  void reload_ActivatedKeys_LatestActivationSigns() {
+    // Arrange
+    var older = JwtSigningAlgorithm.ES256.generateKeyPair();
+    var newer = JwtSigningAlgorithm.EDDSA.generateKeyPair();
+    when(signingKeyRepository.findUnexpired(NOW)).thenReturn(List.of(
+        keyPairRow("newer", JwtSigningAlgorithm.EDDSA, newer, NOW.minus(Duration.ofHours(1))),
+        keyPairRow("older", JwtSigningAlgorithm.ES256, older, NOW.minus(Duration.ofDays(1)))));
+
+    // Act
+    store.reload();
+
+    // Assert
+    var ring = store.current();
+    assertThat(ring.signer().keyId()).isEqualTo("newer");
+    assertThat(ring.keyIds()).containsExactlyInAnyOrder("newer", "older");
+    assertThat(ring.verificationKey("older")).isEqualTo(older.getPublic());
+    assertThat(ring.verificationKey(null)).isEqualTo(configuredKey.verificationKey());
+    assertThat(meterRegistry.get("tokens.keys.entries").gauge().value()).isEqualTo(2.0);
+  }
+
+  @Test
+  @DisplayName("reload - key activating later: published and verifying, but not signing")
+  void reload_FutureActivation_PublishedNotSigning() {
+    // Arrange
+    var keyPair = JwtSigningAlgorithm.ES256.generateKeyPair();
+    when(signingKeyRepository.findUnexpired(NOW)).thenReturn(List.of(
+        keyPairRow("next", JwtSigningAlgorithm.ES256, keyPair, NOW.plus(Duration.ofHours(1)))));
+
+    // Act
+    store.reload();
+
+    // Assert
+    var ring = store.current();
+    assertThat(ring.signer()).isSameAs(configuredKey);
+    assertThat(ring.verificationKey("next")).isEqualTo(keyPair.getPublic());
+    assertThat(Jwks.setParser().build().parse(ring.jwkSet()).getKeys())
+        .extracting(jwk -> jwk.getId())
+        .containsExactly("next");
+  }
+
+  @Test
+  @DisplayName("reload - verify-only public key: verifies but never signs")
+  void reload_PublicKeyOnly_VerifiesOnly() {
+    // Arrange
+    var keyPair = JwtSigningAlgorithm.EDDSA.generateKeyPair();
+    when(signingKeyRepository.findUnexpired(NOW)).thenReturn(List.of(new SigningKey(
+        "imported", JwtSigningAlgorithm.EDDSA, null, null, pem(keyPair.getPublic()),
+        NOW.minus(Duration.ofHours(1)), null)));
+
+    // Act
+    store.reload();
+
+    // Assert
+    assertThat(store.current().signer()).isSameAs(configuredKey);
+    assertThat(store.current().verificationKey("imported")).isEqualTo(keyPair.getPublic());
+  }
+
+  @Test
+  @DisplayName("reload - key no longer returned: its tokens are rejected")
+  void reload_ExpiredKey_TokensRejected() {
+    // Arrange
+    var keyPair = JwtSigningAlgorithm.ES256.generateKeyPair();
+    when(signingKeyRepository.findUnexpired(NOW))
+        .thenReturn(List.of(keyPairRow(
+            "retired", JwtSigningAlgorithm.ES256, keyPair, NOW.minus(Duration.ofDays(1)))))
+        .thenReturn(List.of());
+    store.reload();
+    var token = signedToken("retired", keyPair);
+    assertThat(store.parser().parseSignedClaims(token).getPayload().getSubject())
+        .isEqualTo("alice");
+
+    // Act
+    store.reload();
+
+    // Assert
+    assertThat(store.current().signer()).isSameAs(configuredKey);
+    assertThatThrownBy(() -> store.parser().parseSignedClaims(token))
+        .isInstanceOf(SignatureException.class);
+  }
+
+  @Test
+  @DisplayName("reload - same rows again: key material is reused")
+  void reload_SameRows_KeyMaterialReused() {
+    // Arrange
+    var row = keyPairRow("current", JwtSigningAlgorithm.EDDSA,
+        JwtSigningAlgorithm.EDDSA.generateKeyPair(), NOW.minus(Duration.ofHours(1)));
+    when(signingKeyRepository.findUnexpired(NOW)).thenReturn(List.of(row));
+    store.reload();
+    var signer = store.current().signer();
+
+    // Act
+    store.reload();
+
+    // Assert
+    assertThat(store.current().signer()).isSameAs(signer);
+    assertThat(store.current().jwkSetVersion()).isNotBlank();
+  }
+
+  @Test
+  @DisplayName("reload - unreadable or inconsistent rows: skipped")
+  void reload_InvalidRows_Skipped() {
+    // Arrange
+    var first = JwtSigningAlgorithm.ES256.generateKeyPair();
+    var second = JwtSigningAlgorithm.ES256.generateKeyPair();
+    when(signingKeyRepository.findUnexpired(NOW)).thenReturn(List.of(
+        new SigningKey("garbled", JwtSigningAlgorithm.ES256, null,
+            CIPHER.encrypt("garbled", "not a key"), "not a key",
+            NOW.minus(Duration.ofHours(1)), null),
+        new SigningKey("mismatched", JwtSigningAlgorithm.ES256, null,
+            CIPHER.encrypt("mismatched", pem(second.getPrivate())), pem(first.getPublic()),
+            NOW.minus(Duration.ofHours(1)), null),
+        new SigningKey("plaintext", JwtSigningAlgorithm.ES256, null,
+            pem(first.getPrivate()), pem(first.getPublic()), NOW.minus(Duration.ofHours(1)),
+            null),
+        new SigningKey("moved", JwtSigningAlgorithm.ES256, null,
+            CIPHER.encrypt("another-key", pem(first.getPrivate())), pem(first.getPublic()),
+            NOW.minus(Duration.ofHours(1)), null),
+        new SigningKey("no-secret", JwtSigningAlgorithm.HMAC, null, null, null,
+            NOW.minus(Duration.ofHours(1)), null)));
+
+    // Act
+    store.reload();
+
+    // Assert
+    assertThat(store.current().signer()).isSameAs(configuredKey);
+    assertThat(store.current().keyIds()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("reload - HMAC row: signs with its kid and is never published")
+  void reload_HmacRow_SignsWithoutPublishing() {
+    // Arrange
+    when(signingKeyRepository.findUnexpired(NOW)).thenReturn(List.of(new SigningKey(
+        "hmac-2026", JwtSigningAlgorithm.HMAC,
+        CIPHER.encrypt("hmac-2026", SECRET.replace('W', 'w')), null, null,
+        NOW.minus(Duration.ofHours(1)), null)));
+
+    // Act
+    store.reload();
+
+    // Assert
+    assertThat(store.current().signer().keyId()).isEqualTo("hmac-2026");
+    assertThat(store.current().jwkSet()).isEqualTo("{\"keys\":[]}");
+  }
+
+  @Test
+  @DisplayName("reload - no encryption key configured: key pairs skipped, public keys verify")
+  void reload_NoEncryptionKey_OnlyPublicKeysRead() {
+    // Arrange
+    var imported = JwtSigningAlgorithm.EDDSA.generateKeyPair();
+    var unencryptedStore = new JwtKeyRingStore(configuredKey, signingKeyRepository,
+        new SigningKeyCipher(""), REFRESH_INTERVAL, new SimpleMeterRegistry(), clock);
+    when(signingKeyRepository.findUnexpired(NOW)).thenReturn(List.of(
+        keyPairRow("current", JwtSigningAlgorithm.ES256,
+            JwtSigningAlgorithm.ES256.generateKeyPair(), NOW.minus(Duration.ofHours(1))),
+        new SigningKey("imported", JwtSigningAlgorithm.EDDSA, null, null,
+            pem(imported.getPublic()), NOW.minus(Duration.ofHours(1)), null)));
+
+    // Act
+    unencryptedStore.reload();
+
+    // Assert
+    assertThat(unencryptedStore.current().signer()).isSameAs(configuredKey);
+    assertThat(unencryptedStore.current().keyIds()).containsExactly("imported");
+  }
+
+  @Test
+  @DisplayName("current - activates_at reached after a reload: switches signer without reading")
+  void current_ActivationReached_SwitchesWithoutReload() {
+    // Arrange
+    var keyPair = JwtSigningAlgorithm.ES256.generateKeyPair();
+    var activatesAt = NOW.plus(Duration.ofMinutes(5));
+    when(signingKeyRepository.findUnexpired(NOW)).thenReturn(List.of(
+        keyPairRow("next", JwtSigningAlgorithm.ES256, keyPair, activatesAt)));
+    store.reload();
+    clock.set(activatesAt.minusMillis(1));
+    assertThat(store.current().signer()).isSameAs(configuredKey);
+
+    // Act
+    clock.set(activatesAt);
+    var ring = store.current();
+
+    // Assert
+    assertThat(ring.signer().keyId()).isEqualTo("next");
+    verify(signingKeyRepository, times(1)).findUnexpired(any());
+  }
+
+  @Test
+  @DisplayName("parser - kid not in the ring: rejected without reading the table")
+  void parser_UnknownKid_RejectedWithoutReading() {
+    // Arrange
+    when(signingKeyRepository.findUnexpired(NOW)).thenReturn(List.of());
+    store.reload();
+    var token = signedToken("forged", JwtSigningAlgorithm.ES256.generateKeyPair());
+
+    // Act & Assert
+    assertThatThrownBy(() -> store.parser().parseSignedClaims(token))
+        .isInstanceOf(SignatureException.class);
+    verify(signingKeyRepository, times(1)).findUnexpired(any());
+  }
+
+  @Test
+  @DisplayName("parser - unknown kid while a reload is reading the table: rejected without waiting")
+  void parser_UnknownKidDuringReload_RejectedWithoutWaiting() throws Exception {
+    // Arrange
+    var activatesAt = NOW.plus(Duration.ofMinutes(5));
+    var row = keyPairRow(
+        "next", JwtSigningAlgorithm.ES256, JwtSigningAlgorithm.ES256.generateKeyPair(),
+        activatesAt);
+    var reading = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    when(signingKeyRepository.findUnexpired(any()))
+        .thenReturn(List.of(row))
+        .thenAnswer(invocation -> {
+          reading.countDown();
+          release.await(5, TimeUnit.SECONDS);
+          return List.of(row);
+        });
+    store.reload();
+    clock.set(activatesAt);
+    var reload = CompletableFuture.runAsync(store::reload);
+    assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+    var token = signedToken("forged", JwtSigningAlgorithm.ES256.generateKeyPair());
+
+    // Act & Assert
+    try {
+      assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+        assertThatThrownBy(() -> store.parser().parseSignedClaims(token))
+            .isInstanceOf(SignatureException.class);
+        store.current();
+      });
+    } finally {
+      release.countDown();
+      reload.get(5, TimeUnit.SECONDS);
+    }
+    assertThat(store.current().signer().keyId()).isEqualTo("next");
+  }
+
+  private static String signedToken(String keyId, KeyPair keyPair) {
+    return Jwts.builder()
+        .header().keyId(keyId).and()
+        .subject("alice")
+        .signWith(keyPair.getPrivate())
+        .compact();
+  }
+
+  private static SigningKey keyPairRow(
+      String keyId, JwtSigningAlgorithm algorithm, KeyPair keyPair, Instant activatesAt) {
+    return new SigningKey(keyId, algorithm, null, CIPHER.encrypt(keyId, pem(keyPair.getPrivate())),
+        pem(keyPair.getPublic()), activatesAt, null);
+  }
+
+  private static String pem(Key key) {
+    var type = key instanceof PrivateKey ? "PRIVATE KEY" : "PUBLIC KEY";
+    return "-----BEGIN " + type + "-----\n"
+        + Base64.getMimeEncoder().encodeToString(key.getEncoded())
+        + "\n-----END " + type + "-----";
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private volatile Instant instant;
+
+    MutableClock(Instant instant) {
+      this.instant = instant;
+    }
+
+    void set(Instant instant) {
+      this.instant = instant;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.example.authentication.iam.infrastructure.tokens.keys;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SigningKeyCipherTest {
+
+  private static final String ENCRYPTION_KEY = "AAECAwQFBgcICQoLDA0ODxAREhMUFRYXGBkaGxwdHh8=";
+
+  private final SigningKeyCipher cipher = new SigningKeyCipher(ENCRYPTION_KEY);
+
+  @Test
+  @DisplayName("decrypt - value encrypted for the same key id: original plaintext")
+  void decrypt_SameKeyId_Plaintext() {
+    // Arrange
+    var value = cipher.encrypt("2026-10", "secret material");
+
+    // Act
+    var plaintext = cipher.decrypt("2026-10", value);
+
+    // Assert
+    assertThat(value).startsWith(SigningKeyCipher.PREFIX).doesNotContain("secret material");
+    assertThat(plaintext).isEqualTo("secret material");
+  }
+
+  @Test
+  @DisplayName("decrypt - value copied to another key id: throws")
+  void decrypt_OtherKeyId_Throws() {
+    // Arrange
+    var value = cipher.encrypt("2026-10", "secret material");
+
+    // Act & Assert
+    assertThatThrownBy(() -> cipher.decrypt("2026-11", value))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("decrypt - value encrypted under another encryption key: throws")
+  void decrypt_OtherEncryptionKey_Throws() {
+    // Arrange
+    var value = new SigningKeyCipher(ENCRYPTION_KEY.replace('A', 'B'))
+        .encrypt("2026-10", "secret material");
+
+    // Act & Assert
+    assertThatThrownBy(() -> cipher.decrypt("2026-10", value))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("decrypt - plaintext value: throws")
+  void decrypt_Plaintext_Throws() {
+    assertThatThrownBy(() -> cipher.decrypt("2026-10", "secret material"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("not encrypted");
+  }
+
+  @Test
+  @DisplayName("encrypt - no encryption key configured: throws")
+  void encrypt_NoEncryptionKey_Throws() {
+    assertThatThrownBy(() -> new SigningKeyCipher("").encrypt("2026-10", "secret material"))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  @DisplayName("new - encryption key of the wrong length: throws")
+  void new_WrongKeyLength_Throws() {
+    assertThatThrownBy(() -> new SigningKeyCipher("c2hvcnQ="))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("32 bytes");
+  }
+}
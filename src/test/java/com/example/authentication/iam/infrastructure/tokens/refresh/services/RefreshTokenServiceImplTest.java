@@ -0,0 +1,273 @@
+package com.example.authentication.iam.infrastructure.tokens.refresh.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.authentication.iam.application.internal.outboundservices.tokens.RefreshTokenService;
+import com.example.authentication.iam.domain.exceptions.InvalidRefreshTokenException;
+import com.example.authentication.iam.domain.model.aggregates.User;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.RefreshTokenRepository;
+import com.example.authentication.iam.infrastructure.tokens.refresh.model.RefreshToken;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceImplTest {
+
+  private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+  private static final Duration LIFETIME = Duration.ofDays(14);
+
+  @Mock
+  RefreshTokenRepository refreshTokenRepository;
+
+  private RefreshTokenServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    service = new RefreshTokenServiceImpl(
+        refreshTokenRepository, LIFETIME, Clock.fixed(NOW, ZoneOffset.UTC));
+  }
+
+  @Test
+  @DisplayName("issue - any user: stores only the SHA-256 hash of an opaque token")
+  void issue_AnyUser_StoresHash() throws Exception {
+    // Arrange
+    var user = new User("alice", "alice@example.com", "hashed");
+    ReflectionTestUtils.setField(user, "id", 42L);
+    ReflectionTestUtils.setField(user, "tokensValidAfter", Instant.ofEpochMilli(1_000));
+
+    // Act
+    var token = service.issue(user);
+
+    // Assert
+    var saved = ArgumentCaptor.forClass(RefreshToken.class);
+    verify(refreshTokenRepository).save(saved.capture());
+    assertThat(token).hasSize(43).matches("[A-Za-z0-9_-]+");
+    assertThat(saved.getValue().getTokenHash()).isEqualTo(sha256(token));
+    assertThat(saved.getValue().getUserId()).isEqualTo(42L);
+    assertThat(saved.getValue().getTokenEpoch()).isEqualTo(1_000L);
+    assertThat(saved.getValue().getExpiresAt()).isEqualTo(NOW.plus(LIFETIME));
+  }
+
+  @Test
+  @DisplayName("rotate - unused token: marks it rotated and issues the next one in its family")
+  void rotate_UnusedToken_IssuesNextInFamily() throws Exception {
+    // Arrange
+    var current = token(false, NOW.plusSeconds(60));
+    when(refreshTokenRepository.findByTokenHash(sha256("current")))
+        .thenReturn(Optional.of(current));
+    when(refreshTokenRepository.markRotated(current.getId())).thenReturn(1);
+
+    // Act
+    var rotation = service.rotate("current");
+
+    // Assert
+    var saved = ArgumentCaptor.forClass(RefreshToken.class);
+    verify(refreshTokenRepository).save(saved.capture());
+    assertThat(rotation.userId()).isEqualTo(42L);
+    assertThat(rotation.tokenEpoch()).isEqualTo(7L);
+    assertThat(saved.getValue().getFamilyId()).isEqualTo(current.getFamilyId());
+    assertThat(saved.getValue().getTokenHash()).isEqualTo(sha256(rotation.refreshToken()));
+  }
+
+  @Test
+  @DisplayName("rotate - already rotated token: revokes the family and throws")
+  void rotate_RotatedToken_RevokesFamily() throws Exception {
+    // Arrange
+    var reused = token(true, NOW.plusSeconds(60));
+    when(refreshTokenRepository.findByTokenHash(sha256("reused")))
+        .thenReturn(Optional.of(reused));
+
+    // Act & Assert
+    assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("reused"));
+    verify(refreshTokenRepository).deleteFamily(reused.getFamilyId());
+    verify(refreshTokenRepository, never()).save(any());
+  }
+
+  @Test
+  @DisplayName("rotate - token rotated concurrently: revokes the family and throws")
+  void rotate_ConcurrentRotation_RevokesFamily() throws Exception {
+    // Arrange
+    var current = token(false, NOW.plusSeconds(60));
+    when(refreshTokenRepository.findByTokenHash(sha256("current")))
+        .thenReturn(Optional.of(current));
+    when(refreshTokenRepository.markRotated(current.getId())).thenReturn(0);
+
+    // Act & Assert
+    assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("current"));
+    verify(refreshTokenRepository).deleteFamily(current.getFamilyId());
+  }
+
+  @Test
+  @DisplayName("rotate - through the service proxy: marked and next issued in one transaction")
+  void rotate_Proxied_OneTransaction() throws Exception {
+    // Arrange
+    var current = token(false, NOW.plusSeconds(60));
+    var transactional = new ArrayList<Boolean>();
+    when(refreshTokenRepository.findByTokenHash(sha256("current")))
+        .thenReturn(Optional.of(current));
+    when(refreshTokenRepository.markRotated(current.getId())).thenAnswer(invocation -> {
+      transactional.add(TransactionSynchronizationManager.isActualTransactionActive());
+      return 1;
+    });
+    when(refreshTokenRepository.save(any())).thenAnswer(invocation -> {
+      transactional.add(TransactionSynchronizationManager.isActualTransactionActive());
+      return invocation.getArgument(0);
+    });
+
+    // Act
+    var outcomes = rotateThroughProxy("current");
+
+    // Assert
+    assertThat(transactional).containsExactly(true, true);
+    assertThat(outcomes).containsExactly("commit");
+  }
+
+  @Test
+  @DisplayName("rotate - reused token through the service proxy: family deletion committed")
+  void rotate_ReusedProxied_DeletionCommitted() throws Exception {
+    // Arrange
+    var reused = token(true, NOW.plusSeconds(60));
+    when(refreshTokenRepository.findByTokenHash(sha256("reused")))
+        .thenReturn(Optional.of(reused));
+
+    // Act
+    var outcomes = rotateThroughProxy("reused");
+
+    // Assert
+    verify(refreshTokenRepository).deleteFamily(reused.getFamilyId());
+    assertThat(outcomes).containsExactly("commit");
+  }
+
+  @Test
+  @DisplayName("rotate - expired or unknown token: throws without revoking")
+  void rotate_ExpiredOrUnknownToken_Throws() throws Exception {
+    // Arrange
+    when(refreshTokenRepository.findByTokenHash(sha256("expired")))
+        .thenReturn(Optional.of(token(false, NOW)));
+    when(refreshTokenRepository.findByTokenHash(sha256("unknown"))).thenReturn(Optional.empty());
+
+    // Act & Assert
+    assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("expired"));
+    assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("unknown"));
+    assertThrows(InvalidRefreshTokenException.class, () -> service.rotate(null));
+    verify(refreshTokenRepository, never()).deleteFamily(any());
+  }
+
+  @Test
+  @DisplayName("revoke - known token: deletes its family")
+  void revoke_KnownToken_DeletesFamily() throws Exception {
+    // Arrange
+    var current = token(false, NOW.plusSeconds(60));
+    when(refreshTokenRepository.findByTokenHash(sha256("current")))
+        .thenReturn(Optional.of(current));
+
+    // Act
+    service.revoke("current");
+
+    // Assert
+    verify(refreshTokenRepository).deleteFamily(current.getFamilyId());
+  }
+
+  @Test
+  @DisplayName("removeExpired - scheduled cleanup: deletes expired rows")
+  void removeExpired_DeletesExpiredRows() {
+    // Act
+    service.removeExpired();
+
+    // Assert
+    verify(refreshTokenRepository).deleteExpired(NOW);
+  }
+
+  private List<String> rotateThroughProxy(String refreshToken) {
+    try (var context = new AnnotationConfigApplicationContext()) {
+      context.getBeanFactory().registerSingleton("refreshTokenRepository", refreshTokenRepository);
+      context.register(TransactionConfiguration.class);
+      context.refresh();
+      try {
+        context.getBean(RefreshTokenService.class).rotate(refreshToken);
+      } catch (InvalidRefreshTokenException e) {
+        // Expected for reused tokens
+      }
+      return context.getBean(RecordingTransactionManager.class).outcomes;
+    }
+  }
+
+  private static RefreshToken token(boolean rotated, Instant expiresAt) {
+    var token = new RefreshToken(new byte[32], UUID.randomUUID(), 42L, 7L, expiresAt);
+    ReflectionTestUtils.setField(token, "rotated", rotated);
+    return token;
+  }
+
+  private static byte[] sha256(String value) throws Exception {
+    return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  @Configuration
+  @EnableTransactionManagement
+  static class TransactionConfiguration {
+
+    @Bean
+    RecordingTransactionManager transactionManager() {
+      return new RecordingTransactionManager();
+    }
+
+    @Bean
+    RefreshTokenServiceImpl refreshTokenService(RefreshTokenRepository refreshTokenRepository) {
+      return new RefreshTokenServiceImpl(
+          refreshTokenRepository, LIFETIME, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+  }
+
+  static class RecordingTransactionManager extends AbstractPlatformTransactionManager {
+
+    private final List<String> outcomes = new ArrayList<>();
+
+    @Override
+    protected Object doGetTransaction() {
+      return new Object();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+      outcomes.add("commit");
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+      outcomes.add("rollback");
+    }
+  }
+}
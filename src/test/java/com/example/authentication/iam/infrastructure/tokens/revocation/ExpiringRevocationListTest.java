@@ -0,0 +1,68 @@
+package com.example.authentication.iam.infrastructure.tokens.revocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ExpiringRevocationListTest {
+
+  private static final Instant NOW = Instant.parse("2026-01-01T12:00:30Z");
+
+  private final ExpiringRevocationList list =
+      new ExpiringRevocationList(Duration.ofMinutes(1), 3);
+
+  @Test
+  @DisplayName("contains - revoked identifier: found only with its own expiration")
+  void contains_RevokedIdentifier_FoundWithItsExpiration() {
+    // Arrange
+    var id = UUID.randomUUID();
+    var expiresAt = NOW.plus(Duration.ofHours(1));
+
+    // Act
+    list.add(id, expiresAt);
+
+    // Assert
+    assertThat(list.contains(id, expiresAt)).isTrue();
+    assertThat(list.contains(id, expiresAt.plus(Duration.ofMinutes(5)))).isFalse();
+    assertThat(list.contains(UUID.randomUUID(), expiresAt)).isFalse();
+  }
+
+  @Test
+  @DisplayName("removeExpired - mixed expirations: drops only fully expired buckets")
+  void removeExpired_MixedExpirations_DropsExpiredBuckets() {
+    // Arrange
+    var expired = UUID.randomUUID();
+    var sameMinute = UUID.randomUUID();
+    var live = UUID.randomUUID();
+    list.add(expired, NOW.minus(Duration.ofMinutes(2)));
+    list.add(sameMinute, NOW.plusSeconds(10));
+    list.add(live, NOW.plus(Duration.ofHours(1)));
+
+    // Act
+    var removed = list.removeExpired(NOW);
+
+    // Assert
+    assertThat(removed).isEqualTo(1);
+    assertThat(list.size()).isEqualTo(2);
+    assertThat(list.contains(sameMinute, NOW.plusSeconds(10))).isTrue();
+    assertThat(list.contains(live, NOW.plus(Duration.ofHours(1)))).isTrue();
+  }
+
+  @Test
+  @DisplayName("add - maximum entries reached: throws IllegalStateException")
+  void add_MaximumEntriesReached_Throws() {
+    // Arrange
+    for (int i = 0; i < 3; i++) {
+      list.add(UUID.randomUUID(), NOW.plus(Duration.ofHours(1)));
+    }
+
+    // Act & Assert
+    assertThrows(IllegalStateException.class,
+        () -> list.add(UUID.randomUUID(), NOW.plus(Duration.ofHours(1))));
+  }
+}
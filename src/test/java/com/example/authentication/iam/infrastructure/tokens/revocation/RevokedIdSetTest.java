@@ -0,0 +1,76 @@
+package com.example.authentication.iam.infrastructure.tokens.revocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RevokedIdSetTest {
+
+  @Test
+  @DisplayName("add - new identifier: contained, duplicates rejected")
+  void add_NewIdentifier_ContainedOnce() {
+    // Arrange
+    var set = new RevokedIdSet();
+    var id = UUID.randomUUID();
+
+    // Act
+    var added = set.add(id);
+    var addedAgain = set.add(id);
+
+    // Assert
+    assertThat(added).isTrue();
+    assertThat(addedAgain).isFalse();
+    assertThat(set.contains(id)).isTrue();
+    assertThat(set.contains(UUID.randomUUID())).isFalse();
+    assertThat(set.size()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("add - past several resizes: every identifier still found")
+  void add_PastResizes_AllFound() {
+    // Arrange
+    var set = new RevokedIdSet();
+    var ids = new UUID[10_000];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = UUID.randomUUID();
+      set.add(ids[i]);
+    }
+
+    // Act & Assert
+    for (var id : ids) {
+      assertThat(set.contains(id)).isTrue();
+    }
+    assertThat(set.size()).isEqualTo(ids.length);
+  }
+
+  @Test
+  @DisplayName("memoryBytes - two million identifiers: at most 43 bytes each")
+  void memoryBytes_TwoMillionIdentifiers_Compact() {
+    // Arrange
+    var set = new RevokedIdSet();
+    var random = new SplittableRandom(42);
+
+    // Act
+    for (int i = 0; i < 2_000_000; i++) {
+      set.add(new UUID(random.nextLong() | 1, random.nextLong()));
+    }
+
+    // Assert
+    var bytesPerEntry = (double) set.memoryBytes() / set.size();
+    assertThat(set.size()).isEqualTo(2_000_000);
+    assertThat(set.memoryBytes()).isEqualTo(64L * 1024 * 1024);
+    assertThat(bytesPerEntry).isLessThan(43);
+  }
+
+  @Test
+  @DisplayName("add - all-zero identifier: throws IllegalArgumentException")
+  void add_AllZeroIdentifier_Throws() {
+    var set = new RevokedIdSet();
+
+    assertThrows(IllegalArgumentException.class, () -> set.add(new UUID(0, 0)));
+  }
+}
@@ -0,0 +1,149 @@
+package com.example.authentication.iam.infrastructure.tokens.revocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.authentication.iam.domain.exceptions.TokenRevocationCapacityExceededException;
+import com.example.authentication.iam.infrastructure.messaging.RemoteTokenRevokedEvent;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.RevokedTokenRepository;
+import com.example.authentication.iam.infrastructure.tokens.revocation.model.RevokedToken;
+import com.example.authentication.iam.infrastructure.tokens.revocation.model.TokenRevokedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationStoreTest {
+
+  private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+  private static final Instant EXPIRES_AT = NOW.plus(Duration.ofHours(1));
+
+  @Mock
+  RevokedTokenRepository revokedTokenRepository;
+
+  @Mock
+  PlatformTransactionManager transactionManager;
+
+  @Mock
+  ApplicationEventPublisher eventPublisher;
+
+  private SimpleMeterRegistry meterRegistry;
+  private TokenRevocationStore store;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    store = new TokenRevocationStore(revokedTokenRepository, transactionManager, eventPublisher,
+        Duration.ofMinutes(1), 2, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+  }
+
+  @Test
+  @DisplayName("revoke - live token: persisted and reported as revoked")
+  void revoke_LiveToken_PersistedAndRevoked() {
+    // Arrange
+    var id = UUID.randomUUID();
+
+    // Act
+    store.revoke(id, EXPIRES_AT);
+
+    // Assert
+    var saved = ArgumentCaptor.forClass(RevokedToken.class);
+    verify(revokedTokenRepository).save(saved.capture());
+    assertThat(saved.getValue().getId()).isEqualTo(id);
+    assertThat(saved.getValue().getExpiresAt()).isEqualTo(EXPIRES_AT);
+    assertThat(store.isRevoked(id, EXPIRES_AT)).isTrue();
+    assertThat(meterRegistry.get("tokens.revoked.entries").gauge().value()).isEqualTo(1);
+    verify(eventPublisher).publishEvent(new TokenRevokedEvent(id, EXPIRES_AT));
+  }
+
+  @Test
+  @DisplayName("revoke - expired token: ignored")
+  void revoke_ExpiredToken_Ignored() {
+    // Act
+    store.revoke(UUID.randomUUID(), NOW.minusSeconds(1));
+
+    // Assert
+    verify(revokedTokenRepository, never()).save(any());
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  @DisplayName("on(RemoteTokenRevokedEvent) - token revoked on another node: revoked here too")
+  void on_RemoteTokenRevoked_Revoked() {
+    // Arrange
+    var id = UUID.randomUUID();
+
+    // Act
+    store.on(new RemoteTokenRevokedEvent(new TokenRevokedEvent(id, EXPIRES_AT)));
+
+    // Assert
+    assertThat(store.isRevoked(id, EXPIRES_AT)).isTrue();
+    verify(revokedTokenRepository, never()).save(any());
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  @DisplayName("on(RemoteTokenRevokedEvent) - token already expired: ignored")
+  void on_RemoteTokenRevokedExpired_Ignored() {
+    // Act
+    store.on(new RemoteTokenRevokedEvent(
+        new TokenRevokedEvent(UUID.randomUUID(), NOW.minusSeconds(1))));
+
+    // Assert
+    assertThat(meterRegistry.get("tokens.revoked.entries").gauge().value()).isZero();
+  }
+
+  @Test
+  @DisplayName("revoke - revocation list full: throws TokenRevocationCapacityExceededException")
+  void revoke_ListFull_Throws() {
+    // Arrange
+    store.revoke(UUID.randomUUID(), EXPIRES_AT);
+    store.revoke(UUID.randomUUID(), EXPIRES_AT);
+
+    // Act & Assert
+    assertThrows(TokenRevocationCapacityExceededException.class,
+        () -> store.revoke(UUID.randomUUID(), EXPIRES_AT));
+  }
+
+  @Test
+  @DisplayName("load - persisted revocations: revoked again after a restart")
+  void load_PersistedRevocations_Revoked() {
+    // Arrange
+    var id = UUID.randomUUID();
+    when(revokedTokenRepository.streamUnexpired(NOW))
+        .thenReturn(Stream.of(new RevokedToken(id, EXPIRES_AT)));
+
+    // Act
+    store.load();
+
+    // Assert
+    assertThat(store.isRevoked(id, EXPIRES_AT)).isTrue();
+  }
+
+  @Test
+  @DisplayName("removeExpired - scheduled cleanup: deletes expired rows")
+  void removeExpired_DeletesExpiredRows() {
+    // Act
+    store.removeExpired();
+
+    // Assert
+    verify(revokedTokenRepository).deleteExpired(NOW);
+  }
+}
@@ -0,0 +1,330 @@
+package com.example.authentication.iam.interfaces.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.authentication.iam.application.internal.outboundservices.tokens.RefreshTokenService;
+import com.example.authentication.iam.application.internal.outboundservices.tokens.TokenService;
+import com.example.authentication.iam.domain.model.aggregates.User;
+import com.example.authentication.iam.domain.model.entities.Role;
+import com.example.authentication.iam.domain.model.valueobjects.Roles;
+import com.example.authentication.iam.infrastructure.persistence.filters.UserIdentityFilter;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.RoleRepository;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.UserRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.util.List;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Counts the SQL statements each endpoint issues against an in-process PostgreSQL, so
+ * that lazy loading regressions such as N+1 role selects fail the build.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "email.outbox.dispatcher.enabled=false",
+    "authorization.jwt.key-ring.refresh-interval=1h",
+    "MAIL_USERNAME=test",
+    "MAIL_PASSWORD=test",
+    "CLOUDINARY_CLOUD_NAME=test",
+    "CLOUDINARY_API_KEY=test",
+    "CLOUDINARY_API_SECRET=test"
+})
+class EndpointStatementCountTest {
+
+  private static final String PASSWORD = "StrongP@ss1";
+  private static final int LISTED_USERS = 30;
+
+  @TestConfiguration
+  static class PostgresConfiguration {
+
+    @Bean(destroyMethod = "close")
+    EmbeddedPostgres embeddedPostgres() throws IOException {
+      return EmbeddedPostgres.start();
+    }
+
+    @Bean
+    DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+      return embeddedPostgres.getPostgresDatabase();
+    }
+  }
+
+  @Autowired
+  WebApplicationContext context;
+
+  @Autowired
+  FilterChainProxy springSecurityFilterChain;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  UserRepository userRepository;
+
+  @Autowired
+  RoleRepository roleRepository;
+
+  @Autowired
+  PasswordEncoder passwordEncoder;
+
+  @Autowired
+  TokenService tokenService;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Autowired
+  UserIdentityFilter identityFilter;
+
+  @Autowired
+  RefreshTokenService refreshTokenService;
+
+  private MockMvc mockMvc;
+  private Statistics statistics;
+  private User admin;
+
+  @BeforeEach
+  void setUp() {
+    mockMvc = MockMvcBuilders.webAppContextSetup(context)
+        .addFilters(springSecurityFilterChain)
+        .build();
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+    userRepository.deleteAll();
+    var hashedPassword = passwordEncoder.encode(PASSWORD);
+    new TransactionTemplate(transactionManager).executeWithoutResult(transaction -> {
+      var roles = List.of(
+          roleRepository.findByRoles(Roles.ROLE_ADMIN).orElseThrow(),
+          roleRepository.findByRoles(Roles.ROLE_USER).orElseThrow());
+      admin = userRepository.save(activeUser("admin", hashedPassword, roles));
+      for (int i = 0; i < LISTED_USERS; i++) {
+        userRepository.save(activeUser("user" + i, hashedPassword, roles.subList(1, 2)));
+      }
+    });
+  }
+
+  @Test
+  @DisplayName("POST /sign-in - user with roles: loads user and roles, stores refresh token in two statements")
+  void signIn_UserWithRoles_TwoStatements() throws Exception {
+    var request = post("/api/v1/authentication/sign-in")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"username\":\"admin\",\"password\":\"" + PASSWORD + "\"}");
+
+    assertStatements(request, status().isOk(), 2);
+  }
+
+  @Test
+  @DisplayName("GET /.well-known/jwks.json - revalidated with its ETag: 304 without statements")
+  void jwks_RevalidatedWithETag_NotModifiedWithoutStatements() throws Exception {
+    var eTag = mockMvc.perform(get("/.well-known/jwks.json"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=600, public"))
+        .andReturn()
+        .getResponse()
+        .getHeader(HttpHeaders.ETAG);
+
+    var request = get("/.well-known/jwks.json").header(HttpHeaders.IF_NONE_MATCH, eTag);
+
+    assertStatements(request, status().isNotModified(), 0);
+  }
+
+  @Test
+  @DisplayName("POST /refresh - unused token: finds, rotates, stores next and loads user in four statements")
+  void refresh_UnusedToken_FourStatements() throws Exception {
+    var request = refresh(refreshTokenService.issue(admin));
+
+    assertStatements(request, status().isOk(), 4);
+  }
+
+  @Test
+  @DisplayName("POST /refresh - reused token: rejected and its whole family revoked")
+  void refresh_ReusedToken_FamilyRevoked() throws Exception {
+    var first = refreshTokenService.issue(admin);
+    var second = refreshTokenService.rotate(first).refreshToken();
+
+    mockMvc.perform(refresh(first)).andExpect(status().isUnauthorized());
+    mockMvc.perform(refresh(second)).andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  @DisplayName("POST /logout - refresh token: its family can no longer refresh")
+  void logout_RefreshToken_FamilyRevoked() throws Exception {
+    var refreshToken = refreshTokenService.issue(admin);
+
+    mockMvc.perform(post("/api/v1/authentication/logout")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+        .andExpect(status().isNoContent());
+    mockMvc.perform(refresh(refreshToken)).andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  @DisplayName("POST /sign-up - two roles: inserts user, roles and outbox message in four statements")
+  void signUp_TwoRoles_FourStatements() throws Exception {
+    var request = post("/api/v1/authentication/sign-up")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"username\":\"carol\",\"email\":\"carol@example.com\","
+            + "\"password\":\"" + PASSWORD + "\",\"roles\":[\"ROLE_ADMIN\",\"ROLE_USER\"]}");
+
+    assertStatements(request, status().isCreated(), 4);
+  }
+
+  @Test
+  @DisplayName("POST /sign-up - taken username: rejected by the insert with 409 in one statement")
+  void signUp_TakenUsername_OneStatement() throws Exception {
+    var request = post("/api/v1/authentication/sign-up")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"username\":\"admin\",\"email\":\"other@example.com\","
+            + "\"password\":\"" + PASSWORD + "\",\"roles\":[\"ROLE_USER\"]}");
+
+    assertStatements(request, status().isConflict(), 1);
+  }
+
+  @Test
+  @DisplayName("POST /sign-up - username known to the identity filter: 409 after one exists query")
+  void signUp_UsernameKnownToFilter_OneStatement() throws Exception {
+    identityFilter.rebuild();
+    var request = post("/api/v1/authentication/sign-up")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"username\":\"admin\",\"email\":\"other@example.com\","
+            + "\"password\":\"" + PASSWORD + "\",\"roles\":[\"ROLE_USER\"]}");
+
+    assertStatements(request, status().isConflict(), 1);
+  }
+
+  @Test
+  @DisplayName("POST /sign-up - taken email: rejected by the insert with 409 in one statement")
+  void signUp_TakenEmail_OneStatement() throws Exception {
+    var request = post("/api/v1/authentication/sign-up")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"username\":\"dave\",\"email\":\"admin@example.com\","
+            + "\"password\":\"" + PASSWORD + "\",\"roles\":[\"ROLE_USER\"]}");
+
+    assertStatements(request, status().isConflict(), 1);
+  }
+
+  @Test
+  @DisplayName("POST /logout - bearer token: authenticates and stores the revocation in two statements")
+  void logout_BearerToken_TwoStatementsThenRejected() throws Exception {
+    var token = tokenService.generateToken(admin);
+
+    assertStatements(post("/api/v1/authentication/logout")
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token), status().isNoContent(), 2);
+    mockMvc.perform(get("/api/v1/users/" + admin.getId())
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+        .andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  @DisplayName("GET /users - full page: authenticates and reads the page in two statements")
+  void getAllUsers_FullPage_TwoStatements() throws Exception {
+    assertStatements(authenticated(get("/api/v1/users?size=25")), status().isOk(), 2);
+  }
+
+  @Test
+  @DisplayName("GET /users/{id} - existing user: authenticates and reads the user in two statements")
+  void getUserById_ExistingUser_TwoStatements() throws Exception {
+    var request = authenticated(get("/api/v1/users/" + admin.getId()));
+
+    assertStatements(request, status().isOk(), 2);
+  }
+
+  @Test
+  @DisplayName("PATCH /users/{id}/status - existing user: authenticates, loads and updates in three statements")
+  void updateUserStatus_ExistingUser_ThreeStatements() throws Exception {
+    var userId = userRepository.findByUsername("user0").orElseThrow().getId();
+    var request = authenticated(
+        patch("/api/v1/users/" + userId + "/status").param("isActive", "false"));
+
+    assertStatements(request, status().isOk(), 3);
+  }
+
+  @Test
+  @DisplayName("PATCH /users/{id}/password - token issued before: rejected afterwards")
+  void updatePassword_TokenIssuedBefore_RejectedAfterwards() throws Exception {
+    var token = "Bearer " + tokenService.generateToken(admin);
+
+    mockMvc.perform(patch("/api/v1/users/" + admin.getId() + "/password")
+            .header(HttpHeaders.AUTHORIZATION, token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"currentPassword\":\"" + PASSWORD
+                + "\",\"newPassword\":\"N3w-Str0ng-Passw0rd!\"}"))
+        .andExpect(status().isOk());
+    mockMvc.perform(get("/api/v1/users/" + admin.getId())
+            .header(HttpHeaders.AUTHORIZATION, token))
+        .andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  @DisplayName("findAll - roles of every user accessed: initializes them in one batch")
+  void findAll_RolesAccessed_InitializedInOneBatch() {
+    // Arrange
+    statistics.clear();
+
+    // Act
+    var roleCount = new TransactionTemplate(transactionManager).execute(transaction ->
+        userRepository.findAll().stream().mapToInt(user -> user.getRoles().size()).sum());
+
+    // Assert
+    assertThat(roleCount).isEqualTo(LISTED_USERS + 2);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+
+  private static User activeUser(String username, String hashedPassword, List<Role> roles) {
+    var user = new User(username, username + "@example.com", hashedPassword, roles);
+    user.verify();
+    user.changeStatus(true);
+    return user;
+  }
+
+  private MockHttpServletRequestBuilder refresh(String refreshToken) {
+    return post("/api/v1/authentication/refresh")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"refreshToken\":\"" + refreshToken + "\"}");
+  }
+
+  private MockHttpServletRequestBuilder authenticated(MockHttpServletRequestBuilder request) {
+    return request.header(
+        HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.generateToken(admin));
+  }
+
+  private void assertStatements(
+      MockHttpServletRequestBuilder request, ResultMatcher expectedStatus, long expected)
+      throws Exception {
+    // Arrange
+    statistics.clear();
+
+    // Act
+    mockMvc.perform(request).andExpect(expectedStatus);
+
+    // Assert
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(expected);
+  }
+}
@@ -0,0 +1,140 @@
+package com.example.authentication.iam.interfaces.rest.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.authentication.iam.domain.model.projections.UserSummary;
+import com.example.authentication.iam.domain.model.queries.GetAllUsersQuery;
+import com.example.authentication.iam.domain.model.queries.StreamAllUsersQuery;
+import com.example.authentication.iam.domain.services.UserCommandService;
+import com.example.authentication.iam.domain.services.UserQueryService;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tools.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+class UsersControllerTest {
+
+  private static final String NDJSON = "application/x-ndjson";
+
+  @Mock
+  UserQueryService userQueryService;
+
+  @Mock
+  UserCommandService userCommandService;
+
+  private final JsonMapper jsonMapper = JsonMapper.builder().build();
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    mockMvc = MockMvcBuilders
+        .standaloneSetup(new UsersController(userQueryService, userCommandService, jsonMapper))
+        .build();
+  }
+
+  @Test
+  @DisplayName("GET /users - full page: Link header points to the page after its last user")
+  void getAllUsers_FullPage_LinksNextPage() throws Exception {
+    // Arrange
+    when(userQueryService.handle(new GetAllUsersQuery(10L, 2)))
+        .thenReturn(List.of(summary(11L), summary(12L)));
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/users").param("after", "10").param("size", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[1].username").value("user12"))
+        .andExpect(header().string(HttpHeaders.LINK,
+            "<http://localhost/api/v1/users?after=12&size=2>; rel=\"next\""));
+  }
+
+  @Test
+  @DisplayName("GET /users - last, partial page: no Link header")
+  void getAllUsers_PartialPage_NoLink() throws Exception {
+    // Arrange
+    when(userQueryService.handle(new GetAllUsersQuery(null, GetAllUsersQuery.DEFAULT_SIZE)))
+        .thenReturn(List.of(summary(1L)));
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/users"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(header().doesNotExist(HttpHeaders.LINK));
+  }
+
+  @Test
+  @DisplayName("GET /users - size above the maximum: clamped in the query and the Link header")
+  void getAllUsers_SizeAboveMaximum_Clamped() throws Exception {
+    // Arrange
+    var captor = ArgumentCaptor.forClass(GetAllUsersQuery.class);
+    var fullPage = LongStream.rangeClosed(1, GetAllUsersQuery.MAX_SIZE)
+        .mapToObj(UsersControllerTest::summary)
+        .toList();
+    when(userQueryService.handle(captor.capture())).thenReturn(fullPage);
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/users").param("size", "5000"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(GetAllUsersQuery.MAX_SIZE))
+        .andExpect(header().string(HttpHeaders.LINK,
+            "<http://localhost/api/v1/users?after=" + GetAllUsersQuery.MAX_SIZE + "&size="
+                + GetAllUsersQuery.MAX_SIZE + ">; rel=\"next\""));
+    assertThat(captor.getValue().size()).isEqualTo(GetAllUsersQuery.MAX_SIZE);
+  }
+
+  @Test
+  @DisplayName("GET /users as NDJSON - streamed users: one JSON object per line")
+  void streamAllUsers_Users_OneJsonObjectPerLine() throws Exception {
+    // Arrange
+    doAnswer(invocation -> {
+      Consumer<UserSummary> consumer = invocation.getArgument(1);
+      consumer.accept(summary(1L));
+      consumer.accept(summary(2L));
+      return null;
+    }).when(userQueryService).handle(any(StreamAllUsersQuery.class), any());
+
+    // Act
+    var started = mockMvc.perform(get("/api/v1/users").accept(NDJSON))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    // Assert
+    var body = mockMvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(NDJSON))
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+    var lines = body.split("\n");
+    assertThat(body).endsWith("\n");
+    assertThat(lines).hasSize(2);
+    assertThat(jsonMapper.readTree(lines[0]).get("id").asLong()).isEqualTo(1L);
+    assertThat(jsonMapper.readTree(lines[1]).get("username").asString()).isEqualTo("user2");
+  }
+
+  private static UserSummary summary(long id) {
+    return new UserSummary(id, "user" + id, "user" + id + "@example.com",
+        List.of("ROLE_USER"), true);
+  }
+}
@@ -22,7 +22,7 @@ class AuthenticatedUserResourceFromEntityAssemblerTest {
 
     // Act
     var result = AuthenticatedUserResourceFromEntityAssembler
-        .toResourceFromEntity(user, token);
+        .toResourceFromEntity(user, token, "refresh-token-456");
 
     // Assert
     assertThat(result).isNotNull();
@@ -30,5 +30,6 @@ class AuthenticatedUserResourceFromEntityAssemblerTest {
     assertThat(result.username()).isEqualTo("alice");
     assertThat(result.email()).isEqualTo("alice@example.com");
     assertThat(result.token()).isEqualTo("jwt-token-123");
+    assertThat(result.refreshToken()).isEqualTo("refresh-token-456");
   }
 }
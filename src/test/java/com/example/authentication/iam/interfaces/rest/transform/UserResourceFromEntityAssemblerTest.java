@@ -1,7 +1,6 @@
 package com.example.authentication.iam.interfaces.rest.transform;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,9 +21,7 @@ class UserResourceFromEntityAssemblerTest {
     Role role = mock(Role.class);
     when(role.getStringRole()).thenReturn("ROLE_USER");
 
-    Set<Role> roles = new HashSet<>();
-    roles.add(role);
-    user.setRoles(roles);
+    user.addRoles(List.of(role));
 
     // Act
     var result = UserResourceFromEntityAssembler.toResourceFromEntity(user);
@@ -0,0 +1,29 @@
+package com.example.authentication.iam.interfaces.rest.transform;
+
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.example.authentication.iam.domain.model.projections.UserSummary;
+
+class UserResourceFromSummaryAssemblerTest {
+
+  @Test
+  @DisplayName("toResourceFromSummary - success: assembles UserResource with correct fields")
+  void toResourceFromSummary_success_assemblesUserResourceWithCorrectFields() {
+
+    // Arrange
+    var summary = new UserSummary(
+        7L, "alice", "alice@example.com", List.of("ROLE_ADMIN", "ROLE_USER"), true);
+
+    // Act
+    var result = UserResourceFromSummaryAssembler.toResourceFromSummary(summary);
+
+    // Assert
+    assertThat(result.id()).isEqualTo(7L);
+    assertThat(result.username()).isEqualTo("alice");
+    assertThat(result.email()).isEqualTo("alice@example.com");
+    assertThat(result.roles()).containsExactly("ROLE_ADMIN", "ROLE_USER");
+    assertThat(result.isActive()).isTrue();
+  }
+}
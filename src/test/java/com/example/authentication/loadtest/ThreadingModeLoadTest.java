@@ -0,0 +1,202 @@
+package com.example.authentication.loadtest;
+
+import com.example.authentication.AuthenticationApplication;
+import com.example.authentication.iam.application.internal.outboundservices.tokens.TokenService;
+import com.example.authentication.iam.domain.model.aggregates.User;
+import com.example.authentication.iam.domain.model.valueobjects.Roles;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.RoleRepository;
+import com.example.authentication.iam.infrastructure.persistence.jpa.repositories.UserRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Load test comparing platform and virtual request threads.
+ *
+ * <p>It boots the application twice against an in-process PostgreSQL, once with
+ * {@code spring.threads.virtual.enabled=false} and once with {@code true}, and drives each
+ * with the same number of concurrent clients for a fixed time. Two workloads are
+ * measured: {@code database} reads a user ({@code GET /api/v1/users/{id}}, bearer
+ * validation plus two statements) and {@code blocking-io} calls an endpoint that blocks
+ * for 50 ms, standing in for the Cloudinary and SMTP round trips. Throughput, p50 and
+ * p99 latency and the share of failed requests are printed per mode and workload.</p>
+ *
+ * <p>It is not run by {@code mvn test}. Arguments: clients (default 400), measured
+ * seconds per run (default 15). Add {@code -Djdk.tracePinnedThreads=short} to the JVM
+ * arguments to report virtual threads pinned to their carrier.</p>
+ *
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *   "-Dexec.args=-cp %classpath com.example.authentication.loadtest.ThreadingModeLoadTest 400 15"
+ * </pre>
+ */
+public final class ThreadingModeLoadTest {
+
+  private static final String PASSWORD = "StrongP@ss1";
+  private static final Duration WARM_UP = Duration.ofSeconds(5);
+  private static final Duration DOWNSTREAM_LATENCY = Duration.ofMillis(50);
+
+  private ThreadingModeLoadTest() {
+  }
+
+  /**
+   * Runs the comparison.
+   *
+   * @param args number of clients and measured seconds per run
+   * @throws Exception if the database or the application cannot be started
+   */
+  public static void main(String[] args) throws Exception {
+    int clients = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+    var duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 15);
+    // The devtools restarter would relaunch this main method with the application arguments.
+    System.setProperty("spring.devtools.restart.enabled", "false");
+
+    var results = new ArrayList<String>();
+    try (var postgres = EmbeddedPostgres.start()) {
+      for (var virtual : List.of(false, true)) {
+        try (var context = start(postgres, virtual)) {
+          var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+          var user = seed(context);
+          var token = context.getBean(TokenService.class).generateToken(user);
+          var mode = virtual ? "virtual" : "platform";
+          var base = "http://localhost:" + port;
+          results.add(run(mode, "database", base + "/api/v1/users/" + user.getId(),
+              token, clients, duration));
+          results.add(run(mode, "blocking-io", base + "/load-test/downstream",
+              token, clients, duration));
+        }
+      }
+    }
+
+    System.out.printf("%n%-9s %-12s %8s %10s %9s %9s %8s%n",
+        "threads", "workload", "clients", "req/s", "p50 ms", "p99 ms", "errors");
+    results.forEach(System.out::println);
+  }
+
+  private static ConfigurableApplicationContext start(EmbeddedPostgres postgres, boolean virtual) {
+    return new SpringApplicationBuilder(AuthenticationApplication.class, DownstreamEndpoint.class)
+        .run(
+            "--server.port=0",
+            "--spring.threads.virtual.enabled=" + virtual,
+            "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+            "--spring.datasource.username=postgres",
+            "--spring.datasource.password=postgres",
+            "--spring.jpa.hibernate.ddl-auto=validate",
+            "--spring.jpa.show-sql=false",
+            "--sign-in.throttling.enabled=false",
+            "--email.outbox.dispatcher.enabled=false",
+            "--logging.level.root=WARN",
+            "--MAIL_USERNAME=test",
+            "--MAIL_PASSWORD=test",
+            "--CLOUDINARY_CLOUD_NAME=test",
+            "--CLOUDINARY_API_KEY=test",
+            "--CLOUDINARY_API_SECRET=test");
+  }
+
+  private static User seed(ConfigurableApplicationContext context) {
+    var userRepository = context.getBean(UserRepository.class);
+    var roleRepository = context.getBean(RoleRepository.class);
+    var hashedPassword = context.getBean("passwordEncoder", PasswordEncoder.class)
+        .encode(PASSWORD);
+    var transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    // Both runs share the database, so the second one reuses the user seeded by the first
+    return transactions.execute(transaction -> userRepository.findByUsername("load-admin")
+        .orElseGet(() -> {
+          var user = new User("load-admin", "load-admin@example.com", hashedPassword, List.of(
+              roleRepository.findByRoles(Roles.ROLE_ADMIN).orElseThrow(),
+              roleRepository.findByRoles(Roles.ROLE_USER).orElseThrow()));
+          user.verify();
+          return userRepository.save(user);
+        }));
+  }
+
+  private static String run(String mode, String workload, String url, String token,
+      int clients, Duration duration) throws InterruptedException {
+    var request = HttpRequest.newBuilder(URI.create(url))
+        .header("Authorization", "Bearer " + token)
+        .timeout(Duration.ofSeconds(30))
+        .build();
+    var errors = new AtomicLong();
+    var latencies = new ArrayList<long[]>();
+    var counts = new int[clients];
+
+    try (var http = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+        var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      long measureFrom = System.nanoTime() + WARM_UP.toNanos();
+      long measureUntil = measureFrom + duration.toNanos();
+      for (int client = 0; client < clients; client++) {
+        var samples = new long[(int) (duration.toMillis() / 2) + 1];
+        latencies.add(samples);
+        int index = client;
+        executor.submit(() -> {
+          while (System.nanoTime() < measureUntil) {
+            long startedAt = System.nanoTime();
+            boolean failed;
+            try {
+              failed = http.send(request, HttpResponse.BodyHandlers.discarding())
+                  .statusCode() != 200;
+            } catch (Exception e) {
+              failed = true;
+            }
+            if (startedAt >= measureFrom && counts[index] < samples.length) {
+              samples[counts[index]++] = System.nanoTime() - startedAt;
+              if (failed) {
+                errors.incrementAndGet();
+              }
+            }
+          }
+        });
+      }
+    }
+
+    var all = new long[Arrays.stream(counts).sum()];
+    int offset = 0;
+    for (int client = 0; client < clients; client++) {
+      System.arraycopy(latencies.get(client), 0, all, offset, counts[client]);
+      offset += counts[client];
+    }
+    Arrays.sort(all);
+    return String.format("%-9s %-12s %8d %10.0f %9.1f %9.1f %7.2f%%",
+        mode, workload, clients, all.length / (double) duration.toSeconds(),
+        percentile(all, 0.50), percentile(all, 0.99),
+        all.length == 0 ? 0 : 100.0 * errors.get() / all.length);
+  }
+
+  private static double percentile(long[] sorted, double quantile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    return sorted[(int) Math.ceil(quantile * sorted.length) - 1] / 1_000_000.0;
+  }
+
+  /**
+   * Endpoint that blocks like a call to a slow downstream service.
+   */
+  @RestController
+  static class DownstreamEndpoint {
+
+    @GetMapping("/load-test/downstream")
+    String downstream() throws InterruptedException {
+      Thread.sleep(DOWNSTREAM_LATENCY);
+      return "ok";
+    }
+  }
+}